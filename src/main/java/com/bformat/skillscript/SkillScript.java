@@ -3,6 +3,9 @@ package com.bformat.skillscript;
 import com.bformat.skillscript.actions.ActionRegistry; // ActionRegistry 임포트
 import com.bformat.skillscript.commands.CastCommand;
 import com.bformat.skillscript.commands.SkillScriptCommand;
+import com.bformat.skillscript.listeners.CasterLifecycleListener;
+import com.bformat.skillscript.listeners.WorldLifecycleListener;
+import com.bformat.skillscript.script.ScriptCompiler;
 import com.bformat.skillscript.script.ScriptManager;
 import com.bformat.skillscript.script.ScriptRunner; // ScriptRunner 임포트
 import org.bukkit.plugin.java.JavaPlugin;
@@ -13,6 +16,7 @@ public class SkillScript extends JavaPlugin {
 
     private ScriptManager scriptManager;
     private ActionRegistry actionRegistry; // ActionRegistry 멤버 변수 추가
+    private ScriptCompiler scriptCompiler;
     private ScriptRunner scriptRunner; // ScriptRunner 멤버 변수 추가
 
     @Override
@@ -33,8 +37,9 @@ public class SkillScript extends JavaPlugin {
         // 1. ActionRegistry 초기화 및 액션 등록
         this.actionRegistry = new ActionRegistry(this);
         this.actionRegistry.registerCoreActions(); // 핵심 액션들을 등록
+        this.scriptCompiler = new ScriptCompiler(actionRegistry, getLogger()); // 스크립트 로드 시 액션 블록 컴파일
 
-        // 2. ScriptManager 초기화
+        // 2. ScriptManager 초기화 (ScriptCompiler 필요)
         this.scriptManager = new ScriptManager(this);
         scriptManager.loadScripts();
 
@@ -44,6 +49,11 @@ public class SkillScript extends JavaPlugin {
         // 명령어 등록 (ScriptRunner 전달)
         getCommand("cast").setExecutor(new CastCommand(scriptManager, scriptRunner)); // CastCommand에 Runner 전달
         getCommand("skillscript").setExecutor(new SkillScriptCommand(this));
+        // 시전자 로그아웃/사망 시 태스크 중지
+        getServer().getPluginManager().registerEvents(
+                new CasterLifecycleListener(scriptRunner, getConfig().getBoolean("runner.stop-on-death", true)), this);
+        // 월드 언로드 시 엔티티 인덱스 정리
+        getServer().getPluginManager().registerEvents(new WorldLifecycleListener(), this);
 
         // === 추가: 중앙 Runner 시작 ===
         this.scriptRunner.startRunner();
@@ -64,5 +74,6 @@ public class SkillScript extends JavaPlugin {
     // --- Getters ---
     public ScriptManager getScriptManager() { return scriptManager; }
     public ActionRegistry getActionRegistry() { return actionRegistry; }
+    public ScriptCompiler getScriptCompiler() { return scriptCompiler; }
     public ScriptRunner getScriptRunner() { return scriptRunner; }
 }
\ No newline at end of file
@@ -5,31 +5,84 @@ import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState; // ExecutionState 임포트 추가
 import com.bformat.skillscript.lang.Action;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
+/**
+ * 액션 이름 → ID → 구현 디스패치 테이블. 등록은 메인 스레드에서 하고, 조회는 어느 스레드(오프로드 워커, 리전 스레드)에서 해도 됩니다.
+ * 디스패치 테이블은 등록 때마다 복사본을 만들어 volatile 로 교체하며, 세대는 마지막에 올리므로
+ * 새 세대를 읽은 스레드는 그 세대까지의 이름과 구현을 모두 봅니다.
+ */
 public class ActionRegistry {
 
+    /** 등록되지 않은 액션 이름에 대해 반환되는 ID. */
+    public static final int UNKNOWN_ID = -1;
+
     private final SkillScript plugin;
-    private final Map<String, Action> actions = new HashMap<>();
+    // 이름 -> 고유 정수 ID (등록 순서대로 0부터 부여되는 밀집 ID)
+    private final Map<String, Integer> actionIds = new ConcurrentHashMap<>();
+    // ID 로 인덱싱되는 디스패치 테이블 (길이 = 등록된 액션 수). 수정하지 않고 복사본으로 교체
+    private volatile Action[] dispatchTable = new Action[0];
+    // 새 이름이 등록될 때마다 증가. 컴파일된 스크립트의 재링크 필요 여부 판단에 사용
+    private volatile int generation = 0;
 
     public ActionRegistry(SkillScript plugin) {
         this.plugin = plugin;
     }
 
     /**
-     * 레지스트리에 액션을 등록합니다. 액션 이름은 소문자로 변환되어 저장됩니다.
+     * 레지스트리에 액션을 등록합니다. 액션 이름은 소문자로 변환되어 저장되며, 새 이름에는 고유 정수 ID 가 부여됩니다.
+     * 이미 등록된 이름을 덮어쓰면 기존 ID 가 유지되므로 링크된 스크립트는 자동으로 새 구현을 사용합니다.
+     * 스크립트 로드 이후 새 이름이 등록되면 로드된 스크립트를 재링크합니다.
      * @param name 액션 이름 (예: "targetbehaviour.sendmessage")
      * @param action 액션 구현 객체
      */
     public void register(String name, Action action) {
         String lowerCaseName = name.toLowerCase();
-        if (actions.containsKey(lowerCaseName)) {
+        Integer existingId = actionIds.get(lowerCaseName);
+        if (existingId != null) {
             plugin.getLogger().warning("Action already registered, overwriting: " + lowerCaseName);
+            Action[] table = dispatchTable.clone();
+            table[existingId] = action;
+            dispatchTable = table;
+            return;
+        }
+
+        int id = dispatchTable.length;
+        Action[] table = Arrays.copyOf(dispatchTable, id + 1);
+        table[id] = action;
+        dispatchTable = table; // 이름보다 먼저 공개: ID 를 얻은 스레드는 항상 구현을 찾음
+        actionIds.put(lowerCaseName, id);
+        generation++;
+        plugin.getLogger().fine("Registered action: " + lowerCaseName + " (id " + id + ")");
+
+        // 스크립트가 이미 로드된 상태라면 (예: 외부 플러그인의 늦은 등록) 해석되지 않은 명령어를 다시 링크
+        if (plugin.getScriptManager() != null) {
+            plugin.getScriptManager().relinkScripts();
         }
-        actions.put(lowerCaseName, action);
-        plugin.getLogger().fine("Registered action: " + lowerCaseName);
+    }
+
+    /**
+     * 액션 이름에 부여된 정수 ID 를 반환합니다. 스크립트 링크 시에만 사용됩니다.
+     * @param name 액션 이름 (소문자 변환됨)
+     * @return 액션 ID 또는 {@link #UNKNOWN_ID}
+     */
+    public int getActionId(String name) {
+        Integer id = actionIds.get(name.toLowerCase());
+        return id != null ? id : UNKNOWN_ID;
+    }
+
+    /**
+     * ID 로 Action 구현체를 조회합니다 (런타임 디스패치 경로).
+     * @param id {@link #getActionId(String)} 로 얻은 ID
+     * @return Action 인스턴스 또는 null (범위를 벗어난 경우)
+     */
+    public Action getAction(int id) {
+        Action[] table = dispatchTable;
+        return (id >= 0 && id < table.length) ? table[id] : null;
     }
 
     /**
@@ -38,7 +91,17 @@ public class ActionRegistry {
      * @return Action 인스턴스 또는 null
      */
     public Action getAction(String name) {
-        return actions.get(name.toLowerCase());
+        return getAction(getActionId(name));
+    }
+
+    /** @return 새 액션 이름이 등록될 때마다 증가하는 값. 링크 결과가 최신인지 확인하는 데 사용됩니다. */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /** @return 등록된 액션 수 (ID 는 0 ~ count-1). */
+    public int getActionCount() {
+        return dispatchTable.length;
     }
 
     /**
@@ -51,8 +114,7 @@ public class ActionRegistry {
      */
     @Deprecated
     public void execute(String name, ExecutionContext context, ExecutionState state, Map<String, Object> params) {
-        String lowerCaseName = name.toLowerCase();
-        Action action = actions.get(lowerCaseName);
+        Action action = getAction(name);
 
         if (action != null) {
             try {
@@ -77,6 +139,11 @@ public class ActionRegistry {
 
         // 타겟팅
         register("target.setself", new SetSelfAction());
+        // 영역 타게팅 (틱별 엔티티 공간 인덱스 사용)
+        register("target.radius", new RadiusTargetAction());
+        register("target.cone", new ConeTargetAction());
+        register("target.box", new BoxTargetAction());
+        register("target.line", new LineTargetAction());
         // register("target.setsingle", new SetSingleAction());
         // ... 다른 Target 액션들 ...
 
@@ -98,6 +165,7 @@ public class ActionRegistry {
         register("variable.getoffsetlocation", new GetOffsetLocationAction()); // 새 액션 등록
         register("variable.calculate", new CalculateVariableAction());
         register("variable.vectormath", new VectorMathAction());
+        register("variable.setconstant", new SetConstantAction()); // ScriptOptimizer 가 접은 상수 저장
 
         plugin.getLogger().info("Core actions registered.");
     }
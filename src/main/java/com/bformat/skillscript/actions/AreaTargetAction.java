@@ -0,0 +1,103 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.execution.AreaQuery;
+import com.bformat.skillscript.execution.EntityIndex;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionState;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.execution.VariableSlots;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 영역 타게팅 액션(target.radius, target.cone, target.box, target.line)의 공통 구현.
+ * <p>
+ * 영역 안의 살아있는 엔티티를 {@link EntityIndex} 로 찾아 'variable' 에 목록으로 저장하고
+ * (controlflow.forloop 의 over 로 순회), 가장 가까운 엔티티를 현재 타겟으로 설정합니다.
+ * 찾은 엔티티가 없으면 현재 타겟은 그대로입니다. 시전자는 includeCaster 가 true 일 때만 포함됩니다.
+ */
+public abstract class AreaTargetAction implements BoundAction {
+
+    private final Parameter origin;
+    private final Parameter variable;
+    private final Parameter includeCaster;
+
+    /**
+     * @param origin        영역 중심/시작점 LOCATION 파라미터 (없으면 {@link #defaultOrigin})
+     * @param variable      결과 목록을 저장할 VARIABLE 파라미터
+     * @param includeCaster 시전자 포함 여부 BOOLEAN 파라미터
+     */
+    protected AreaTargetAction(Parameter origin, Parameter variable, Parameter includeCaster) {
+        this.origin = origin;
+        this.variable = variable;
+        this.includeCaster = includeCaster;
+    }
+
+    /** @return origin 이 지정되지 않았을 때의 중심/시작점 */
+    protected Location defaultOrigin(Player caster) {
+        return caster.getLocation();
+    }
+
+    /** @return origin 기준 질의, 파라미터가 잘못되었으면 null */
+    protected abstract AreaQuery buildQuery(BoundParameters params, ExecutionContext context, Location origin);
+
+    @Override
+    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params) {
+        final Logger logger = context.getCaster().getServer().getLogger();
+        final String pluginPrefix = "[SkillScript Action] ";
+        final String name = getClass().getSimpleName();
+
+        Player caster = context.getCaster();
+        Optional<Location> originOpt = params.has(origin) ? params.getLocation(origin, context) : Optional.of(defaultOrigin(caster));
+        if (originOpt.isEmpty() || originOpt.get().getWorld() == null) {
+            logger.warning(pluginPrefix + name + ": Could not resolve '" + origin.getName() + "' to a location.");
+            return ExecutionStatus.ERROR(name + ": Could not resolve '" + origin.getName() + "' to a location.");
+        }
+        Location at = originOpt.get();
+
+        AreaQuery query = buildQuery(params, context, at);
+        if (query == null) {
+            return ExecutionStatus.ERROR(name + ": Invalid area parameters.");
+        }
+
+        // 같은 틱의 같은 질의는 캐시된 결과를 공유하므로 필터링은 복사본에서
+        List<LivingEntity> hits = EntityIndex.find(at.getWorld(), query);
+        boolean withCaster = params.getBoolean(includeCaster, false, context);
+        List<LivingEntity> targets = new ArrayList<>(hits.size());
+        LivingEntity nearest = null;
+        double nearestDistSq = Double.MAX_VALUE;
+        for (LivingEntity entity : hits) {
+            if (!entity.isValid() || entity.isDead() || (!withCaster && entity == caster)) {
+                continue;
+            }
+            targets.add(entity);
+            double distSq = entity.getLocation().distanceSquared(at);
+            if (distSq < nearestDistSq) {
+                nearestDistSq = distSq;
+                nearest = entity;
+            }
+        }
+
+        int slot = params.getVariableSlot(variable, context);
+        if (slot != VariableSlots.NO_SLOT) {
+            context.setVariable(slot, targets);
+        }
+        if (nearest != null) {
+            context.setCurrentTarget(nearest);
+        }
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(pluginPrefix + name + ": Found " + targets.size() + " entities in " + query.shape() + " area at " + at);
+        }
+        return ExecutionStatus.COMPLETED;
+    }
+}
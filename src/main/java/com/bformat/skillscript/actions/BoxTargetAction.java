@@ -0,0 +1,40 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.execution.AreaQuery;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+
+import java.util.Optional;
+
+/** target.box: center(기본 시전자 위치) 기준 각 축으로 extent(반 크기) 이내인 축 정렬 상자 안의 엔티티. */
+public class BoxTargetAction extends AreaTargetAction {
+
+    private static final Parameter CENTER = Parameter.location("center");
+    private static final Parameter EXTENT = Parameter.vector("extent").required();
+    private static final Parameter VARIABLE = Parameter.variable("variable");
+    private static final Parameter INCLUDE_CASTER = Parameter.bool("includeCaster");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(CENTER, EXTENT, VARIABLE, INCLUDE_CASTER);
+
+    public BoxTargetAction() {
+        super(CENTER, VARIABLE, INCLUDE_CASTER);
+    }
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
+
+    @Override
+    protected AreaQuery buildQuery(BoundParameters params, ExecutionContext context, Location center) {
+        Optional<Vector> extent = params.getVector(EXTENT, context);
+        if (extent.isEmpty()) {
+            return null;
+        }
+        Vector half = extent.get();
+        return AreaQuery.box(center.getX(), center.getY(), center.getZ(), half.getX(), half.getY(), half.getZ());
+    }
+}
@@ -0,0 +1,50 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.execution.AreaQuery;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+/**
+ * target.cone: origin(기본 시전자 눈 위치)에서 direction(기본 시전자 시선) 방향으로 range 까지,
+ * 방향과의 각도가 angle(전체 각도, 기본 60도)의 절반 이내인 엔티티.
+ */
+public class ConeTargetAction extends AreaTargetAction {
+
+    private static final Parameter ORIGIN = Parameter.location("origin");
+    private static final Parameter DIRECTION = Parameter.vector("direction");
+    private static final Parameter RANGE = Parameter.number("range").required();
+    private static final Parameter ANGLE = Parameter.number("angle");
+    private static final Parameter VARIABLE = Parameter.variable("variable");
+    private static final Parameter INCLUDE_CASTER = Parameter.bool("includeCaster");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(ORIGIN, DIRECTION, RANGE, ANGLE, VARIABLE, INCLUDE_CASTER);
+
+    public ConeTargetAction() {
+        super(ORIGIN, VARIABLE, INCLUDE_CASTER);
+    }
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
+
+    @Override
+    protected Location defaultOrigin(Player caster) {
+        return caster.getEyeLocation();
+    }
+
+    @Override
+    protected AreaQuery buildQuery(BoundParameters params, ExecutionContext context, Location origin) {
+        double range = params.getDouble(RANGE, -1.0, context);
+        if (range < 0) {
+            return null;
+        }
+        Vector direction = params.getVector(DIRECTION, context).orElseGet(() -> context.getCaster().getLocation().getDirection());
+        double angle = params.getDouble(ANGLE, 60.0, context);
+        return AreaQuery.cone(origin.getX(), origin.getY(), origin.getZ(), direction, range, angle);
+    }
+}
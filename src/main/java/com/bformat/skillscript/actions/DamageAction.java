@@ -3,25 +3,38 @@ package com.bformat.skillscript.actions;
 import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState; // ExecutionState 임포트 추가
 import com.bformat.skillscript.execution.ExecutionStatus;
-import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
 import org.bukkit.entity.Damageable;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 
-import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class DamageAction implements Action {
+public class DamageAction implements BoundAction {
+
+    private static final Parameter TARGET = Parameter.entity("target");
+    private static final Parameter AMOUNT = Parameter.number("amount").required();
+    private static final Parameter IGNORE_ARMOR = Parameter.bool("ignoreArmor");
+    private static final Parameter SOURCE = Parameter.entity("source");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(TARGET, AMOUNT, IGNORE_ARMOR, SOURCE);
 
     @Override
-    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params) {
         final Logger logger = context.getCaster().getServer().getLogger();
         final String pluginPrefix = "[SkillScript Action] ";
 
         // --- 대상 엔티티 결정 (Using Action helpers and Context) ---
-        Optional<Entity> targetEntityOpt = getEntityParameter(params, "target", context) // Try parsing "target" param
+        Optional<Entity> targetEntityOpt = params.getEntity(TARGET, context) // Try parsing "target" param
                 .or(() -> Optional.ofNullable(context.getCurrentTargetAsEntity())); // Fallback to current context target
 
         if (targetEntityOpt.isEmpty()) {
@@ -38,19 +51,19 @@ public class DamageAction implements Action {
         Damageable damageableTarget = (Damageable) targetEntity;
 
         // --- 피해량 파싱 ---
-        // Use getDoubleParameter, ensure it's positive
-        double amount = getDoubleParameter(params, "amount", -1.0, context);
+        // 로드 시점에 바인딩된 값 (리터럴 상수 또는 변수/수식), ensure it's positive
+        double amount = params.getDouble(AMOUNT, -1.0, context);
         if (amount <= 0) {
-            logger.warning(pluginPrefix + "DamageAction: Invalid or missing 'amount' parameter (must be > 0). Value was: " + params.get("amount"));
-            return ExecutionStatus.ERROR("DamageAction: Invalid or missing 'amount' parameter (must be > 0). Value was: " + params.get("amount")); // State modification not needed
+            logger.warning(pluginPrefix + "DamageAction: Invalid 'amount' parameter (must be > 0). Value was: " + params.getString(AMOUNT));
+            return ExecutionStatus.ERROR("DamageAction: Invalid 'amount' parameter (must be > 0). Value was: " + params.getString(AMOUNT)); // State modification not needed
         }
 
         // --- 피해 속성 파싱 ---
         // Optional<String> damageTypeStr = getStringParameter(params, "type"); // Example: "FIRE", "MAGIC" - Bukkit DamageCause might be better
-        boolean ignoreArmor = getBooleanParameter(params, "ignoreArmor", false, context);
+        boolean ignoreArmor = params.getBoolean(IGNORE_ARMOR, false, context);
 
         // --- 피해 발생원 결정 ---
-        Optional<Entity> damageSourceOpt = getEntityParameter(params, "source", context) // Try parsing "source" param
+        Optional<Entity> damageSourceOpt = params.getEntity(SOURCE, context) // Try parsing "source" param
                 .or(() -> Optional.ofNullable(context.getCaster())); // Fallback to caster
         Entity damageSourceEntity = damageSourceOpt.orElse(null); // Can be null if caster is somehow null
 
@@ -66,7 +79,9 @@ public class DamageAction implements Action {
 
             // Apply damage using Bukkit API
             damageableTarget.damage(amount, damageSourceEntity); // Pass source entity if available
-            logger.fine(pluginPrefix + "DamageAction: Applied " + amount + " damage to " + damageableTarget.getName() + (damageSourceEntity != null ? " from " + damageSourceEntity.getName() : ""));
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(pluginPrefix + "DamageAction: Applied " + amount + " damage to " + damageableTarget.getName() + (damageSourceEntity != null ? " from " + damageSourceEntity.getName() : ""));
+            }
 
         } catch (Exception e) {
             // Catch potential errors during the damage event or application
@@ -78,5 +93,5 @@ public class DamageAction implements Action {
         return ExecutionStatus.COMPLETED;
     }
 
-    // Helper methods like getDoubleParameter, getBooleanParameter, getEntityParameter are now in the Action interface
+    // 파라미터는 SCHEMA 로 로드 시점에 바인딩됨 (BoundParameters)
 }
\ No newline at end of file
@@ -3,33 +3,45 @@ package com.bformat.skillscript.actions;
 import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState;
 import com.bformat.skillscript.execution.ExecutionStatus;
-import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
 
-import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class DelayAction implements Action {
+public class DelayAction implements BoundAction {
+
+    // 틱 수: 정수 리터럴, 변수/셀렉터 또는 수식
+    private static final Parameter DURATION = Parameter.integer("duration").required();
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(DURATION);
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
 
     @Override
-    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params) {
         final Logger logger = context.getCaster().getServer().getLogger();
         final String pluginPrefix = "[SkillScript Action Delay] ";
 
-        // <<< 수정: getIntParameter 호출 시 context 전달 >>>
-        int durationTicks = getIntParameter(params, "duration", -1, context);
+        int durationTicks = params.getInt(DURATION, -1, context);
 
         if (durationTicks < 0) {
-            // 경고 메시지 유지 (duration이 아예 없거나 음수거나 해석 불가 시)
-            logger.warning(pluginPrefix + "Missing or invalid 'duration' parameter (must be a non-negative integer/variable resolving to ticks). Defaulting to 0 ticks (no delay).");
+            // 음수이거나 변수/수식을 해석할 수 없는 경우 (누락은 로드 시점에 거부됨)
+            logger.warning(pluginPrefix + "Invalid 'duration' parameter (must be a non-negative integer/variable resolving to ticks). Defaulting to 0 ticks (no delay).");
             durationTicks = 0;
         }
 
         if (durationTicks > 0) {
-            logger.fine(pluginPrefix + "Requesting delay for " + durationTicks + " ticks."); // 로그 레벨 fine으로 변경
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(pluginPrefix + "Requesting delay for " + durationTicks + " ticks.");
+            }
             return ExecutionStatus.DELAY(durationTicks);
         } else {
-            logger.finest(pluginPrefix + "Duration is 0, executing immediately (COMPLETED).");
             return ExecutionStatus.COMPLETED;
         }
     }
-}
\ No newline at end of file
+}
@@ -3,41 +3,53 @@ package com.bformat.skillscript.actions;
 import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState;
 import com.bformat.skillscript.execution.ExecutionStatus;
-import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class ForLoopAction implements Action {
+public class ForLoopAction implements BoundAction {
+
+    private static final Parameter VARIABLE = Parameter.variable("variable");
+    // from/to/step: 숫자 리터럴, 변수/셀렉터 또는 수식 ("count * 2", "@Caster.Health")
+    private static final Parameter FROM = Parameter.number("from");
+    private static final Parameter TO = Parameter.number("to");
+    private static final Parameter STEP = Parameter.number("step");
+    private static final Parameter OVER = Parameter.any("over"); // List 또는 List 를 담은 변수 이름
+    private static final Parameter DO = Parameter.block("Do").required();
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(VARIABLE, FROM, TO, STEP, OVER, DO);
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
+
+    // 루프 프레임만 설정함 (범위 수식에 @ 셀렉터가 있으면 Instruction 에서 비순수로 분류됨)
+    @Override
+    public boolean isPure() {
+        return true;
+    }
 
     @Override
-    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+    @SuppressWarnings("unchecked")
+    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params) {
         final Logger logger = context.getCaster().getServer().getLogger();
         final String pluginPrefix = "[SkillScript Action] ";
 
-        // --- 파라미터 파싱 ---
-        Optional<String> variableNameOpt = getStringParameter(params, "variable");
-        Optional<Object> fromValueOpt = Optional.ofNullable(params.get("from"));
-        Optional<Object> toValueOpt = Optional.ofNullable(params.get("to"));
-        Optional<Object> stepValueOpt = Optional.ofNullable(params.get("step"));
-        Optional<Object> overValueOpt = Optional.ofNullable(params.get("over")); // Can be List or var name
-        Optional<List<Map<String, Object>>> loopBodyOpt = getListOfMapsParameter(params, "Do");
-
-        if (loopBodyOpt.isEmpty()) {
-            logger.warning(pluginPrefix + "ForLoopAction: Missing or invalid 'Do' block (must be a list of actions).");
-            return ExecutionStatus.ERROR("ForLoopAction: Missing or invalid 'Do' block (must be a list of actions)."); // Cannot loop without a body
-        }
-        List<Map<String, Object>> loopBody = loopBodyOpt.get();
-
-        String variableName = variableNameOpt.orElse(null); // Can be null if iterating without assignment
+        // --- 파라미터 (로드 시점에 바인딩됨) ---
+        List<Map<String, Object>> loopBody = (List<Map<String, Object>>) params.getRaw(DO);
+        String variableName = params.getString(VARIABLE); // Can be null if iterating without assignment
 
         // --- 루프 타입 결정 및 상태 설정 ---
 
         // 1. List Iterator Loop (`over` 파라미터 사용)
-        if (overValueOpt.isPresent()) {
-            Object overValue = overValueOpt.get();
+        if (params.has(OVER)) {
+            Object overValue = params.getRaw(OVER);
             List<?> listToIterate = null;
 
             if (overValue instanceof List) {
@@ -63,25 +75,27 @@ public class ForLoopAction implements Action {
 
             // ExecutionState에 루프 시작 요청
             state.startListIteratorLoop(variableName, listToIterate, loopBody, context);
-            logger.fine(pluginPrefix + "ForLoopAction: Initializing list iterator loop for variable '" + variableName + "'.");
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(pluginPrefix + "ForLoopAction: Initializing list iterator loop for variable '" + variableName + "'.");
+            }
 
             // 2. Numeric Loop (`from`, `to` 파라미터 사용)
-        } else if (fromValueOpt.isPresent() || toValueOpt.isPresent()) { // At least one numeric range param
+        } else if (params.has(FROM) || params.has(TO)) { // At least one numeric range param
             if (variableName == null) {
                 logger.warning(pluginPrefix + "ForLoopAction: 'variable' parameter is required for numeric loops (using 'from'/'to').");
                 return ExecutionStatus.ERROR("ForLoopAction: 'variable' parameter is required for numeric loops (using 'from'/'to').");
             }
-            if (toValueOpt.isEmpty()) {
+            if (!params.has(TO)) {
                 logger.warning(pluginPrefix + "ForLoopAction: 'to' parameter is required for numeric loops.");
                 return ExecutionStatus.ERROR("ForLoopAction: 'to' parameter is required for numeric loops.");
             }
 
-            // Resolve numeric values (handle potential expressions)
-            double fromVal = resolveNumericParam(fromValueOpt.orElse(0.0), context, logger, pluginPrefix, "from").orElse(0.0);
-            Optional<Double> toValOpt = resolveNumericParam(toValueOpt.get(), context, logger, pluginPrefix, "to");
-            double stepVal = resolveNumericParam(stepValueOpt.orElse(1.0), context, logger, pluginPrefix, "step").orElse(1.0);
+            // Resolve numeric values (NaN = 해석 실패)
+            double fromVal = resolveNumericParam(params, FROM, 0.0, context, logger, pluginPrefix);
+            double toVal = resolveNumericParam(params, TO, Double.NaN, context, logger, pluginPrefix);
+            double stepVal = resolveNumericParam(params, STEP, 1.0, context, logger, pluginPrefix);
 
-            if (toValOpt.isEmpty()) {
+            if (Double.isNaN(toVal)) {
                 logger.warning(pluginPrefix + "ForLoopAction: Could not resolve 'to' parameter to a numeric value.");
                 return ExecutionStatus.ERROR("ForLoopAction: Could not resolve 'to' parameter to a numeric value."); // Cannot proceed without 'to' value
             }
@@ -92,8 +106,10 @@ public class ForLoopAction implements Action {
 
 
             // ExecutionState에 루프 시작 요청
-            state.startNumericLoop(variableName, fromVal, toValOpt.get(), stepVal, loopBody, context);
-            logger.fine(pluginPrefix + "ForLoopAction: Initializing numeric loop for variable '" + variableName + "'.");
+            state.startNumericLoop(variableName, fromVal, toVal, stepVal, loopBody, context);
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(pluginPrefix + "ForLoopAction: Initializing numeric loop for variable '" + variableName + "'.");
+            }
 
             // 3. 잘못된 파라미터 조합
         } else {
@@ -106,22 +122,17 @@ public class ForLoopAction implements Action {
     }
 
 
-    // Helper to resolve numeric parameters (could be Double, Integer, String expression, etc.)
-    private Optional<Double> resolveNumericParam(Object paramValue, ExecutionContext context, Logger logger, String prefix, String paramName) {
-        if (paramValue instanceof Number) {
-            return Optional.of(((Number) paramValue).doubleValue());
-        } else if (paramValue instanceof String) {
-            // Try parsing as direct double first
-            try {
-                return Optional.of(Double.parseDouble((String) paramValue));
-            } catch (NumberFormatException e) {
-                // If not a direct double, try resolving as expression/variable
-                return context.resolveNumericValue((String) paramValue);
-                // resolveNumericValue already logs warnings if it fails
-            }
-        } else {
-            logger.warning(prefix + "ForLoopAction: Invalid type for numeric parameter '" + paramName + "'. Expected Number or String, got " + (paramValue != null ? paramValue.getClass().getName() : "null") );
-            return Optional.empty();
+    // 지정되지 않았으면 defaultValue, 지정되었지만 해석할 수 없으면 경고 후 defaultValue
+    private double resolveNumericParam(BoundParameters params, Parameter parameter, double defaultValue,
+                                       ExecutionContext context, Logger logger, String prefix) {
+        if (!params.has(parameter)) {
+            return defaultValue;
+        }
+        double value = params.getDouble(parameter, Double.NaN, context);
+        if (Double.isNaN(value)) {
+            logger.warning(prefix + "ForLoopAction: Could not evaluate numeric parameter '" + parameter.getName() + "': " + params.getString(parameter));
+            return defaultValue;
         }
+        return value;
     }
-}
\ No newline at end of file
+}
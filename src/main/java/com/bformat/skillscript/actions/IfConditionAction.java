@@ -3,73 +3,66 @@ package com.bformat.skillscript.actions;
 import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState; // ExecutionState 임포트
 import com.bformat.skillscript.execution.ExecutionStatus;
-import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-public class IfConditionAction implements Action {
+public class IfConditionAction implements BoundAction {
+
+    // true/false 리터럴은 상수로, 변수/셀렉터/비교·논리 수식은 로드 시점에 컴파일
+    // (예: "@Caster.Health < maxHp / 2 && count > 0")
+    private static final Parameter CONDITION = Parameter.bool("condition").required();
+    private static final Parameter THEN = Parameter.block("Then");
+    private static final Parameter ELSE = Parameter.block("Else");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(CONDITION, THEN, ELSE);
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
 
     @Override
     @SuppressWarnings("unchecked")
-    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params) {
         final Logger logger = context.getCaster().getServer().getLogger();
         final String pluginPrefix = "[SkillScript Action IfCond] ";
 
-        Object conditionObject = params.get("condition");
-        Optional<List<Map<String, Object>>> thenBlockOpt = getListOfMapsParameter(params, "Then");
-        Optional<List<Map<String, Object>>> elseBlockOpt = getListOfMapsParameter(params, "Else");
-
-        if (conditionObject == null) {
-            logger.warning(pluginPrefix + "Missing 'condition' parameter.");
-            return ExecutionStatus.ERROR("IfConditionAction: Missing 'condition' parameter.");
-        }
-
-        boolean conditionResult = false;
+        boolean conditionResult;
         try {
-            if (conditionObject instanceof Boolean) {
-                conditionResult = (Boolean) conditionObject;
-            } else if (conditionObject instanceof Number) {
-                conditionResult = ((Number) conditionObject).doubleValue() != 0.0;
-            } else if (conditionObject instanceof String) {
-                String conditionStr = (String) conditionObject;
-                // <<< 수정: getBooleanParameter 호출 시 context 전달 >>>
-                // 또는 여기서 직접 context.resolveNumericValue 시도
-                Optional<Double> numericResult = context.resolveNumericValue(conditionStr);
-                if (numericResult.isPresent()) {
-                    conditionResult = numericResult.get() != 0.0;
-                    logger.finer(pluginPrefix + "Condition string '" + conditionStr + "' resolved to numeric " + numericResult.get() + ", resulting in " + conditionResult);
+            if (params.isConstant(CONDITION)) {
+                conditionResult = params.getBoolean(CONDITION, false, context);
+            } else {
+                double numericResult = params.getDouble(CONDITION, Double.NaN, context);
+                if (Double.isNaN(numericResult)) {
+                    logger.warning(pluginPrefix + "Condition '" + params.getString(CONDITION) + "' could not be resolved to a number. Evaluating as false.");
+                    conditionResult = false;
                 } else {
-                    // 숫자 해석 실패 시 "true"/"false" 확인
-                    if ("true".equalsIgnoreCase(conditionStr)) conditionResult = true;
-                    else if ("false".equalsIgnoreCase(conditionStr)) conditionResult = false;
-                    else {
-                        logger.warning(pluginPrefix + "Condition string '" + conditionStr + "' could not be resolved to Boolean or Number. Evaluating as false.");
-                        conditionResult = false;
-                    }
+                    conditionResult = numericResult != 0.0;
                 }
-            } else {
-                logger.warning(pluginPrefix + "Unsupported condition type: " + conditionObject.getClass().getName() + ". Evaluating as false.");
-                conditionResult = false;
             }
         } catch (Exception e) {
-            logger.log(Level.SEVERE, pluginPrefix + "Error evaluating condition: " + conditionObject, e);
-            return ExecutionStatus.ERROR("IfConditionAction: Error evaluating condition: " + conditionObject);
+            logger.log(Level.SEVERE, pluginPrefix + "Error evaluating condition: " + params.getString(CONDITION), e);
+            return ExecutionStatus.ERROR("IfConditionAction: Error evaluating condition: " + params.getString(CONDITION));
         }
 
-        logger.fine(pluginPrefix + "Condition evaluated to " + conditionResult);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(pluginPrefix + "Condition evaluated to " + conditionResult);
+        }
 
-        List<Map<String, Object>> actionsToExecute = conditionResult
-                ? thenBlockOpt.orElse(Collections.emptyList())
-                : elseBlockOpt.orElse(Collections.emptyList());
+        Object block = params.getRaw(conditionResult ? THEN : ELSE);
+        List<Map<String, Object>> actionsToExecute = (block != null)
+                ? (List<Map<String, Object>>) block
+                : Collections.emptyList();
 
-        // logger.fine(pluginPrefix + "Preparing " + (conditionResult ? "'Then'" : "'Else'") + " block (" + actionsToExecute.size() + " actions).");
         state.startConditionalBlock(actionsToExecute); // Pushes the block if not empty
 
         return ExecutionStatus.COMPLETED;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.execution.AreaQuery;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.util.Vector;
+
+/**
+ * target.line: origin(기본 시전자 눈 위치)에서 direction(기본 시전자 시선) 방향으로 length 길이인 선분에서
+ * width(기본 1) 이내의 엔티티.
+ */
+public class LineTargetAction extends AreaTargetAction {
+
+    private static final Parameter ORIGIN = Parameter.location("origin");
+    private static final Parameter DIRECTION = Parameter.vector("direction");
+    private static final Parameter LENGTH = Parameter.number("length").required();
+    private static final Parameter WIDTH = Parameter.number("width");
+    private static final Parameter VARIABLE = Parameter.variable("variable");
+    private static final Parameter INCLUDE_CASTER = Parameter.bool("includeCaster");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(ORIGIN, DIRECTION, LENGTH, WIDTH, VARIABLE, INCLUDE_CASTER);
+
+    public LineTargetAction() {
+        super(ORIGIN, VARIABLE, INCLUDE_CASTER);
+    }
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
+
+    @Override
+    protected Location defaultOrigin(Player caster) {
+        return caster.getEyeLocation();
+    }
+
+    @Override
+    protected AreaQuery buildQuery(BoundParameters params, ExecutionContext context, Location origin) {
+        double length = params.getDouble(LENGTH, -1.0, context);
+        if (length < 0) {
+            return null;
+        }
+        Vector direction = params.getVector(DIRECTION, context).orElseGet(() -> context.getCaster().getLocation().getDirection());
+        double width = params.getDouble(WIDTH, 1.0, context);
+        return AreaQuery.line(origin.getX(), origin.getY(), origin.getZ(), direction, length, width);
+    }
+}
@@ -1,9 +1,11 @@
 package com.bformat.skillscript.actions;
 
+import com.bformat.skillscript.execution.EffectSink;
 import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState;
 import com.bformat.skillscript.execution.ExecutionStatus;
 import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.shape.ShapeTable;
 import org.bukkit.*;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.Vector;
@@ -113,9 +115,26 @@ public class PlayEffectAction implements Action {
                     } else { logger.warning(pluginPrefix + "Particle " + particleName + " requires 'material' in particleData."); }
                 }
 
-                // 최종 위치(finalEffectLocation)에 파티클 생성 (계산된 분포 오프셋 pOffsetX/Y/Z 사용)
-                world.spawnParticle(particle, finalEffectLocation, count, pOffsetX, pOffsetY, pOffsetZ, speed, extraData);
-                logger.finer(pluginPrefix + "Played particle " + particleName + " at: " + finalEffectLocation + " with distribution offset: " + pOffsetX + "," + pOffsetY + "," + pOffsetZ);
+                // shape 가 있으면 최종 위치를 중심으로 모양의 각 점에 파티클 생성
+                Optional<Map<String, Object>> shapeOpt = getMapParameter(params, "shape");
+                if (shapeOpt.isPresent()) {
+                    int points = playShape(shapeOpt.get(), finalEffectLocation, particle, count, pOffsetX, pOffsetY, pOffsetZ, speed, extraData, context);
+                    if (points < 0) {
+                        logger.warning(pluginPrefix + "Invalid 'shape.type': " + shapeOpt.get().get("type") + ". Expected circle, sphere, helix or cone.");
+                        return ExecutionStatus.ERROR("PlayEffectAction: Invalid shape type.");
+                    }
+                    logger.finer(pluginPrefix + "Played particle " + particleName + " shape at " + points + " points around: " + finalEffectLocation);
+                } else {
+                    // 최종 위치(finalEffectLocation)에 파티클 생성 (계산된 분포 오프셋 pOffsetX/Y/Z 사용)
+                    // 러너 틱 안이면 틱 끝에 다른 태스크의 출력과 합쳐서 전송 (EffectSink)
+                    EffectSink sink = EffectSink.current();
+                    if (sink != null) {
+                        sink.particle(finalEffectLocation, particle, count, pOffsetX, pOffsetY, pOffsetZ, speed, extraData);
+                    } else {
+                        world.spawnParticle(particle, finalEffectLocation, count, pOffsetX, pOffsetY, pOffsetZ, speed, extraData);
+                    }
+                    logger.finer(pluginPrefix + "Played particle " + particleName + " at: " + finalEffectLocation + " with distribution offset: " + pOffsetX + "," + pOffsetY + "," + pOffsetZ);
+                }
 
             } catch (IllegalArgumentException e) {
                 logger.warning(pluginPrefix + "Invalid particle name: " + particleName);
@@ -137,7 +156,12 @@ public class PlayEffectAction implements Action {
                 float volume = getFloatFromMap(soundData, "volume", 1.0f, context);
                 float pitch = getFloatFromMap(soundData, "pitch", 1.0f, context);
 
-                world.playSound(finalEffectLocation, sound, volume, pitch);
+                EffectSink sink = EffectSink.current();
+                if (sink != null) {
+                    sink.sound(finalEffectLocation, sound, volume, pitch);
+                } else {
+                    world.playSound(finalEffectLocation, sound, volume, pitch);
+                }
                 logger.finer(pluginPrefix + "Played sound " + soundName + " at: " + finalEffectLocation);
 
             } catch (IllegalArgumentException e) {
@@ -149,6 +173,54 @@ public class PlayEffectAction implements Action {
         return ExecutionStatus.COMPLETED;
     }
 
+    // 모양 점 좌표 버퍼 (스레드별 재사용, 필요하면 늘림)
+    private static final ThreadLocal<double[][]> SHAPE_BUFFER = ThreadLocal.withInitial(() -> new double[3][64]);
+
+    /**
+     * shape: {type, points, radius, height, turns, axis} 의 각 점에 파티클을 출력합니다.
+     * 단위 좌표는 ShapeTable 캐시에서 가져오고 여기서는 회전/크기/이동만 계산합니다.
+     * @return 출력한 점 개수, type 이 잘못되었으면 -1
+     */
+    private int playShape(Map<String, Object> shapeData, Location center, Particle particle, int count,
+                          double pOffsetX, double pOffsetY, double pOffsetZ, double speed, Object extraData,
+                          ExecutionContext context) {
+        Object typeValue = shapeData.get("type");
+        ShapeTable.Type type = ShapeTable.Type.parse(typeValue != null ? String.valueOf(typeValue) : null);
+        if (type == null) {
+            return -1;
+        }
+        int points = getIntFromMap(shapeData, "points", 32, context);
+        double turns = getDoubleFromMap(shapeData, "turns", 1.0, context);
+        double radius = getDoubleFromMap(shapeData, "radius", 1.0, context);
+        double height = getDoubleFromMap(shapeData, "height", type == ShapeTable.Type.SPHERE ? radius : 1.0, context);
+        Vector axis = getVectorParameter(shapeData, "axis", context).orElse(null);
+
+        ShapeTable table = ShapeTable.of(type, points, turns);
+        int n = table.size();
+        double[][] buffer = SHAPE_BUFFER.get();
+        if (buffer[0].length < n) {
+            buffer = new double[3][Math.max(n, buffer[0].length * 2)];
+            SHAPE_BUFFER.set(buffer);
+        }
+        double[] xs = buffer[0], ys = buffer[1], zs = buffer[2];
+        table.transform(center.getX(), center.getY(), center.getZ(), radius, height, axis, xs, ys, zs);
+
+        World world = center.getWorld();
+        EffectSink sink = EffectSink.current();
+        Location at = center.clone();
+        for (int i = 0; i < n; i++) {
+            at.setX(xs[i]);
+            at.setY(ys[i]);
+            at.setZ(zs[i]);
+            if (sink != null) {
+                sink.particle(at, particle, count, pOffsetX, pOffsetY, pOffsetZ, speed, extraData);
+            } else {
+                world.spawnParticle(particle, at, count, pOffsetX, pOffsetY, pOffsetZ, speed, extraData);
+            }
+        }
+        return n;
+    }
+
     // --- 추가: Map에서 숫자 값 추출 헬퍼 (변수 해석 기능 포함) ---
 
     private double getDoubleFromMap(Map<String, Object> map, String key, double defaultValue, ExecutionContext context) {
@@ -0,0 +1,36 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.execution.AreaQuery;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
+import org.bukkit.Location;
+
+/** target.radius: center(기본 시전자 위치)에서 radius 이내의 엔티티. */
+public class RadiusTargetAction extends AreaTargetAction {
+
+    private static final Parameter CENTER = Parameter.location("center");
+    private static final Parameter RADIUS = Parameter.number("radius").required();
+    private static final Parameter VARIABLE = Parameter.variable("variable");
+    private static final Parameter INCLUDE_CASTER = Parameter.bool("includeCaster");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(CENTER, RADIUS, VARIABLE, INCLUDE_CASTER);
+
+    public RadiusTargetAction() {
+        super(CENTER, VARIABLE, INCLUDE_CASTER);
+    }
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
+
+    @Override
+    protected AreaQuery buildQuery(BoundParameters params, ExecutionContext context, Location center) {
+        double radius = params.getDouble(RADIUS, -1.0, context);
+        if (radius < 0) {
+            return null;
+        }
+        return AreaQuery.radius(center.getX(), center.getY(), center.getZ(), radius);
+    }
+}
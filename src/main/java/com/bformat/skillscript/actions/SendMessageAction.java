@@ -3,45 +3,51 @@ package com.bformat.skillscript.actions;
 import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState; // ExecutionState 임포트 추가
 import com.bformat.skillscript.execution.ExecutionStatus;
-import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender; // Allow sending to Console
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
-import java.util.Map;
-import java.util.Optional;
+import java.util.logging.Level;
 import java.util.logging.Logger; // Logger 임포트 추가
 
-public class SendMessageAction implements Action {
+public class SendMessageAction implements BoundAction {
+
+    // 메시지는 로드 시점에 플레이스홀더 템플릿으로 분할됨
+    private static final Parameter MESSAGE = Parameter.text("message").required();
+    private static final Parameter TARGET = Parameter.any("target");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(MESSAGE, TARGET);
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
 
     @Override
-    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params) {
         final Logger logger = context.getCaster().getServer().getLogger();
         final String pluginPrefix = "[SkillScript Action] ";
 
-        // --- 메시지 파싱 (필수) ---
-        Optional<String> messageOpt = getStringParameter(params, "message");
-        if (messageOpt.isEmpty()) {
-            logger.warning(pluginPrefix + "SendMessageAction: Missing 'message' parameter.");
-            return ExecutionStatus.ERROR("SendMessageAction: Missing 'message' parameter.");
-        }
-        String rawMessage = messageOpt.get(); // 원본 메시지 문자열
-
         // --- 대상 결정 ---
-        CommandSender target = resolveTarget(context, params.get("target")); // 기존 헬퍼 사용
+        CommandSender target = resolveTarget(context, params.getRaw(TARGET)); // 기존 헬퍼 사용
 
         // --- 메시지 전송 ---
         if (target != null) {
-            // *** 플레이스홀더 처리 ***
-            String processedMessage = processPlaceholders(rawMessage, context, logger, pluginPrefix);
+            // *** 플레이스홀더 처리 (미리 분할된 템플릿 렌더링) ***
+            String processedMessage = params.getString(MESSAGE, context, logger, pluginPrefix);
 
             // 색상 코드 적용
             String formattedMessage = ChatColor.translateAlternateColorCodes('&', processedMessage);
 
             // 최종 메시지 전송
             target.sendMessage(formattedMessage);
-            logger.fine(pluginPrefix + "Sent message to " + target.getName() + ": " + formattedMessage + " (Raw: " + rawMessage + ")");
+            if (logger.isLoggable(Level.FINE)) {
+                logger.fine(pluginPrefix + "Sent message to " + target.getName() + ": " + formattedMessage + " (Raw: " + params.getString(MESSAGE) + ")");
+            }
         } else {
             logger.warning(pluginPrefix + "SendMessageAction: Could not determine a valid target to send the message to.");
         }
@@ -88,5 +94,5 @@ public class SendMessageAction implements Action {
         return context.getCaster();
     }
 
-    // getStringParameter helper is inherited from Action interface
+    // 파라미터는 SCHEMA 로 로드 시점에 바인딩됨 (BoundParameters)
 }
\ No newline at end of file
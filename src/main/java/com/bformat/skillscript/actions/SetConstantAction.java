@@ -0,0 +1,49 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionState;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.Parameter;
+import com.bformat.skillscript.lang.param.ParameterSchema;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+
+/**
+ * 로드 시점에 계산이 끝난 값을 변수에 저장하는 액션 (variable.setconstant).
+ * 주로 ScriptOptimizer 가 리터럴만 사용하는 variable.vectormath 등을 접어서 생성합니다.
+ * Vector/Location 값은 실행마다 복제하여 저장하므로 스크립트 간에 공유되지 않습니다.
+ */
+public class SetConstantAction implements BoundAction {
+
+    private static final Parameter VARIABLE = Parameter.variable("variable").required();
+    private static final Parameter VALUE = Parameter.any("value").required();
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(VARIABLE, VALUE);
+
+    @Override
+    public ParameterSchema parameterSchema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
+    @Override
+    public ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params) {
+        int slot = params.getVariableSlot(VARIABLE, context);
+        Object value = params.getRaw(VALUE);
+        if (value instanceof Number) {
+            context.setDouble(slot, ((Number) value).doubleValue());
+        } else if (value instanceof Vector) {
+            context.setVariable(slot, ((Vector) value).clone());
+        } else if (value instanceof Location) {
+            context.setVariable(slot, ((Location) value).clone());
+        } else {
+            context.setVariable(slot, value);
+        }
+        return ExecutionStatus.COMPLETED;
+    }
+}
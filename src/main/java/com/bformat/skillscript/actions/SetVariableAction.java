@@ -20,6 +20,12 @@ public class SetVariableAction implements Action {
     // SetVariable 자체에서는 사용하지 않지만, Action 인터페이스에서 가져옴 (참고용)
     // private static final Pattern VAR_PATTERN = Pattern.compile("\\{var:([^}]+)\\}");
 
+    // 변수만 변경함. @ 셀렉터를 읽는 값은 Instruction 에서 비순수로 분류됨
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
     @Override
     public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
         final Logger logger = context.getCaster().getServer().getLogger();
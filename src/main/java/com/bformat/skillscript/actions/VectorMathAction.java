@@ -4,8 +4,10 @@ import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ExecutionState;
 import com.bformat.skillscript.execution.ExecutionStatus;
 import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.shape.PointTransform;
 import org.bukkit.util.Vector;
 
+import java.util.ArrayList;
 import java.util.List; // List 임포트 추가
 import java.util.Map;
 import java.util.Optional;
@@ -14,6 +16,12 @@ import java.util.logging.Logger;
 public class VectorMathAction implements Action {
 
     // ... (execute 메소드는 이전 버전과 동일하게 유지) ...
+    // 벡터 연산 결과를 변수에 저장할 뿐 월드를 건드리지 않음
+    @Override
+    public boolean isPure() {
+        return true;
+    }
+
     @Override
     public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
         final Logger logger = context.getCaster().getServer().getLogger();
@@ -32,6 +40,12 @@ public class VectorMathAction implements Action {
         String operation = operationOpt.get().toUpperCase();
         Object vector1Raw = vector1ParamOpt.get();
 
+        // vector1 이 벡터 리스트이면 모든 요소에 같은 연산을 적용 (배치 모드)
+        Optional<List<Vector>> batchOpt = resolveVectorList(vector1Raw, context, logger, pluginPrefix);
+        if (batchOpt.isPresent()) {
+            return executeBatch(batchOpt.get(), variableName, operation, params, context, logger, pluginPrefix);
+        }
+
         Optional<Vector> vector1Opt = resolveVector(vector1Raw, context, logger, pluginPrefix);
         if (vector1Opt.isEmpty()) {
             return ExecutionStatus.ERROR("VectorMathAction: Could not resolve 'vector1'.");
@@ -109,8 +123,107 @@ public class VectorMathAction implements Action {
     }
 
 
+    /**
+     * 배치 모드: 리스트의 모든 벡터에 SCALE/ADD/SUBTRACT/NORMALIZE 를 적용해 새 리스트를 저장합니다.
+     * 크기 조절과 이동은 x/y/z 배열로 풀어 {@link PointTransform} 으로 한 번에 계산합니다.
+     */
+    private ExecutionStatus executeBatch(List<Vector> vectors, String variableName, String operation, Map<String, Object> params,
+                                         ExecutionContext context, Logger logger, String pluginPrefix) {
+        int n = vectors.size();
+        double[] xs = new double[n], ys = new double[n], zs = new double[n];
+        for (int i = 0; i < n; i++) {
+            Vector v = vectors.get(i);
+            xs[i] = v.getX();
+            ys[i] = v.getY();
+            zs[i] = v.getZ();
+        }
+
+        double[] matrix;
+        switch (operation) {
+            case "MULTIPLY_SCALAR", "SCALE" -> {
+                Object operand = params.get("operand");
+                Optional<Double> scalarOpt = (operand != null) ? resolveScalar(operand, context, logger, pluginPrefix) : Optional.empty();
+                if (scalarOpt.isEmpty()) {
+                    return ExecutionStatus.ERROR("VectorMathAction: Could not resolve scalar operand for " + operation);
+                }
+                double k = scalarOpt.get();
+                matrix = new double[]{k, 0, 0, 0, 0, k, 0, 0, 0, 0, k, 0};
+            }
+            case "ADD", "SUBTRACT" -> {
+                Object operand = params.get("operand");
+                Optional<Vector> offsetOpt = (operand != null) ? resolveVector(operand, context, logger, pluginPrefix) : Optional.empty();
+                if (offsetOpt.isEmpty()) {
+                    return ExecutionStatus.ERROR("VectorMathAction: Could not resolve vector operand for " + operation);
+                }
+                double sign = operation.equals("ADD") ? 1.0 : -1.0;
+                Vector offset = offsetOpt.get();
+                matrix = new double[]{1, 0, 0, sign * offset.getX(), 0, 1, 0, sign * offset.getY(), 0, 0, 1, sign * offset.getZ()};
+            }
+            case "NORMALIZE" -> {
+                for (int i = 0; i < n; i++) {
+                    double length = Math.sqrt(xs[i] * xs[i] + ys[i] * ys[i] + zs[i] * zs[i]);
+                    double scale = (length > 0.0) ? 1.0 / length : 0.0; // 길이 0 은 영벡터 (단일 모드와 같음)
+                    xs[i] *= scale;
+                    ys[i] *= scale;
+                    zs[i] *= scale;
+                }
+                matrix = null;
+            }
+            default -> {
+                logger.warning(pluginPrefix + "Unsupported operation: " + operation);
+                return ExecutionStatus.ERROR("VectorMathAction: Unsupported operation '" + operation + "'.");
+            }
+        }
+        if (matrix != null) {
+            PointTransform.affine(matrix, xs, ys, zs, xs, ys, zs, n);
+        }
+
+        List<Vector> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(new Vector(xs[i], ys[i], zs[i]));
+        }
+        context.setVariable(variableName, result);
+        logger.fine(pluginPrefix + "Stored " + n + " vectors (" + operation + ") in variable '" + variableName + "'.");
+        return ExecutionStatus.COMPLETED;
+    }
+
     // --- Helper Methods ---
 
+    /**
+     * vector1 이 벡터 리스트이면 (리스트 변수, 또는 [x, y, z] 리스트/Vector 의 리스트) 각 요소를 Vector 로 해석해 반환합니다.
+     * 단일 벡터 표기([x, y, z])이면 빈 값을 반환합니다.
+     */
+    private Optional<List<Vector>> resolveVectorList(Object rawValue, ExecutionContext context, Logger logger, String prefix) {
+        List<?> list = null;
+        if (rawValue instanceof String) {
+            Object variable = context.getVariable((String) rawValue);
+            if (variable instanceof List) {
+                list = (List<?>) variable;
+            }
+        } else if (rawValue instanceof List && !((List<?>) rawValue).isEmpty()) {
+            Object first = ((List<?>) rawValue).get(0);
+            if (first instanceof List || first instanceof Vector) {
+                list = (List<?>) rawValue;
+            }
+        }
+        if (list == null || isNumericTriple(list)) {
+            return Optional.empty(); // 숫자 [x, y, z] 하나는 벡터 하나 (단일 경로에서 처리)
+        }
+        List<Vector> vectors = new ArrayList<>(list.size());
+        for (Object element : list) {
+            Optional<Vector> vector = resolveVector(element, context, logger, prefix);
+            if (vector.isEmpty()) {
+                return Optional.empty(); // 경고는 resolveVector 에서 출력
+            }
+            vectors.add(vector.get());
+        }
+        return Optional.of(vectors);
+    }
+
+    private static boolean isNumericTriple(List<?> list) {
+        return list.size() == 3 && list.get(0) instanceof Number && list.get(1) instanceof Number && list.get(2) instanceof Number;
+    }
+
     /**
      * Helper to resolve Vector from Object (direct value, variable name, special keyword, or List [x, y, z]).
      * Relies on ExecutionContext.resolveVector for string resolution.
@@ -122,6 +235,10 @@ public class VectorMathAction implements Action {
             // 문자열이면 context.resolveVector 호출
             Optional<Vector> resolved = context.resolveVector((String) rawValue);
             if (resolved.isEmpty()) {
+                Object variable = context.getVariable((String) rawValue);
+                if (variable instanceof List && isNumericTriple((List<?>) variable)) {
+                    return resolveVector(variable, context, logger, prefix); // [x, y, z] 를 담은 변수
+                }
                 logger.warning(prefix + "Could not resolve string '" + rawValue + "' to Vector using context.resolveVector.");
             }
             return resolved;
@@ -1,5 +1,6 @@
 package com.bformat.skillscript.commands;
 
+import com.bformat.skillscript.script.CastResult;
 import com.bformat.skillscript.script.ScriptManager;
 import com.bformat.skillscript.script.ScriptRunner; // ScriptRunner 임포트
 import org.bukkit.ChatColor;
@@ -52,8 +53,12 @@ public class CastCommand implements CommandExecutor {
 
         // --- 실행 로직 변경 ---
         // ScriptRunner에게 실행 위임
-        caster.sendMessage(ChatColor.GREEN + "Casting skill: " + scriptName);
-        scriptRunner.runScript(caster, onCastActions); // ScriptRunner의 메소드 호출
+        CastResult result = scriptRunner.cast(caster, scriptName, onCastActions); // ScriptRunner의 메소드 호출
+        switch (result.status()) {
+            case REJECTED -> caster.sendMessage(ChatColor.RED + "Cannot cast " + scriptName + ": " + result.reason());
+            case QUEUED -> caster.sendMessage(ChatColor.YELLOW + "Too many active skills. " + scriptName + " will be cast when one finishes.");
+            default -> caster.sendMessage(ChatColor.GREEN + "Casting skill: " + scriptName);
+        }
 
         return true;
     }
@@ -1,11 +1,14 @@
 package com.bformat.skillscript.commands;
 
 import com.bformat.skillscript.SkillScript; // 메인 클래스 참조 변경
+import com.bformat.skillscript.script.OptimizationReport;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 
+import java.util.Map;
+
 // 클래스 이름 변경
 public class SkillScriptCommand implements CommandExecutor {
 
@@ -28,14 +31,40 @@ public class SkillScriptCommand implements CommandExecutor {
             // TODO: config.yml 리로드 로직
             // plugin.reloadConfig();
 
+            // 실행 중인 시전은 이전에 컴파일된 블록과 변수 테이블로 끝까지 실행됨
             plugin.getScriptManager().loadScripts();
             // 메시지 변경
             sender.sendMessage(ChatColor.GREEN + "SkillScript scripts reloaded.");
             return true;
         }
 
+        if (args.length > 1 && args[0].equalsIgnoreCase("analyze")) {
+            analyze(sender, args[1]);
+            return true;
+        }
+
         // 메시지 변경
-        sender.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " reload");
+        sender.sendMessage(ChatColor.YELLOW + "Usage: /" + label + " <reload|analyze <script>>");
         return true;
     }
+
+    // 로드 시 최적화 결과 출력: 트리거별 액션 수 변화와 단순화 내역
+    private void analyze(CommandSender sender, String scriptName) {
+        if (plugin.getScriptManager().getScriptData(scriptName) == null) {
+            sender.sendMessage(ChatColor.RED + "Unknown script: " + scriptName);
+            return;
+        }
+        OptimizationReport report = plugin.getScriptManager().getOptimizationReport(scriptName);
+        if (report == null) {
+            sender.sendMessage(ChatColor.YELLOW + "Script '" + scriptName + "' was not optimized (scripts.optimize is false).");
+            return;
+        }
+        sender.sendMessage(ChatColor.GREEN + "Script '" + scriptName + "': " + report.summary());
+        for (Map.Entry<String, int[]> trigger : report.getTriggerSizes().entrySet()) {
+            sender.sendMessage(ChatColor.GRAY + "  " + trigger.getKey() + ": " + trigger.getValue()[0] + " -> " + trigger.getValue()[1] + " actions");
+        }
+        for (String detail : report.getDetails()) {
+            sender.sendMessage(ChatColor.GRAY + "  - " + detail);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.bformat.skillscript.execution;
+
+import org.bukkit.util.Vector;
+
+/**
+ * 영역 타게팅 질의 (반지름, 원뿔, 상자, 선분). 값으로 비교되므로 {@link EntityIndex} 의 틱별 결과 캐시 키로 쓰입니다.
+ * <p>
+ * 엔티티 위치는 몸 중심(발 위치 + 키의 절반)으로 검사합니다. 방향 벡터는 생성 시 정규화됩니다.
+ *
+ * @param shape 질의 모양
+ * @param x     중심 / 시작점 X
+ * @param y     중심 / 시작점 Y
+ * @param z     중심 / 시작점 Z
+ * @param dx    방향 X (원뿔/선분), 반 크기 X (상자)
+ * @param dy    방향 Y (원뿔/선분), 반 크기 Y (상자)
+ * @param dz    방향 Z (원뿔/선분), 반 크기 Z (상자)
+ * @param range 반지름 (반지름), 길이 (원뿔/선분)
+ * @param param 코사인(원뿔 반각), 두께 반지름 (선분)
+ */
+public record AreaQuery(Shape shape, double x, double y, double z,
+                        double dx, double dy, double dz, double range, double param) {
+
+    public enum Shape { RADIUS, CONE, BOX, LINE }
+
+    /** 중심에서 radius 이내의 구. */
+    public static AreaQuery radius(double x, double y, double z, double radius) {
+        return new AreaQuery(Shape.RADIUS, x, y, z, 0, 0, 0, Math.max(0.0, radius), 0);
+    }
+
+    /** 중심 기준 각 축으로 반 크기(halfX/Y/Z)만큼의 축 정렬 상자. */
+    public static AreaQuery box(double x, double y, double z, double halfX, double halfY, double halfZ) {
+        return new AreaQuery(Shape.BOX, x, y, z, Math.abs(halfX), Math.abs(halfY), Math.abs(halfZ), 0, 0);
+    }
+
+    /**
+     * 시작점에서 direction 방향으로 range 까지, 방향과의 각도가 angleDegrees 의 절반 이내인 원뿔.
+     */
+    public static AreaQuery cone(double x, double y, double z, Vector direction, double range, double angleDegrees) {
+        Vector d = unit(direction);
+        double halfAngle = Math.toRadians(Math.max(0.0, Math.min(360.0, angleDegrees)) / 2.0);
+        return new AreaQuery(Shape.CONE, x, y, z, d.getX(), d.getY(), d.getZ(), Math.max(0.0, range), Math.cos(halfAngle));
+    }
+
+    /** 시작점에서 direction 방향으로 length 길이의 선분에서 width 이내 (캡슐). */
+    public static AreaQuery line(double x, double y, double z, Vector direction, double length, double width) {
+        Vector d = unit(direction);
+        return new AreaQuery(Shape.LINE, x, y, z, d.getX(), d.getY(), d.getZ(), Math.max(0.0, length), Math.max(0.0, width));
+    }
+
+    private static Vector unit(Vector direction) {
+        if (direction == null || direction.lengthSquared() < 1.0e-12) {
+            return new Vector(0, 0, 1);
+        }
+        return direction.clone().normalize();
+    }
+
+    // --- 검사할 XZ 범위 (EntityIndex 격자 칸 선택용) ---
+
+    public double minX() {
+        return switch (shape) {
+            case RADIUS, CONE -> x - range;
+            case BOX -> x - dx;
+            case LINE -> Math.min(x, x + dx * range) - param;
+        };
+    }
+
+    public double maxX() {
+        return switch (shape) {
+            case RADIUS, CONE -> x + range;
+            case BOX -> x + dx;
+            case LINE -> Math.max(x, x + dx * range) + param;
+        };
+    }
+
+    public double minZ() {
+        return switch (shape) {
+            case RADIUS, CONE -> z - range;
+            case BOX -> z - dz;
+            case LINE -> Math.min(z, z + dz * range) - param;
+        };
+    }
+
+    public double maxZ() {
+        return switch (shape) {
+            case RADIUS, CONE -> z + range;
+            case BOX -> z + dz;
+            case LINE -> Math.max(z, z + dz * range) + param;
+        };
+    }
+
+    /** @return 점(px, py, pz)이 영역 안이면 true */
+    public boolean contains(double px, double py, double pz) {
+        double rx = px - x, ry = py - y, rz = pz - z;
+        switch (shape) {
+            case RADIUS:
+                return rx * rx + ry * ry + rz * rz <= range * range;
+            case BOX:
+                return Math.abs(rx) <= dx && Math.abs(ry) <= dy && Math.abs(rz) <= dz;
+            case CONE: {
+                double distSq = rx * rx + ry * ry + rz * rz;
+                if (distSq > range * range) return false;
+                if (distSq == 0.0) return true;
+                double along = rx * dx + ry * dy + rz * dz;
+                // cos(각도) = along / 거리 >= cos(반각), 부호를 나눠 제곱 비교로 sqrt 생략
+                if (along >= 0) {
+                    return param <= 0 || along * along >= param * param * distSq;
+                }
+                return param < 0 && along * along <= param * param * distSq;
+            }
+            case LINE: {
+                double t = Math.max(0.0, Math.min(range, rx * dx + ry * dy + rz * dz));
+                double ox = rx - dx * t, oy = ry - dy * t, oz = rz - dz * t;
+                return ox * ox + oy * oy + oz * oz <= param * param;
+            }
+            default:
+                return false;
+        }
+    }
+}
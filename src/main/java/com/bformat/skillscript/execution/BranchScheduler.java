@@ -0,0 +1,146 @@
+package com.bformat.skillscript.execution;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * PARALLEL 프레임의 브랜치 실행 순서를 관리합니다.
+ * <p>
+ * 실행 가능한 브랜치는 ready 큐(인덱스 링 버퍼)에, 딜레이 중인 브랜치는 깨어날 프레임 틱 기준 최소 힙에 있으므로
+ * 한 틱의 처리 비용은 전체 브랜치 수가 아니라 실행 가능한 브랜치 수에 비례합니다.
+ * 끝나지 않은 브랜치 수(live)를 따로 세어 프레임 완료 판정도 O(1) 입니다.
+ * <p>
+ * "프레임 틱" 은 이 프레임이 처리된 횟수입니다. 태스크가 타이머 휠에 보관되어 방문되지 않은 틱은
+ * {@link #skip(int)} 로 더해집니다.
+ */
+final class BranchScheduler {
+
+    private final int[] ready;      // 링 버퍼 (용량 = 브랜치 수, 브랜치는 최대 한 번만 들어감)
+    private final boolean[] queued;
+    private int readyHead = 0;
+    private int readySize = 0;
+
+    // (wakeTick << INDEX_BITS) | index 를 담는 최소 힙
+    private static final int INDEX_BITS = 20;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+    private long[] sleeping;
+    private int sleepingSize = 0;
+
+    private long frameTick = 0L;
+    private int liveBranches;
+
+    BranchScheduler(List<ParallelBranchState> branches) {
+        int count = branches.size();
+        if (count > INDEX_MASK) {
+            throw new IllegalArgumentException("Too many parallel branches: " + count);
+        }
+        this.ready = new int[Math.max(1, count)];
+        this.queued = new boolean[Math.max(1, count)];
+        this.sleeping = new long[Math.max(4, count)];
+        for (int i = 0; i < count; i++) {
+            if (branches.get(i) != null) {
+                enqueue(i);
+                liveBranches++;
+            }
+        }
+    }
+
+    /**
+     * 새 프레임 틱을 시작합니다: 프레임 틱을 1 늘리고 이번 틱에 깨어나는 브랜치를 ready 큐로 옮깁니다.
+     * @return 이번 틱에 처리할 ready 브랜치 수 (처리 중 다시 들어간 브랜치는 다음 틱 몫)
+     */
+    int beginTick() {
+        frameTick++;
+        while (sleepingSize > 0 && (sleeping[0] >>> INDEX_BITS) <= frameTick) {
+            int index = (int) (sleeping[0] & INDEX_MASK);
+            popSleeping();
+            enqueue(index);
+        }
+        return readySize;
+    }
+
+    /** @return 다음 ready 브랜치 인덱스, 없으면 -1 */
+    int pollReady() {
+        if (readySize == 0) {
+            return -1;
+        }
+        int index = ready[readyHead];
+        readyHead = (readyHead + 1) % ready.length;
+        readySize--;
+        queued[index] = false;
+        return index;
+    }
+
+    /** 다음 틱에도 실행할 브랜치 (틱당 액션 제한에 걸린 경우). */
+    void enqueue(int index) {
+        if (queued[index]) {
+            return;
+        }
+        ready[(readyHead + readySize) % ready.length] = index;
+        readySize++;
+        queued[index] = true;
+    }
+
+    /**
+     * 딜레이 중인 브랜치를 보관합니다.
+     * @param remainingTicks 남은 딜레이 틱 수. 이 수만큼 프레임 틱이 지난 뒤 다시 실행됨
+     */
+    void sleep(int index, int remainingTicks) {
+        if (sleepingSize == sleeping.length) {
+            sleeping = Arrays.copyOf(sleeping, sleeping.length * 2);
+        }
+        long entry = ((frameTick + remainingTicks) << INDEX_BITS) | index;
+        int i = sleepingSize++;
+        while (i > 0) { // sift up
+            int parent = (i - 1) >>> 1;
+            if (sleeping[parent] <= entry) break;
+            sleeping[i] = sleeping[parent];
+            i = parent;
+        }
+        sleeping[i] = entry;
+    }
+
+    /** 브랜치가 끝났을 때 호출합니다 (브랜치당 한 번). */
+    void finish() {
+        liveBranches--;
+    }
+
+    /** 방문하지 않은 프레임 틱을 더합니다 (딜레이가 그만큼 진행됨). */
+    void skip(int ticks) {
+        frameTick += ticks;
+    }
+
+    /**
+     * @return 모든 live 브랜치가 딜레이 중일 때 아무것도 실행되지 않는 틱 수, 실행할 브랜치가 있으면 0
+     */
+    int idleTicks() {
+        if (readySize > 0 || sleepingSize == 0) {
+            return 0;
+        }
+        long wakeTick = sleeping[0] >>> INDEX_BITS;
+        return (int) Math.max(0L, wakeTick - frameTick - 1);
+    }
+
+    int getLiveBranches() { return liveBranches; }
+
+    int getReadyCount() { return readySize; }
+
+    int getSleepingCount() { return sleepingSize; }
+
+    private void popSleeping() {
+        long last = sleeping[--sleepingSize];
+        if (sleepingSize == 0) {
+            return;
+        }
+        int i = 0;
+        while (true) { // sift down
+            int child = 2 * i + 1;
+            if (child >= sleepingSize) break;
+            if (child + 1 < sleepingSize && sleeping[child + 1] < sleeping[child]) child++;
+            if (sleeping[child] >= last) break;
+            sleeping[i] = sleeping[child];
+            i = child;
+        }
+        sleeping[i] = last;
+    }
+}
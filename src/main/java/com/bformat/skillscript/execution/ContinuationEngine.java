@@ -0,0 +1,137 @@
+package com.bformat.skillscript.execution;
+
+import com.bformat.skillscript.script.CompiledBlock;
+import com.bformat.skillscript.script.ScriptCompiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * 프레임 스택({@link ExecutionState}) 대신 가상 스레드 파이버로 스크립트를 실행하는 엔진 (runner.engine: continuations).
+ * <p>
+ * 태스크 본문은 루트 파이버 하나에서, parallel 블록의 각 브랜치는 자식 파이버에서 실행됩니다.
+ * 매 틱 메인 스레드가 살아 있는 파이버를 생성 순서대로 한 번씩 진행시키며, 딜레이 중인 파이버는
+ * park 된 가상 스레드 스택만 차지합니다. 딜레이/브랜치 완료 시점은 프레임 엔진과 같은 틱 카운터 규칙을 따릅니다.
+ * <p>
+ * 메인 스레드 전용입니다.
+ */
+final class ContinuationEngine {
+
+    private final ScriptTask task;
+    private final ExecutionContext context;
+    private final ScriptCompiler compiler;
+    private final Logger logger;
+    private final String logPrefix;
+    private final List<ScriptFiber> fibers = new ArrayList<>();
+    private final ScriptFiber rootFiber;
+    // 어느 스레드에서나 설정 (취소). 파이버 스레드 종료는 소유 스레드가 shutdown() 에서 수행
+    private volatile boolean closed = false;
+
+    ContinuationEngine(ScriptTask task, ExecutionContext context, CompiledBlock body, ScriptCompiler compiler,
+                       Logger logger, String logPrefix) {
+        this.task = task;
+        this.context = context;
+        this.compiler = compiler;
+        this.logger = logger;
+        this.logPrefix = logPrefix;
+        this.rootFiber = new ScriptFiber(task, context, body, compiler, true, logger, logPrefix);
+        fibers.add(rootFiber);
+    }
+
+    /**
+     * 한 틱을 실행합니다.
+     * @return 루트 파이버가 아직 끝나지 않았으면 true. 루트 파이버가 ERROR 로 끝났으면 {@link #getRootError()} 에 기록됨
+     */
+    boolean tick() throws InterruptedException {
+        if (closed) {
+            shutdown();
+            return false;
+        }
+        int count = fibers.size(); // 이번 틱에 분기된 브랜치는 다음 틱부터 실행
+        boolean anyDone = false;
+        for (int i = 0; i < count; i++) {
+            ScriptFiber fiber = fibers.get(i);
+            fiber.step(this);
+            if (closed) { // 이 틱의 액션이 태스크를 취소함 (예: 시전자 사망)
+                shutdown();
+                return false;
+            }
+            if (fiber.getState() == ScriptFiber.State.DONE) {
+                anyDone = true;
+                if (fiber.getErrorMessage() != null && !fiber.isRoot()) {
+                    logger.severe(logPrefix + "Branch fiber returned ERROR: " + fiber.getErrorMessage() + ". Marking branch finished.");
+                }
+            }
+        }
+        if (anyDone) {
+            fibers.removeIf(fiber -> fiber.getState() == ScriptFiber.State.DONE && !fiber.isRoot());
+        }
+        return rootFiber.getState() != ScriptFiber.State.DONE;
+    }
+
+    // FORK 처리: 브랜치마다 자식 파이버 생성 (빈 브랜치는 바로 끝난 것으로 취급)
+    List<ScriptFiber> fork(List<CompiledBlock> branches) {
+        List<ScriptFiber> children = new ArrayList<>(branches.size());
+        for (CompiledBlock branch : branches) {
+            if (branch.getInstructionCount() == 0) {
+                continue;
+            }
+            ScriptFiber child = new ScriptFiber(task, context, branch, compiler, false, logger, logPrefix);
+            children.add(child);
+            fibers.add(child);
+        }
+        return children;
+    }
+
+    /** @return 모든 파이버가 딜레이 중이어서 아무것도 실행되지 않는 틱 수 */
+    int getIdleTicks() {
+        int idle = Integer.MAX_VALUE;
+        boolean anyDelayed = false;
+        for (ScriptFiber fiber : fibers) {
+            switch (fiber.getState()) {
+                case DELAYED -> {
+                    anyDelayed = true;
+                    idle = Math.min(idle, fiber.idleTicks());
+                }
+                case JOINING -> { } // 자식 파이버 기준
+                default -> { return 0; }
+            }
+        }
+        return anyDelayed ? idle : 0;
+    }
+
+    void skipDelayTicks(int ticks) {
+        if (ticks <= 0) {
+            return;
+        }
+        for (ScriptFiber fiber : fibers) {
+            fiber.skipDelayTicks(ticks);
+        }
+    }
+
+    /** @return 루트 파이버의 액션이 반환한 ERROR 메시지, 없으면 null */
+    String getRootError() {
+        return rootFiber.getErrorMessage();
+    }
+
+    /**
+     * 엔진을 취소 상태로 표시합니다. 어느 스레드에서나 호출할 수 있으며, 진행 중인 step 은 파이버를 다시 깨우거나
+     * 기다리지 않고 돌아옵니다. 파이버 스레드는 소유 스레드가 다음 {@link #tick()} 또는 {@link #shutdown()} 에서 종료합니다.
+     */
+    void close() {
+        closed = true;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /** 소유 스레드 전용: 남은 파이버 스레드를 모두 종료합니다. 여러 번 호출해도 됩니다. */
+    void shutdown() {
+        closed = true;
+        for (ScriptFiber fiber : fibers) {
+            fiber.close(); // 이미 끝난 스레드의 인터럽트는 무해
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.bformat.skillscript.execution;
+
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 러너 틱 동안 모든 태스크의 파티클/사운드 출력을 모았다가 틱 끝에 한 번에 보냅니다.
+ * <p>
+ * 같은 틱, 같은 위치의 동일한 파티클은 count 를 합쳐 한 번만 보내고(count 0 인 방향 파티클은 하나만),
+ * 동일한 사운드는 한 번만 재생합니다. 보낼 때는 월드별로 플레이어 목록을 한 번 읽고
+ * 플레이어마다 주변 격자 칸의 출력만 확인하므로 출력 수 x 월드 플레이어 수만큼 거리 검사를 하지 않습니다.
+ * 수신 범위는 World#spawnParticle(32블록), World#playSound(16 x max(1, volume) 블록)와 같습니다.
+ * <p>
+ * 파티클은 거리에 따라 줄일 수 있습니다({@link #setLodDistances}): 전체 밀도 거리 안에서는 그대로,
+ * 그 밖에서는 최대 거리까지 count 를 선형으로 줄이고, 최대 거리 밖의 플레이어에게는 보내지 않습니다.
+ * 플레이어별 틱당 파티클 예산({@link #setPlayerParticleBudget})을 두면 가까운 출력부터 예산만큼만 보냅니다.
+ * <p>
+ * 틱을 실행하는 스레드({@link #bind()} 한 스레드)에서만 사용합니다. 바인드되지 않은 스레드에서는
+ * {@link #current()} 가 null 이므로 액션은 바로 월드에 출력합니다.
+ */
+public final class EffectSink {
+
+    private static final ThreadLocal<EffectSink> CURRENT = new ThreadLocal<>();
+
+    private static final double PARTICLE_RANGE = 32.0;
+    private static final double PARTICLE_RANGE_SQUARED = PARTICLE_RANGE * PARTICLE_RANGE;
+    private static final int CELL_SHIFT = 5; // 32블록 격자: 플레이어 주변 3x3 칸이 파티클 수신 범위를 덮음
+
+    private final Map<World, Batch> batches = new LinkedHashMap<>();
+
+    // 거리별 밀도 (기본값: 수신 범위 전체에서 그대로 전송)
+    private double fullDetailDistance = PARTICLE_RANGE;
+    private double maxDistance = PARTICLE_RANGE;
+    // 플레이어별 틱당 파티클 수 한도 (0 이하이면 제한 없음)
+    private int playerParticleBudget = 0;
+
+    // 마지막 flush 통계
+    private int lastEmissions;
+    private int lastSent;
+    private int lastThinned;
+
+    /** @return 현재 스레드에 바인드된 싱크, 없으면 null */
+    public static EffectSink current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 현재 스레드에 이 싱크를 바인드합니다.
+     * @return 이미 이 싱크가 바인드되어 있었으면 false (중첩 호출: 바깥 호출이 flush 함)
+     */
+    public boolean bind() {
+        if (CURRENT.get() == this) {
+            return false;
+        }
+        CURRENT.set(this);
+        return true;
+    }
+
+    /** 모은 출력을 보내고 바인드를 해제합니다. */
+    public void flushAndUnbind() {
+        try {
+            flush();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    public void particle(Location location, Particle particle, int count,
+                         double offsetX, double offsetY, double offsetZ, double speed, Object data) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+        ParticleKey key = new ParticleKey(particle, location.getX(), location.getY(), location.getZ(),
+                count == 0, offsetX, offsetY, offsetZ, speed, dataKey(data));
+        Batch batch = batches.computeIfAbsent(world, w -> new Batch());
+        batch.emissions++;
+        ParticleEmission existing = batch.particles.get(key);
+        if (existing != null) {
+            if (count > 0) {
+                existing.count += count; // 같은 분포에서 뽑으므로 count 합산과 같음
+            }
+            return;
+        }
+        batch.particles.put(key, new ParticleEmission(key, count, data));
+    }
+
+    public void sound(Location location, Sound sound, float volume, float pitch) {
+        World world = location.getWorld();
+        if (world == null) {
+            return;
+        }
+        Batch batch = batches.computeIfAbsent(world, w -> new Batch());
+        batch.emissions++;
+        batch.sounds.add(new SoundKey(sound, location.getX(), location.getY(), location.getZ(), volume, pitch));
+    }
+
+    /**
+     * 거리별 파티클 밀도를 설정합니다.
+     * @param fullDetailDistance 이 거리까지는 count 그대로 전송
+     * @param maxDistance        이 거리 밖의 플레이어에게는 전송하지 않음 (최대 32블록)
+     */
+    public void setLodDistances(double fullDetailDistance, double maxDistance) {
+        this.maxDistance = Math.max(0.0, Math.min(PARTICLE_RANGE, maxDistance));
+        this.fullDetailDistance = Math.max(0.0, Math.min(this.maxDistance, fullDetailDistance));
+    }
+
+    /** @param budget 플레이어별 틱당 보낼 최대 파티클 수 (0 이하이면 제한 없음) */
+    public void setPlayerParticleBudget(int budget) {
+        this.playerParticleBudget = budget;
+    }
+
+    public double getFullDetailDistance() { return fullDetailDistance; }
+
+    public double getMaxDistance() { return maxDistance; }
+
+    public int getPlayerParticleBudget() { return playerParticleBudget; }
+
+    /** 모은 출력을 수신 범위 안의 플레이어에게 보냅니다. */
+    public void flush() {
+        int emissions = 0;
+        int sent = 0;
+        int thinned = 0;
+        if (!batches.isEmpty()) {
+            for (Map.Entry<World, Batch> entry : batches.entrySet()) {
+                Batch batch = entry.getValue();
+                emissions += batch.emissions;
+                sent += batch.send(entry.getKey(), this);
+                thinned += batch.thinned;
+            }
+            batches.clear();
+        }
+        lastEmissions = emissions;
+        lastSent = sent;
+        lastThinned = thinned;
+    }
+
+    /** @return 마지막 flush 전까지 액션이 요청한 출력 수 */
+    public int getLastEmissions() { return lastEmissions; }
+
+    /** @return 마지막 flush 에서 플레이어에게 보낸 파티클/사운드 호출 수 */
+    public int getLastSent() { return lastSent; }
+
+    /** @return 마지막 flush 에서 거리/예산 때문에 보내지 않은 파티클 수 (플레이어별 합계) */
+    public int getLastThinned() { return lastThinned; }
+
+    // 거리 제곱 distSq 의 플레이어에게 보낼 count. 0 이면 보내지 않음 (count 0 인 방향 파티클은 1개로 봄)
+    private int lodCount(int count, double distSq) {
+        int particles = Math.max(1, count);
+        if (distSq <= fullDetailDistance * fullDetailDistance) {
+            return particles;
+        }
+        if (distSq > maxDistance * maxDistance) {
+            return 0;
+        }
+        double fraction = (maxDistance - Math.sqrt(distSq)) / (maxDistance - fullDetailDistance);
+        return Math.max(1, (int) Math.ceil(particles * fraction));
+    }
+
+    // DustOptions 는 equals 가 없으므로 값으로 비교
+    private static Object dataKey(Object data) {
+        if (data instanceof Particle.DustOptions dust) {
+            return new DustKey(dust.getColor(), dust.getSize());
+        }
+        return data;
+    }
+
+    private static long cellOf(double x, double z) {
+        return ((long) ((int) Math.floor(x) >> CELL_SHIFT) << 32) | (((int) Math.floor(z) >> CELL_SHIFT) & 0xFFFFFFFFL);
+    }
+
+    private record DustKey(Color color, float size) { }
+
+    private record ParticleKey(Particle particle, double x, double y, double z, boolean directional,
+                               double offsetX, double offsetY, double offsetZ, double speed, Object data) { }
+
+    private record SoundKey(Sound sound, double x, double y, double z, float volume, float pitch) { }
+
+    private record Receiver(ParticleEmission emission, double distSq) { }
+
+    private static final class ParticleEmission {
+        final ParticleKey key;
+        final Object data;
+        int count;
+
+        ParticleEmission(ParticleKey key, int count, Object data) {
+            this.key = key;
+            this.count = count;
+            this.data = data;
+        }
+    }
+
+    // 한 월드의 이번 틱 출력
+    private static final class Batch {
+        final Map<ParticleKey, ParticleEmission> particles = new LinkedHashMap<>();
+        final Set<SoundKey> sounds = new LinkedHashSet<>();
+        int emissions;
+        int thinned; // 마지막 send 에서 줄어든 파티클 수
+
+        int send(World world, EffectSink sink) {
+            thinned = 0;
+            List<Player> players = world.getPlayers();
+            if (players.isEmpty()) {
+                return 0;
+            }
+            Map<Long, List<ParticleEmission>> cells = new HashMap<>();
+            for (ParticleEmission emission : particles.values()) {
+                cells.computeIfAbsent(cellOf(emission.key.x(), emission.key.z()), c -> new ArrayList<>()).add(emission);
+            }
+            double rangeSquared = sink.maxDistance * sink.maxDistance;
+            int budget = sink.playerParticleBudget;
+            List<Receiver> inRange = new ArrayList<>();
+            Location at = new Location(world, 0, 0, 0);
+            int sent = 0;
+            for (Player player : players) {
+                Location position = player.getLocation();
+                double px = position.getX(), py = position.getY(), pz = position.getZ();
+                int cellX = (int) Math.floor(px) >> CELL_SHIFT;
+                int cellZ = (int) Math.floor(pz) >> CELL_SHIFT;
+                if (!cells.isEmpty()) {
+                    // 이 플레이어가 받을 출력 목록 (격자 3x3 칸만 확인)
+                    inRange.clear();
+                    for (int dx = -1; dx <= 1; dx++) {
+                        for (int dz = -1; dz <= 1; dz++) {
+                            List<ParticleEmission> cell = cells.get(((long) (cellX + dx) << 32) | ((cellZ + dz) & 0xFFFFFFFFL));
+                            if (cell == null) continue;
+                            for (ParticleEmission emission : cell) {
+                                ParticleKey key = emission.key;
+                                double ex = key.x() - px, ey = key.y() - py, ez = key.z() - pz;
+                                double distSq = ex * ex + ey * ey + ez * ez;
+                                if (distSq > PARTICLE_RANGE_SQUARED) continue; // 원래도 받지 않는 거리
+                                if (distSq > rangeSquared) {
+                                    thinned += Math.max(1, emission.count);
+                                    continue;
+                                }
+                                inRange.add(new Receiver(emission, distSq));
+                            }
+                        }
+                    }
+                    if (budget > 0 && inRange.size() > 1) {
+                        inRange.sort(Comparator.comparingDouble(Receiver::distSq)); // 예산은 가까운 출력부터 사용
+                    }
+                    int remaining = budget;
+                    for (Receiver receiver : inRange) {
+                        ParticleEmission emission = receiver.emission();
+                        int full = Math.max(1, emission.count);
+                        int count = sink.lodCount(emission.count, receiver.distSq());
+                        if (budget > 0) {
+                            count = Math.min(count, remaining);
+                        }
+                        thinned += full - count;
+                        if (count <= 0) continue;
+                        remaining -= count;
+                        ParticleKey key = emission.key;
+                        at.setX(key.x());
+                        at.setY(key.y());
+                        at.setZ(key.z());
+                        // count 0 은 방향 파티클 (offset 이 방향/속도), 줄이지 않음
+                        player.spawnParticle(key.particle(), at, emission.count == 0 ? 0 : count,
+                                key.offsetX(), key.offsetY(), key.offsetZ(), key.speed(), emission.data);
+                        sent++;
+                    }
+                }
+                for (SoundKey sound : sounds) {
+                    double range = 16.0 * Math.max(1.0f, sound.volume());
+                    double sx = sound.x() - px, sy = sound.y() - py, sz = sound.z() - pz;
+                    if (sx * sx + sy * sy + sz * sz > range * range) continue;
+                    at.setX(sound.x());
+                    at.setY(sound.y());
+                    at.setZ(sound.z());
+                    player.playSound(at, sound.sound(), sound.volume(), sound.pitch());
+                    sent++;
+                }
+            }
+            return sent;
+        }
+    }
+}
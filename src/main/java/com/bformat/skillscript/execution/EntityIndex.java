@@ -0,0 +1,210 @@
+package com.bformat.skillscript.execution;
+
+import com.bformat.skillscript.script.FoliaRegionSchedulerBackend;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.util.BoundingBox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * 월드의 살아있는 엔티티를 XZ 격자(8블록 칸)로 묶은 공간 해시.
+ * <p>
+ * 서버 틱이 바뀐 뒤 처음 질의될 때 월드의 엔티티 목록을 한 번 읽어 다시 만들고, 같은 틱의 같은 질의
+ * ({@link AreaQuery} 값이 같음)는 캐시된 결과를 반환합니다. 그래서 같은 틱에 여러 시전이 영역 타게팅을 해도
+ * 엔티티 목록은 월드마다 한 번만 읽고, 질의는 겹치는 격자 칸의 엔티티만 검사합니다.
+ * <p>
+ * 엔티티가 많은 월드(지난 인덱스 기준 1024 마리 이상)에서는 월드 전체를 읽는 비용이 크므로,
+ * 작은 질의는 한 틱에 몇 번까지 인덱스를 만들지 않고 World#getNearbyEntities 로 주변 청크만 검사합니다.
+ * <p>
+ * 인덱스는 엔티티를 참조하고 엔티티는 월드를 참조하므로, 월드가 언로드되면 {@link #clear(World)} 로 지워야 합니다
+ * (WorldLifecycleListener).
+ * <p>
+ * 인덱스는 서버 메인 스레드에서만 사용합니다. 다른 스레드에서 호출하거나 리전 스레드 서버이면 {@link #find} 는
+ * 인덱스 없이 World#getNearbyEntities 로 질의합니다.
+ */
+public final class EntityIndex {
+
+    private static final int CELL_SHIFT = 3; // 8블록 칸
+
+    // 리전 스레드 서버(Folia 계열)에는 월드 전체를 읽을 수 있는 단일 메인 스레드가 없음
+    private static final boolean REGIONIZED = FoliaRegionSchedulerBackend.isSupported();
+
+    private static final int SMALL_QUERY_CELLS = 16; // 작은 질의: 격자 칸 16개 (32x32 블록) 이하
+    private static final int NEARBY_QUERIES_PER_TICK = 8; // 한 틱에 작은 질의가 이만큼 쌓이면 인덱스를 만드는 편이 쌈
+    private static int largeWorldEntities = 1024;
+
+    // 월드별 인덱스 (메인 스레드 전용). 값이 월드를 참조하지 않도록 월드는 질의할 때만 넘겨받음
+    private static final Map<World, EntityIndex> INDEXES = new WeakHashMap<>();
+
+    private int builtTick = Integer.MIN_VALUE;
+    private int resultsTick = Integer.MIN_VALUE; // results 와 nearbyQueries 가 속한 틱
+    private int nearbyQueries; // 이번 틱에 인덱스 없이 처리한 작은 질의 수
+
+    private LivingEntity[] entities = new LivingEntity[0];
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+    private double[] zs = new double[0];
+    private final Map<Long, int[]> cells = new HashMap<>(); // 칸 -> 엔티티 인덱스 (첫 원소는 개수)
+    private final Map<AreaQuery, List<LivingEntity>> results = new HashMap<>();
+
+    // 통계
+    private int rebuilds;
+    private int cacheHits;
+    private int nearbyHits;
+
+    private EntityIndex() {
+    }
+
+    /**
+     * 영역 안의 살아있는 엔티티를 찾습니다. 메인 스레드에서는 월드 인덱스와 틱별 결과 캐시를 사용합니다.
+     * @return 변경할 수 없는 결과 목록 (순서는 정해지지 않음)
+     */
+    public static List<LivingEntity> find(World world, AreaQuery query) {
+        if (REGIONIZED || !Bukkit.isPrimaryThread()) {
+            return findNearby(world, query);
+        }
+        return of(world).query(world, query);
+    }
+
+    /** @return 월드의 인덱스 (메인 스레드 전용, 없으면 생성) */
+    public static EntityIndex of(World world) {
+        return INDEXES.computeIfAbsent(world, key -> new EntityIndex());
+    }
+
+    /** 월드의 인덱스를 지웁니다 (월드 언로드 시, 메인 스레드). 인덱스가 잡고 있던 엔티티도 함께 놓아줌. */
+    public static void clear(World world) {
+        INDEXES.remove(world);
+    }
+
+    /** 인덱스 대신 주변 청크를 검사하기 시작하는 월드 엔티티 수를 바꿉니다 (테스트용). */
+    static void setLargeWorldEntities(int entities) {
+        largeWorldEntities = entities;
+    }
+
+    /**
+     * 이번 서버 틱의 인덱스로 질의합니다. 틱이 바뀌었으면 먼저 다시 만듭니다.
+     * 엔티티가 많은 월드의 작은 질의는 인덱스를 만들지 않고 주변 청크만 검사할 수 있습니다.
+     */
+    public List<LivingEntity> query(World world, AreaQuery query) {
+        int tick = Bukkit.getCurrentTick();
+        if (tick != resultsTick) {
+            results.clear();
+            nearbyQueries = 0;
+            resultsTick = tick;
+        }
+        List<LivingEntity> cached = results.get(query);
+        if (cached != null) {
+            cacheHits++;
+            return cached;
+        }
+        int minCellX = (int) Math.floor(query.minX()) >> CELL_SHIFT;
+        int maxCellX = (int) Math.floor(query.maxX()) >> CELL_SHIFT;
+        int minCellZ = (int) Math.floor(query.minZ()) >> CELL_SHIFT;
+        int maxCellZ = (int) Math.floor(query.maxZ()) >> CELL_SHIFT;
+        long queryCells = (long) (maxCellX - minCellX + 1) * (maxCellZ - minCellZ + 1);
+        if (tick != builtTick && entities.length >= largeWorldEntities
+                && queryCells <= SMALL_QUERY_CELLS && nearbyQueries < NEARBY_QUERIES_PER_TICK) {
+            nearbyQueries++;
+            nearbyHits++;
+            List<LivingEntity> result = findNearby(world, query);
+            results.put(query, result);
+            return result;
+        }
+        if (tick != builtTick) {
+            rebuild(world);
+            builtTick = tick;
+        }
+        List<LivingEntity> found = new ArrayList<>();
+        if (queryCells > cells.size()) {
+            // 영역이 채워진 칸 수보다 넓으면 칸 대신 전체를 검사
+            for (int i = 0; i < entities.length; i++) {
+                if (query.contains(xs[i], ys[i], zs[i])) found.add(entities[i]);
+            }
+        } else {
+            for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+                for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                    int[] members = cells.get(cellKey(cellX, cellZ));
+                    if (members == null) continue;
+                    for (int m = 1; m <= members[0]; m++) {
+                        int i = members[m];
+                        if (query.contains(xs[i], ys[i], zs[i])) found.add(entities[i]);
+                    }
+                }
+            }
+        }
+        List<LivingEntity> result = Collections.unmodifiableList(found);
+        results.put(query, result);
+        return result;
+    }
+
+    // 월드의 엔티티 목록을 한 번 읽어 격자에 넣음
+    private void rebuild(World world) {
+        List<LivingEntity> living = world.getLivingEntities();
+        int n = living.size();
+        if (xs.length < n) {
+            int capacity = Math.max(n, xs.length * 2);
+            xs = new double[capacity];
+            ys = new double[capacity];
+            zs = new double[capacity];
+        }
+        entities = living.toArray(new LivingEntity[0]);
+        cells.clear();
+        for (int i = 0; i < n; i++) {
+            LivingEntity entity = entities[i];
+            Location location = entity.getLocation();
+            xs[i] = location.getX();
+            ys[i] = location.getY() + entity.getHeight() / 2.0; // 몸 중심
+            zs[i] = location.getZ();
+            long key = cellKey((int) Math.floor(xs[i]) >> CELL_SHIFT, (int) Math.floor(zs[i]) >> CELL_SHIFT);
+            int[] members = cells.get(key);
+            if (members == null) {
+                members = new int[5];
+            } else if (members[0] + 1 == members.length) {
+                int[] grown = new int[members.length * 2];
+                System.arraycopy(members, 0, grown, 0, members.length);
+                members = grown;
+            }
+            members[++members[0]] = i;
+            cells.put(key, members);
+        }
+        rebuilds++;
+    }
+
+    // 인덱스 없이 질의 (메인 스레드가 아닐 때)
+    private static List<LivingEntity> findNearby(World world, AreaQuery query) {
+        BoundingBox box = new BoundingBox(query.minX(), -4096, query.minZ(), query.maxX(), 4096, query.maxZ());
+        List<LivingEntity> found = new ArrayList<>();
+        for (Entity entity : world.getNearbyEntities(box, e -> e instanceof LivingEntity)) {
+            Location location = entity.getLocation();
+            if (query.contains(location.getX(), location.getY() + entity.getHeight() / 2.0, location.getZ())) {
+                found.add((LivingEntity) entity);
+            }
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    /** @return 인덱스를 다시 만든 횟수 */
+    public int getRebuildCount() { return rebuilds; }
+
+    /** @return 같은 틱의 같은 질의로 캐시된 결과를 반환한 횟수 */
+    public int getCacheHits() { return cacheHits; }
+
+    /** @return 인덱스를 만들지 않고 주변 청크만 검사한 질의 수 */
+    public int getNearbyHits() { return nearbyHits; }
+
+    /** @return 마지막으로 만든 인덱스의 엔티티 수 */
+    public int size() { return entities.length; }
+}
@@ -6,11 +6,9 @@ import java.util.Optional; // Optional 사용
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 
-import org.bukkit.attribute.Attribute; // Attribute 임포트 추가
-import org.bukkit.entity.LivingEntity; // LivingEntity 임포트 추가
-import org.bukkit.entity.Damageable; // Damageable 임포트 추가
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -29,7 +27,16 @@ public class ExecutionContext {
     private Location collisionLocation; // 충돌 위치 (OnCollision 에서 사용)
     private Object collisionTarget; // 충돌 대상 (OnCollision 에서 사용)
 
-    private final Map<String, Object> variables = new HashMap<>(); // 스크립트 내 변수 저장
+    // 스크립트 내 변수 저장: 실행 중인 스크립트의 VariableSlots 슬롯 번호로 인덱싱
+    // Double 값은 numericValues 에 boxing 없이 저장하고 variableValues 에는 NUMERIC 표시만 남김
+    private static final Object NUMERIC = new Object();
+    private static final int INITIAL_VARIABLE_CAPACITY = 8;
+    private VariableSlots variableSlots = new VariableSlots(); // 스크립트에 붙기 전에는 이 컨텍스트 전용 테이블
+    private Object[] variableValues = new Object[INITIAL_VARIABLE_CAPACITY];
+    private double[] numericValues = new double[INITIAL_VARIABLE_CAPACITY];
+    private final Location scratchLocation = new Location(null, 0, 0, 0); // NumericSelector 용 재사용 Location
+    private final double[] scratchNumber = new double[1]; // getDouble / resolveNumber 용 재사용 버퍼
+    private double[] expressionSlots = new double[8]; // CachedExpression 평가용 슬롯 버퍼
 
     public ExecutionContext(Player caster) {
         this.caster = caster;
@@ -67,15 +74,143 @@ public class ExecutionContext {
     public void setCollisionLocation(Location collisionLocation) { this.collisionLocation = collisionLocation; }
     public void setCollisionTarget(Object collisionTarget) { this.collisionTarget = collisionTarget; }
 
-    // --- Variable Management (ConcurrentHashMap handles thread safety) ---
+    // --- Variable Management (슬롯 기반, 이름 기반 접근은 VariableSlots 로 슬롯을 찾아 위임) ---
+
+    /** @return 슬롯 번호를 해석하는 심볼 테이블 (실행 중인 스크립트의 테이블) */
+    public VariableSlots getVariableSlots() {
+        return variableSlots;
+    }
+
+    /**
+     * 스크립트의 심볼 테이블을 사용하도록 바꿉니다. 이미 설정된 변수는 이름으로 새 테이블의 슬롯에 옮겨집니다.
+     * 태스크를 만들 때 한 번 호출되며, 이후 슬롯 번호는 모두 이 테이블 기준입니다.
+     */
+    public void useVariableSlots(VariableSlots slots) {
+        if (slots == null || slots == variableSlots) {
+            return;
+        }
+        VariableSlots previous = variableSlots;
+        Object[] previousValues = variableValues;
+        double[] previousNumbers = numericValues;
+        int capacity = Math.max(INITIAL_VARIABLE_CAPACITY, slots.size());
+        variableSlots = slots;
+        variableValues = new Object[capacity];
+        numericValues = new double[capacity];
+        for (int slot = 0; slot < previousValues.length; slot++) {
+            if (previousValues[slot] != null) {
+                int target = slots.slotOf(previous.nameOf(slot));
+                ensureVariableCapacity(target);
+                variableValues[target] = previousValues[slot];
+                numericValues[target] = previousNumbers[slot];
+            }
+        }
+    }
+
     public void setVariable(String name, Object value) {
         if (name != null && !name.isBlank()) {
-            variables.put(name.toLowerCase(), value);
+            setVariable(variableSlots.slotOf(name), value);
         }
     }
 
     public Object getVariable(String name) {
-        return (name != null) ? variables.get(name.toLowerCase()) : null;
+        return (name != null) ? getVariable(variableSlots.peekSlot(name)) : null;
+    }
+
+    /**
+     * 슬롯 번호로 변수를 설정합니다. 슬롯은 {@link #getVariableSlots()} 테이블에서 얻습니다.
+     */
+    public void setVariable(int slot, Object value) {
+        if (slot < 0) {
+            return;
+        }
+        ensureVariableCapacity(slot);
+        if (value instanceof Double) {
+            numericValues[slot] = (Double) value;
+            variableValues[slot] = NUMERIC;
+        } else {
+            variableValues[slot] = value;
+        }
+    }
+
+    /**
+     * 슬롯 번호로 변수를 조회합니다.
+     * @return 변수 값, 설정되지 않았으면 null
+     */
+    public Object getVariable(int slot) {
+        if (slot < 0 || slot >= variableValues.length) {
+            return null;
+        }
+        Object value = variableValues[slot];
+        return (value == NUMERIC) ? (Object) numericValues[slot] : value;
+    }
+
+    /**
+     * 숫자 변수를 boxing 없이 설정합니다. {@code setVariable(name, Double)} 과 같은 값으로 보입니다.
+     */
+    public void setDouble(String name, double value) {
+        if (name != null && !name.isBlank()) {
+            setDouble(variableSlots.slotOf(name), value);
+        }
+    }
+
+    /** 슬롯 번호로 숫자 변수를 boxing 없이 설정합니다. 루프 카운터와 계산 결과 기록용. */
+    public void setDouble(int slot, double value) {
+        if (slot < 0) {
+            return;
+        }
+        ensureVariableCapacity(slot);
+        numericValues[slot] = value;
+        variableValues[slot] = NUMERIC;
+    }
+
+    /**
+     * 변수를 숫자로 읽습니다 (Number 또는 숫자 문자열).
+     * @return 변수 값, 없거나 숫자가 아니면 defaultValue
+     */
+    public double getDouble(String name, double defaultValue) {
+        return (name != null) ? getDouble(variableSlots.peekSlot(name), defaultValue) : defaultValue;
+    }
+
+    /** 슬롯 번호로 변수를 숫자로 읽습니다. 숫자 변수는 boxing 없이 반환됩니다. */
+    public double getDouble(int slot, double defaultValue) {
+        if (slot >= 0 && slot < variableValues.length && variableValues[slot] == NUMERIC) {
+            return numericValues[slot];
+        }
+        return readNumericVariable(slot, scratchNumber, 0) ? scratchNumber[0] : defaultValue;
+    }
+
+    /**
+     * 슬롯의 값을 숫자로 읽어 {@code out[index]} 에 기록합니다 (Number 또는 숫자 문자열). NumericSelector 용.
+     * @return 숫자로 해석했으면 true
+     */
+    boolean readNumericVariable(int slot, double[] out, int index) {
+        if (slot < 0 || slot >= variableValues.length) {
+            return false;
+        }
+        Object value = variableValues[slot];
+        if (value == NUMERIC) {
+            out[index] = numericValues[slot];
+            return true;
+        } else if (value instanceof Number) {
+            out[index] = ((Number) value).doubleValue();
+            return true;
+        } else if (value instanceof String) { // 문자열 숫자도 변환 시도
+            try {
+                out[index] = Double.parseDouble((String) value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void ensureVariableCapacity(int slot) {
+        if (slot >= variableValues.length) {
+            int newLength = Math.max(slot + 1, variableValues.length * 2);
+            variableValues = Arrays.copyOf(variableValues, newLength);
+            numericValues = Arrays.copyOf(numericValues, newLength);
+        }
     }
 
     public <T> T getVariableAs(String name, Class<T> type) {
@@ -108,97 +243,40 @@ public class ExecutionContext {
      * @return 해석된 숫자 값(Double) Optional
      */
     public Optional<Double> resolveNumericValue(String identifier) {
-        if (identifier == null || identifier.isBlank()) {
-            return Optional.empty();
-        }
-        String lowerId = identifier.toLowerCase();
-
-        // 1. 특수 키워드/셀렉터 파싱 (@ 기호 포함)
-        if (lowerId.startsWith("@")) {
-            String[] parts = lowerId.substring(1).split("\\.", 2); // "@" 제거 후 "." 기준으로 최대 2개 분리
-            String baseSelector = "@" + parts[0]; // 예: @casterlocation
-            String attribute = (parts.length > 1) ? parts[1] : null; // 예: x, y, z, health
-
-            // 위치 기반 셀렉터
-            if (baseSelector.equals("@casterlocation") || baseSelector.equals("@castlocation") || baseSelector.equals("@targetlocation") || baseSelector.equals("@currenttargetlocation")) {
-                Optional<Location> locOpt;
-                if (baseSelector.equals("@casterlocation") || baseSelector.equals("@castlocation")) {
-                    locOpt = resolveLocation("@casterlocation"); // resolveLocation은 clone된 값을 반환
-                } else { // target 또는 currenttarget
-                    locOpt = Optional.ofNullable(getCurrentTargetAsLocation()); // 이것도 clone 필요할 수 있음. getCurrentTargetAsLocation() 확인
-                }
-
+        // 식별자 해석은 NumericSelector 에서 식별자당 한 번만 수행되고 캐시됨
+        return NumericSelector.of(identifier).resolve(this);
+    }
 
-                if (locOpt.isPresent() && attribute != null) {
-                    Location loc = locOpt.get();
-                    switch (attribute) {
-                        case "x": return Optional.of(loc.getX());
-                        case "y": return Optional.of(loc.getY());
-                        case "z": return Optional.of(loc.getZ());
-                        // case "yaw": return Optional.of((double) loc.getYaw());
-                        // case "pitch": return Optional.of((double) loc.getPitch());
-                        default: return Optional.empty(); // 알 수 없는 속성
-                    }
-                }
-                return Optional.empty(); // 위치를 찾을 수 없거나 속성이 없음
-            }
-            // 엔티티 기반 셀렉터
-            else if (baseSelector.equals("@caster") || baseSelector.equals("@target") || baseSelector.equals("@currenttarget")) {
-                Optional<Entity> entityOpt;
-                if (baseSelector.equals("@caster")) {
-                    entityOpt = resolveEntity("@caster");
-                } else {
-                    entityOpt = Optional.ofNullable(getCurrentTargetAsEntity());
-                }
+    /**
+     * 미리 컴파일된 셀렉터로 숫자 값을 읽어 {@code out[index]} 에 기록합니다. boxing 없는 경로.
+     * @return 값을 해석했으면 true
+     */
+    public boolean readNumericValue(NumericSelector selector, double[] out, int index) {
+        return selector.readInto(this, out, index);
+    }
 
-                if (entityOpt.isPresent() && attribute != null) {
-                    Entity entity = entityOpt.get();
-                    switch (attribute) {
-                        case "x": return Optional.of(entity.getLocation().getX());
-                        case "y": return Optional.of(entity.getLocation().getY());
-                        case "z": return Optional.of(entity.getLocation().getZ());
-                        case "yaw": return Optional.of((double) entity.getLocation().getYaw());
-                        case "pitch": return Optional.of((double) entity.getLocation().getPitch());
-                        case "health":
-                            if (entity instanceof Damageable) {
-                                return Optional.of(((Damageable) entity).getHealth());
-                            }
-                            return Optional.empty(); // Damageable 아님
-                        case "maxhealth":
-                            if (entity instanceof LivingEntity) { // LivingEntity가 Attribute.GENERIC_MAX_HEALTH 를 가짐
-                                LivingEntity le = (LivingEntity) entity;
-                                return Optional.ofNullable(le.getAttribute(Attribute.MAX_HEALTH))
-                                        .map(attr -> attr.getValue());
-                            }
-                            // Player도 가능하지만 LivingEntity로 커버됨
-                            return Optional.empty(); // LivingEntity 아님
-                        // TODO: 다른 엔티티 속성 추가 (예: foodlevel for player)
-                        default: return Optional.empty(); // 알 수 없는 속성
-                    }
-                }
-                return Optional.empty(); // 엔티티를 찾을 수 없거나 속성이 없음
-            }
-            // TODO: 다른 타입의 셀렉터 (@CastDirection.X 등) 추가
+    /**
+     * 미리 컴파일된 셀렉터로 숫자 값을 읽습니다. boxing 없는 경로.
+     * @return 해석된 값, 해석할 수 없으면 defaultValue
+     */
+    public double resolveNumber(NumericSelector selector, double defaultValue) {
+        return selector.readInto(this, scratchNumber, 0) ? scratchNumber[0] : defaultValue;
+    }
 
-            return Optional.empty(); // 알려지지 않은 @ 셀렉터
-        }
-        // 2. 일반 변수 파싱 (@ 기호 없음)
-        else {
-            Object variableValue = getVariable(identifier); // getVariable은 이미 소문자 처리
-            if (variableValue instanceof Number) {
-                return Optional.of(((Number) variableValue).doubleValue());
-            } else if (variableValue instanceof String) { // 문자열 숫자도 변환 시도
-                try {
-                    return Optional.of(Double.parseDouble((String) variableValue));
-                } catch (NumberFormatException e) {
-                    return Optional.empty(); // 숫자로 변환 불가
-                }
-            }
-            // TODO: Location, Vector 등 다른 타입에서 특정 숫자 값을 추출할지 결정 (예: myLocationVar.X)
-            // 현재는 변수 자체가 Number 타입이거나 숫자 문자열인 경우만 처리
+    /**
+     * 수식 평가에 쓰는 슬롯 버퍼를 반환합니다 (이 컨텍스트의 실행 스레드 전용, 필요하면 키움).
+     * 공유되는 수식 인스턴스가 잠금 없이 평가되도록 값은 수식이 아니라 컨텍스트에 기록됩니다. 내용은 호출 사이에 유지되지 않습니다.
+     */
+    public double[] expressionSlots(int minLength) {
+        if (expressionSlots.length < minLength) {
+            expressionSlots = new double[Math.max(minLength, expressionSlots.length * 2)];
         }
+        return expressionSlots;
+    }
 
-        return Optional.empty(); // 어떤 경우에도 해당하지 않음
+    /** 셀렉터가 엔티티 좌표를 읽을 때 재사용하는 Location (이 컨텍스트의 실행 스레드 전용). */
+    Location scratchLocation() {
+        return scratchLocation;
     }
 
     /**
@@ -272,8 +350,18 @@ public class ExecutionContext {
         }
     }
 
+    /**
+     * 설정된 모든 변수의 스냅샷을 반환합니다 (소문자 이름 -> 값). 디버깅/표시용이며 수정해도 컨텍스트에 반영되지 않습니다.
+     */
     public Map<String, Object> getVariables() {
-        return variables; // 전체 변수 맵 반환 (읽기 전용으로 사용 권장)
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        for (int slot = 0; slot < variableValues.length; slot++) {
+            Object value = getVariable(slot);
+            if (value != null) {
+                snapshot.put(variableSlots.nameOf(slot), value);
+            }
+        }
+        return snapshot;
     }
 
     // TODO: 필요에 따라 더 많은 상태 및 유틸리티 메소드 추가
@@ -1,81 +1,87 @@
 package com.bformat.skillscript.execution;
 
+import com.bformat.skillscript.script.CompiledBlock;
+import com.bformat.skillscript.script.Instruction;
+import com.bformat.skillscript.script.ScriptCompiler;
+
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayDeque; // For potential stack implementation
 import java.util.Deque;    // For potential stack implementation
+import java.util.logging.Level;
 import java.util.logging.Logger; // Logger 추가
 import java.util.ArrayList; // ArrayList 추가
 
 
 /**
  * Represents a single frame on the execution stack.
- * It holds the list of actions for the current block (e.g., main script, loop body, conditional block)
- * and the index of the next action to execute within that list.
+ * It holds the compiled block for the current scope (e.g., main script, loop body, conditional block)
+ * and the index of the next instruction to execute within that block.
  */
 // ControlFlowFrame 수정
 class ControlFlowFrame {
-    final List<Map<String, Object>> actionList;
+    final CompiledBlock block;
     int actionIndex;
     final FrameType type;
     LoopState loopState;
     final List<ParallelBranchState> parallelBranches;
+    final BranchScheduler branchScheduler; // PARALLEL 프레임 전용: ready 큐 + 딜레이 브랜치 힙
     private final Logger logger; // Added logger
     private final String logPrefix = "[SkillScript Frame] "; // Added prefix
 
     // Constructor for non-parallel frames
-    ControlFlowFrame(List<Map<String, Object>> actionList, FrameType type, Logger logger) { // Added logger parameter
-        this.actionList = actionList != null ? actionList : List.of();
+    ControlFlowFrame(CompiledBlock block, FrameType type, Logger logger) { // Added logger parameter
+        this.block = block != null ? block : CompiledBlock.EMPTY;
         this.actionIndex = 0;
         this.type = type;
         this.loopState = null;
         this.parallelBranches = null;
+        this.branchScheduler = null;
         this.logger = (logger != null) ? logger : Logger.getLogger(ControlFlowFrame.class.getName()); // Added logger assignment
-        this.logger.info(logPrefix + "Non-Parallel Frame created: Type=" + type + ", ActionCount=" + this.actionList.size());
+        if (this.logger.isLoggable(Level.FINEST)) {
+            this.logger.finest(logPrefix + "Non-Parallel Frame created: Type=" + type + ", ActionCount=" + this.block.getInstructionCount());
+        }
     }
 
     // Constructor for PARALLEL frames
     ControlFlowFrame(List<ParallelBranchState> branches, Logger logger) { // Added logger parameter
-        this.actionList = null;
+        this.block = null;
         this.actionIndex = -1;
         this.type = FrameType.PARALLEL;
         this.loopState = null;
         this.parallelBranches = branches;
+        this.branchScheduler = (branches != null) ? new BranchScheduler(branches) : null;
         this.logger = (logger != null) ? logger : Logger.getLogger(ControlFlowFrame.class.getName()); // Added logger assignment
-        this.logger.info(logPrefix + "PARALLEL Frame created with " + (branches != null ? branches.size() : 0) + " branches.");
+        if (this.logger.isLoggable(Level.FINEST)) {
+            this.logger.finest(logPrefix + "PARALLEL Frame created with " + (branches != null ? branches.size() : 0) + " branches.");
+        }
     }
 
     // Checks if a non-parallel frame is finished
     boolean isNonParallelFinished() {
-        boolean finished = actionIndex >= (actionList != null ? actionList.size() : 0);
-        logger.info(logPrefix + "isNonParallelFinished (Type " + type + "): index=" + actionIndex + ", size=" + (actionList != null ? actionList.size() : "NULL") + " -> " + finished);
+        boolean finished = actionIndex >= (block != null ? block.getInstructionCount() : 0);
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest(logPrefix + "isNonParallelFinished (Type " + type + "): index=" + actionIndex + ", size=" + (block != null ? block.getInstructionCount() : "NULL") + " -> " + finished);
+        }
         return finished;
     }
 
-    // Checks if a PARALLEL frame is finished (all branches done)
+    // Returns the instruction at the current index of a non-parallel frame, or null if past the end
+    Instruction getCurrentInstruction() {
+        return block != null ? block.getInstruction(actionIndex) : null;
+    }
+
+    // Checks if a PARALLEL frame is finished (all branches done). 끝나지 않은 브랜치 수로 O(1) 판정
     boolean isParallelFinished() {
-        logger.info(logPrefix + "isParallelFinished checking frame...");
         if (parallelBranches == null) {
             logger.warning(logPrefix + "isParallelFinished: parallelBranches is null! Returning true.");
             return true;
         }
-        logger.info(logPrefix + "isParallelFinished: Checking " + parallelBranches.size() + " branches.");
-        int i = 0;
-        for (ParallelBranchState branch : parallelBranches) {
-            if (branch == null) {
-                logger.warning(logPrefix + "isParallelFinished: Branch " + i + " is NULL! Skipping check for this branch.");
-                i++;
-                continue; // Skip null branches, but maybe this indicates an error?
-            }
-            if (!branch.isFinished()) { // isFinished logs internally
-                logger.info(logPrefix + "isParallelFinished: Branch " + i + " is NOT finished. Returning false.");
-                return false; // Found an unfinished branch
-            }
-            logger.info(logPrefix + "isParallelFinished: Branch " + i + " IS finished.");
-            i++;
+        boolean finished = branchScheduler.getLiveBranches() <= 0;
+        if (logger.isLoggable(Level.FINEST)) {
+            logger.finest(logPrefix + "isParallelFinished: live branches=" + branchScheduler.getLiveBranches() + " -> " + finished);
         }
-        logger.info(logPrefix + "isParallelFinished: All branches checked and are finished. Returning true.");
-        return true; // All branches are finished
+        return finished;
     }
 }
 
@@ -87,39 +93,54 @@ class ControlFlowFrame {
 // LoopState requires a Logger instance now
 class LoopState {
     final String variableName;
+    private final VariableSlots.SlotRef variableSlot; // 변수 없으면 null
     final FrameType loopType;
     double counter;
     final double endValue;
     final double step;
     final List<?> listToIterate;
     int listIteratorIndex;
+    private final long iterationCount;
     private final Logger logger;
     private final String logPrefix = "[SkillScript LoopState] ";
 
     // Numeric Loop Constructor
     LoopState(String variableName, double start, double end, double step, Logger logger) {
         this.variableName = variableName;
+        this.variableSlot = slotFor(variableName);
         this.loopType = FrameType.NUMERIC_LOOP;
         this.counter = start;
         this.endValue = end;
         this.step = step;
         this.listToIterate = null;
         this.listIteratorIndex = -1;
+        boolean runs = step > 0 ? start <= end : step < 0 && start >= end;
+        this.iterationCount = runs ? (long) Math.floor((end - start) / step) + 1 : 0;
         this.logger = (logger != null) ? logger : Logger.getLogger(LoopState.class.getName());
-        this.logger.info(logPrefix + "Numeric LoopState created for '" + variableName + "': start=" + start + ", end=" + end + ", step=" + step);
+        if (this.logger.isLoggable(Level.FINEST)) {
+            this.logger.finest(logPrefix + "Numeric LoopState created for '" + variableName + "': start=" + start + ", end=" + end + ", step=" + step);
+        }
     }
 
     // List Iterator Loop Constructor
     LoopState(String variableName, List<?> list, Logger logger) {
         this.variableName = variableName;
+        this.variableSlot = slotFor(variableName);
         this.loopType = FrameType.LIST_ITERATOR_LOOP;
         this.listToIterate = list;
         this.listIteratorIndex = 0;
+        this.iterationCount = list != null ? list.size() : 0;
         this.counter = Double.NaN;
         this.endValue = Double.NaN;
         this.step = Double.NaN;
         this.logger = (logger != null) ? logger : Logger.getLogger(LoopState.class.getName());
-        this.logger.info(logPrefix + "List Iterator LoopState created for '" + variableName + "' with list size " + (list != null ? list.size() : "NULL"));
+        if (this.logger.isLoggable(Level.FINEST)) {
+            this.logger.finest(logPrefix + "List Iterator LoopState created for '" + variableName + "' with list size " + (list != null ? list.size() : "NULL"));
+        }
+    }
+
+    private static VariableSlots.SlotRef slotFor(String variableName) {
+        return (variableName != null && !variableName.isBlank()) ? new VariableSlots.SlotRef(variableName) : null;
     }
 
     boolean shouldContinue() {
@@ -128,52 +149,56 @@ class LoopState {
             if (step > 0) result = counter <= endValue;
             else if (step < 0) result = counter >= endValue;
             else result = false; // Step 0 case
-            logger.info(logPrefix + "shouldContinue (Numeric '" + variableName + "'): counter=" + counter + ", end=" + endValue + ", step=" + step + " -> " + result);
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.finest(logPrefix + "shouldContinue (Numeric '" + variableName + "'): counter=" + counter + ", end=" + endValue + ", step=" + step + " -> " + result);
+            }
         } else if (loopType == FrameType.LIST_ITERATOR_LOOP) {
             result = listToIterate != null && listIteratorIndex < listToIterate.size();
-            logger.info(logPrefix + "shouldContinue (List '" + variableName + "'): index=" + listIteratorIndex + ", size=" + (listToIterate != null ? listToIterate.size() : "NULL") + " -> " + result);
+            if (logger.isLoggable(Level.FINEST)) {
+                logger.finest(logPrefix + "shouldContinue (List '" + variableName + "'): index=" + listIteratorIndex + ", size=" + (listToIterate != null ? listToIterate.size() : "NULL") + " -> " + result);
+            }
         } else {
             logger.warning(logPrefix + "shouldContinue: Unknown loop type!");
         }
         return result;
     }
 
-    Object advanceAndGetValue() {
-        Object value = null;
+    /** @return 루프 전체의 반복 수 (오프로드 판단용, 진행 중에도 바뀌지 않음) */
+    long iterationCount() {
+        return iterationCount;
+    }
+
+    /** 다음 반복으로 이동합니다 (숫자 루프: counter += step, 리스트 루프: index++). */
+    void advance() {
         if (loopType == FrameType.NUMERIC_LOOP) {
-            value = counter; // Get current value before advancing
             counter += step;
-            logger.info(logPrefix + "advanceAndGetValue (Numeric '" + variableName + "'): Returning " + value + ", next counter=" + counter);
         } else if (loopType == FrameType.LIST_ITERATOR_LOOP) {
-            if (listToIterate != null && listIteratorIndex < listToIterate.size()) {
-                value = listToIterate.get(listIteratorIndex);
-                listIteratorIndex++;
-                logger.info(logPrefix + "advanceAndGetValue (List '" + variableName + "'): Returning element at index " + (listIteratorIndex-1) + " ("+value+"), next index=" + listIteratorIndex);
-            } else {
-                logger.warning(logPrefix + "advanceAndGetValue (List '" + variableName + "'): Index out of bounds or null list!");
-            }
+            listIteratorIndex++;
         } else {
-            logger.warning(logPrefix + "advanceAndGetValue: Unknown loop type!");
+            logger.warning(logPrefix + "advance: Unknown loop type!");
         }
-        return value;
     }
 
-    Object getInitialValue() {
-        Object value = null;
+    /**
+     * 현재 반복 값을 루프 변수에 기록합니다. 숫자 루프는 {@link ExecutionContext#setDouble(int, double)} 로
+     * boxing 없이 기록됩니다. 변수 이름이 없으면 아무 것도 하지 않습니다.
+     */
+    void writeCurrentValue(ExecutionContext context) {
+        if (variableSlot == null) {
+            return;
+        }
+        int slot = variableSlot.slotIn(context.getVariableSlots());
         if (loopType == FrameType.NUMERIC_LOOP) {
-            value = counter;
-            logger.info(logPrefix + "getInitialValue (Numeric '" + variableName + "'): Returning initial counter value: " + value);
+            context.setDouble(slot, counter);
         } else if (loopType == FrameType.LIST_ITERATOR_LOOP) {
             if (listToIterate != null && listIteratorIndex < listToIterate.size()) {
-                value = listToIterate.get(listIteratorIndex); // Get element at index 0
-                logger.info(logPrefix + "getInitialValue (List '" + variableName + "'): Returning initial element at index " + listIteratorIndex + ": " + value);
+                context.setVariable(slot, listToIterate.get(listIteratorIndex));
             } else {
-                logger.warning(logPrefix + "getInitialValue (List '" + variableName + "'): List is null or empty, cannot get initial value.");
+                logger.warning(logPrefix + "writeCurrentValue (List '" + variableName + "'): Index out of bounds or null list!");
             }
         } else {
-            logger.warning(logPrefix + "getInitialValue: Unknown loop type!");
+            logger.warning(logPrefix + "writeCurrentValue: Unknown loop type!");
         }
-        return value;
     }
 }
 
@@ -188,6 +213,8 @@ public class ExecutionState {
     private int globalDelayTicksRemaining = 0; // Added: Remaining global delay ticks (for sequential blocks)
     private final Logger logger;
     private final String logPrefix = "[SkillScript State] ";
+    // 액션이 컴파일되지 않은 List<Map>을 넘길 때 사용 (CompiledBlock은 그대로 사용)
+    private final ScriptCompiler compiler;
 
     /**
      * Constructor using a default logger.
@@ -200,19 +227,31 @@ public class ExecutionState {
 
     /**
      * Constructor with a specific logger instance.
+     * Raw action lists are compiled without an ActionRegistry, so their actions stay unresolved.
      * @param initialActionList The initial list of actions for the script. Cannot be null.
      * @param logger The logger instance to use. If null, a default logger is used.
      */
     public ExecutionState(List<Map<String, Object>> initialActionList, Logger logger) {
+        this(initialActionList, null, logger);
+    }
+
+    /**
+     * Constructor for compiled scripts.
+     * @param initialBlock The initial block of the script (usually a CompiledBlock). Cannot be null.
+     * @param compiler The compiler used for action lists that are not compiled yet. If null, a registry-less compiler is used.
+     * @param logger The logger instance to use. If null, a default logger is used.
+     */
+    public ExecutionState(List<Map<String, Object>> initialBlock, ScriptCompiler compiler, Logger logger) {
         // Ensure logger is not null
         this.logger = (logger != null) ? logger : Logger.getLogger(ExecutionState.class.getName());
+        this.compiler = (compiler != null) ? compiler : new ScriptCompiler(null, this.logger);
 
-        if (initialActionList == null) {
+        if (initialBlock == null) {
             this.logger.severe(logPrefix + "CRITICAL: Initial action list cannot be null.");
             throw new IllegalArgumentException("Initial action list cannot be null.");
         }
         // Push the initial block onto the stack, passing the logger to the frame
-        executionStack.push(new ControlFlowFrame(List.copyOf(initialActionList), FrameType.BLOCK, this.logger));
+        executionStack.push(new ControlFlowFrame(this.compiler.compile(initialBlock), FrameType.BLOCK, this.logger));
         // this.logger.info(logPrefix + "Initialized ExecutionState. Initial stack size: " + executionStack.size());
     }
 
@@ -264,46 +303,39 @@ public class ExecutionState {
     }
 
     /**
-     * Gets the next action map for a specific branch in a PARALLEL frame.
+     * Gets the next instruction for a specific branch in a PARALLEL frame.
      * @param branchIndex The index of the branch.
-     * @return The action map, or null if not applicable or no more actions.
+     * @return The instruction, or null if not applicable or no more actions.
      */
-    public Map<String, Object> getBranchNextActionMap(int branchIndex) {
+    public Instruction getBranchNextInstruction(int branchIndex) {
         ControlFlowFrame frame = getCurrentFrame();
         if (frame != null && frame.type == FrameType.PARALLEL && frame.parallelBranches != null && branchIndex >= 0 && branchIndex < frame.parallelBranches.size()) {
             ParallelBranchState branch = frame.parallelBranches.get(branchIndex);
             if(branch != null) {
-                return branch.getNextActionMap(); // Delegate to branch state
+                return branch.getNextInstruction(); // Delegate to branch state
             } else {
-                // logger.warning(logPrefix + "getBranchNextActionMap: Branch at index " + branchIndex + " is NULL.");
+                // logger.warning(logPrefix + "getBranchNextInstruction: Branch at index " + branchIndex + " is NULL.");
                 return null;
             }
         }
-        // logger.warning(logPrefix + "getBranchNextActionMap: Conditions not met. Frame type: " + (frame != null ? frame.type : "NULL") + ", Branch index: " + branchIndex);
+        // logger.warning(logPrefix + "getBranchNextInstruction: Conditions not met. Frame type: " + (frame != null ? frame.type : "NULL") + ", Branch index: " + branchIndex);
         return null;
     }
 
     /**
-     * Gets the next action map for a non-parallel (sequential) frame.
-     * @return The action map, or null if not applicable or no more actions.
+     * Gets the next instruction for a non-parallel (sequential) frame.
+     * @return The instruction, or null if not applicable or no more actions.
      */
-    public Map<String, Object> getNextActionMap() {
+    public Instruction getNextInstruction() {
         ControlFlowFrame frame = getCurrentFrame();
         if (frame != null && frame.type != FrameType.PARALLEL) {
             if (frame.isNonParallelFinished()) { // Check finished status before accessing index
-                // logger.finest(logPrefix + "getNextActionMap: Non-parallel frame is finished. Returning null.");
-                return null;
-            }
-            if (frame.actionList != null && frame.actionIndex >= 0 && frame.actionIndex < frame.actionList.size()) {
-                Map<String, Object> action = frame.actionList.get(frame.actionIndex);
-                // logger.finest(logPrefix + "getNextActionMap: Returning action at index " + frame.actionIndex + " for non-parallel frame.");
-                return action;
-            } else {
-                // logger.warning(logPrefix + "getNextActionMap: Index out of bounds or null action list for non-parallel frame. Index: " + frame.actionIndex + ", List size: " + (frame.actionList != null ? frame.actionList.size() : "NULL"));
+                // logger.finest(logPrefix + "getNextInstruction: Non-parallel frame is finished. Returning null.");
                 return null;
             }
+            return frame.getCurrentInstruction();
         }
-        // logger.warning(logPrefix + "getNextActionMap: Not a non-parallel frame. Type: " + (frame != null ? frame.type : "NULL"));
+        // logger.warning(logPrefix + "getNextInstruction: Not a non-parallel frame. Type: " + (frame != null ? frame.type : "NULL"));
         return null;
     }
 
@@ -422,6 +454,47 @@ public class ExecutionState {
         return false; // Was not delaying
     }
 
+    /**
+     * 다음 tick() 호출들이 딜레이 카운터만 줄이고 아무 액션도 실행하지 않을 틱 수를 계산합니다.
+     * 스케줄러는 이 틱 수만큼 태스크를 방문하지 않고 타이머 휠에 보관한 뒤 {@link #skipDelayTicks(int)} 로 카운터를 맞춥니다.
+     * <p>
+     * 현재 프레임이 끝난 상태이면 다음 틱에 프레임 정리(루프 진행, 태스크 종료)가 일어나야 하므로 0 입니다.
+     * PARALLEL 프레임은 ready 브랜치가 없을 때만 가장 먼저 깨어날 브랜치 기준으로 계산합니다.
+     * @return 건너뛸 수 있는 틱 수 (0 이면 다음 틱에 실행 필요)
+     */
+    public int getIdleTicks() {
+        ControlFlowFrame frame = getCurrentFrame();
+        if (frame == null || isCurrentFrameFinished()) {
+            return 0;
+        }
+        if (globalDelayTicksRemaining > 0) {
+            // 남은 R 틱 중 마지막 틱에는 딜레이가 끝나고 액션이 실행됨
+            return globalDelayTicksRemaining - 1;
+        }
+        if (frame.type != FrameType.PARALLEL || frame.branchScheduler == null) {
+            return 0;
+        }
+        return frame.branchScheduler.idleTicks();
+    }
+
+    /**
+     * 방문하지 않은 틱 수만큼 딜레이 카운터를 줄입니다 ({@link #getIdleTicks()} 이하의 값이어야 함).
+     * 그 틱들을 모두 방문한 것과 같은 상태가 됩니다.
+     */
+    public void skipDelayTicks(int ticks) {
+        if (ticks <= 0) {
+            return;
+        }
+        if (globalDelayTicksRemaining > 0) {
+            globalDelayTicksRemaining = Math.max(0, globalDelayTicksRemaining - ticks);
+            return; // 글로벌 딜레이 중에는 브랜치가 진행되지 않음
+        }
+        ControlFlowFrame frame = getCurrentFrame();
+        if (frame != null && frame.type == FrameType.PARALLEL && frame.branchScheduler != null) {
+            frame.branchScheduler.skip(ticks); // 딜레이 브랜치는 프레임 틱 기준으로 깨어남
+        }
+    }
+
     // --- Stack Manipulation Methods (No changes needed in their logic) ---
 
     /** Starts a new parallel execution block by pushing a PARALLEL frame onto the stack. */
@@ -436,7 +509,7 @@ public class ExecutionState {
         for (List<Map<String, Object>> branchActions : branchesData) {
             // logger.finest(logPrefix + "startParallelBlock: Creating branch " + branchIdx + "...");
             // Pass the logger to the ParallelBranchState constructor
-            branches.add(new ParallelBranchState(branchActions, logger));
+            branches.add(new ParallelBranchState(compiler.compile(branchActions), logger));
             branchIdx++;
         }
         // Pass the logger to the ControlFlowFrame constructor
@@ -448,7 +521,7 @@ public class ExecutionState {
     public void startConditionalBlock(List<Map<String, Object>> actionsToExecute) {
         if (actionsToExecute != null && !actionsToExecute.isEmpty()) {
             // Pass the logger to the ControlFlowFrame constructor
-            executionStack.push(new ControlFlowFrame(List.copyOf(actionsToExecute), FrameType.BLOCK, logger));
+            executionStack.push(new ControlFlowFrame(compiler.compile(actionsToExecute), FrameType.BLOCK, logger));
             // logger.info(logPrefix + "startConditionalBlock: Pushed conditional BLOCK frame onto stack with " + actionsToExecute.size() + " actions. New stack size: " + executionStack.size());
         } else {
             // logger.info(logPrefix + "startConditionalBlock: Skipped pushing empty conditional block.");
@@ -466,14 +539,10 @@ public class ExecutionState {
             return; // Don't push the frame if the loop won't even run once
         }
         // Pass the logger to the ControlFlowFrame constructor
-        ControlFlowFrame loopFrame = new ControlFlowFrame(List.copyOf(loopBody), FrameType.NUMERIC_LOOP, logger);
+        ControlFlowFrame loopFrame = new ControlFlowFrame(compiler.compile(loopBody), FrameType.NUMERIC_LOOP, logger);
         loopFrame.loopState = loopState;
         executionStack.push(loopFrame);
-        Object initialValue = loopState.getInitialValue(); // Get initial value (start)
-        if (variableName != null && !variableName.isBlank()) {
-            // logger.info(logPrefix + "startNumericLoop: Setting initial loop variable '" + variableName + "' to " + initialValue);
-            context.setVariable(variableName, initialValue); // Set variable for the first iteration
-        }
+        loopState.writeCurrentValue(context); // Set variable for the first iteration (start, boxing 없음)
         // logger.info(logPrefix + "startNumericLoop: Pushed NUMERIC_LOOP frame. New stack size: " + executionStack.size());
     }
 
@@ -489,14 +558,10 @@ public class ExecutionState {
         // Pass the logger to the LoopState constructor
         LoopState loopState = new LoopState(variableName, List.copyOf(list), logger); // Use immutable list
         // Pass the logger to the ControlFlowFrame constructor
-        ControlFlowFrame loopFrame = new ControlFlowFrame(List.copyOf(loopBody), FrameType.LIST_ITERATOR_LOOP, logger); // Use immutable list
+        ControlFlowFrame loopFrame = new ControlFlowFrame(compiler.compile(loopBody), FrameType.LIST_ITERATOR_LOOP, logger); // Compiled blocks are immutable
         loopFrame.loopState = loopState;
         executionStack.push(loopFrame);
-        Object initialValue = loopState.getInitialValue(); // Get first element
-        if (variableName != null && !variableName.isBlank()) {
-            // logger.info(logPrefix + "startListIteratorLoop: Setting initial loop variable '" + variableName + "' to " + initialValue);
-            context.setVariable(variableName, initialValue); // Set variable for the first iteration
-        }
+        loopState.writeCurrentValue(context); // Set variable for the first iteration (first element)
         // logger.info(logPrefix + "startListIteratorLoop: Pushed LIST_ITERATOR_LOOP frame. New stack size: " + executionStack.size());
     }
 
@@ -519,12 +584,9 @@ public class ExecutionState {
         if (finishedFrame.loopState != null) {
             // logger.info(logPrefix + "endCurrentBlock: Handling loop continuation for variable '" + finishedFrame.loopState.variableName + "'...");
             LoopState loopState = finishedFrame.loopState;
-            Object nextValue = loopState.advanceAndGetValue(); // Get next value and advance counter/iterator
+            loopState.advance(); // Advance counter/iterator first, then write the *new* value
             if (loopState.shouldContinue()) { // Check if loop should run again
-                // logger.info(logPrefix + "endCurrentBlock: Loop continues. Setting variable '" + loopState.variableName + "' to " + nextValue);
-                if (loopState.variableName != null && !loopState.variableName.isBlank()) {
-                    context.setVariable(loopState.variableName, nextValue); // Update context variable
-                }
+                loopState.writeCurrentValue(context); // Update context variable (슬롯 직접 접근, 숫자는 boxing 없음)
                 finishedFrame.actionIndex = 0; // Reset index to the beginning of the loop body
                 // logger.info(logPrefix + "endCurrentBlock: Pushing loop frame back onto stack. Stack size will be: " + (executionStack.size() + 1));
                 executionStack.push(finishedFrame); // Push the frame back for the next iteration
@@ -0,0 +1,243 @@
+package com.bformat.skillscript.execution;
+
+import org.bukkit.Location;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.Damageable;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 숫자 식별자(변수명 또는 "@Caster.Health" 같은 셀렉터)를 미리 해석해 둔 접근자.
+ * <p>
+ * 문자열 소문자 변환, 분할, if/switch 분기는 {@link #of(String)} 에서 식별자당 한 번만 수행되고,
+ * 반환된 접근자는 값을 바로 읽습니다. 엔티티 좌표는 컨텍스트의 재사용 Location 에 한 번에 읽어 옵니다.
+ */
+public interface NumericSelector {
+
+    /**
+     * 값을 읽어 {@code out[index]} 에 기록합니다.
+     * @return 값을 해석했으면 true, 해석할 수 없으면 false (out 은 변경되지 않음)
+     */
+    boolean readInto(ExecutionContext context, double[] out, int index);
+
+    /** Optional 형태로 값을 반환합니다 (기존 resolveNumericValue 호환 경로). */
+    default Optional<Double> resolve(ExecutionContext context) {
+        double[] value = new double[1];
+        return readInto(context, value, 0) ? Optional.of(value[0]) : Optional.empty();
+    }
+
+    // --- 컴파일 및 캐시 ---
+
+    /**
+     * 식별자를 접근자로 컴파일합니다. 결과는 캐시되며 알 수 없는 셀렉터도 (항상 실패하는 접근자로) 캐시됩니다.
+     * @param identifier 변수명 또는 셀렉터 문자열 (null 이나 공백이면 항상 실패하는 접근자)
+     */
+    static NumericSelector of(String identifier) {
+        if (identifier == null || identifier.isBlank()) {
+            return Selectors.UNRESOLVABLE;
+        }
+        NumericSelector cached = Selectors.CACHE.get(identifier);
+        if (cached == null) {
+            cached = Selectors.compile(identifier);
+            if (Selectors.CACHE.size() < Selectors.CACHE_MAX_SIZE) {
+                Selectors.CACHE.put(identifier, cached);
+            }
+        }
+        return cached;
+    }
+
+    /** 셀렉터 구현과 캐시. */
+    final class Selectors {
+
+        private static final int CACHE_MAX_SIZE = 4096;
+        private static final Map<String, NumericSelector> CACHE = new ConcurrentHashMap<>();
+
+        static final NumericSelector UNRESOLVABLE = (context, out, index) -> false;
+
+        private Selectors() {}
+
+        private static NumericSelector compile(String identifier) {
+            String lowerId = identifier.toLowerCase();
+            if (!lowerId.startsWith("@")) {
+                return new VariableSelector(identifier);
+            }
+            int dot = lowerId.indexOf('.');
+            if (dot < 0) {
+                return UNRESOLVABLE; // 속성 없음
+            }
+            String baseSelector = lowerId.substring(0, dot);
+            String attribute = lowerId.substring(dot + 1);
+
+            switch (baseSelector) {
+                case "@casterlocation":
+                case "@castlocation":
+                    return locationAxis(true, attribute);
+                case "@targetlocation":
+                case "@currenttargetlocation":
+                    return locationAxis(false, attribute);
+                case "@caster":
+                    return entityAttribute(true, attribute);
+                case "@target":
+                case "@currenttarget":
+                    return entityAttribute(false, attribute);
+                default:
+                    return UNRESOLVABLE; // 알려지지 않은 @ 셀렉터
+            }
+        }
+
+        private static NumericSelector locationAxis(boolean caster, String attribute) {
+            switch (attribute) {
+                case "x": return caster ? new CasterLocationAxis(0) : new TargetLocationAxis(0);
+                case "y": return caster ? new CasterLocationAxis(1) : new TargetLocationAxis(1);
+                case "z": return caster ? new CasterLocationAxis(2) : new TargetLocationAxis(2);
+                default: return UNRESOLVABLE;
+            }
+        }
+
+        private static NumericSelector entityAttribute(boolean caster, String attribute) {
+            switch (attribute) {
+                case "x": return caster ? new CasterLocationAxis(0) : new TargetEntityLocation(0);
+                case "y": return caster ? new CasterLocationAxis(1) : new TargetEntityLocation(1);
+                case "z": return caster ? new CasterLocationAxis(2) : new TargetEntityLocation(2);
+                case "yaw": return caster ? new CasterLocationAxis(3) : new TargetEntityLocation(3);
+                case "pitch": return caster ? new CasterLocationAxis(4) : new TargetEntityLocation(4);
+                case "health": return caster ? new CasterHealth() : new TargetHealth();
+                case "maxhealth": return caster ? new CasterMaxHealth() : new TargetMaxHealth();
+                default: return UNRESOLVABLE;
+            }
+        }
+
+        /** component: 0=x, 1=y, 2=z, 3=yaw, 4=pitch */
+        private static double component(Location loc, int component) {
+            switch (component) {
+                case 0: return loc.getX();
+                case 1: return loc.getY();
+                case 2: return loc.getZ();
+                case 3: return loc.getYaw();
+                default: return loc.getPitch();
+            }
+        }
+
+        private static boolean readMaxHealth(Entity entity, double[] out, int index) {
+            if (!(entity instanceof LivingEntity)) return false;
+            AttributeInstance attr = ((LivingEntity) entity).getAttribute(Attribute.MAX_HEALTH);
+            if (attr == null) return false;
+            out[index] = attr.getValue();
+            return true;
+        }
+
+        /**
+         * 일반 변수: Number 또는 숫자 문자열. 슬롯 번호로 직접 읽음.
+         * 슬롯은 할당하지 않고 조회만 하며 (실행 중 해석되는 임의의 문자열이 슬롯을 만들지 않도록),
+         * 찾은 번호는 컨텍스트의 스크립트 테이블이 바뀔 때까지 캐시합니다.
+         */
+        static final class VariableSelector implements NumericSelector {
+            private final VariableSlots.SlotRef slot;
+
+            VariableSelector(String name) {
+                this.slot = new VariableSlots.SlotRef(name);
+            }
+
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                return context.readNumericVariable(slot.peekIn(context.getVariableSlots()), out, index);
+            }
+        }
+
+        /** @Caster.X/Y/Z/Yaw/Pitch, @CasterLocation.X/Y/Z (시전자의 현재 위치) */
+        static final class CasterLocationAxis implements NumericSelector {
+            private final int component;
+
+            CasterLocationAxis(int component) {
+                this.component = component;
+            }
+
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                Player caster = context.getCaster();
+                if (caster == null) return false;
+                out[index] = component(caster.getLocation(context.scratchLocation()), component);
+                return true;
+            }
+        }
+
+        /** @TargetLocation.X/Y/Z (Location 또는 Entity 타겟) */
+        static final class TargetLocationAxis implements NumericSelector {
+            private final int component;
+
+            TargetLocationAxis(int component) {
+                this.component = component;
+            }
+
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                Object target = context.getCurrentTarget();
+                if (target instanceof Location) {
+                    out[index] = component((Location) target, component);
+                    return true;
+                } else if (target instanceof Entity) {
+                    out[index] = component(((Entity) target).getLocation(context.scratchLocation()), component);
+                    return true;
+                }
+                return false;
+            }
+        }
+
+        /** @Target.X/Y/Z/Yaw/Pitch (Entity 타겟만) */
+        static final class TargetEntityLocation implements NumericSelector {
+            private final int component;
+
+            TargetEntityLocation(int component) {
+                this.component = component;
+            }
+
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                Entity target = context.getCurrentTargetAsEntity();
+                if (target == null) return false;
+                out[index] = component(target.getLocation(context.scratchLocation()), component);
+                return true;
+            }
+        }
+
+        static final class CasterHealth implements NumericSelector {
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                Player caster = context.getCaster();
+                if (caster == null) return false;
+                out[index] = caster.getHealth();
+                return true;
+            }
+        }
+
+        static final class TargetHealth implements NumericSelector {
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                Entity target = context.getCurrentTargetAsEntity();
+                if (!(target instanceof Damageable)) return false;
+                out[index] = ((Damageable) target).getHealth();
+                return true;
+            }
+        }
+
+        static final class CasterMaxHealth implements NumericSelector {
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                return readMaxHealth(context.getCaster(), out, index);
+            }
+        }
+
+        static final class TargetMaxHealth implements NumericSelector {
+            @Override
+            public boolean readInto(ExecutionContext context, double[] out, int index) {
+                return readMaxHealth(context.getCurrentTargetAsEntity(), out, index);
+            }
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package com.bformat.skillscript.execution;
 
-import java.util.List;
-import java.util.Map;
+import com.bformat.skillscript.script.CompiledBlock;
+import com.bformat.skillscript.script.Instruction;
+
 import java.util.logging.Logger; // Added import
 
 /**
  * Holds the execution state for a single branch within a parallel block.
  */
 class ParallelBranchState {
-    final List<Map<String, Object>> actionList;
+    final CompiledBlock block;
     int actionIndex;
     // long delayEndTime = -1; // Removed time-based delay
     int delayTicksRemaining = 0; // Added: Remaining delay ticks (0 means no delay)
@@ -18,11 +19,11 @@ class ParallelBranchState {
 
     /**
      * Constructor for ParallelBranchState.
-     * @param actionList The list of actions for this branch.
+     * @param block The compiled actions for this branch.
      * @param logger The logger instance to use.
      */
-    ParallelBranchState(List<Map<String, Object>> actionList, Logger logger) {
-        this.actionList = actionList != null ? List.copyOf(actionList) : List.of(); // Use immutable list
+    ParallelBranchState(CompiledBlock block, Logger logger) {
+        this.block = block != null ? block : CompiledBlock.EMPTY; // Compiled blocks are immutable
         this.actionIndex = 0;
         // Ensure logger is not null
         this.logger = (logger != null) ? logger : Logger.getLogger(ParallelBranchState.class.getName());
@@ -39,18 +40,17 @@ class ParallelBranchState {
     }
 
     /**
-     * Gets the next action map to be executed in this branch.
+     * Gets the next instruction to be executed in this branch.
      * Returns null if the branch is finished or the index is out of bounds.
-     * @return The next action map, or null.
+     * @return The next instruction, or null.
      */
-    Map<String, Object> getNextActionMap() {
-        // logger.finest(logPrefix + "getNextActionMap: Current index=" + actionIndex + ", List size=" + actionList.size() + ", finished=" + finished);
-        if (!this.finished && actionIndex >= 0 && actionIndex < actionList.size()) {
-            Map<String, Object> action = actionList.get(actionIndex);
-            // logger.finest(logPrefix + "getNextActionMap: Returning action at index " + actionIndex);
-            return action;
+    Instruction getNextInstruction() {
+        // logger.finest(logPrefix + "getNextInstruction: Current index=" + actionIndex + ", Instruction count=" + block.getInstructionCount() + ", finished=" + finished);
+        if (!this.finished) {
+            // logger.finest(logPrefix + "getNextInstruction: Returning instruction at index " + actionIndex);
+            return block.getInstruction(actionIndex);
         }
-        // logger.finest(logPrefix + "getNextActionMap: Conditions not met or index out of bounds. Returning null.");
+        // logger.finest(logPrefix + "getNextInstruction: Branch finished. Returning null.");
         return null;
     }
 
@@ -59,8 +59,8 @@ class ParallelBranchState {
      * @return true if the index is out of bounds, false otherwise.
      */
     boolean isIndexPastEnd() {
-        boolean pastEnd = actionIndex >= actionList.size();
-        // logger.finest(logPrefix + "isIndexPastEnd: index=" + actionIndex + ", size=" + actionList.size() + " -> " + pastEnd);
+        boolean pastEnd = actionIndex >= block.getInstructionCount();
+        // logger.finest(logPrefix + "isIndexPastEnd: index=" + actionIndex + ", size=" + block.getInstructionCount() + " -> " + pastEnd);
         return pastEnd;
     }
 
@@ -0,0 +1,344 @@
+package com.bformat.skillscript.execution;
+
+import com.bformat.skillscript.script.CompiledBlock;
+import com.bformat.skillscript.script.Instruction;
+import com.bformat.skillscript.script.ScriptCompiler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 스크립트 블록 하나(태스크 본문 또는 parallel 브랜치)를 가상 스레드에서 일반 재귀 코드로 실행합니다.
+ * <p>
+ * 루프/조건/병렬 블록은 프레임 스택 대신 Java 호출 스택으로 표현되고, 딜레이는 가상 스레드를 park 합니다.
+ * 파이버는 메인 스레드와 번갈아 실행됩니다(lockstep): 메인 스레드가 {@link #step(ContinuationEngine)} 에서
+ * 파이버를 깨우고 파이버가 멈출 때까지(딜레이, 틱당 액션 제한, 병렬 분기, 종료) 기다립니다.
+ * 월드를 건드리는 인스트럭션({@link Instruction#isPureFor} 가 false)은 파이버가 메인 스레드에 넘겨 실행하고
+ * 결과만 돌려받으므로 월드 API 는 항상 메인 스레드에서 호출됩니다.
+ * <p>
+ * 블록 타이밍은 프레임 엔진과 같습니다: 조건/루프 블록은 시작한 다음 틱부터 실행되고, 끝난 블록은 다음 틱 시작에
+ * 빠지므로(pop) 블록 끝마다 한 틱을 넘깁니다. 블록이 딜레이나 중첩 블록 끝(이미 틱 경계)에서 끝났으면 추가 틱은 없습니다.
+ * 따라서 액션이 실행되는 틱은 두 엔진이 같고, 다른 점은 태스크가 끝나는 틱뿐입니다: 프레임 엔진은 본문이 끝난 다음 틱에
+ * 루트 프레임을 pop 하며 끝나고(마지막 딜레이는 기다리지 않음), 파이버 엔진은 루트 파이버가 끝난 틱(마지막 딜레이 이후)에 끝납니다.
+ */
+final class ScriptFiber {
+
+    enum State { NEW, RUNNABLE, DELAYED, JOINING, DONE }
+
+    // 파이버 -> 메인 스레드 신호
+    private enum Kind { CALL, YIELD, PARK, FORK, DONE, FAILED }
+
+    private record Signal(Kind kind, Object payload) { }
+
+    // 메인 스레드 -> 파이버: 다시 실행 (CALL 응답은 ExecutionStatus)
+    private static final Object RESUME = new Object();
+
+    // 파이버가 이 시간 안에 멈추지 않으면(무한 루프, 블로킹 액션) 파이버를 중단하고 오류로 처리
+    private static final long STEP_TIMEOUT_MILLIS = 5_000L;
+
+    private final ScriptTask task;
+    private final ExecutionContext context;
+    private final CompiledBlock body;
+    private final InlineState state;
+    private final boolean root;
+    private final Logger logger;
+    private final String logPrefix;
+
+    private final BlockingQueue<Signal> toMain = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Object> toFiber = new LinkedBlockingQueue<>();
+    private Thread thread;
+
+    // --- 메인 스레드 전용 상태 ---
+    private State fiberState = State.NEW;
+    private int delayTicksRemaining = 0;
+    private List<ScriptFiber> children = List.of();
+    private String errorMessage = null;
+
+    // --- 파이버 스레드 전용 ---
+    private int actionsThisTick = 0;
+    private boolean freshTick = true; // 마지막 틱 경계 이후 아직 아무것도 실행하지 않음
+
+    ScriptFiber(ScriptTask task, ExecutionContext context, CompiledBlock body, ScriptCompiler compiler,
+                boolean root, Logger logger, String logPrefix) {
+        this.task = task;
+        this.context = context;
+        this.body = body;
+        this.state = new InlineState(compiler, logger);
+        this.root = root;
+        this.logger = logger;
+        this.logPrefix = logPrefix;
+    }
+
+    // --- 메인 스레드 ---
+
+    /**
+     * 이번 틱 몫을 실행합니다. 딜레이 중이거나 자식 브랜치를 기다리는 중이면 카운터만 확인합니다.
+     * 반환 시 파이버는 다시 park 되어 있습니다.
+     */
+    void step(ContinuationEngine engine) throws InterruptedException {
+        switch (fiberState) {
+            case DONE -> { return; }
+            case DELAYED -> {
+                if (--delayTicksRemaining > 0) {
+                    return;
+                }
+                fiberState = State.RUNNABLE;
+            }
+            case JOINING -> {
+                for (ScriptFiber child : children) {
+                    if (child.fiberState != State.DONE) return;
+                }
+                children = List.of();
+                fiberState = State.RUNNABLE;
+            }
+            default -> { }
+        }
+
+        if (fiberState == State.NEW) {
+            fiberState = State.RUNNABLE;
+            thread = Thread.ofVirtual().name("SkillScript-Fiber-" + task.getScriptTaskId().toString().substring(0, 4)).start(this::run);
+        } else {
+            toFiber.put(RESUME);
+        }
+
+        while (true) {
+            Signal signal = toMain.poll(STEP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            if (signal == null) {
+                abort("Script fiber did not yield within " + STEP_TIMEOUT_MILLIS + "ms. Aborted.");
+                return;
+            }
+            if (engine.isClosed()) {
+                return; // 취소됨: 파이버를 다시 깨우지 않음 (스레드는 엔진이 종료)
+            }
+            switch (signal.kind()) {
+                case CALL -> { // 메인 스레드에서 실행
+                    ExecutionStatus status;
+                    try {
+                        status = task.executeInstruction((Instruction) signal.payload(), state);
+                    } catch (Throwable t) { // Error 등: 파이버가 응답을 기다리며 남지 않도록 함께 끝냄
+                        logger.log(Level.SEVERE, logPrefix + "Unhandled error in action '" + ((Instruction) signal.payload()).getName() + "'!", t);
+                        abort("Unhandled error in action '" + ((Instruction) signal.payload()).getName() + "': " + t);
+                        return;
+                    }
+                    if (engine.isClosed()) {
+                        return; // 이 액션이 태스크를 취소함: 응답을 보내고 다시 기다리지 않음
+                    }
+                    toFiber.put(status);
+                }
+                case YIELD -> { return; }
+                case PARK -> {
+                    fiberState = State.DELAYED;
+                    delayTicksRemaining = (Integer) signal.payload();
+                    return;
+                }
+                case FORK -> {
+                    @SuppressWarnings("unchecked")
+                    List<CompiledBlock> branches = (List<CompiledBlock>) signal.payload();
+                    children = engine.fork(branches); // 브랜치는 다음 틱부터 실행
+                    fiberState = State.JOINING;
+                    return;
+                }
+                case DONE -> {
+                    fiberState = State.DONE;
+                    return;
+                }
+                case FAILED -> {
+                    fiberState = State.DONE;
+                    errorMessage = (String) signal.payload();
+                    return;
+                }
+            }
+        }
+    }
+
+    // 메인 스레드: 파이버 스레드를 중단하고 오류로 끝난 것으로 기록
+    private void abort(String message) {
+        close();
+        fiberState = State.DONE;
+        errorMessage = message;
+    }
+
+    /** @return 다음 step 이 아무것도 실행하지 않을 틱 수 (딜레이 중일 때만 0보다 큼) */
+    int idleTicks() {
+        return fiberState == State.DELAYED ? delayTicksRemaining - 1 : 0;
+    }
+
+    void skipDelayTicks(int ticks) {
+        if (fiberState == State.DELAYED) {
+            delayTicksRemaining = Math.max(1, delayTicksRemaining - ticks);
+        }
+    }
+
+    /** 파이버 스레드를 종료합니다 (소유 스레드에서 엔진 종료 시). park 중인 스레드는 인터럽트로 깨어나 종료 신호를 보내고 끝남. */
+    void close() {
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    State getState() { return fiberState; }
+
+    boolean isRoot() { return root; }
+
+    String getErrorMessage() { return errorMessage; }
+
+    // --- 파이버 스레드 ---
+
+    private void run() {
+        // 종료 신호는 finally 에서 항상 보냄 (Error 로 끝나도 메인 스레드가 기다리며 멈추지 않도록)
+        Signal last = new Signal(Kind.FAILED, "Script fiber ended unexpectedly.");
+        try {
+            runBlock(body);
+            last = new Signal(Kind.DONE, null);
+        } catch (InterruptedException e) {
+            last = new Signal(Kind.FAILED, "Script fiber cancelled."); // 보통 아무도 읽지 않지만 대기 중인 step 이 있으면 바로 끝남
+        } catch (AbortException e) {
+            last = new Signal(Kind.FAILED, e.getMessage());
+        } catch (Throwable t) {
+            logger.log(Level.SEVERE, logPrefix + "Unhandled error in script fiber!", t);
+            last = new Signal(Kind.FAILED, "Unhandled error in script fiber: " + t);
+        } finally {
+            toMain.add(last);
+        }
+    }
+
+    private void runBlock(CompiledBlock block) throws InterruptedException {
+        int count = block.getInstructionCount();
+        for (int i = 0; i < count; i++) {
+            Instruction instruction = block.getInstruction(i);
+            if (actionsThisTick >= task.getMaxActionsPerTick() || (actionsThisTick > 0 && task.isPastSliceDeadline())) {
+                handOff(new Signal(Kind.YIELD, null)); // 틱당 액션 제한 또는 틱 예산 소진: 다음 틱에 이어서 실행
+            }
+            actionsThisTick++;
+            freshTick = false;
+
+            ExecutionStatus status = instruction.isPureFor(context)
+                    ? task.executeInstruction(instruction, state)
+                    : (ExecutionStatus) handOff(new Signal(Kind.CALL, instruction));
+
+            switch (status) {
+                case ExecutionStatus.Completed completed -> {
+                    Nested nested = state.takePending();
+                    if (nested != null) {
+                        runNested(nested);
+                    }
+                }
+                case ExecutionStatus.Delay delay -> handOff(new Signal(Kind.PARK, (int) delay.ticks()));
+                case ExecutionStatus.Error error -> throw new AbortException(error.message());
+            }
+        }
+    }
+
+    // 프레임 엔진과 같은 틱에 실행: 블록은 다음 틱에 시작하고, 끝난 블록은 다음 틱 시작에 pop 된 뒤 이어서 실행
+    private void runNested(Nested nested) throws InterruptedException {
+        if (nested.branches() != null) {
+            handOff(new Signal(Kind.FORK, nested.branches())); // 모든 브랜치가 끝난 다음 틱에 이어짐
+            return;
+        }
+        LoopState loop = nested.loop();
+        if (loop != null) {
+            loop.writeCurrentValue(context); // 프레임 엔진은 push 시점에 첫 값을 씀
+        }
+        handOff(new Signal(Kind.YIELD, null)); // push 된 블록은 다음 틱에 시작
+        while (true) {
+            runBlock(nested.block());
+            if (!freshTick) {
+                handOff(new Signal(Kind.YIELD, null)); // 끝난 블록은 다음 틱 시작에 pop
+            }
+            if (loop == null) {
+                return;
+            }
+            loop.advance();
+            if (!loop.shouldContinue()) {
+                return;
+            }
+            loop.writeCurrentValue(context);
+        }
+    }
+
+    // 메인 스레드에 신호를 보내고 다시 깨워질 때까지 park. CALL 이면 실행 결과를 반환
+    private Object handOff(Signal signal) throws InterruptedException {
+        toMain.add(signal);
+        Object reply = toFiber.take();
+        if (signal.kind() != Kind.CALL) {
+            actionsThisTick = 0; // 새 틱
+            freshTick = true;
+        }
+        return reply;
+    }
+
+    /** 액션이 ERROR 를 반환하여 파이버를 끝냄. */
+    private static final class AbortException extends RuntimeException {
+        AbortException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /** 제어 흐름 액션이 요청한 중첩 블록. loop/branches 가 모두 null 이면 조건 블록. */
+    private record Nested(CompiledBlock block, LoopState loop, List<CompiledBlock> branches) { }
+
+    /**
+     * 제어 흐름 액션(if, forloop, parallel)의 요청을 프레임으로 push 하지 않고 기록만 하는 ExecutionState.
+     * 파이버가 액션 완료 직후 기록된 블록을 직접 실행합니다.
+     */
+    private static final class InlineState extends ExecutionState {
+        private final ScriptCompiler compiler;
+        private final Logger logger;
+        private Nested pending;
+
+        InlineState(ScriptCompiler compiler, Logger logger) {
+            super(CompiledBlock.EMPTY, compiler, logger);
+            this.compiler = compiler;
+            this.logger = logger;
+        }
+
+        Nested takePending() {
+            Nested nested = pending;
+            pending = null;
+            return nested;
+        }
+
+        @Override
+        public void startConditionalBlock(List<Map<String, Object>> actionsToExecute) {
+            if (actionsToExecute != null && !actionsToExecute.isEmpty()) {
+                pending = new Nested(compiler.compile(actionsToExecute), null, null);
+            }
+        }
+
+        @Override
+        public void startNumericLoop(String variableName, double start, double end, double step,
+                                     List<Map<String, Object>> loopBody, ExecutionContext context) {
+            LoopState loopState = new LoopState(variableName, start, end, step, logger);
+            if (loopState.shouldContinue()) {
+                pending = new Nested(compiler.compile(loopBody), loopState, null);
+            }
+        }
+
+        @Override
+        public void startListIteratorLoop(String variableName, List<?> list,
+                                          List<Map<String, Object>> loopBody, ExecutionContext context) {
+            if (list != null && !list.isEmpty()) {
+                pending = new Nested(compiler.compile(loopBody), new LoopState(variableName, List.copyOf(list), logger), null);
+            }
+        }
+
+        @Override
+        public void startParallelBlock(List<List<Map<String, Object>>> branchesData) {
+            if (branchesData == null || branchesData.isEmpty()) {
+                logger.warning("[SkillScript State] startParallelBlock called with empty or null branches. Doing nothing.");
+                return;
+            }
+            List<CompiledBlock> branches = new ArrayList<>(branchesData.size());
+            for (List<Map<String, Object>> branch : branchesData) {
+                branches.add(compiler.compile(branch));
+            }
+            pending = new Nested(null, null, branches);
+        }
+    }
+}
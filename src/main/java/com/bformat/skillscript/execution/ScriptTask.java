@@ -3,13 +3,18 @@ package com.bformat.skillscript.execution;
 import com.bformat.skillscript.SkillScript;
 import com.bformat.skillscript.actions.ActionRegistry;
 import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.script.CompiledBlock;
+import com.bformat.skillscript.script.Instruction;
+import com.bformat.skillscript.script.ScriptCompiler;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.LongSupplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -22,6 +27,7 @@ public class ScriptTask {
 
     private final Plugin plugin;
     private final ActionRegistry actionRegistry;
+    private final ScriptCompiler compiler;
     private final ExecutionContext executionContext;
     private final ExecutionState executionState;
     private final Logger logger;
@@ -29,31 +35,52 @@ public class ScriptTask {
 
     private final UUID scriptTaskId;
     private final UUID casterUUID;
-    private boolean cancelled = false;
+    private volatile boolean cancelled = false;
+    // 틱 시작 시 한 번 갱신: FINEST 가 꺼져 있으면 추적 로그 문자열을 만들지 않음
+    private boolean traceEnabled = false;
 
     // --- 추가: 한 틱당 최대 실행 액션 수 제한 (서버 과부하 방지) ---
-    // TODO: 이 값을 config.yml 에서 로드하도록 만들 수 있습니다.
-    private static final int MAX_ACTIONS_PER_TICK = 100;
+    // 러너가 config.yml 의 runner.max-actions-per-tick 으로 설정
+    public static final int DEFAULT_MAX_ACTIONS_PER_TICK = 100;
+    private int maxActionsPerTick = DEFAULT_MAX_ACTIONS_PER_TICK;
+    // 틱 예산 마감 시각 (스케줄러가 슬라이스마다 설정). 지나면 액션 하나 이상 실행한 뒤 멈추고 다음 틱에 이어서 실행
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    private volatile long sliceDeadline = NO_DEADLINE;
+    private volatile LongSupplier sliceClock = System::nanoTime;
+
+    // --- 순수 액션 오프로드 (Instruction#isPure) ---
+    // 워커 실행 중에는 메인 스레드가 이 태스크의 상태를 건드리지 않음. volatile 쓰기로 워커의 변경 사항이 메인 스레드에 보임
+    private Executor offloadExecutor = null;
+    private int offloadMinRun = Integer.MAX_VALUE;
+    private volatile boolean offloadRunning = false;
+    private volatile String offloadError = null;
+
+    // --- 가상 스레드 엔진 (runner.engine: continuations). null 이면 프레임 엔진 ---
+    private final CompiledBlock initialBlock;
+    private ContinuationEngine continuationEngine = null;
 
     /**
      * Constructor for ScriptTask.
      * @param plugin The main plugin instance.
-     * @param actionRegistry The ActionRegistry instance.
+     * @param compiler The ScriptCompiler (also provides the ActionRegistry) used for nested blocks that are not compiled yet.
      * @param executionContext The context for this script execution.
-     * @param initialActions The list of top-level actions to execute.
+     * @param initialBlock The compiled top-level block to execute.
      * @param taskId A unique ID for this task instance.
      */
-    public ScriptTask(SkillScript plugin, ActionRegistry actionRegistry,
-                      ExecutionContext executionContext, List<Map<String, Object>> initialActions, UUID taskId) {
+    public ScriptTask(SkillScript plugin, ScriptCompiler compiler,
+                      ExecutionContext executionContext, CompiledBlock initialBlock, UUID taskId) {
         this.plugin = plugin;
-        this.actionRegistry = actionRegistry;
+        this.compiler = compiler;
+        this.actionRegistry = compiler.getActionRegistry();
         this.executionContext = executionContext;
         this.scriptTaskId = taskId;
         this.casterUUID = executionContext.getCaster().getUniqueId();
         this.logger = plugin.getLogger();
         this.pluginPrefix = "[SkillScript Task " + taskId.toString().substring(0, 4) + "] ";
+        this.initialBlock = initialBlock;
+        executionContext.useVariableSlots(initialBlock.getVariableSlots()); // 스크립트의 변수 테이블 기준으로 슬롯을 씀
 
-        this.executionState = new ExecutionState(initialActions, this.logger);
+        this.executionState = new ExecutionState(initialBlock, compiler, this.logger);
         logger.info(this.pluginPrefix + "Task created for player " + executionContext.getCaster().getName() + ". Initial stack size: " + executionState.getExecutionStackSize());
     }
 
@@ -65,22 +92,31 @@ public class ScriptTask {
      */
     public boolean tick() {
         // --- Pre-checks (동일) ---
-        if (cancelled) return false;
-        Player caster = plugin.getServer().getPlayer(casterUUID);
-        if (caster == null || !caster.isOnline()) {
-            logger.warning(pluginPrefix + "Caster " + casterUUID + " is no longer online. Cancelling task.");
+        if (cancelled) {
+            release();
+            return false;
+        }
+        if (offloadRunning) return true; // 순수 액션 구간이 워커에서 실행 중
+        traceEnabled = logger.isLoggable(Level.FINEST);
+        if (offloadError != null) {
+            logger.severe(pluginPrefix + "Offloaded action returned ERROR: " + offloadError + ". Cancelling task.");
             this.cancel();
             return false;
         }
+        // 시전자 로그아웃/사망은 ScriptRunner 가 시전자 인덱스로 cancel() 함 (CasterLifecycleListener)
+
+        if (continuationEngine != null) {
+            return tickContinuations();
+        }
 
         // --- Execution Stack Processing ---
         try {
             // --- 1. Handle Finished Frames (동일) ---
             while (!executionState.isExecutionFinished() && executionState.isCurrentFrameFinished()) {
                 ControlFlowFrame poppedFrame = executionState.getCurrentFrame();
-                logger.finest(pluginPrefix + "Popping finished frame type " + (poppedFrame != null ? poppedFrame.type : "NULL") + ". Stack size before pop: " + executionState.getExecutionStackSize());
+                if (traceEnabled) logger.finest(pluginPrefix + "Popping finished frame type " + (poppedFrame != null ? poppedFrame.type : "NULL") + ". Stack size before pop: " + executionState.getExecutionStackSize());
                 executionState.endCurrentBlock(executionContext);
-                logger.finest(pluginPrefix + "Frame popped. Stack size after pop: " + executionState.getExecutionStackSize());
+                if (traceEnabled) logger.finest(pluginPrefix + "Frame popped. Stack size after pop: " + executionState.getExecutionStackSize());
             }
 
             // --- 2. Check Overall Completion (동일) ---
@@ -91,7 +127,7 @@ public class ScriptTask {
 
             // --- 3. Check Global Delay (for sequential blocks) (동일) ---
             if (executionState.isDelaying()) {
-                logger.finest(pluginPrefix + "Task is globally delaying.");
+                if (traceEnabled) logger.finest(pluginPrefix + "Task is globally delaying.");
                 return true;
             }
 
@@ -102,7 +138,7 @@ public class ScriptTask {
                 this.cancel();
                 return false;
             }
-            logger.finest(pluginPrefix + "Processing frame type: " + currentFrame.type);
+            if (traceEnabled) logger.finest(pluginPrefix + "Processing frame type: " + currentFrame.type);
 
             // --- 5. Execute Actions Based on Frame Type (로직 분기) ---
             if (currentFrame.type == FrameType.PARALLEL) {
@@ -126,42 +162,44 @@ public class ScriptTask {
      * @return true if the task should continue, false on fatal error or completion.
      */
     private boolean processSequentialFrameMultiAction(ControlFlowFrame sequentialFrame) {
-        logger.finest(pluginPrefix + "Processing SEQUENTIAL frame (Multi-Action/Tick).");
+        if (traceEnabled) logger.finest(pluginPrefix + "Processing SEQUENTIAL frame (Multi-Action/Tick).");
         int actionsExecutedThisTick = 0; // 이번 틱에 실행된 액션 수 카운터
 
         // 현재 프레임에 실행할 액션이 남아있고, 틱당 액션 제한에 도달하지 않은 동안 반복
-        while (!sequentialFrame.isNonParallelFinished() && actionsExecutedThisTick < MAX_ACTIONS_PER_TICK) {
+        while (!sequentialFrame.isNonParallelFinished() && actionsExecutedThisTick < maxActionsPerTick
+                && !(actionsExecutedThisTick > 0 && isPastSliceDeadline())) {
 
-            // 현재 프레임에서 실행할 액션 가져오기
-            Map<String, Object> actionMap = null;
-            if (sequentialFrame.actionList != null && sequentialFrame.actionIndex >= 0 && sequentialFrame.actionIndex < sequentialFrame.actionList.size()) {
-                actionMap = sequentialFrame.actionList.get(sequentialFrame.actionIndex);
-            }
+            // 현재 프레임에서 실행할 명령어 가져오기
+            Instruction instruction = sequentialFrame.getCurrentInstruction();
 
-            if (actionMap == null) {
+            if (instruction == null) {
                 // 이 프레임의 액션이 끝났음을 의미 (isNonParallelFinished() 에서도 확인됨)
-                logger.finest(pluginPrefix + "Sequential frame has no more actions at index " + sequentialFrame.actionIndex);
+                if (traceEnabled) logger.finest(pluginPrefix + "Sequential frame has no more actions at index " + sequentialFrame.actionIndex);
                 break; // 루프 종료
             }
 
-            String actionName = actionMap.keySet().iterator().next();
-            logger.finest(pluginPrefix + "Executing action (Tick " + actionsExecutedThisTick + "): " + actionName + " at index " + sequentialFrame.actionIndex);
+            // 순수 액션이 충분히 이어지면 워커 스레드로 넘기고 다음 틱에 결과를 이어받음
+            if (offloadExecutor != null && instruction.isPureFor(executionContext) && isOffloadableRun(sequentialFrame) && startOffload(sequentialFrame)) {
+                return true;
+            }
+
+            if (traceEnabled) logger.finest(pluginPrefix + "Executing action (Tick " + actionsExecutedThisTick + "): " + instruction.getName() + " at index " + sequentialFrame.actionIndex);
 
             // 액션 실행
-            ExecutionStatus status = executeSingleAction(actionMap); // 액션 실행 (새 프레임 push 가능성 있음)
+            ExecutionStatus status = executeInstruction(instruction); // 액션 실행 (새 프레임 push 가능성 있음)
             actionsExecutedThisTick++; // 실행 카운터 증가
 
-            logger.finest(pluginPrefix + "Action status: " + status.getClass().getSimpleName());
+            if (traceEnabled) logger.finest(pluginPrefix + "Action status: " + status.getClass().getSimpleName());
 
             // 액션 결과 처리
             switch (status) {
                 case ExecutionStatus.Completed completed -> {
                     // 액션 완료 -> 인덱스 증가 후 루프 계속 (같은 틱에서 다음 액션 시도)
                     sequentialFrame.actionIndex++;
-                    logger.finest(pluginPrefix + "Sequential action completed. Incremented index to " + sequentialFrame.actionIndex);
+                    if (traceEnabled) logger.finest(pluginPrefix + "Sequential action completed. Incremented index to " + sequentialFrame.actionIndex);
                     // 새 프레임이 push 되었는지 확인 (예: if, for, parallel 실행 시)
                     if (executionState.getCurrentFrame() != sequentialFrame) {
-                        logger.finest(pluginPrefix + "New frame pushed onto stack. Stopping sequential execution for this tick.");
+                        if (traceEnabled) logger.finest(pluginPrefix + "New frame pushed onto stack. Stopping sequential execution for this tick.");
                         return true; // 새 프레임 처리는 다음 틱에
                     }
                     // 프레임 변경 없으면 루프 계속
@@ -171,7 +209,7 @@ public class ScriptTask {
                     logger.info(pluginPrefix + "Action requested global Delay for " + delay.ticks() + " ticks.");
                     executionState.setDelay((int) delay.ticks());
                     sequentialFrame.actionIndex++; // 딜레이 액션 다음으로 이동
-                    logger.finest(pluginPrefix + "Index incremented past Delay action to " + sequentialFrame.actionIndex);
+                    if (traceEnabled) logger.finest(pluginPrefix + "Index incremented past Delay action to " + sequentialFrame.actionIndex);
                     return true; // 루프 종료, 다음 틱에 딜레이 처리
                 }
                 case ExecutionStatus.Error error -> {
@@ -185,8 +223,8 @@ public class ScriptTask {
         } // End while loop
 
         // 틱당 액션 제한에 도달했는지 확인
-        if (actionsExecutedThisTick >= MAX_ACTIONS_PER_TICK) {
-            logger.warning(pluginPrefix + "Reached maximum actions per tick (" + MAX_ACTIONS_PER_TICK + ") for sequential frame. Continuing next tick.");
+        if (actionsExecutedThisTick >= maxActionsPerTick) {
+            logger.warning(pluginPrefix + "Reached maximum actions per tick (" + maxActionsPerTick + ") for sequential frame. Continuing next tick.");
         }
 
         // 루프가 정상 종료 (프레임 끝 도달 or 틱 제한) -> 태스크는 다음 틱에 계속
@@ -195,69 +233,66 @@ public class ScriptTask {
 
 
     /**
-     * MODIFIED: Processes all branches within a PARALLEL frame, executing multiple actions per branch per tick.
+     * MODIFIED: Processes the runnable branches within a PARALLEL frame, executing multiple actions per branch per tick.
+     * Delayed and finished branches are not visited (see {@link BranchScheduler}).
      * @param parallelFrame The current parallel control flow frame.
      * @return Always true, as the parallel frame completion is checked at the start of the next tick. Returns false only on critical internal error.
      */
     private boolean processParallelFrameMultiAction(ControlFlowFrame parallelFrame) {
-        logger.finest(pluginPrefix + "Processing PARALLEL frame (Multi-Action/Tick).");
+        if (traceEnabled) logger.finest(pluginPrefix + "Processing PARALLEL frame (Multi-Action/Tick).");
         if (parallelFrame.parallelBranches == null) {
             logger.severe(pluginPrefix + "CRITICAL - PARALLEL frame has null branches! Cancelling.");
             this.cancel();
             return false;
         }
 
-        boolean anyBranchActive = false;
+        // ready 큐에 있는 브랜치만 처리 (딜레이 중인 브랜치는 깨어날 틱까지 BranchScheduler 가 보관)
+        BranchScheduler scheduler = parallelFrame.branchScheduler;
+        int readyThisTick = scheduler.beginTick();
 
-        for (int i = 0; i < parallelFrame.parallelBranches.size(); i++) {
+        for (int n = 0; n < readyThisTick; n++) {
+            int i = scheduler.pollReady();
             ParallelBranchState branch = parallelFrame.parallelBranches.get(i);
-            if (branch == null || branch.isFinished()) {
-                continue; // Null 이거나 이미 끝난 브랜치는 건너뜀
-            }
-
-            anyBranchActive = true;
-
-            // --- Check Branch Delay (동일) ---
-            if (executionState.isBranchDelaying(i)) {
-                logger.finest(pluginPrefix + "Branch " + i + " is delaying. Skipping actions.");
+            if (branch.isFinished()) {
                 continue;
             }
+            branch.delayTicksRemaining = 0; // 깨어난 브랜치: 딜레이는 이번 틱에 끝남
 
             // --- Execute Multiple Actions in Branch (이번 틱에) ---
-            logger.finest(pluginPrefix + "Processing actions for Branch " + i);
+            if (traceEnabled) logger.finest(pluginPrefix + "Processing actions for Branch " + i);
             int actionsExecutedThisBranchTick = 0; // 이번 틱 & 이번 브랜치에서 실행된 액션 수
 
             // 이 브랜치에 실행할 액션이 남아있고, 틱당 액션 제한에 도달하지 않은 동안 반복
-            while (!branch.isFinished() && !branch.isIndexPastEnd() && actionsExecutedThisBranchTick < MAX_ACTIONS_PER_TICK) {
+            while (!branch.isFinished() && !branch.isIndexPastEnd() && actionsExecutedThisBranchTick < maxActionsPerTick
+                    && !(actionsExecutedThisBranchTick > 0 && isPastSliceDeadline())) {
 
                 // 브랜치 딜레이 재확인 (중요: 루프 내에서 delay 발생 시 다음 반복 방지)
                 if (executionState.isBranchDelaying(i)) {
-                    logger.finest(pluginPrefix + "Branch " + i + " started delaying within multi-action loop. Breaking branch loop.");
+                    if (traceEnabled) logger.finest(pluginPrefix + "Branch " + i + " started delaying within multi-action loop. Breaking branch loop.");
                     break; // 이 브랜치의 이번 틱 실행 중단
                 }
 
-                Map<String, Object> actionMap = branch.getNextActionMap(); // 현재 인덱스의 액션 가져오기
-                if (actionMap == null) {
-                    logger.finest(pluginPrefix + "Branch " + i + " has no more actions at index " + branch.actionIndex);
+                Instruction instruction = branch.getNextInstruction(); // 현재 인덱스의 명령어 가져오기
+                if (instruction == null) {
+                    if (traceEnabled) logger.finest(pluginPrefix + "Branch " + i + " has no more actions at index " + branch.actionIndex);
                     branch.finished = true; // 끝났음 표시
                     break; // 이 브랜치의 이번 틱 실행 중단
                 }
 
-                String actionName = actionMap.keySet().iterator().next();
-                logger.finest(pluginPrefix + "Branch " + i + " executing action (Tick " + actionsExecutedThisBranchTick + "): " + actionName + " at index " + branch.actionIndex);
+                if (traceEnabled) logger.finest(pluginPrefix + "Branch " + i + " executing action (Tick " + actionsExecutedThisBranchTick + "): " + instruction.getName() + " at index " + branch.actionIndex);
 
                 // 액션 실행
-                ExecutionStatus status = executeSingleAction(actionMap); // 액션 실행
+                ExecutionStatus status = executeInstruction(instruction); // 액션 실행
                 actionsExecutedThisBranchTick++;
 
-                logger.finest(pluginPrefix + "Branch " + i + " action status: " + status.getClass().getSimpleName());
+                if (traceEnabled) logger.finest(pluginPrefix + "Branch " + i + " action status: " + status.getClass().getSimpleName());
 
                 // 액션 결과 처리 (브랜치 상태 변경)
                 switch (status) {
                     case ExecutionStatus.Completed completed -> {
                         // 액션 완료 -> 브랜치 인덱스 증가 후 루프 계속 (같은 틱, 같은 브랜치 다음 액션 시도)
                         branch.actionIndex++;
-                        logger.finest(pluginPrefix + "Branch " + i + " action completed. Incremented index to " + branch.actionIndex);
+                        if (traceEnabled) logger.finest(pluginPrefix + "Branch " + i + " action completed. Incremented index to " + branch.actionIndex);
                         // 브랜치 액션이 새 프레임을 push할 수 있는지 확인 (일반적이지 않지만 가능성은 있음)
                         // 이 경우, parallel 프레임 자체는 계속되지만, 새 프레임 처리는 다음 틱에...
                         // 여기서는 별도 처리 없이 루프 계속
@@ -267,7 +302,7 @@ public class ScriptTask {
                         logger.info(pluginPrefix + "Branch " + i + " action requested Delay for " + delay.ticks() + " ticks.");
                         executionState.setBranchDelay(i, (int) delay.ticks()); // 브랜치 딜레이 설정
                         branch.actionIndex++; // 딜레이 액션 다음으로 이동
-                        logger.finest(pluginPrefix + "Branch " + i + " index incremented past Delay action to " + branch.actionIndex);
+                        if (traceEnabled) logger.finest(pluginPrefix + "Branch " + i + " index incremented past Delay action to " + branch.actionIndex);
                         break; // 이 브랜치의 이번 틱 실행 중단 (딜레이 시작)
                     }
                     case ExecutionStatus.Error error -> {
@@ -280,7 +315,7 @@ public class ScriptTask {
 
                 // 액션 실행 후 브랜치가 끝났는지 확인
                 if (branch.isIndexPastEnd()) {
-                    logger.finest(pluginPrefix + "Branch " + i + " finished after completing action (index past end).");
+                    if (traceEnabled) logger.finest(pluginPrefix + "Branch " + i + " finished after completing action (index past end).");
                     branch.finished = true;
                     break; // 이 브랜치의 이번 틱 실행 중단
                 }
@@ -288,76 +323,257 @@ public class ScriptTask {
             } // End while loop for branch actions
 
             // 틱당 액션 제한 도달 확인
-            if (actionsExecutedThisBranchTick >= MAX_ACTIONS_PER_TICK) {
-                logger.warning(pluginPrefix + "Reached maximum actions per tick (" + MAX_ACTIONS_PER_TICK + ") for Branch " + i + ". Continuing next tick.");
+            if (actionsExecutedThisBranchTick >= maxActionsPerTick) {
+                logger.warning(pluginPrefix + "Reached maximum actions per tick (" + maxActionsPerTick + ") for Branch " + i + ". Continuing next tick.");
             }
 
-        } // End for loop iterating through branches
+            // 다음 실행 시점 결정: 종료 / 딜레이 후 / 다음 틱
+            if (branch.isIndexPastEnd() && !branch.isFinished()) {
+                branch.finished = true;
+            }
+            if (branch.isFinished()) {
+                scheduler.finish();
+            } else if (branch.delayTicksRemaining > 0) {
+                scheduler.sleep(i, branch.delayTicksRemaining);
+            } else {
+                scheduler.enqueue(i);
+            }
 
-        if (!anyBranchActive && !parallelFrame.isParallelFinished()) {
-            logger.warning(pluginPrefix + "Parallel frame has no active branches but isn't marked finished yet. Forcing finish check next tick.");
-        }
+            if (isPastSliceDeadline()) {
+                // 틱 예산 소진: 아직 꺼내지 않은 ready 브랜치는 큐에 남아 다음 틱에 먼저 실행됨
+                if (traceEnabled) logger.finest(pluginPrefix + "Tick budget used up. Deferring " + (readyThisTick - n - 1) + " branches to the next tick.");
+                break;
+            }
+
+        } // End for loop over ready branches
 
         // Parallel 프레임 자체는 계속 실행 (종료 여부는 다음 틱 시작 시 isCurrentFrameFinished() 에서 판단)
         return true;
     }
 
 
-    // --- executeSingleAction, parseParams, cancel, isCancelled, getters (동일) ---
-    private ExecutionStatus executeSingleAction(Map<String, Object> actionMap) {
-        // ... (이전 코드와 동일) ...
-        if (actionMap == null || actionMap.isEmpty()) {
-            logger.warning(pluginPrefix + "Attempted to execute null or empty action map.");
-            return ExecutionStatus.COMPLETED;
+    // --- 가상 스레드 엔진 ---
+
+    /**
+     * 이 태스크를 프레임 스택 대신 가상 스레드 파이버로 실행하도록 전환합니다 (첫 tick() 전에 호출).
+     * 루프와 조건 블록은 파이버의 호출 스택으로 실행되어 프레임 push/pop 이 없고, 딜레이 중인 태스크는 park 된 스택만 차지합니다.
+     * 월드를 건드리는 액션은 메인 스레드에서 실행됩니다. 순수 액션 오프로드는 사용되지 않습니다.
+     */
+    public void useContinuations() {
+        if (continuationEngine == null) {
+            continuationEngine = new ContinuationEngine(this, executionContext, initialBlock, compiler, logger, pluginPrefix);
+        }
+    }
+
+    public boolean isUsingContinuations() {
+        return continuationEngine != null;
+    }
+
+    private boolean tickContinuations() {
+        try {
+            boolean shouldContinue = continuationEngine.tick();
+            if (!shouldContinue) {
+                if (cancelled) {
+                    logger.info(pluginPrefix + "Task cancelled during its slice. Fibers stopped.");
+                } else if (continuationEngine.getRootError() != null) {
+                    logger.severe(pluginPrefix + "Action returned ERROR: " + continuationEngine.getRootError() + ". Cancelling task.");
+                    this.cancel();
+                } else {
+                    logger.info(pluginPrefix + "Execution finished (root fiber done). Task removed.");
+                }
+                continuationEngine.shutdown();
+            }
+            return shouldContinue;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warning(pluginPrefix + "Interrupted while waiting for a script fiber. Cancelling task.");
+            this.cancel();
+            continuationEngine.shutdown();
+            return false;
+        }
+    }
+
+    /**
+     * 취소된 태스크의 파이버 스레드를 종료합니다. 태스크를 실행하는 스레드(스케줄러)에서 호출합니다.
+     * {@link #cancel()} 은 어느 스레드에서나 호출될 수 있으므로 표시만 하고, 스레드 종료는 여기서 합니다.
+     */
+    public void release() {
+        if (continuationEngine != null) {
+            continuationEngine.shutdown();
+        }
+    }
+
+    /** 한 슬라이스(틱)에 프레임/브랜치마다 실행할 최대 액션 수를 설정합니다 (첫 tick() 전에 호출). */
+    public void setMaxActionsPerTick(int maxActionsPerTick) {
+        this.maxActionsPerTick = Math.max(1, maxActionsPerTick);
+    }
+
+    public int getMaxActionsPerTick() {
+        return maxActionsPerTick;
+    }
+
+    /**
+     * 다음 슬라이스의 틱 예산 마감 시각을 설정합니다 (스케줄러가 슬라이스 직전에 호출).
+     * 마감이 지나면 프레임/브랜치 루프는 액션 하나 이상 실행한 뒤 멈추고, 저장된 위치부터 다음 틱에 이어서 실행합니다.
+     * @param deadlineNanos 마감 시각 ({@code clock} 기준), {@link #NO_DEADLINE} 이면 제한 없음
+     */
+    public void setSliceDeadline(long deadlineNanos, LongSupplier clock) {
+        this.sliceClock = clock;
+        this.sliceDeadline = deadlineNanos;
+    }
+
+    boolean isPastSliceDeadline() {
+        long deadline = sliceDeadline;
+        return deadline != NO_DEADLINE && sliceClock.getAsLong() - deadline >= 0;
+    }
+
+    // --- 순수 액션 오프로드 ---
+
+    /**
+     * 순수 액션 구간을 워커 스레드에서 실행하도록 설정합니다.
+     * <p>
+     * 워커의 결과는 다음 틱에 이어받으므로, 오프로드된 구간 바로 뒤의 액션은 메인 스레드에서 실행할 때보다 한 틱 늦게 실행됩니다.
+     * 본문 전체가 순수한 루프는 본문 한 번을 통째로 넘기며, 루프는 원래도 반복마다 한 틱을 쓰므로 타이밍이 바뀌지 않습니다.
+     * @param executor 워커 풀, null 이면 비활성화
+     * @param minRun   이 수 이상의 순수 인스트럭션이 이어질 때만 오프로드 (짧은 구간은 스레드 전환 비용이 더 큼).
+     *                 순수한 루프 본문은 루프 전체 반복의 인스트럭션 수로 셈
+     */
+    public void setOffloadExecutor(Executor executor, int minRun) {
+        this.offloadExecutor = executor;
+        this.offloadMinRun = Math.max(1, minRun);
+    }
+
+    // 현재 인덱스부터 순수 인스트럭션이 minRun 이상 이어지거나, 순수한 루프 본문의 전체 반복이 minRun 이상이면 true
+    private boolean isOffloadableRun(ControlFlowFrame frame) {
+        LoopState loop = frame.loopState;
+        int bodyLength = frame.block.getInstructionCount();
+        if (loop != null && frame.actionIndex == 0 && pureRunLength(frame, bodyLength) == bodyLength) {
+            return (long) bodyLength * loop.iterationCount() >= offloadMinRun;
+        }
+        return pureRunLength(frame, offloadMinRun) >= offloadMinRun;
+    }
+
+    // 현재 인덱스부터 이어지는 순수 인스트럭션 수 (limit 에서 중단)
+    private int pureRunLength(ControlFlowFrame frame, int limit) {
+        int count = 0;
+        Instruction instruction;
+        while (count < limit && (instruction = frame.block.getInstruction(frame.actionIndex + count)) != null && instruction.isPureFor(executionContext)) {
+            count++;
+        }
+        return count;
+    }
+
+    private boolean startOffload(ControlFlowFrame frame) {
+        offloadRunning = true;
+        try {
+            offloadExecutor.execute(() -> runOffloaded(frame));
+            if (traceEnabled) logger.finest(pluginPrefix + "Offloaded pure actions from index " + frame.actionIndex + " to a worker thread.");
+            return true;
+        } catch (RejectedExecutionException e) {
+            offloadRunning = false; // 풀이 종료됨: 메인 스레드에서 계속 실행
+            return false;
+        }
+    }
+
+    /**
+     * 워커 스레드: 같은 프레임에서 순수 인스트럭션을 실행하다가 비순수 인스트럭션, 딜레이, 프레임 변경(루프/조건 시작),
+     * 프레임 끝 또는 틱당 액션 제한에서 멈춥니다. 나머지는 다음 틱에 메인 스레드가 이어서 실행합니다.
+     */
+    private void runOffloaded(ControlFlowFrame frame) {
+        try {
+            int executed = 0;
+            boolean stop = false;
+            while (!stop && !cancelled && executed < maxActionsPerTick && executionState.getCurrentFrame() == frame) {
+                Instruction instruction = frame.getCurrentInstruction();
+                if (instruction == null || !instruction.isPureFor(executionContext)) {
+                    break;
+                }
+                ExecutionStatus status = executeInstruction(instruction);
+                executed++;
+                switch (status) {
+                    case ExecutionStatus.Completed completed -> frame.actionIndex++;
+                    case ExecutionStatus.Delay delay -> {
+                        executionState.setDelay((int) delay.ticks());
+                        frame.actionIndex++;
+                        stop = true;
+                    }
+                    case ExecutionStatus.Error error -> {
+                        offloadError = error.message();
+                        stop = true;
+                    }
+                }
+            }
+            if (traceEnabled) logger.finest(pluginPrefix + "Worker executed " + executed + " pure actions.");
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, pluginPrefix + "Unhandled exception in offloaded actions!", e);
+            offloadError = "Unhandled exception in offloaded actions: " + e.getMessage();
+        } finally {
+            offloadRunning = false;
         }
-        Map.Entry<String, Object> actionEntry = actionMap.entrySet().iterator().next();
-        String actionFullName = actionEntry.getKey();
-        Map<String, Object> params = parseParams(actionEntry.getValue());
-        Action action = actionRegistry.getAction(actionFullName);
+    }
+
+    // --- executeInstruction, cancel, isCancelled, getters ---
+    private ExecutionStatus executeInstruction(Instruction instruction) {
+        return executeInstruction(instruction, executionState);
+    }
+
+    // 파이버 엔진은 파이버별 상태(InlineState)를 넘김
+    ExecutionStatus executeInstruction(Instruction instruction, ExecutionState state) {
+        // 파라미터 검증과 링크는 ScriptCompiler 에서 이미 완료됨. 여기서는 ID 로 디스패치 테이블만 조회
+        int opcode = instruction.getOpcode();
+        if (opcode == ActionRegistry.UNKNOWN_ID) {
+            opcode = compiler.relink(instruction); // 로드 이후 등록된 액션일 수 있음 (레지스트리 변경 시에만 재조회)
+        }
+        Action action = actionRegistry != null ? actionRegistry.getAction(opcode) : null;
         if (action == null) {
-            logger.warning(pluginPrefix + "Action implementation not found for '" + actionFullName + "'. Skipping.");
+            logger.warning(pluginPrefix + "Action implementation not found for '" + instruction.getName() + "'. Skipping.");
             return ExecutionStatus.COMPLETED;
         }
         try {
-            logger.finest(pluginPrefix + "Executing Action: " + actionFullName);
-            return action.execute(executionContext, executionState, params);
+            if (traceEnabled) logger.finest(pluginPrefix + "Executing Action: " + instruction.getName());
+            BoundParameters bound = instruction.getBoundParameters();
+            if (bound != null && action instanceof BoundAction && bound.getSchema() == ((BoundAction) action).parameterSchema()) {
+                return ((BoundAction) action).execute(executionContext, state, bound); // 로드 시점에 바인딩된 파라미터
+            }
+            return action.execute(executionContext, state, instruction.getParams());
         } catch (Exception e) {
-            String errorMsg = "Unhandled exception during execution of action '" + actionFullName + "'";
+            String errorMsg = "Unhandled exception during execution of action '" + instruction.getName() + "'";
             logger.log(Level.SEVERE, pluginPrefix + errorMsg, e);
             return ExecutionStatus.ERROR(errorMsg + ": " + e.getMessage());
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> parseParams(Object paramsObject) {
-        // ... (이전 코드와 동일) ...
-        if (paramsObject instanceof Map) {
-            for(Object key : ((Map<?, ?>) paramsObject).keySet()){
-                if(!(key instanceof String)){
-                    logger.warning(pluginPrefix + "Invalid parameter map key type. Expected String, got " + key.getClass().getName() + ". Map: " + paramsObject);
-                    return new HashMap<>();
-                }
-            }
-            try {
-                return (Map<String, Object>) paramsObject;
-            } catch (ClassCastException e) {
-                logger.warning(pluginPrefix + "Parameter map cast failed despite key check. Map: " + paramsObject + ", Error: " + e.getMessage());
-                return new HashMap<>();
-            }
+    /**
+     * @return 다음 tick() 들이 딜레이만 진행할 틱 수. 스케줄러가 이만큼 방문을 건너뛸 수 있음
+     * @see ExecutionState#getIdleTicks()
+     */
+    public int getIdleTicks() {
+        // 워커가 실행 중이면 상태를 읽지 않음 (다음 틱에 다시 확인)
+        if (cancelled || offloadRunning) {
+            return 0;
         }
-        if (paramsObject == null) {
-            return new HashMap<>();
+        return continuationEngine != null ? continuationEngine.getIdleTicks() : executionState.getIdleTicks();
+    }
+
+    /** 스케줄러가 방문하지 않은 틱만큼 딜레이를 진행시킵니다. */
+    public void skipIdleTicks(int ticks) {
+        if (continuationEngine != null) {
+            continuationEngine.skipDelayTicks(ticks);
+        } else {
+            executionState.skipDelayTicks(ticks);
         }
-        logger.warning(pluginPrefix + "Invalid parameter format. Expected Map<String, Object> or null, got: " + paramsObject.getClass().getName() + ". Value: " + paramsObject);
-        return new HashMap<>();
     }
 
     public void cancel() {
         if (!this.cancelled) {
             this.cancelled = true;
+            if (continuationEngine != null) {
+                continuationEngine.close(); // 표시만 함: 파이버 스레드는 다음 슬라이스에서 소유 스레드가 종료 (release)
+            }
         }
     }
     public boolean isCancelled() { return this.cancelled; }
     public UUID getScriptTaskId() { return scriptTaskId; }
     public UUID getCasterUUID() { return casterUUID; }
+    public Player getCaster() { return executionContext.getCaster(); }
 }
\ No newline at end of file
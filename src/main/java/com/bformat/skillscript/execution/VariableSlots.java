@@ -0,0 +1,129 @@
+package com.bformat.skillscript.execution;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스크립트 변수 이름 -> 고정 슬롯 번호 심볼 테이블.
+ * <p>
+ * 테이블은 컴파일된 스크립트(트리거 블록)마다 하나이며 ({@code CompiledBlock#getVariableSlots()}),
+ * 같은 스크립트를 실행하는 모든 {@link ExecutionContext} 가 공유합니다. 컨텍스트는 이 테이블의 슬롯 번호로 인덱싱되는 배열에 값을 저장하므로
+ * 배열 크기는 그 스크립트가 쓰는 변수 수만큼입니다. 스크립트를 다시 로드하면 새 테이블이 만들어지고,
+ * 실행 중인 시전은 이전 테이블을 그대로 쓰다가 끝나면 함께 사라집니다.
+ * <p>
+ * 변수 이름은 대소문자를 구분하지 않으며 (소문자 기준), ScriptCompiler 가 로드 시점에 스크립트의 변수 이름을 미리 등록합니다.
+ * 슬롯은 변수에 값을 쓸 때와 컴파일 시점에만 할당됩니다. 읽기 경로({@link #peekSlot}, 셀렉터)는 슬롯을 만들지 않으므로
+ * 실행 중에 해석되는 임의의 문자열이 테이블을 늘리지 않습니다.
+ * <p>
+ * 조회 결과는 원본 표기 그대로도 캐시되므로, 같은 문자열로 다시 조회할 때는 소문자 변환이 일어나지 않습니다.
+ * 여러 스레드(리전 스레드, 오프로드 워커)에서 동시에 사용해도 됩니다.
+ */
+public final class VariableSlots {
+
+    public static final int NO_SLOT = -1;
+
+    // 원본 표기와 소문자 표기 모두 키로 저장
+    private final Map<String, Integer> slots = new ConcurrentHashMap<>();
+    // 슬롯 번호 -> 소문자 이름 (슬롯 할당 시에만 수정되며 names 로 동기화)
+    private final List<String> names = new ArrayList<>();
+
+    /**
+     * 변수 이름의 슬롯 번호를 반환합니다. 처음 보는 이름이면 새 슬롯을 할당합니다.
+     * 컴파일 시점과 변수 쓰기 경로에서만 호출합니다 (읽기는 {@link #peekSlot}).
+     * @param name 변수 이름 (null 이나 공백 불가)
+     */
+    public int slotOf(String name) {
+        Integer slot = slots.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        String lowerCaseName = name.toLowerCase();
+        synchronized (names) {
+            slot = slots.get(lowerCaseName);
+            if (slot == null) {
+                slot = names.size();
+                names.add(lowerCaseName);
+                slots.put(lowerCaseName, slot);
+            }
+        }
+        slots.put(name, slot);
+        return slot;
+    }
+
+    /**
+     * 슬롯을 할당하지 않고 조회만 합니다.
+     * @return 슬롯 번호 또는 {@link #NO_SLOT} (한 번도 등록되지 않은 이름)
+     */
+    public int peekSlot(String name) {
+        Integer slot = slots.get(name);
+        if (slot != null) {
+            return slot;
+        }
+        slot = slots.get(name.toLowerCase());
+        if (slot == null) {
+            return NO_SLOT;
+        }
+        slots.put(name, slot);
+        return slot;
+    }
+
+    /** @return 슬롯의 소문자 변수 이름, 범위를 벗어나면 null */
+    public String nameOf(int slot) {
+        synchronized (names) {
+            return (slot >= 0 && slot < names.size()) ? names.get(slot) : null;
+        }
+    }
+
+    /** @return 지금까지 할당된 슬롯 수 */
+    public int size() {
+        synchronized (names) {
+            return names.size();
+        }
+    }
+
+    /**
+     * 이름 하나의 슬롯 번호를 마지막으로 본 테이블과 함께 캐시합니다.
+     * 셀렉터와 바인딩된 파라미터처럼 여러 스크립트(테이블)에서 함께 쓰일 수 있는 곳에서 사용하며,
+     * 테이블이 바뀌면 다시 조회합니다.
+     */
+    public static final class SlotRef {
+        private final String name;
+        private volatile Cached cached; // 테이블과 번호를 한 번에 읽고 쓰도록 묶음
+
+        private record Cached(VariableSlots table, int slot) { }
+
+        public SlotRef(String name) {
+            this.name = name;
+        }
+
+        /** @return table 에서의 슬롯 번호, 없으면 할당 (변수 쓰기 경로) */
+        public int slotIn(VariableSlots table) {
+            Cached current = cached;
+            if (current != null && current.table == table) {
+                return current.slot;
+            }
+            int slot = table.slotOf(name);
+            cached = new Cached(table, slot);
+            return slot;
+        }
+
+        /** @return table 에서의 슬롯 번호, 없으면 {@link #NO_SLOT} (할당하지 않음) */
+        public int peekIn(VariableSlots table) {
+            Cached current = cached;
+            if (current != null && current.table == table) {
+                return current.slot;
+            }
+            int slot = table.peekSlot(name);
+            if (slot != NO_SLOT) {
+                cached = new Cached(table, slot);
+            }
+            return slot;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
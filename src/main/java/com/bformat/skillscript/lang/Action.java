@@ -16,14 +16,14 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID; // For UUID parsing
 import java.util.function.Function; // Function 임포트 추가
-import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.regex.Matcher;    // Matcher 임포트 추가
-import java.util.regex.Pattern;   // Pattern 임포트 추가
 
 /**
  * Functional interface representing a single executable action within a SkillScript.
  * Actions are registered in the ActionRegistry and executed by a ScriptTask.
+ * <p>
+ * The get*Parameter helpers below parse the raw parameter map on every call. Actions on hot paths should
+ * implement {@link BoundAction} instead, which binds a declared parameter schema once at script load.
  */
 @FunctionalInterface
 public interface Action {
@@ -40,6 +40,19 @@ public interface Action {
      */
     ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params);
 
+    /**
+     * Whether this action only computes on script variables and control flow state, without reading or
+     * changing the world (entities, blocks, players, particles, messages).
+     * Runs of pure instructions may be executed off the main thread (see ScriptTask), so an action must
+     * only return true if it is safe to run concurrently with the server tick. Parameters that reference
+     * {@code @} selectors, or variables currently holding entities, make an instruction impure regardless of this flag.
+     *
+     * @return true if the action is pure. Defaults to false (world-touching, main thread only).
+     */
+    default boolean isPure() {
+        return false;
+    }
+
     // --- Parameter Parsing Helper Methods ---
 
     default <T> Optional<T> getParameter(Map<String, Object> params, String key, Class<T> type) {
@@ -80,22 +93,15 @@ public interface Action {
             // 1. 변수/키워드 해석 시도 (가장 중요!)
             Optional<Double> resolved = context.resolveNumericValue(valueStr);
             if (resolved.isPresent()) {
-                // 로그 추가: 변수 해석 성공 확인
-                System.out.println("[DEBUG getIntParameter] Resolved variable '" + valueStr + "' to: " + resolved.get());
                 return resolved.get().intValue();
             }
             // 2. 직접 파싱 시도
             try {
-                int parsed = Integer.parseInt(valueStr);
-                // 로그 추가: 직접 파싱 성공 확인
-                System.out.println("[DEBUG getIntParameter] Parsed string '" + valueStr + "' to int: " + parsed);
-                return parsed;
+                return Integer.parseInt(valueStr);
             } catch (NumberFormatException e) {
                 System.err.println("[SkillScript Action Helper] Could not parse int parameter '" + key + "' with value: " + valueStr + " - Neither a variable/keyword nor a direct integer.");
             }
         }
-        // 로그 추가: 기본값 사용 확인
-        System.out.println("[DEBUG getIntParameter] Using default value " + defaultValue + " for key '" + key + "'");
         return defaultValue;
     }
 
@@ -377,100 +383,11 @@ public interface Action {
      * @return 플레이스홀더가 실제 값으로 치환된 문자열. 값을 찾을 수 없으면 플레이스홀더가 그대로 남거나 빈 문자열로 대체될 수 있음 (정책 결정 필요).
      */
     default String processPlaceholders(String inputString, ExecutionContext context, Logger logger, String pluginPrefix) {
-        if (inputString == null || inputString.isEmpty() || !inputString.contains("{")) {
+        if (inputString == null || inputString.isEmpty() || inputString.indexOf('{') < 0) {
             return inputString; // 처리할 플레이스홀더 없음
         }
-
-        // 플레이스홀더 패턴: {type:identifier}
-        // type: var 또는 sel
-        // identifier: 변수명 또는 셀렉터 문자열 (공백 허용 안 함)
-        final Pattern placeholderPattern = Pattern.compile("\\{(var|sel):([^\\s}]+)\\}");
-        Matcher matcher = placeholderPattern.matcher(inputString);
-        StringBuffer sb = new StringBuffer(); // 결과 문자열을 효율적으로 빌드
-
-        while (matcher.find()) {
-            String type = matcher.group(1); // "var" 또는 "sel"
-            String identifier = matcher.group(2); // 변수명 또는 셀렉터
-            String replacement = matcher.group(0); // 기본값: 원래 플레이스홀더 문자열
-
-            try {
-                if ("var".equals(type)) {
-                    // 변수 값 가져오기
-                    Object varValue = context.getVariable(identifier);
-                    if (varValue != null) {
-                        // --- 변수 타입별 포맷팅 추가 ---
-                        if (varValue instanceof Location) {
-                            Location loc = (Location) varValue;
-                            replacement = String.format("%s, %.1f, %.1f, %.1f",
-                                    loc.getWorld() != null ? loc.getWorld().getName() : "unknown",
-                                    loc.getX(), loc.getY(), loc.getZ());
-                        } else if (varValue instanceof Vector) {
-                            Vector vec = (Vector) varValue;
-                            replacement = String.format("%.2f, %.2f, %.2f", vec.getX(), vec.getY(), vec.getZ());
-                        } else if (varValue instanceof Double) { // Double 타입 포맷팅 (기존 sel 처리 로직과 유사하게)
-                            double val = (Double) varValue;
-                            if (val == Math.floor(val) && !Double.isInfinite(val)) {
-                                replacement = String.valueOf((long) val); // 정수면 .0 제거
-                            } else {
-                                replacement = String.format("%.2f", val); // 기본 소수점 2자리
-                            }
-                        } else {
-                            // 그 외 타입은 기본 toString() 사용
-                            replacement = String.valueOf(varValue);
-                        }
-                        // ------------------------------
-                    } else {
-                        if (logger != null) logger.warning(pluginPrefix + "Placeholder processing: Variable not found: " + identifier);
-                    }
-                } else if ("sel".equals(type)) {
-                    // --- 셀렉터 처리 부분은 변경 없음 ---
-                    Optional<Double> numericValue = context.resolveNumericValue(identifier);
-                    if (numericValue.isPresent()) {
-                        // ... (기존 숫자 포맷팅) ...
-                        double val = numericValue.get();
-                        if (val == Math.floor(val) && !Double.isInfinite(val)) {
-                            replacement = String.valueOf((long) val);
-                        } else {
-                            replacement = String.format("%.2f", val);
-                        }
-                    } else {
-                        Optional<Entity> entityValue = context.resolveEntity(identifier);
-                        if (entityValue.isPresent()) {
-                            replacement = entityValue.get().getName();
-                        } else {
-                            Optional<Location> locationValue = context.resolveLocation(identifier);
-                            if (locationValue.isPresent()) {
-                                // Location 포맷팅 적용
-                                Location loc = locationValue.get();
-                                replacement = String.format("%s, %.1f, %.1f, %.1f",
-                                        loc.getWorld() != null ? loc.getWorld().getName() : "unknown",
-                                        loc.getX(), loc.getY(), loc.getZ());
-                            } else {
-                                Optional<Vector> vectorValue = context.resolveVector(identifier);
-                                if(vectorValue.isPresent()) {
-                                    // Vector 포맷팅 적용
-                                    Vector vec = vectorValue.get();
-                                    replacement = String.format("%.2f, %.2f, %.2f", vec.getX(), vec.getY(), vec.getZ());
-                                } else {
-                                    // 셀렉터 못 찾음 (기존 로직)
-                                    if (logger != null) logger.warning(pluginPrefix + "Placeholder processing: Selector could not be resolved: " + identifier);
-                                }
-                            }
-                        }
-                    }
-                    // ---------------------------------
-                }
-            } catch (Exception e) {
-                if (logger != null) logger.log(Level.SEVERE, pluginPrefix + "Error processing placeholder: " + matcher.group(0), e);
-                // 오류 발생 시 플레이스홀더 유지
-            }
-
-            // 찾은 값으로 치환 (정규식 특수문자 이스케이프 처리)
-            matcher.appendReplacement(sb, Matcher.quoteReplacement(replacement));
-        }
-        matcher.appendTail(sb); // 나머지 문자열 추가
-
-        return sb.toString();
+        // 문자열별로 한 번만 분할된 템플릿을 재사용
+        return PlaceholderTemplate.of(inputString).render(context, logger, pluginPrefix);
     }
 
     // Logger, pluginPrefix 없이 간단히 호출하는 오버로드 메소드
@@ -0,0 +1,44 @@
+package com.bformat.skillscript.lang;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionState;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.ParameterBindingException;
+import com.bformat.skillscript.lang.param.ParameterSchema;
+
+import java.util.Map;
+
+/**
+ * 파라미터 스키마를 선언하는 액션.
+ * <p>
+ * ScriptCompiler 는 링크 시점에 {@link #parameterSchema()} 로 파라미터를 한 번 바인딩하고,
+ * ScriptTask 는 바인딩된 {@link BoundParameters} 로 {@link #execute(ExecutionContext, ExecutionState, BoundParameters)} 를 호출합니다.
+ * 스키마에 맞지 않는 스크립트는 실행 시점이 아니라 로드 시점에 실패합니다.
+ * <p>
+ * 원본 맵으로 직접 호출되는 경우(테스트, 컴파일되지 않은 경로)에는 호출할 때마다 바인딩합니다.
+ */
+public interface BoundAction extends Action {
+
+    /** @return 이 액션의 파라미터 스키마. 항상 같은 인스턴스를 반환해야 합니다 (static 상수 권장). */
+    ParameterSchema parameterSchema();
+
+    /**
+     * 미리 바인딩된 파라미터로 액션을 실행합니다.
+     * @param params 로드 시점에 {@link #parameterSchema()} 로 바인딩된 파라미터
+     */
+    ExecutionStatus execute(ExecutionContext context, ExecutionState state, BoundParameters params);
+
+    @Override
+    default ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+        BoundParameters bound;
+        try {
+            bound = parameterSchema().bind(params);
+        } catch (ParameterBindingException e) {
+            String message = getClass().getSimpleName() + ": " + e.getMessage();
+            context.getCaster().getServer().getLogger().warning("[SkillScript Action] " + message);
+            return ExecutionStatus.ERROR(message);
+        }
+        return execute(context, state, bound);
+    }
+}
@@ -0,0 +1,301 @@
+package com.bformat.skillscript.lang;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.NumericSelector;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.Vector;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * {var:이름} / {sel:셀렉터} 플레이스홀더가 포함된 문자열을 미리 분할해 둔 템플릿.
+ * <p>
+ * 문자열은 한 번만 스캔되어 리터럴 구간과 타입이 정해진 플레이스홀더 슬롯으로 나뉘고,
+ * 렌더링 시에는 스레드별로 재사용되는 StringBuilder 에 순서대로 이어 붙입니다.
+ * 숫자 포맷팅(소수점 1/2자리)은 String.format 없이 직접 수행합니다.
+ * <p>
+ * 스키마를 선언한 액션의 TEXT 파라미터는 스크립트 로드 시 {@link #compile(String)} 으로 분할되어
+ * 바인딩된 파라미터(Instruction)에 보관되므로 실행 중에는 파싱하지 않습니다.
+ * 스키마가 없는 액션이 실행 시점에 호출하는 {@link Action#processPlaceholders} 만 원본 문자열을 키로 하는
+ * 크기 제한 캐시({@link #of(String)})를 사용합니다.
+ */
+public final class PlaceholderTemplate {
+
+    private static final int CACHE_MAX_SIZE = 512;
+    private static final Map<String, PlaceholderTemplate> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PlaceholderTemplate> eldest) {
+            return size() > CACHE_MAX_SIZE;
+        }
+    };
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    private static final byte LITERAL = 0;
+    private static final byte VAR = 1;
+    private static final byte SEL = 2;
+
+    // appendFixed: 이 값 미만이면 곱셈 오차(반 ulp)와 최단 십진 표기와의 차이가 TIE_MARGIN 보다 훨씬 작음
+    private static final double FAST_PATH_LIMIT = 1e9;
+    private static final double TIE_MARGIN = 1e-6;
+
+    private final String source;
+    private final byte[] types;
+    private final String[] values;  // 리터럴 텍스트 또는 식별자
+    private final String[] raw;     // 해석 실패 시 그대로 남길 원본 플레이스홀더 텍스트
+    private final NumericSelector[] selectors; // sel 슬롯의 미리 컴파일된 숫자 접근자
+
+    private PlaceholderTemplate(String source, List<Byte> types, List<String> values, List<String> raw) {
+        this.source = source;
+        this.types = new byte[types.size()];
+        for (int i = 0; i < this.types.length; i++) {
+            this.types[i] = types.get(i);
+        }
+        this.values = values.toArray(new String[0]);
+        this.raw = raw.toArray(new String[0]);
+        this.selectors = new NumericSelector[this.types.length];
+        for (int i = 0; i < this.types.length; i++) {
+            if (this.types[i] == SEL) {
+                selectors[i] = NumericSelector.of(this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * 문자열을 분할한 새 템플릿을 반환합니다 (캐시 사용 안 함). 로드 시점 바인딩용이며 결과는 호출자가 보관합니다.
+     * @param source 원본 문자열 (null 불가)
+     */
+    public static PlaceholderTemplate compile(String source) {
+        return parse(source);
+    }
+
+    /**
+     * 캐시된 템플릿을 반환하거나, 없으면 파싱하여 캐시에 넣습니다. 실행 시점에 원본 문자열만 있는 경로용.
+     * @param source 원본 문자열 (null 불가)
+     */
+    public static PlaceholderTemplate of(String source) {
+        synchronized (CACHE) {
+            PlaceholderTemplate template = CACHE.get(source);
+            if (template == null) {
+                template = parse(source);
+                CACHE.put(source, template);
+            }
+            return template;
+        }
+    }
+
+    /** @return 실행 시점 캐시에 있는 템플릿 수 */
+    public static int cacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /** 문자열을 리터럴과 플레이스홀더 슬롯으로 분할합니다. 형식: {var|sel:공백과 '}' 를 제외한 1자 이상} */
+    static PlaceholderTemplate parse(String source) {
+        List<Byte> types = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        List<String> raw = new ArrayList<>();
+        int literalStart = 0;
+        int i = source.indexOf('{');
+        while (i >= 0) {
+            byte type = source.startsWith("var:", i + 1) ? VAR : source.startsWith("sel:", i + 1) ? SEL : LITERAL;
+            if (type != LITERAL) {
+                int idStart = i + 5;
+                int j = idStart;
+                while (j < source.length() && source.charAt(j) != '}' && !Character.isWhitespace(source.charAt(j))) {
+                    j++;
+                }
+                if (j > idStart && j < source.length() && source.charAt(j) == '}') {
+                    if (i > literalStart) {
+                        types.add(LITERAL);
+                        values.add(source.substring(literalStart, i));
+                        raw.add(null);
+                    }
+                    types.add(type);
+                    values.add(source.substring(idStart, j));
+                    raw.add(source.substring(i, j + 1));
+                    literalStart = j + 1;
+                    i = source.indexOf('{', literalStart);
+                    continue;
+                }
+            }
+            i = source.indexOf('{', i + 1);
+        }
+        if (literalStart < source.length()) {
+            types.add(LITERAL);
+            values.add(source.substring(literalStart));
+            raw.add(null);
+        }
+        return new PlaceholderTemplate(source, types, values, raw);
+    }
+
+    /** @return 플레이스홀더가 하나라도 있으면 true */
+    public boolean hasPlaceholders() {
+        for (byte type : types) {
+            if (type != LITERAL) return true;
+        }
+        return false;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 플레이스홀더를 현재 컨텍스트 값으로 치환합니다. 값을 찾을 수 없는 플레이스홀더는 그대로 남깁니다.
+     * @param logger 경고 로깅용 (null 가능)
+     */
+    public String render(ExecutionContext context, Logger logger, String pluginPrefix) {
+        if (!hasPlaceholders()) {
+            return source;
+        }
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        for (int i = 0; i < types.length; i++) {
+            switch (types[i]) {
+                case LITERAL:
+                    sb.append(values[i]);
+                    break;
+                case VAR:
+                    appendVariable(sb, i, context, logger, pluginPrefix);
+                    break;
+                case SEL:
+                    appendSelector(sb, i, context, logger, pluginPrefix);
+                    break;
+                default:
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private void appendVariable(StringBuilder sb, int slot, ExecutionContext context, Logger logger, String pluginPrefix) {
+        int mark = sb.length();
+        try {
+            Object varValue = context.getVariable(values[slot]);
+            if (varValue == null) {
+                if (logger != null) logger.warning(pluginPrefix + "Placeholder processing: Variable not found: " + values[slot]);
+                sb.append(raw[slot]);
+            } else if (varValue instanceof Location) {
+                appendLocation(sb, (Location) varValue);
+            } else if (varValue instanceof Vector) {
+                appendVector(sb, (Vector) varValue);
+            } else if (varValue instanceof Double) {
+                appendNumber(sb, (Double) varValue);
+            } else {
+                sb.append(varValue); // 그 외 타입은 기본 toString() 사용
+            }
+        } catch (Exception e) {
+            if (logger != null) logger.log(Level.SEVERE, pluginPrefix + "Error processing placeholder: " + raw[slot], e);
+            sb.setLength(mark);
+            sb.append(raw[slot]); // 오류 발생 시 플레이스홀더 유지
+        }
+    }
+
+    private void appendSelector(StringBuilder sb, int slot, ExecutionContext context, Logger logger, String pluginPrefix) {
+        int mark = sb.length();
+        String identifier = values[slot];
+        try {
+            Optional<Double> numericValue = selectors[slot].resolve(context);
+            if (numericValue.isPresent()) {
+                appendNumber(sb, numericValue.get());
+                return;
+            }
+            Optional<Entity> entityValue = context.resolveEntity(identifier);
+            if (entityValue.isPresent()) {
+                sb.append(entityValue.get().getName());
+                return;
+            }
+            Optional<Location> locationValue = context.resolveLocation(identifier);
+            if (locationValue.isPresent()) {
+                appendLocation(sb, locationValue.get());
+                return;
+            }
+            Optional<Vector> vectorValue = context.resolveVector(identifier);
+            if (vectorValue.isPresent()) {
+                appendVector(sb, vectorValue.get());
+                return;
+            }
+            if (logger != null) logger.warning(pluginPrefix + "Placeholder processing: Selector could not be resolved: " + identifier);
+            sb.append(raw[slot]);
+        } catch (Exception e) {
+            if (logger != null) logger.log(Level.SEVERE, pluginPrefix + "Error processing placeholder: " + raw[slot], e);
+            sb.setLength(mark);
+            sb.append(raw[slot]);
+        }
+    }
+
+    // --- 포맷팅 (기존 String.format 결과와 동일) ---
+
+    /** 정수 값은 소수점 없이, 그 외는 소수점 2자리. */
+    static void appendNumber(StringBuilder sb, double value) {
+        if (value == Math.floor(value) && !Double.isInfinite(value)) {
+            sb.append((long) value);
+        } else {
+            appendFixed(sb, value, 2);
+        }
+    }
+
+    /** "world, x, y, z" (소수점 1자리) */
+    static void appendLocation(StringBuilder sb, Location loc) {
+        sb.append(loc.getWorld() != null ? loc.getWorld().getName() : "unknown").append(", ");
+        appendFixed(sb, loc.getX(), 1);
+        sb.append(", ");
+        appendFixed(sb, loc.getY(), 1);
+        sb.append(", ");
+        appendFixed(sb, loc.getZ(), 1);
+    }
+
+    /** "x, y, z" (소수점 2자리) */
+    static void appendVector(StringBuilder sb, Vector vec) {
+        appendFixed(sb, vec.getX(), 2);
+        sb.append(", ");
+        appendFixed(sb, vec.getY(), 2);
+        sb.append(", ");
+        appendFixed(sb, vec.getZ(), 2);
+    }
+
+    /**
+     * String.format("%.Nf") 와 같은 결과를 추가합니다. decimals 는 1 또는 2.
+     * String.format 은 double 의 최단 십진 표기(Double.toString 의 숫자)를 HALF_UP 으로 반올림하므로 (1.005 -> "1.01"),
+     * 반올림 방향이 확실한 값은 할당 없이 long 으로 계산하고, .5 경계 근처이거나 큰 값은 같은 방식의 BigDecimal 로 처리합니다.
+     * NaN/Infinity 는 String.format 으로 처리합니다.
+     */
+    static void appendFixed(StringBuilder sb, double value, int decimals) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append(String.format("%." + decimals + "f", value));
+            return;
+        }
+        long scale = decimals == 1 ? 10L : 100L;
+        double scaled = Math.abs(value) * scale;
+        double half = scaled - Math.floor(scaled) - 0.5;
+        if (scaled >= FAST_PATH_LIMIT || Math.abs(half) <= TIE_MARGIN) {
+            String rounded = BigDecimal.valueOf(value).setScale(decimals, RoundingMode.HALF_UP).toPlainString();
+            if (Double.doubleToRawLongBits(value) < 0 && rounded.charAt(0) != '-') {
+                sb.append('-'); // -0.04 -> "-0.0" (BigDecimal 은 0 의 부호를 잃음)
+            }
+            sb.append(rounded);
+            return;
+        }
+        long units = (long) Math.floor(scaled + 0.5);
+        if (Double.doubleToRawLongBits(value) < 0) {
+            sb.append('-');
+        }
+        sb.append(units / scale).append('.');
+        long fraction = units % scale;
+        if (decimals == 2 && fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+}
@@ -0,0 +1,235 @@
+package com.bformat.skillscript.lang.expression;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.NumericSelector;
+import org.mariuszgromada.math.mxparser.Argument;
+import org.mariuszgromada.math.mxparser.Expression;
+import org.mariuszgromada.math.mxparser.mXparser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 한 번 파싱된 수식. SkillScript 식별자(변수/셀렉터)는 슬롯으로 치환되어 있으므로
+ * 반복 평가 시에는 슬롯 값만 바인딩한 뒤 계산합니다.
+ * <p>
+ * 가능한 경우 {@link NativeExpressionCompiler} 가 만든 노드 트리로 평가하고,
+ * 지원하지 않는 함수나 문법이 있으면 mXparser Expression (슬롯 = Argument) 으로 대체합니다.
+ * <p>
+ * 인스턴스는 {@link ExpressionCache} 를 통해 얻으며 여러 스레드(오프로드 워커, 리전 스레드)가 잠금 없이 함께 평가합니다.
+ * 슬롯 값은 호출한 {@link ExecutionContext} 의 버퍼에 기록하고, 상태를 가지는 mXparser Expression 은 스레드마다 따로 만듭니다.
+ */
+public final class CachedExpression {
+
+    // SkillScript 변수/셀렉터를 찾는 정규식. 숫자 리터럴 내부(예: 1e5 의 e5)는 제외
+    private static final Pattern IDENTIFIER_PATTERN = Pattern.compile("(?<![\\w.@])(@?[a-zA-Z_]\\w*(?:\\.\\w+)*)");
+    // mXparser 인수로 변환 시 사용할 접두사 (충돌 방지)
+    private static final String MXPARSER_ARG_PREFIX = "ss_";
+
+    static {
+        // mXparser 전역 설정은 한 번만 적용
+        mXparser.disableImpliedMultiplicationMode();
+        mXparser.disableAlmostIntRounding();
+        mXparser.disableCanonicalRounding();
+    }
+
+    private final String source;
+    private final String processedExpression;
+    private final String[] identifiers;      // 슬롯별 원본 식별자
+    private final NumericSelector[] selectors; // 슬롯별로 미리 컴파일된 접근자
+    private final double[] builtinFallbacks; // 슬롯별 mXparser 내장 상수 값 (내장 상수가 아니면 NaN)
+    private final boolean[] isBuiltin;
+    private final NativeExpressionCompiler.Node nativeRoot; // null 이면 mXparser 사용
+    private final ThreadLocal<MxBinding> mxBindings; // mXparser 경로 전용: 스레드별 Expression + 인수
+    private final boolean valid;
+    private final String errorMessage;
+
+    private CachedExpression(String source) {
+        this.source = source;
+
+        // 1. 네이티브 컴파일 시도
+        NativeExpressionCompiler.Compiled compiled = NativeExpressionCompiler.compile(source);
+        if (compiled != null) {
+            int slotCount = compiled.identifiers.length;
+            this.processedExpression = source;
+            this.identifiers = compiled.identifiers;
+            this.builtinFallbacks = new double[slotCount];
+            this.isBuiltin = new boolean[slotCount];
+            for (int i = 0; i < slotCount; i++) {
+                Double constant = NativeExpressionCompiler.BUILTIN_CONSTANTS.get(identifiers[i]);
+                isBuiltin[i] = constant != null;
+                builtinFallbacks[i] = isBuiltin[i] ? constant : Double.NaN;
+            }
+            this.selectors = compileSelectors(identifiers);
+            this.nativeRoot = compiled.root;
+            this.mxBindings = null;
+            this.valid = true;
+            this.errorMessage = null;
+            return;
+        }
+
+        // 2. mXparser 대체 경로
+        // 원본 식별자 -> 안전한 인수 이름 (등장 순서 유지)
+        Map<String, String> slotNames = new LinkedHashMap<>();
+        StringBuilder processed = new StringBuilder(source.length() + 16);
+        Matcher matcher = IDENTIFIER_PATTERN.matcher(source);
+        int last = 0;
+        while (matcher.find()) {
+            String identifier = matcher.group(1);
+            processed.append(source, last, matcher.start());
+            last = matcher.end();
+            if (isFunctionCall(source, matcher.end())) {
+                processed.append(identifier); // 함수 이름은 그대로 둠 (sin, round, log ...)
+                continue;
+            }
+            String safeName = slotNames.computeIfAbsent(identifier, CachedExpression::toArgumentName);
+            processed.append(safeName);
+        }
+        processed.append(source, last, source.length());
+        this.processedExpression = processed.toString();
+
+        int slotCount = slotNames.size();
+        this.identifiers = slotNames.keySet().toArray(new String[0]);
+        this.builtinFallbacks = new double[slotCount];
+        this.isBuiltin = new boolean[slotCount];
+        List<String> names = new ArrayList<>(slotNames.values());
+        for (int i = 0; i < slotCount; i++) {
+            // 변수로 해석되지 않을 때 사용할 mXparser 내장 상수 (pi, e 등)
+            Expression constant = new Expression(identifiers[i]);
+            isBuiltin[i] = !identifiers[i].startsWith("@") && constant.checkSyntax();
+            builtinFallbacks[i] = isBuiltin[i] ? constant.calculate() : Double.NaN;
+        }
+
+        this.selectors = compileSelectors(identifiers);
+        this.nativeRoot = null;
+        String[] argumentNames = names.toArray(new String[0]);
+        MxBinding first = MxBinding.create(processedExpression, argumentNames);
+        this.valid = first.expression.checkSyntax();
+        this.errorMessage = valid ? null : first.expression.getErrorMessage();
+        String expressionText = processedExpression;
+        this.mxBindings = ThreadLocal.withInitial(() -> MxBinding.create(expressionText, argumentNames));
+        this.mxBindings.set(first);
+    }
+
+    // mXparser Expression 과 인수는 값을 내부에 저장하므로 스레드마다 한 벌씩 사용
+    private record MxBinding(Argument[] arguments, Expression expression) {
+        static MxBinding create(String expressionText, String[] argumentNames) {
+            Argument[] arguments = new Argument[argumentNames.length];
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i] = new Argument(argumentNames[i], 0.0);
+            }
+            return new MxBinding(arguments, new Expression(expressionText, arguments));
+        }
+
+        double calculate(double[] slots) {
+            for (int i = 0; i < arguments.length; i++) {
+                arguments[i].setArgumentValue(slots[i]);
+            }
+            return expression.calculate();
+        }
+    }
+
+    static CachedExpression compile(String source) {
+        return new CachedExpression(source);
+    }
+
+    private static NumericSelector[] compileSelectors(String[] identifiers) {
+        NumericSelector[] selectors = new NumericSelector[identifiers.length];
+        for (int i = 0; i < identifiers.length; i++) {
+            selectors[i] = NumericSelector.of(identifiers[i]);
+        }
+        return selectors;
+    }
+
+    private static boolean isFunctionCall(String text, int end) {
+        for (int i = end; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '(';
+            }
+        }
+        return false;
+    }
+
+    private static String toArgumentName(String identifier) {
+        return MXPARSER_ARG_PREFIX + identifier.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+    /**
+     * 현재 컨텍스트의 값으로 슬롯을 바인딩하고 수식을 계산합니다.
+     * @param context 변수/셀렉터 해석에 사용할 실행 컨텍스트
+     * @return 계산 결과 (NaN 가능). 구문 오류이거나 식별자를 해석할 수 없으면 empty
+     */
+    public OptionalDouble evaluate(ExecutionContext context) {
+        if (!valid) {
+            return OptionalDouble.empty();
+        }
+        double[] slots = context.expressionSlots(selectors.length);
+        for (int i = 0; i < selectors.length; i++) {
+            if (!bindSlot(context, slots, i)) {
+                return OptionalDouble.empty();
+            }
+        }
+        return OptionalDouble.of(nativeRoot != null ? nativeRoot.eval(slots) : mxBindings.get().calculate(slots));
+    }
+
+    /**
+     * {@link #evaluate(ExecutionContext)} 와 같지만 결과를 boxing 없이 반환합니다.
+     * @return 계산 결과 (NaN 가능), 구문 오류이거나 식별자를 해석할 수 없으면 defaultValue
+     */
+    public double evaluate(ExecutionContext context, double defaultValue) {
+        if (!valid) {
+            return defaultValue;
+        }
+        double[] slots = context.expressionSlots(selectors.length);
+        for (int i = 0; i < selectors.length; i++) {
+            if (!bindSlot(context, slots, i)) {
+                return defaultValue;
+            }
+        }
+        return nativeRoot != null ? nativeRoot.eval(slots) : mxBindings.get().calculate(slots);
+    }
+
+    private boolean bindSlot(ExecutionContext context, double[] slots, int slot) {
+        // 같은 이름의 변수가 있으면 내장 상수보다 우선 (기존 동작 유지)
+        if (selectors[slot].readInto(context, slots, slot)) {
+            return true;
+        }
+        if (isBuiltin[slot]) {
+            slots[slot] = builtinFallbacks[slot];
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return 현재 컨텍스트에서 해석할 수 없는 첫 번째 식별자, 모두 해석되면 null. 오류 메시지용.
+     */
+    public String findUnresolvedIdentifier(ExecutionContext context) {
+        double[] slots = context.expressionSlots(identifiers.length);
+        for (int i = 0; i < identifiers.length; i++) {
+            if (!bindSlot(context, slots, i)) {
+                return identifiers[i];
+            }
+        }
+        return null;
+    }
+
+    public boolean isValid() { return valid; }
+    public String getErrorMessage() { return errorMessage; }
+    public String getSource() { return source; }
+    public String getProcessedExpression() { return processedExpression; }
+    public int getSlotCount() { return identifiers.length; }
+    /**
+     * @return 식별자가 없고 네이티브로 컴파일된 수식이면 true (항상 같은 값). mXparser 경로는 식별자가 없어도
+     *         rUni 같은 난수 함수를 포함할 수 있으므로 상수로 보지 않음
+     */
+    public boolean isConstant() { return nativeRoot != null && identifiers.length == 0; }
+    /** @return 네이티브 노드 트리로 평가되면 true, mXparser 로 평가되면 false */
+    public boolean isNative() { return nativeRoot != null; }
+}
@@ -0,0 +1,58 @@
+package com.bformat.skillscript.lang.expression;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 수식 문자열을 키로 하는 크기 제한 LRU 캐시.
+ * 같은 수식이 반복 실행될 때 식별자 분석과 mXparser 파싱을 다시 하지 않도록 합니다.
+ */
+public final class ExpressionCache {
+
+    public static final int DEFAULT_MAX_SIZE = 512;
+
+    private static final ExpressionCache SHARED = new ExpressionCache(DEFAULT_MAX_SIZE);
+
+    private final Map<String, CachedExpression> entries;
+
+    public ExpressionCache(int maxSize) {
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedExpression> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /** @return 모든 액션이 공유하는 캐시 */
+    public static ExpressionCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 캐시된 수식을 반환하거나, 없으면 파싱하여 캐시에 넣습니다.
+     * 구문 오류가 있는 수식도 캐시되며 {@link CachedExpression#isValid()} 로 확인합니다.
+     */
+    public CachedExpression get(String expression) {
+        synchronized (entries) {
+            CachedExpression cached = entries.get(expression);
+            if (cached == null) {
+                cached = CachedExpression.compile(expression);
+                entries.put(expression, cached);
+            }
+            return cached;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+}
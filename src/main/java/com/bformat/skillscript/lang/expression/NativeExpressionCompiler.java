@@ -0,0 +1,449 @@
+package com.bformat.skillscript.lang.expression;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SkillScript 수식 문법(사칙연산, 거듭제곱, 비교/논리 연산, 자주 쓰는 수학 함수)을
+ * {@code double[]} 슬롯 위에서 동작하는 노드 트리로 컴파일합니다.
+ * <p>
+ * 노드는 작은 final 클래스들이라 JIT 가 인라인하기 쉽고, 평가 시 boxing 이나 문자열 처리가 없습니다.
+ * 지원하지 않는 토큰이나 함수가 있으면 null 을 반환하며, 이 경우 호출자는 mXparser 로 대체합니다.
+ * 연산자 우선순위와 함수 이름, 비교 연산의 오차 허용(epsilon)은 mXparser 와 동일하게 맞춥니다.
+ */
+final class NativeExpressionCompiler {
+
+    /** 슬롯 값 배열을 받아 결과를 계산하는 컴파일된 노드. */
+    interface Node {
+        double eval(double[] slots);
+    }
+
+    /** 컴파일 결과: 루트 노드와 슬롯별 원본 식별자. */
+    static final class Compiled {
+        final Node root;
+        final String[] identifiers;
+
+        Compiled(Node root, String[] identifiers) {
+            this.root = root;
+            this.identifiers = identifiers;
+        }
+    }
+
+    // 변수로 해석되지 않을 때 사용하는 내장 상수 (mXparser 와 같은 이름)
+    static final Map<String, Double> BUILTIN_CONSTANTS = Map.of("pi", Math.PI, "e", Math.E);
+
+    // mXparser BinaryRelations.DEFAULT_COMPARISON_EPSILON
+    static final double COMPARISON_EPSILON = 1e-14;
+
+    private final String text;
+    private int pos;
+    private final Map<String, Integer> slots = new LinkedHashMap<>();
+
+    private NativeExpressionCompiler(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @param source 수식 문자열
+     * @return 컴파일 결과, 문법 오류이거나 지원하지 않는 구성 요소가 있으면 null
+     */
+    static Compiled compile(String source) {
+        if (source == null || source.isBlank()) {
+            return null;
+        }
+        NativeExpressionCompiler compiler = new NativeExpressionCompiler(source);
+        try {
+            Node root = compiler.parseOr();
+            compiler.skipWhitespace();
+            if (compiler.pos != source.length()) {
+                return null; // 남은 토큰 → mXparser 에 맡김
+            }
+            return new Compiled(root, compiler.slots.keySet().toArray(new String[0]));
+        } catch (UnsupportedExpressionException e) {
+            return null;
+        }
+    }
+
+    private static final class UnsupportedExpressionException extends RuntimeException {
+        UnsupportedExpressionException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static UnsupportedExpressionException unsupported() {
+        return new UnsupportedExpressionException();
+    }
+
+    // --- 문법 (낮은 우선순위부터) ---
+
+    private Node parseOr() {
+        Node left = parseAnd();
+        while (true) {
+            if (match("||") || match("|")) {
+                Node l = left, r = parseAnd();
+                left = fold(s -> (l.eval(s) != 0.0 || r.eval(s) != 0.0) ? 1.0 : 0.0, l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseAnd() {
+        Node left = parseRelation();
+        while (true) {
+            if (match("&&") || match("&")) {
+                Node l = left, r = parseRelation();
+                left = fold(s -> (l.eval(s) != 0.0 && r.eval(s) != 0.0) ? 1.0 : 0.0, l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseRelation() {
+        Node left = parseAdditive();
+        while (true) {
+            Node l = left;
+            if (match("<=")) {
+                Node r = parseAdditive();
+                left = fold(s -> leq(l.eval(s), r.eval(s)), l, r);
+            } else if (match(">=")) {
+                Node r = parseAdditive();
+                left = fold(s -> geq(l.eval(s), r.eval(s)), l, r);
+            } else if (match("<>") || match("!=") || match("~=")) {
+                Node r = parseAdditive();
+                left = fold(s -> neq(l.eval(s), r.eval(s)), l, r);
+            } else if (match("==") || match("=")) {
+                Node r = parseAdditive();
+                left = fold(s -> eq(l.eval(s), r.eval(s)), l, r);
+            } else if (match("<")) {
+                Node r = parseAdditive();
+                left = fold(s -> lt(l.eval(s), r.eval(s)), l, r);
+            } else if (match(">")) {
+                Node r = parseAdditive();
+                left = fold(s -> gt(l.eval(s), r.eval(s)), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseAdditive() {
+        Node left = parseMultiplicative();
+        while (true) {
+            Node l = left;
+            if (match("+")) {
+                Node r = parseMultiplicative();
+                left = fold(s -> l.eval(s) + r.eval(s), l, r);
+            } else if (match("-")) {
+                Node r = parseMultiplicative();
+                left = fold(s -> l.eval(s) - r.eval(s), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseMultiplicative() {
+        Node left = parseUnary();
+        while (true) {
+            Node l = left;
+            if (match("*")) {
+                Node r = parseUnary();
+                left = fold(s -> l.eval(s) * r.eval(s), l, r);
+            } else if (match("/")) {
+                Node r = parseUnary();
+                left = fold(s -> divide(l.eval(s), r.eval(s)), l, r);
+            } else {
+                return left;
+            }
+        }
+    }
+
+    private Node parseUnary() {
+        if (match("-")) {
+            Node operand = parseUnary();
+            return fold(s -> -operand.eval(s), operand);
+        }
+        if (match("+")) {
+            return parseUnary();
+        }
+        if (match("~")) {
+            Node operand = parseUnary();
+            return fold(s -> operand.eval(s) == 0.0 ? 1.0 : 0.0, operand);
+        }
+        return parsePower();
+    }
+
+    private Node parsePower() {
+        Node base = parsePrimary();
+        if (match("^")) {
+            Node exponent = parseUnary(); // 오른쪽 결합, 2^-1 허용
+            return fold(s -> Math.pow(base.eval(s), exponent.eval(s)), base, exponent);
+        }
+        return base;
+    }
+
+    private Node parsePrimary() {
+        skipWhitespace();
+        if (pos >= text.length()) {
+            throw unsupported();
+        }
+        char c = text.charAt(pos);
+        if (c == '(') {
+            pos++;
+            Node inner = parseOr();
+            expect(')');
+            return inner;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return parseNumber();
+        }
+        if (c == '@' || Character.isLetter(c) || c == '_') {
+            String identifier = readIdentifier();
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == '(') {
+                pos++;
+                return parseFunction(identifier, parseArguments());
+            }
+            int slot = slots.computeIfAbsent(identifier, k -> slots.size());
+            return s -> s[slot];
+        }
+        throw unsupported();
+    }
+
+    private Node parseNumber() {
+        int start = pos;
+        while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+            int mark = pos++;
+            if (pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                pos++;
+            }
+            if (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+                    pos++;
+                }
+            } else {
+                pos = mark; // 지수가 아님
+            }
+        }
+        try {
+            double value = Double.parseDouble(text.substring(start, pos));
+            return constant(value);
+        } catch (NumberFormatException e) {
+            throw unsupported();
+        }
+    }
+
+    private String readIdentifier() {
+        int start = pos;
+        if (text.charAt(pos) == '@') {
+            pos++;
+        }
+        if (pos >= text.length() || !(Character.isLetter(text.charAt(pos)) || text.charAt(pos) == '_')) {
+            throw unsupported();
+        }
+        while (pos < text.length()) {
+            char c = text.charAt(pos);
+            if (Character.isLetterOrDigit(c) || c == '_') {
+                pos++;
+            } else if (c == '.' && pos + 1 < text.length() && (Character.isLetterOrDigit(text.charAt(pos + 1)) || text.charAt(pos + 1) == '_')) {
+                pos++; // @CasterLocation.X 와 같은 속성 접근
+            } else {
+                break;
+            }
+        }
+        return text.substring(start, pos);
+    }
+
+    private List<Node> parseArguments() {
+        List<Node> arguments = new ArrayList<>(3);
+        skipWhitespace();
+        if (match(")")) {
+            return arguments;
+        }
+        do {
+            arguments.add(parseOr());
+        } while (match(","));
+        expect(')');
+        return arguments;
+    }
+
+    private Node parseFunction(String name, List<Node> args) {
+        switch (args.size()) {
+            case 1: {
+                Node a = args.get(0);
+                switch (name) {
+                    case "sin": return fold(s -> Math.sin(a.eval(s)), a);
+                    case "cos": return fold(s -> Math.cos(a.eval(s)), a);
+                    case "tan": case "tg": return fold(s -> Math.tan(a.eval(s)), a);
+                    case "asin": case "arcsin": return fold(s -> Math.asin(a.eval(s)), a);
+                    case "acos": case "arccos": return fold(s -> Math.acos(a.eval(s)), a);
+                    case "atan": case "arctan": case "arctg": return fold(s -> Math.atan(a.eval(s)), a);
+                    case "sinh": return fold(s -> Math.sinh(a.eval(s)), a);
+                    case "cosh": return fold(s -> Math.cosh(a.eval(s)), a);
+                    case "tanh": case "tgh": return fold(s -> Math.tanh(a.eval(s)), a);
+                    case "sqrt": return fold(s -> Math.sqrt(a.eval(s)), a);
+                    case "abs": return fold(s -> Math.abs(a.eval(s)), a);
+                    case "floor": return fold(s -> Math.floor(a.eval(s)), a);
+                    case "ceil": return fold(s -> Math.ceil(a.eval(s)), a);
+                    case "exp": return fold(s -> Math.exp(a.eval(s)), a);
+                    case "ln": return fold(s -> Math.log(a.eval(s)), a);
+                    case "lg": case "log10": return fold(s -> Math.log10(a.eval(s)), a);
+                    case "log2": return fold(s -> Math.log(a.eval(s)) / Math.log(2.0), a);
+                    case "sgn": return fold(s -> Math.signum(a.eval(s)), a);
+                    case "rad": return fold(s -> Math.toRadians(a.eval(s)), a);
+                    case "deg": return fold(s -> Math.toDegrees(a.eval(s)), a);
+                    case "not": return fold(s -> a.eval(s) == 0.0 ? 1.0 : 0.0, a);
+                    default: break;
+                }
+                break;
+            }
+            case 2: {
+                Node a = args.get(0), b = args.get(1);
+                switch (name) {
+                    case "log": return fold(s -> Math.log(b.eval(s)) / Math.log(a.eval(s)), a, b); // log(밑, 진수)
+                    case "round": return fold(s -> round(a.eval(s), b.eval(s)), a, b);
+                    case "mod": return fold(s -> a.eval(s) % b.eval(s), a, b); // mXparser 와 같이 나머지의 부호는 피제수를 따름
+                    case "atan2": return fold(s -> Math.atan2(a.eval(s), b.eval(s)), a, b);
+                    default: break;
+                }
+                break;
+            }
+            case 3: {
+                if (name.equals("if")) {
+                    Node cond = args.get(0), whenTrue = args.get(1), whenFalse = args.get(2);
+                    return fold(s -> cond.eval(s) != 0.0 ? whenTrue.eval(s) : whenFalse.eval(s), cond, whenTrue, whenFalse);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        if (!args.isEmpty() && (name.equals("min") || name.equals("max"))) {
+            Node[] nodes = args.toArray(new Node[0]);
+            boolean isMin = name.equals("min");
+            return fold(s -> {
+                double result = nodes[0].eval(s);
+                for (int i = 1; i < nodes.length; i++) {
+                    double v = nodes[i].eval(s);
+                    result = isMin ? Math.min(result, v) : Math.max(result, v);
+                }
+                return result;
+            }, nodes);
+        }
+        throw unsupported(); // 알 수 없는 함수 → mXparser
+    }
+
+    /** mXparser 의 나눗셈과 같은 결과: 0 으로 나누면 (0/0 포함) Infinity 가 아니라 NaN. */
+    static double divide(double a, double b) {
+        return (b == 0.0) ? Double.NaN : a / b;
+    }
+
+    /** mXparser 의 round(값, 소수 자릿수) 와 같은 반올림 (0.5 는 0 에서 먼 쪽으로). */
+    static double round(double value, double places) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return value;
+        }
+        double scale = Math.pow(10.0, Math.floor(places));
+        double rounded = Math.floor(Math.abs(value) * scale + 0.5) / scale;
+        return Math.copySign(rounded, value);
+    }
+
+    /**
+     * mXparser 의 비교 연산(BinaryRelations 기본 설정)과 같은 오차 허용: 차이가 max(1e-14, ulp(b)) 이내면 같은 값.
+     * 무한대가 있으면 오차 없이 비교하고, NaN 이 있으면 결과도 NaN.
+     */
+    private static double comparisonEpsilon(double a, double b) {
+        return (Double.isInfinite(a) || Double.isInfinite(b)) ? 0.0 : Math.max(COMPARISON_EPSILON, Math.ulp(b));
+    }
+
+    static double eq(double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b)) return Double.NaN;
+        return Math.abs(a - b) <= comparisonEpsilon(a, b) ? 1.0 : 0.0;
+    }
+
+    static double neq(double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b)) return Double.NaN;
+        return Math.abs(a - b) > comparisonEpsilon(a, b) ? 1.0 : 0.0;
+    }
+
+    static double lt(double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b)) return Double.NaN;
+        return a < b - comparisonEpsilon(a, b) ? 1.0 : 0.0;
+    }
+
+    static double gt(double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b)) return Double.NaN;
+        return a > b + comparisonEpsilon(a, b) ? 1.0 : 0.0;
+    }
+
+    static double leq(double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b)) return Double.NaN;
+        return a <= b + comparisonEpsilon(a, b) ? 1.0 : 0.0;
+    }
+
+    static double geq(double a, double b) {
+        if (Double.isNaN(a) || Double.isNaN(b)) return Double.NaN;
+        return a >= b - comparisonEpsilon(a, b) ? 1.0 : 0.0;
+    }
+
+    // --- 상수 폴딩 ---
+
+    private static final class ConstantNode implements Node {
+        final double value;
+
+        ConstantNode(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double eval(double[] slots) {
+            return value;
+        }
+    }
+
+    private static Node constant(double value) {
+        return new ConstantNode(value);
+    }
+
+    /** 모든 피연산자가 상수이면 컴파일 시점에 계산합니다. */
+    private static Node fold(Node node, Node... operands) {
+        for (Node operand : operands) {
+            if (!(operand instanceof ConstantNode)) {
+                return node;
+            }
+        }
+        return constant(node.eval(null));
+    }
+
+    // --- 토큰 처리 ---
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private boolean match(String token) {
+        skipWhitespace();
+        if (text.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        skipWhitespace();
+        if (pos >= text.length() || text.charAt(pos) != c) {
+            throw unsupported();
+        }
+        pos++;
+    }
+}
@@ -0,0 +1,130 @@
+package com.bformat.skillscript.lang.param;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.VariableSlots;
+import com.bformat.skillscript.lang.expression.CachedExpression;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.Vector;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * {@link ParameterSchema} 에 맞춰 미리 바인딩된 액션 파라미터.
+ * <p>
+ * 값은 {@link Parameter} 상수의 인덱스로 배열에서 바로 읽으며, 리터럴은 파싱된 상수로,
+ * 동적 값은 컴파일된 해석기로 저장되어 있으므로 실행 시에는 파싱이나 타입 검사를 하지 않습니다.
+ * 숫자 getter 는 boxing 없이 값을 반환합니다. 값이 없거나 해석할 수 없으면 기본값을 반환합니다
+ * (Action 의 get*Parameter 헬퍼와 같은 규칙).
+ * <p>
+ * 인스턴스는 불변이며 같은 인스트럭션을 실행하는 모든 태스크가 공유합니다.
+ */
+public final class BoundParameters {
+
+    private final ParameterSchema schema;
+    private final Map<String, Object> source;
+    private final BoundValue[] values;
+
+    BoundParameters(ParameterSchema schema, Map<String, Object> source, BoundValue[] values) {
+        this.schema = schema;
+        this.source = source;
+        this.values = values;
+    }
+
+    private BoundValue value(Parameter parameter) {
+        if (!schema.owns(parameter)) {
+            throw new IllegalArgumentException("Parameter '" + parameter.getName() + "' is not part of " + schema);
+        }
+        return values[parameter.index];
+    }
+
+    /** @return 스크립트에 값이 지정되어 있으면 true */
+    public boolean has(Parameter parameter) {
+        return value(parameter) != null;
+    }
+
+    public double getDouble(Parameter parameter, double defaultValue, ExecutionContext context) {
+        BoundValue value = value(parameter);
+        return value != null ? value.readDouble(context, defaultValue) : defaultValue;
+    }
+
+    public int getInt(Parameter parameter, int defaultValue, ExecutionContext context) {
+        BoundValue value = value(parameter);
+        if (value == null) {
+            return defaultValue;
+        }
+        double result = value.readDouble(context, Double.NaN);
+        return Double.isNaN(result) ? defaultValue : (int) result;
+    }
+
+    public boolean getBoolean(Parameter parameter, boolean defaultValue, ExecutionContext context) {
+        BoundValue value = value(parameter);
+        return value != null ? value.readBoolean(context, defaultValue) : defaultValue;
+    }
+
+    /**
+     * 문자열 값을 반환합니다. TEXT 파라미터는 플레이스홀더가 치환된 결과입니다.
+     * @param logger 플레이스홀더 경고 로깅용 (null 가능)
+     * @return 값, 지정되지 않았으면 null
+     */
+    public String getString(Parameter parameter, ExecutionContext context, Logger logger, String pluginPrefix) {
+        BoundValue value = value(parameter);
+        return value != null ? value.readString(context, logger, pluginPrefix) : null;
+    }
+
+    /** @return 원본 문자열 값 (플레이스홀더 치환 없음), 지정되지 않았으면 null */
+    public String getString(Parameter parameter) {
+        BoundValue value = value(parameter);
+        return value != null ? String.valueOf(value.raw) : null;
+    }
+
+    public Optional<Location> getLocation(Parameter parameter, ExecutionContext context) {
+        BoundValue value = value(parameter);
+        return value != null ? Optional.ofNullable(value.readLocation(context)) : Optional.empty();
+    }
+
+    public Optional<Vector> getVector(Parameter parameter, ExecutionContext context) {
+        BoundValue value = value(parameter);
+        return value != null ? Optional.ofNullable(value.readVector(context)) : Optional.empty();
+    }
+
+    public Optional<Entity> getEntity(Parameter parameter, ExecutionContext context) {
+        BoundValue value = value(parameter);
+        return value != null ? Optional.ofNullable(value.readEntity(context)) : Optional.empty();
+    }
+
+    /** @return EXPRESSION (또는 수식으로 바인딩된 NUMBER) 파라미터의 컴파일된 수식, 없으면 null */
+    public CachedExpression getExpression(Parameter parameter) {
+        BoundValue value = value(parameter);
+        return value != null ? value.expression() : null;
+    }
+
+    /** @return VARIABLE 파라미터의 컨텍스트 스크립트 테이블 기준 슬롯 번호 (없으면 할당), 지정되지 않았으면 {@link VariableSlots#NO_SLOT} */
+    public int getVariableSlot(Parameter parameter, ExecutionContext context) {
+        BoundValue value = value(parameter);
+        return value != null ? value.variableSlot(context) : VariableSlots.NO_SLOT;
+    }
+
+    /** @return 스크립트에 적힌 원본 값 (BLOCK/ANY 파라미터용), 지정되지 않았으면 null */
+    public Object getRaw(Parameter parameter) {
+        BoundValue value = value(parameter);
+        return value != null ? value.raw : null;
+    }
+
+    /** @return 값이 로드 시점에 확정된 상수이면 true (지정되지 않은 경우 포함) */
+    public boolean isConstant(Parameter parameter) {
+        BoundValue value = value(parameter);
+        return value == null || value.isConstant();
+    }
+
+    /** @return 바인딩 전 원본 파라미터 맵 */
+    public Map<String, Object> getSource() {
+        return source;
+    }
+
+    public ParameterSchema getSchema() {
+        return schema;
+    }
+}
@@ -0,0 +1,292 @@
+package com.bformat.skillscript.lang.param;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.NumericSelector;
+import com.bformat.skillscript.execution.VariableSlots;
+import com.bformat.skillscript.lang.PlaceholderTemplate;
+import com.bformat.skillscript.lang.expression.CachedExpression;
+import com.bformat.skillscript.lang.expression.ExpressionCache;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.util.Vector;
+
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * 로드 시점에 바인딩된 파라미터 값 하나. 리터럴은 타입이 정해진 상수가 되고,
+ * 동적 값(변수, 셀렉터, 수식, 플레이스홀더)은 미리 컴파일된 해석기가 됩니다.
+ * <p>
+ * 읽기 메소드의 기본 구현은 "이 타입으로 읽을 수 없음" 을 뜻합니다 (기본값 또는 null 반환).
+ */
+abstract class BoundValue {
+
+    // 단일 변수/셀렉터 식별자 (수식이 아님): NumericSelector 로 바로 읽음
+    private static final Pattern IDENTIFIER = Pattern.compile("@?[A-Za-z_]\\w*(?:\\.\\w+)*");
+
+    final Object raw;
+
+    BoundValue(Object raw) {
+        this.raw = raw;
+    }
+
+    boolean isConstant() { return false; }
+    double readDouble(ExecutionContext context, double defaultValue) { return defaultValue; }
+    boolean readBoolean(ExecutionContext context, boolean defaultValue) { return defaultValue; }
+    String readString(ExecutionContext context, Logger logger, String pluginPrefix) { return String.valueOf(raw); }
+    Location readLocation(ExecutionContext context) { return null; }
+    Vector readVector(ExecutionContext context) { return null; }
+    Entity readEntity(ExecutionContext context) { return null; }
+    CachedExpression expression() { return null; }
+    int variableSlot(ExecutionContext context) { return VariableSlots.NO_SLOT; }
+
+    // --- 바인딩 ---
+
+    /**
+     * 원본 값을 파라미터 타입에 맞게 바인딩합니다.
+     * @param raw null 이 아닌 원본 값
+     * @throws ParameterBindingException 타입이 맞지 않거나 수식 구문 오류
+     */
+    static BoundValue bind(Parameter parameter, Object raw) {
+        switch (parameter.getType()) {
+            case NUMBER:
+            case INTEGER:
+                return bindNumber(parameter, raw);
+            case BOOLEAN:
+                return bindBoolean(parameter, raw);
+            case STRING:
+                return new StringConstant(requireScalar(parameter, raw));
+            case TEXT: {
+                String text = requireScalar(parameter, raw);
+                PlaceholderTemplate template = PlaceholderTemplate.compile(text); // 로드 시점에 분할, 실행 시점 캐시와 무관
+                return template.hasPlaceholders() ? new Text(template) : new StringConstant(text);
+            }
+            case EXPRESSION:
+                if (raw instanceof Number) {
+                    return new NumberConstant(((Number) raw).doubleValue(), raw);
+                }
+                return new Expression(compileExpression(parameter, requireString(parameter, raw)));
+            case VARIABLE:
+                return new VariableName(requireString(parameter, raw));
+            case LOCATION:
+                if (raw instanceof Location) return new LocationConstant((Location) raw);
+                if (raw instanceof Entity) return new EntityLocation((Entity) raw);
+                return new LocationReference(requireString(parameter, raw));
+            case VECTOR:
+                return bindVector(parameter, raw);
+            case ENTITY:
+                if (raw instanceof Entity) return new EntityConstant((Entity) raw);
+                return new EntityReference(requireString(parameter, raw));
+            case BLOCK:
+                if (!(raw instanceof List)) {
+                    throw mismatch(parameter, raw, "a list of actions");
+                }
+                return new Raw(raw);
+            case ANY:
+            default:
+                return new Raw(raw);
+        }
+    }
+
+    private static BoundValue bindNumber(Parameter parameter, Object raw) {
+        if (raw instanceof Number) {
+            return new NumberConstant(((Number) raw).doubleValue(), raw);
+        }
+        String text = requireString(parameter, raw).trim();
+        try {
+            return new NumberConstant(Double.parseDouble(text), raw);
+        } catch (NumberFormatException e) {
+            // 리터럴이 아니면 변수/셀렉터 또는 수식
+        }
+        if (IDENTIFIER.matcher(text).matches()) {
+            return new Selector(NumericSelector.of(text), text);
+        }
+        return new Expression(compileExpression(parameter, text));
+    }
+
+    private static BoundValue bindBoolean(Parameter parameter, Object raw) {
+        if (raw instanceof Boolean) {
+            return new BooleanConstant((Boolean) raw);
+        }
+        if (raw instanceof String) {
+            String text = ((String) raw).trim();
+            if ("true".equalsIgnoreCase(text)) return new BooleanConstant(true);
+            if ("false".equalsIgnoreCase(text)) return new BooleanConstant(false);
+        }
+        // 그 외는 숫자로 해석 (0 이 아니면 true)
+        return bindNumber(parameter, raw);
+    }
+
+    private static BoundValue bindVector(Parameter parameter, Object raw) {
+        if (raw instanceof Vector) {
+            return new VectorConstant((Vector) raw);
+        }
+        if (raw instanceof String) {
+            return new VectorReference(requireString(parameter, raw));
+        }
+        Object x, y, z;
+        if (raw instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) raw;
+            x = map.get("x");
+            y = map.get("y");
+            z = map.get("z");
+        } else if (raw instanceof List && ((List<?>) raw).size() == 3) {
+            List<?> list = (List<?>) raw;
+            x = list.get(0);
+            y = list.get(1);
+            z = list.get(2);
+        } else {
+            throw mismatch(parameter, raw, "a vector ({x, y, z} map, [x, y, z] list or identifier)");
+        }
+        BoundValue bx = bindComponent(parameter, x);
+        BoundValue by = bindComponent(parameter, y);
+        BoundValue bz = bindComponent(parameter, z);
+        if (bx.isConstant() && by.isConstant() && bz.isConstant()) {
+            return new VectorConstant(new Vector(bx.readDouble(null, 0.0), by.readDouble(null, 0.0), bz.readDouble(null, 0.0)));
+        }
+        return new VectorComponents(raw, bx, by, bz);
+    }
+
+    private static BoundValue bindComponent(Parameter parameter, Object component) {
+        // 빠진 성분은 0 (기존 getVectorParameter 동작)
+        return component == null ? new NumberConstant(0.0, 0.0) : bindNumber(parameter, component);
+    }
+
+    private static CachedExpression compileExpression(Parameter parameter, String text) {
+        CachedExpression expression = ExpressionCache.shared().get(text);
+        if (!expression.isValid()) {
+            throw new ParameterBindingException("Syntax error in '" + parameter.getName() + "' expression '" + text + "': " + expression.getErrorMessage());
+        }
+        return expression;
+    }
+
+    private static String requireString(Parameter parameter, Object raw) {
+        if (!(raw instanceof String) || ((String) raw).isBlank()) {
+            throw mismatch(parameter, raw, "a non-blank string");
+        }
+        return (String) raw;
+    }
+
+    private static String requireScalar(Parameter parameter, Object raw) {
+        if (raw instanceof Map || raw instanceof List) {
+            throw mismatch(parameter, raw, "a string");
+        }
+        return String.valueOf(raw);
+    }
+
+    private static ParameterBindingException mismatch(Parameter parameter, Object raw, String expected) {
+        return new ParameterBindingException("Invalid value for parameter '" + parameter.getName() + "': expected " + expected
+                + ", got " + raw.getClass().getSimpleName() + " (" + raw + ").");
+    }
+
+    // --- 구현 ---
+
+    static final class NumberConstant extends BoundValue {
+        private final double value;
+        NumberConstant(double value, Object raw) { super(raw); this.value = value; }
+        @Override boolean isConstant() { return true; }
+        @Override double readDouble(ExecutionContext context, double defaultValue) { return value; }
+        @Override boolean readBoolean(ExecutionContext context, boolean defaultValue) { return value != 0.0; }
+    }
+
+    static final class Selector extends BoundValue {
+        private final NumericSelector selector;
+        Selector(NumericSelector selector, String raw) { super(raw); this.selector = selector; }
+        @Override double readDouble(ExecutionContext context, double defaultValue) { return context.resolveNumber(selector, defaultValue); }
+        @Override boolean readBoolean(ExecutionContext context, boolean defaultValue) {
+            double value = context.resolveNumber(selector, Double.NaN);
+            return Double.isNaN(value) ? defaultValue : value != 0.0;
+        }
+    }
+
+    static final class Expression extends BoundValue {
+        private final CachedExpression expression;
+        Expression(CachedExpression expression) { super(expression.getSource()); this.expression = expression; }
+        @Override double readDouble(ExecutionContext context, double defaultValue) { return expression.evaluate(context, defaultValue); }
+        @Override boolean readBoolean(ExecutionContext context, boolean defaultValue) {
+            double value = expression.evaluate(context, Double.NaN);
+            return Double.isNaN(value) ? defaultValue : value != 0.0;
+        }
+        @Override CachedExpression expression() { return expression; }
+    }
+
+    static final class BooleanConstant extends BoundValue {
+        private final boolean value;
+        BooleanConstant(boolean value) { super(value); this.value = value; }
+        @Override boolean isConstant() { return true; }
+        @Override boolean readBoolean(ExecutionContext context, boolean defaultValue) { return value; }
+    }
+
+    static final class StringConstant extends BoundValue {
+        StringConstant(String value) { super(value); }
+        @Override boolean isConstant() { return true; }
+        @Override String readString(ExecutionContext context, Logger logger, String pluginPrefix) { return (String) raw; }
+    }
+
+    static final class Text extends BoundValue {
+        private final PlaceholderTemplate template;
+        Text(PlaceholderTemplate template) { super(template.getSource()); this.template = template; }
+        @Override String readString(ExecutionContext context, Logger logger, String pluginPrefix) { return template.render(context, logger, pluginPrefix); }
+    }
+
+    static final class VariableName extends BoundValue {
+        private final VariableSlots.SlotRef slot;
+        VariableName(String name) { super(name); this.slot = new VariableSlots.SlotRef(name); }
+        @Override boolean isConstant() { return true; }
+        @Override int variableSlot(ExecutionContext context) { return slot.slotIn(context.getVariableSlots()); }
+    }
+
+    static final class LocationConstant extends BoundValue {
+        LocationConstant(Location location) { super(location.clone()); }
+        @Override boolean isConstant() { return true; }
+        @Override Location readLocation(ExecutionContext context) { return ((Location) raw).clone(); }
+    }
+
+    static final class EntityLocation extends BoundValue {
+        EntityLocation(Entity entity) { super(entity); }
+        @Override Location readLocation(ExecutionContext context) { return ((Entity) raw).getLocation(); }
+        @Override Entity readEntity(ExecutionContext context) { return (Entity) raw; }
+    }
+
+    static final class LocationReference extends BoundValue {
+        LocationReference(String identifier) { super(identifier); }
+        @Override Location readLocation(ExecutionContext context) { return context.resolveLocation((String) raw).orElse(null); }
+    }
+
+    static final class VectorConstant extends BoundValue {
+        VectorConstant(Vector vector) { super(vector.clone()); }
+        @Override boolean isConstant() { return true; }
+        @Override Vector readVector(ExecutionContext context) { return ((Vector) raw).clone(); }
+    }
+
+    static final class VectorReference extends BoundValue {
+        VectorReference(String identifier) { super(identifier); }
+        @Override Vector readVector(ExecutionContext context) { return context.resolveVector((String) raw).orElse(null); }
+    }
+
+    static final class VectorComponents extends BoundValue {
+        private final BoundValue x, y, z;
+        VectorComponents(Object raw, BoundValue x, BoundValue y, BoundValue z) { super(raw); this.x = x; this.y = y; this.z = z; }
+        @Override Vector readVector(ExecutionContext context) {
+            return new Vector(x.readDouble(context, 0.0), y.readDouble(context, 0.0), z.readDouble(context, 0.0));
+        }
+    }
+
+    static final class EntityConstant extends BoundValue {
+        EntityConstant(Entity entity) { super(entity); }
+        @Override Entity readEntity(ExecutionContext context) { return (Entity) raw; }
+        @Override Location readLocation(ExecutionContext context) { return ((Entity) raw).getLocation(); }
+    }
+
+    static final class EntityReference extends BoundValue {
+        EntityReference(String identifier) { super(identifier); }
+        @Override Entity readEntity(ExecutionContext context) { return context.resolveEntity((String) raw).orElse(null); }
+    }
+
+    static final class Raw extends BoundValue {
+        Raw(Object raw) { super(raw); }
+        @Override boolean isConstant() { return true; }
+    }
+}
@@ -0,0 +1,86 @@
+package com.bformat.skillscript.lang.param;
+
+/**
+ * 액션이 받는 파라미터 하나의 선언 (이름, 타입, 필수 여부).
+ * <p>
+ * 액션 클래스에 static 상수로 선언하고 {@link ParameterSchema#of(Parameter...)} 로 스키마를 만듭니다.
+ * 실행 시에는 이 상수를 키로 {@link BoundParameters} 에서 값을 읽습니다 (문자열 조회 없음).
+ * <pre>
+ * private static final Parameter DURATION = Parameter.integer("duration").required();
+ * private static final ParameterSchema SCHEMA = ParameterSchema.of(DURATION);
+ * </pre>
+ */
+public final class Parameter {
+
+    /** 로드 시점에 값이 어떻게 바인딩되는지 결정하는 파라미터 타입. */
+    public enum Type {
+        /** 숫자 리터럴, 변수/셀렉터 ("@Caster.Health") 또는 수식 ("count * 2"). */
+        NUMBER,
+        /** NUMBER 와 같으며 읽을 때 int 로 변환 (소수점 이하 버림). */
+        INTEGER,
+        /** true/false 리터럴, 또는 0 이 아니면 true 인 숫자/변수/수식. */
+        BOOLEAN,
+        /** 문자열 그대로 (플레이스홀더 처리 없음). 숫자/불리언 리터럴은 문자열로 변환. */
+        STRING,
+        /** {var:..}/{sel:..} 플레이스홀더를 포함할 수 있는 문자열. 템플릿은 로드 시점에 미리 분할. */
+        TEXT,
+        /** 수식 문자열. 로드 시점에 컴파일되며 구문 오류면 로드 실패. */
+        EXPRESSION,
+        /** 변수 이름. 실행 중인 스크립트의 VariableSlots 슬롯으로 해석 (스크립트별로 캐시). */
+        VARIABLE,
+        /** Location 값 또는 위치 식별자 ("@CasterLocation", 변수명). */
+        LOCATION,
+        /** Vector 값, 벡터 식별자, {x,y,z} 맵 또는 [x,y,z] 리스트 (각 성분은 NUMBER). */
+        VECTOR,
+        /** Entity 값 또는 엔티티 식별자 ("@Caster", "@Target", 변수명). */
+        ENTITY,
+        /** 액션 블록 (ScriptCompiler 가 이미 컴파일한 List). */
+        BLOCK,
+        /** 변환 없이 원본 값 그대로. */
+        ANY
+    }
+
+    private final String name;
+    private final Type type;
+    private final boolean required;
+    // ParameterSchema 에서 할당하는 인덱스 (BoundParameters 배열 위치)
+    int index = -1;
+
+    private Parameter(String name, Type type, boolean required) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Parameter name cannot be blank.");
+        }
+        this.name = name;
+        this.type = type;
+        this.required = required;
+    }
+
+    public static Parameter of(String name, Type type) { return new Parameter(name, type, false); }
+
+    public static Parameter number(String name) { return of(name, Type.NUMBER); }
+    public static Parameter integer(String name) { return of(name, Type.INTEGER); }
+    public static Parameter bool(String name) { return of(name, Type.BOOLEAN); }
+    public static Parameter string(String name) { return of(name, Type.STRING); }
+    public static Parameter text(String name) { return of(name, Type.TEXT); }
+    public static Parameter expression(String name) { return of(name, Type.EXPRESSION); }
+    public static Parameter variable(String name) { return of(name, Type.VARIABLE); }
+    public static Parameter location(String name) { return of(name, Type.LOCATION); }
+    public static Parameter vector(String name) { return of(name, Type.VECTOR); }
+    public static Parameter entity(String name) { return of(name, Type.ENTITY); }
+    public static Parameter block(String name) { return of(name, Type.BLOCK); }
+    public static Parameter any(String name) { return of(name, Type.ANY); }
+
+    /** @return 같은 이름/타입의 필수 파라미터. 값이 없으면 스크립트 로드가 실패합니다. */
+    public Parameter required() {
+        return new Parameter(name, type, true);
+    }
+
+    public String getName() { return name; }
+    public Type getType() { return type; }
+    public boolean isRequired() { return required; }
+
+    @Override
+    public String toString() {
+        return name + ":" + type.name().toLowerCase() + (required ? " (required)" : "");
+    }
+}
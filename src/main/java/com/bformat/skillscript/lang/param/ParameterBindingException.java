@@ -0,0 +1,12 @@
+package com.bformat.skillscript.lang.param;
+
+/**
+ * 파라미터 값이 선언된 스키마와 맞지 않을 때 (필수 값 누락, 잘못된 타입, 수식 구문 오류) 발생합니다.
+ * 스크립트 로드 시점에 발생하면 해당 스크립트는 로드되지 않습니다.
+ */
+public class ParameterBindingException extends IllegalArgumentException {
+
+    public ParameterBindingException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,75 @@
+package com.bformat.skillscript.lang.param;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 액션이 선언하는 파라미터 목록. {@link #bind(Map)} 은 스크립트 로드 시점에 ScriptCompiler 가
+ * 인스트럭션마다 한 번 호출하며, 결과 {@link BoundParameters} 가 실행 시 액션에 전달됩니다.
+ * <p>
+ * 스키마에 없는 키는 무시됩니다 (스키마를 쓰지 않는 기존 코드가 원본 맵으로 계속 읽을 수 있음).
+ */
+public final class ParameterSchema {
+
+    private final Parameter[] parameters;
+
+    private ParameterSchema(Parameter[] parameters) {
+        this.parameters = parameters;
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            for (int j = 0; j < i; j++) {
+                if (parameters[j].getName().equals(parameter.getName())) {
+                    throw new IllegalArgumentException("Duplicate parameter name in schema: " + parameter.getName());
+                }
+            }
+            if (parameter.index != -1 && parameter.index != i) {
+                // Parameter 상수는 하나의 스키마에만 속함 (인덱스가 배열 위치이므로)
+                throw new IllegalStateException("Parameter '" + parameter.getName() + "' is already used by another schema.");
+            }
+            parameter.index = i;
+        }
+    }
+
+    public static ParameterSchema of(Parameter... parameters) {
+        return new ParameterSchema(parameters.clone());
+    }
+
+    /**
+     * 원본 파라미터 맵을 스키마에 맞게 바인딩합니다.
+     * @param params 원본 파라미터 맵 (null 이면 빈 맵으로 취급)
+     * @throws ParameterBindingException 필수 파라미터 누락, 잘못된 타입, 수식 구문 오류
+     */
+    public BoundParameters bind(Map<String, Object> params) {
+        Map<String, Object> source = (params != null) ? params : Collections.emptyMap();
+        BoundValue[] values = new BoundValue[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Parameter parameter = parameters[i];
+            Object raw = source.get(parameter.getName());
+            if (raw == null || (raw instanceof String && ((String) raw).isBlank())) {
+                if (parameter.isRequired()) {
+                    throw new ParameterBindingException("Missing required parameter '" + parameter.getName() + "'.");
+                }
+                continue;
+            }
+            values[i] = BoundValue.bind(parameter, raw);
+        }
+        return new BoundParameters(this, source, values);
+    }
+
+    public List<Parameter> getParameters() {
+        return Collections.unmodifiableList(Arrays.asList(parameters));
+    }
+
+    /** 파라미터가 이 스키마에 속하는지 확인합니다. */
+    boolean owns(Parameter parameter) {
+        int index = parameter.index;
+        return index >= 0 && index < parameters.length && parameters[index] == parameter;
+    }
+
+    @Override
+    public String toString() {
+        return "ParameterSchema" + Arrays.toString(parameters);
+    }
+}
@@ -0,0 +1,30 @@
+package com.bformat.skillscript.lang.shape;
+
+/**
+ * x/y/z 배열(SoA)로 나뉜 점들에 3x3 행렬 + 이동(아핀 변환)을 한 번에 적용합니다.
+ * <p>
+ * 단순한 배열 루프라 C2 가 자동 벡터화합니다. Vector API(jdk.incubator.vector) 구현은 5000점에서 이 루프보다
+ * 빠르지 않아 쓰지 않습니다 (측정값은 PointTransformBenchmark 참고).
+ */
+public final class PointTransform {
+
+    private PointTransform() { }
+
+    /**
+     * out[i] = M * p[i] + t 를 i = 0 ~ count-1 에 대해 계산합니다. 입력과 출력 배열은 같아도 됩니다.
+     *
+     * @param m 행 우선 3x4 행렬 {m00, m01, m02, tx, m10, m11, m12, ty, m20, m21, m22, tz}
+     */
+    public static void affine(double[] m, double[] xs, double[] ys, double[] zs,
+                              double[] outX, double[] outY, double[] outZ, int count) {
+        double m00 = m[0], m01 = m[1], m02 = m[2], tx = m[3];
+        double m10 = m[4], m11 = m[5], m12 = m[6], ty = m[7];
+        double m20 = m[8], m21 = m[9], m22 = m[10], tz = m[11];
+        for (int i = 0; i < count; i++) {
+            double x = xs[i], y = ys[i], z = zs[i];
+            outX[i] = tx + m00 * x + m01 * y + m02 * z;
+            outY[i] = ty + m10 * x + m11 * y + m12 * z;
+            outZ[i] = tz + m20 * x + m21 * y + m22 * z;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.bformat.skillscript.lang.shape;
+
+import org.bukkit.util.Vector;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 이펙트 모양(원, 구, 나선, 원뿔)의 단위 좌표 표.
+ * <p>
+ * 표는 모양, 점 개수, 회전 수별로 한 번만 sin/cos 로 계산되어 크기 제한 캐시에 보관되고 ({@link #of}),
+ * 이펙트를 낼 때는 {@link #transform} 으로 회전/크기/이동만 적용해 호출자의 double[] 버퍼에 씁니다
+ * (변환은 {@link PointTransform}).
+ * 단위 모양은 원점 기준이며 Y 축이 모양의 축입니다 (원/나선/원뿔은 XZ 평면의 반지름 1, 나선/원뿔은 높이 0~1).
+ */
+public final class ShapeTable {
+
+    public static final int MAX_POINTS = 10_000;
+
+    private static final int CACHE_MAX_SIZE = 256;
+    private static final Map<Key, ShapeTable> CACHE = new LinkedHashMap<>(32, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ShapeTable> eldest) {
+            return size() > CACHE_MAX_SIZE;
+        }
+    };
+
+    public enum Type {
+        /** XZ 평면의 반지름 1 원 */
+        CIRCLE,
+        /** 반지름 1 구 표면에 고르게 분포 (피보나치 격자) */
+        SPHERE,
+        /** 반지름 1, 높이 0~1 을 turns 바퀴 도는 나선 */
+        HELIX,
+        /** 꼭짓점(원점)에서 높이 1, 반지름 1 바닥까지 turns 바퀴 도는 원뿔 나선 */
+        CONE;
+
+        /** @return 이름에 해당하는 모양, 없으면 null (대소문자 무시) */
+        public static Type parse(String name) {
+            if (name == null) return null;
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private record Key(Type type, int points, double turns) { }
+
+    private final Type type;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+
+    private ShapeTable(Type type, double[] xs, double[] ys, double[] zs) {
+        this.type = type;
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+    }
+
+    /**
+     * 캐시된 단위 표를 반환하거나, 없으면 계산하여 캐시에 넣습니다.
+     * @param points 점 개수 (1 ~ {@link #MAX_POINTS} 로 제한)
+     * @param turns  나선/원뿔의 회전 수 (원/구에서는 무시)
+     */
+    public static ShapeTable of(Type type, int points, double turns) {
+        int n = Math.max(1, Math.min(MAX_POINTS, points));
+        Key key = new Key(type, n, (type == Type.HELIX || type == Type.CONE) ? turns : 0.0);
+        synchronized (CACHE) {
+            ShapeTable table = CACHE.get(key);
+            if (table == null) {
+                table = generate(key);
+                CACHE.put(key, table);
+            }
+            return table;
+        }
+    }
+
+    private static ShapeTable generate(Key key) {
+        int n = key.points();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        double[] zs = new double[n];
+        switch (key.type()) {
+            case CIRCLE -> {
+                for (int i = 0; i < n; i++) {
+                    double angle = 2.0 * Math.PI * i / n;
+                    xs[i] = Math.cos(angle);
+                    zs[i] = Math.sin(angle);
+                }
+            }
+            case SPHERE -> {
+                double golden = Math.PI * (3.0 - Math.sqrt(5.0));
+                for (int i = 0; i < n; i++) {
+                    double y = (n == 1) ? 0.0 : 1.0 - 2.0 * i / (n - 1);
+                    double r = Math.sqrt(Math.max(0.0, 1.0 - y * y));
+                    double angle = golden * i;
+                    xs[i] = r * Math.cos(angle);
+                    ys[i] = y;
+                    zs[i] = r * Math.sin(angle);
+                }
+            }
+            case HELIX, CONE -> {
+                boolean cone = key.type() == Type.CONE;
+                for (int i = 0; i < n; i++) {
+                    double t = (n == 1) ? 0.0 : (double) i / (n - 1);
+                    double angle = 2.0 * Math.PI * key.turns() * t;
+                    double r = cone ? t : 1.0;
+                    xs[i] = r * Math.cos(angle);
+                    ys[i] = t;
+                    zs[i] = r * Math.sin(angle);
+                }
+            }
+        }
+        return new ShapeTable(key.type(), xs, ys, zs);
+    }
+
+    /**
+     * 단위 점들을 크기 조절, 회전, 이동하여 out 버퍼에 씁니다.
+     * 모양의 Y 축은 axis 방향으로 돌아가고, XZ 는 radius, Y 는 height 배가 됩니다.
+     *
+     * @param axis 모양의 축 방향 (null 또는 길이 0 이면 월드 Y 축 그대로)
+     * @return 쓴 점 개수 ({@link #size()})
+     */
+    public int transform(double centerX, double centerY, double centerZ, double radius, double height, Vector axis,
+                         double[] outX, double[] outY, double[] outZ) {
+        // 열 벡터: right(로컬 X), up(로컬 Y), forward(로컬 Z)
+        double ux = 0, uy = 1, uz = 0;
+        double rx = 1, ry = 0, rz = 0;
+        double fx = 0, fy = 0, fz = 1;
+        if (axis != null) {
+            double length = Math.sqrt(axis.getX() * axis.getX() + axis.getY() * axis.getY() + axis.getZ() * axis.getZ());
+            if (length > 1.0e-9) {
+                ux = axis.getX() / length;
+                uy = axis.getY() / length;
+                uz = axis.getZ() / length;
+                // up 과 평행하지 않은 기준축으로 직교 기저 구성
+                double ax = 0, ay = 1, az = 0;
+                if (Math.abs(uy) > 0.999) {
+                    ax = 1;
+                    ay = 0;
+                }
+                // right = normalize(ref x up), forward = right x up
+                rx = ay * uz - az * uy;
+                ry = az * ux - ax * uz;
+                rz = ax * uy - ay * ux;
+                double rLength = Math.sqrt(rx * rx + ry * ry + rz * rz);
+                rx /= rLength;
+                ry /= rLength;
+                rz /= rLength;
+                fx = ry * uz - rz * uy;
+                fy = rz * ux - rx * uz;
+                fz = rx * uy - ry * ux;
+            }
+        }
+        double[] matrix = {
+                rx * radius, ux * height, fx * radius, centerX,
+                ry * radius, uy * height, fy * radius, centerY,
+                rz * radius, uz * height, fz * radius, centerZ
+        };
+        int n = xs.length;
+        PointTransform.affine(matrix, xs, ys, zs, outX, outY, outZ, n);
+        return n;
+    }
+
+    public Type getType() { return type; }
+
+    /** @return 점 개수 */
+    public int size() { return xs.length; }
+
+    /** @return 캐시된 표 수 */
+    public static int cacheSize() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.bformat.skillscript.listeners;
+
+import com.bformat.skillscript.script.ScriptRunner;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+/**
+ * 시전자가 나가거나 죽으면 그 시전자의 태스크를 중지합니다.
+ * 태스크는 매 틱 시전자 접속 여부를 확인하지 않으므로 로그아웃 처리는 이 리스너가 담당합니다.
+ */
+public class CasterLifecycleListener implements Listener {
+
+    private final ScriptRunner scriptRunner;
+    private final boolean stopOnDeath;
+
+    public CasterLifecycleListener(ScriptRunner scriptRunner, boolean stopOnDeath) {
+        this.scriptRunner = scriptRunner;
+        this.stopOnDeath = stopOnDeath;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        scriptRunner.stopPlayerScripts(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onDeath(PlayerDeathEvent event) {
+        if (stopOnDeath) {
+            scriptRunner.stopPlayerScripts(event.getEntity());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.bformat.skillscript.listeners;
+
+import com.bformat.skillscript.execution.EntityIndex;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldUnloadEvent;
+
+/**
+ * 월드가 언로드되면 그 월드의 엔티티 인덱스를 지웁니다.
+ * 인덱스가 잡고 있는 엔티티가 월드를 참조하므로 지우지 않으면 언로드된 월드가 메모리에 남습니다.
+ */
+public class WorldLifecycleListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+        EntityIndex.clear(event.getWorld());
+    }
+}
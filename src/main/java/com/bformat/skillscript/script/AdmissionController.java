@@ -0,0 +1,216 @@
+package com.bformat.skillscript.script;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 동시에 실행되는 태스크 수를 시전자별, 스크립트별, 전체로 제한합니다.
+ * <p>
+ * 한도를 넘는 시전은 {@link OverflowPolicy} 에 따라 거부하거나, 크기가 정해진 FIFO 에서 자리가 날 때까지 기다리게 하거나,
+ * 넘친 범위에서 가장 오래된 태스크를 밀어냅니다. 한도가 0 이하이면 그 범위는 제한하지 않습니다.
+ * <p>
+ * runScript 는 어느 스레드에서나 호출될 수 있으므로 모든 메소드는 동기화됩니다.
+ */
+public class AdmissionController {
+
+    public enum OverflowPolicy { REJECT, QUEUE, REPLACE_OLDEST }
+
+    /** 시전 요청에 대한 결정. */
+    public record Decision(Kind kind, UUID victimTaskId, String reason) {
+        public enum Kind { ADMIT, QUEUE, REPLACE, REJECT }
+
+        static final Decision ADMIT = new Decision(Kind.ADMIT, null, null);
+        static final Decision QUEUE = new Decision(Kind.QUEUE, null, null);
+    }
+
+    /** 자리가 나기를 기다리는 시전. */
+    public record QueuedCast(UUID taskId, Player caster, String scriptName, List<Map<String, Object>> actions) { }
+
+    // 실행 중(시작 대기 포함)인 태스크. 각 범위의 태스크는 시작 순서대로 (REPLACE_OLDEST 용)
+    private record Admitted(UUID casterId, String scriptName) { }
+
+    private final Map<UUID, Admitted> admitted = new HashMap<>();
+    private final Map<UUID, LinkedHashSet<UUID>> byCaster = new HashMap<>();
+    private final Map<String, LinkedHashSet<UUID>> byScript = new HashMap<>();
+    private final LinkedHashSet<UUID> global = new LinkedHashSet<>();
+    private final ArrayDeque<QueuedCast> waiting = new ArrayDeque<>();
+
+    private final int maxPerCaster;
+    private final int maxPerScript;
+    private final int maxGlobal;
+    private final OverflowPolicy policy;
+    private final int queueSize;
+
+    /**
+     * @param maxPerCaster 시전자당 최대 태스크 수 (0 이하이면 제한 없음)
+     * @param maxPerScript 스크립트당 최대 태스크 수 (이름 없는 시전은 제외)
+     * @param maxGlobal    전체 최대 태스크 수
+     * @param queueSize    QUEUE 정책의 대기열 크기
+     */
+    public AdmissionController(int maxPerCaster, int maxPerScript, int maxGlobal, OverflowPolicy policy, int queueSize) {
+        this.maxPerCaster = maxPerCaster;
+        this.maxPerScript = maxPerScript;
+        this.maxGlobal = maxGlobal;
+        this.policy = policy;
+        this.queueSize = Math.max(0, queueSize);
+    }
+
+    /** @return 모든 한도가 0 이하이면 true (검사할 필요 없음) */
+    public boolean isUnlimited() {
+        return maxPerCaster <= 0 && maxPerScript <= 0 && maxGlobal <= 0;
+    }
+
+    /**
+     * 새 시전을 받아들일지 결정합니다. ADMIT/REPLACE 이면 태스크가 실행 중으로 기록되고,
+     * QUEUE 이면 대기열에 들어갑니다 (자리가 나면 {@link #release} 가 반환).
+     */
+    public synchronized Decision tryAdmit(UUID taskId, Player caster, String scriptName, List<Map<String, Object>> actions) {
+        UUID casterId = caster.getUniqueId();
+        List<LinkedHashSet<UUID>> fullScopes = fullScopes(casterId, scriptName);
+        if (fullScopes.isEmpty()) {
+            record(taskId, casterId, scriptName);
+            return Decision.ADMIT;
+        }
+        switch (policy) {
+            case QUEUE -> {
+                if (waiting.size() >= queueSize) {
+                    return reject("queue is full (" + queueSize + ")");
+                }
+                waiting.addLast(new QueuedCast(taskId, caster, scriptName, actions));
+                return Decision.QUEUE;
+            }
+            case REPLACE_OLDEST -> {
+                // 가득 찬 모든 범위에 속한 가장 오래된 태스크를 밀어내야 모든 범위에 자리가 남
+                for (UUID candidate : fullScopes.get(0)) {
+                    if (containedInAll(fullScopes, candidate)) {
+                        forget(candidate);
+                        record(taskId, casterId, scriptName);
+                        return new Decision(Decision.Kind.REPLACE, candidate, null);
+                    }
+                }
+                return reject(describe(fullScopes.get(0), casterId, scriptName) + ", no task to replace");
+            }
+            default -> {
+                return reject(describe(fullScopes.get(0), casterId, scriptName));
+            }
+        }
+    }
+
+    /**
+     * 태스크가 끝났거나 시작되지 못했을 때 호출합니다. 대기열에 있던 태스크면 대기열에서 뺍니다.
+     * @return 이번에 자리가 나서 시작해야 할 대기 시전 (시작 순서대로, 이미 실행 중으로 기록됨)
+     */
+    public synchronized List<QueuedCast> release(UUID taskId) {
+        boolean freed = forget(taskId);
+        if (!freed) {
+            waiting.removeIf(queued -> queued.taskId().equals(taskId));
+            return List.of();
+        }
+        if (waiting.isEmpty()) {
+            return List.of();
+        }
+        List<QueuedCast> ready = new ArrayList<>();
+        Iterator<QueuedCast> iterator = waiting.iterator();
+        while (iterator.hasNext()) {
+            QueuedCast queued = iterator.next();
+            UUID casterId = queued.caster().getUniqueId();
+            if (fullScopes(casterId, queued.scriptName()).isEmpty()) {
+                iterator.remove();
+                record(queued.taskId(), casterId, queued.scriptName());
+                ready.add(queued);
+            }
+        }
+        return ready;
+    }
+
+    /** 모든 기록과 대기열을 비웁니다. */
+    public synchronized void clear() {
+        admitted.clear();
+        byCaster.clear();
+        byScript.clear();
+        global.clear();
+        waiting.clear();
+    }
+
+    public synchronized int getAdmittedCount() { return admitted.size(); }
+
+    public synchronized int getQueuedCount() { return waiting.size(); }
+
+    // 가득 찬 범위들 (시전자, 스크립트, 전체 순)
+    private List<LinkedHashSet<UUID>> fullScopes(UUID casterId, String scriptName) {
+        List<LinkedHashSet<UUID>> full = null;
+        if (maxPerCaster > 0) {
+            LinkedHashSet<UUID> tasks = byCaster.get(casterId);
+            if (tasks != null && tasks.size() >= maxPerCaster) full = add(full, tasks);
+        }
+        if (maxPerScript > 0 && scriptName != null) {
+            LinkedHashSet<UUID> tasks = byScript.get(scriptName);
+            if (tasks != null && tasks.size() >= maxPerScript) full = add(full, tasks);
+        }
+        if (maxGlobal > 0 && global.size() >= maxGlobal) {
+            full = add(full, global);
+        }
+        return full != null ? full : List.of();
+    }
+
+    private static List<LinkedHashSet<UUID>> add(List<LinkedHashSet<UUID>> list, LinkedHashSet<UUID> scope) {
+        if (list == null) list = new ArrayList<>(3);
+        list.add(scope);
+        return list;
+    }
+
+    private static boolean containedInAll(List<LinkedHashSet<UUID>> scopes, UUID taskId) {
+        for (Set<UUID> scope : scopes) {
+            if (!scope.contains(taskId)) return false;
+        }
+        return true;
+    }
+
+    private String describe(Set<UUID> scope, UUID casterId, String scriptName) {
+        if (scope == byCaster.get(casterId)) return "caster limit (" + maxPerCaster + ") reached";
+        if (scriptName != null && scope == byScript.get(scriptName)) return "script '" + scriptName + "' limit (" + maxPerScript + ") reached";
+        return "global limit (" + maxGlobal + ") reached";
+    }
+
+    private static Decision reject(String reason) {
+        return new Decision(Decision.Kind.REJECT, null, reason);
+    }
+
+    private void record(UUID taskId, UUID casterId, String scriptName) {
+        admitted.put(taskId, new Admitted(casterId, scriptName));
+        byCaster.computeIfAbsent(casterId, k -> new LinkedHashSet<>()).add(taskId);
+        if (scriptName != null) {
+            byScript.computeIfAbsent(scriptName, k -> new LinkedHashSet<>()).add(taskId);
+        }
+        global.add(taskId);
+    }
+
+    private boolean forget(UUID taskId) {
+        Admitted entry = admitted.remove(taskId);
+        if (entry == null) {
+            return false;
+        }
+        removeFrom(byCaster, entry.casterId(), taskId);
+        if (entry.scriptName() != null) {
+            removeFrom(byScript, entry.scriptName(), taskId);
+        }
+        global.remove(taskId);
+        return true;
+    }
+
+    private static <K> void removeFrom(Map<K, LinkedHashSet<UUID>> scopes, K key, UUID taskId) {
+        LinkedHashSet<UUID> tasks = scopes.get(key);
+        if (tasks != null && tasks.remove(taskId) && tasks.isEmpty()) {
+            scopes.remove(key);
+        }
+    }
+}
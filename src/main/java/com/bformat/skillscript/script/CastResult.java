@@ -0,0 +1,32 @@
+package com.bformat.skillscript.script;
+
+import java.util.UUID;
+
+/**
+ * {@link ScriptRunner#cast} 의 결과.
+ *
+ * @param status 시전 처리 결과
+ * @param taskId 시작되었거나 대기 중인 태스크 ID (REJECTED 이면 null)
+ * @param reason REJECTED 인 이유, 그 외에는 null
+ */
+public record CastResult(Status status, UUID taskId, String reason) {
+
+    public enum Status {
+        /** 바로 시작됨 (다른 스레드에서 요청했으면 시전자 스레드의 다음 틱에 시작) */
+        STARTED,
+        /** 한도 초과로 대기열에 들어감. 자리가 나면 시작됨 */
+        QUEUED,
+        /** 한도 초과로 가장 오래된 태스크를 중지하고 시작됨 */
+        REPLACED,
+        /** 시작되지 않음 */
+        REJECTED
+    }
+
+    static CastResult rejected(String reason) {
+        return new CastResult(Status.REJECTED, null, reason);
+    }
+
+    public boolean isAccepted() {
+        return status != Status.REJECTED;
+    }
+}
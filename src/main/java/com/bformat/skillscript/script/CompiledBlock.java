@@ -0,0 +1,64 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.execution.VariableSlots;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compiled list of actions (a trigger block or a nested Then/Else/Do/Branch block).
+ * <p>
+ * The runtime executes the {@link Instruction} array directly. For compatibility with actions that
+ * still read nested blocks through {@code getListOfMapsParameter}, the block also behaves as a
+ * read-only {@code List<Map<String, Object>>} view of the original YAML action maps.
+ * {@link com.bformat.skillscript.execution.ExecutionState} recognises this type and uses the
+ * compiled instructions instead of compiling the maps again.
+ * <p>
+ * A block compiled from a script owns the {@link VariableSlots} table for that script's variables;
+ * nested blocks share the table of the block they were compiled in.
+ */
+public final class CompiledBlock extends AbstractList<Map<String, Object>> {
+
+    public static final CompiledBlock EMPTY = new CompiledBlock(List.of(), new Instruction[0], new VariableSlots());
+
+    private final List<Map<String, Object>> source;
+    private final Instruction[] instructions;
+    private final VariableSlots variableSlots;
+
+    CompiledBlock(List<Map<String, Object>> source, Instruction[] instructions, VariableSlots variableSlots) {
+        this.source = source;
+        this.instructions = instructions;
+        this.variableSlots = variableSlots;
+    }
+
+    /** @return The variable symbol table of the script this block was compiled from. */
+    public VariableSlots getVariableSlots() {
+        return variableSlots;
+    }
+
+    /** @return The number of executable instructions in this block. */
+    public int getInstructionCount() {
+        return instructions.length;
+    }
+
+    /**
+     * @param index Instruction index.
+     * @return The instruction at the index, or null if out of bounds.
+     */
+    public Instruction getInstruction(int index) {
+        return (index >= 0 && index < instructions.length) ? instructions[index] : null;
+    }
+
+    // --- List<Map<String, Object>> view of the source actions ---
+
+    @Override
+    public Map<String, Object> get(int index) {
+        return source.get(index);
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+}
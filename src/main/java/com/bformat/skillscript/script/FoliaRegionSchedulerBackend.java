@@ -0,0 +1,139 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.execution.ScriptTask;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * 리전 스레드 서버(Folia 계열)용 백엔드. 시전자가 있는 리전 격자 칸마다 레인을 두고
+ * 그 칸의 RegionScheduler 로 tick 하므로, 서로 다른 리전의 시전은 서로 다른 스레드에서 실행됩니다.
+ * 리전은 병합/분할되므로 슬라이스마다 레인 스레드가 시전자를 소유하는지 다시 확인하고,
+ * 소유하지 않으면 시전자의 EntityScheduler 로 넘겨 소유 스레드에서 새 칸의 레인을 정합니다.
+ * 시전자가 없는 태스크(오프라인, 월드 없음)는 GlobalRegionScheduler 레인에서 정리됩니다.
+ * <p>
+ * 격자 칸 크기(2^regionShift 청크)는 서버의 리전 크기 이하로 맞춰야 레인이 여러 리전에 걸치지 않습니다.
+ */
+public class FoliaRegionSchedulerBackend extends LaneSchedulerBackend {
+
+    private static final Object GLOBAL_LANE = "global";
+
+    private final Plugin plugin;
+    private final int regionShift;
+    private volatile boolean running = false;
+
+    public FoliaRegionSchedulerBackend(Plugin plugin, int regionShift, long budgetNanos, Consumer<ScriptTask> onRemoved, Logger logger) {
+        super(budgetNanos, onRemoved, logger);
+        this.plugin = plugin;
+        this.regionShift = regionShift;
+    }
+
+    /** @return 리전 스레드 서버(Folia 계열)에서 실행 중이면 true */
+    public static boolean isSupported() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        // 레인 타이머는 태스크가 들어올 때 시작됨. stop() 또는 start() 전에 태스크를 받은 레인은 여기서 시작
+        for (Lane lane : getLanes()) {
+            synchronized (lane) {
+                if (lane.isActive() && lane.getTimer() == null) {
+                    startLaneTimer(lane);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Lane lane : getLanes()) {
+            cancelTimer(lane);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    protected Object laneKeyOf(Player caster) {
+        return regionKeyOf(caster, regionShift);
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Player caster) {
+        return plugin.getServer().isOwnedByCurrentRegion(caster);
+    }
+
+    @Override
+    protected boolean isCasterAccessible(Player caster) {
+        return caster == null || !caster.isOnline() || plugin.getServer().isOwnedByCurrentRegion(caster);
+    }
+
+    // 엔티티 스케줄러는 시전자를 따라 리전을 옮겨 다니므로 실행 시점의 소유 스레드에서 실행됨
+    @Override
+    protected void runOnCasterThread(Player caster, Runnable action, Runnable retired) {
+        if (isCasterAccessible(caster)) {
+            action.run();
+            return;
+        }
+        if (caster.getScheduler().run(plugin, scheduled -> action.run(), retired) == null) {
+            retired.run(); // 이미 제거된 시전자
+        }
+    }
+
+    @Override
+    protected Object defaultLaneKey() {
+        return GLOBAL_LANE;
+    }
+
+    @Override
+    protected void startLaneTimer(Lane lane) {
+        if (!running) {
+            return; // start() 에서 시작됨
+        }
+        Consumer<ScheduledTask> tick = scheduled -> lane.tick();
+        if (lane.getKey() instanceof RegionKey) {
+            RegionKey key = (RegionKey) lane.getKey();
+            World world = plugin.getServer().getWorld(key.worldId());
+            if (world != null) {
+                lane.setTimer(plugin.getServer().getRegionScheduler().runAtFixedRate(plugin, world,
+                        key.centerChunkX(regionShift), key.centerChunkZ(regionShift), tick, 1L, 1L));
+                return;
+            }
+            logger.warning(pluginPrefix + "World " + key.worldId() + " for lane " + key + " is not loaded. Using the global region.");
+        }
+        lane.setTimer(plugin.getServer().getGlobalRegionScheduler().runAtFixedRate(plugin, tick, 1L, 1L));
+    }
+
+    @Override
+    protected void stopLaneTimer(Lane lane) {
+        cancelTimer(lane);
+    }
+
+    private void cancelTimer(Lane lane) {
+        Object timer = lane.getTimer();
+        if (timer instanceof ScheduledTask) {
+            ((ScheduledTask) timer).cancel();
+        }
+        lane.setTimer(null);
+    }
+
+    @Override
+    public String getName() {
+        return "folia-region (grid " + (1 << regionShift) + " chunks)";
+    }
+}
@@ -0,0 +1,85 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.execution.ScriptTask;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitRunnable;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * 모든 태스크를 메인 스레드의 레인 하나에서 실행하는 기본 백엔드 (일반 Paper/Spigot 서버).
+ */
+public class GlobalSchedulerBackend extends LaneSchedulerBackend {
+
+    private static final Object GLOBAL_LANE = "global";
+
+    private final Plugin plugin;
+    private final Lane lane;
+    private BukkitTask centralTask = null;
+
+    public GlobalSchedulerBackend(Plugin plugin, long budgetNanos, Consumer<ScriptTask> onRemoved, Logger logger) {
+        super(budgetNanos, onRemoved, logger);
+        this.plugin = plugin;
+        this.lane = laneFor(GLOBAL_LANE);
+        // 즉시 실행(submitNow)이 같은 서버 틱의 runTick 과 겹치지 않도록 서버 틱 번호 사용
+        this.lane.getScheduler().setServerClock(() -> plugin.getServer().getCurrentTick());
+    }
+
+    @Override
+    public void start() {
+        centralTask = new BukkitRunnable() {
+            @Override
+            public void run() {
+                lane.tick();
+            }
+        }.runTaskTimer(plugin, 0L, 1L);
+    }
+
+    @Override
+    public void stop() {
+        if (centralTask != null) {
+            centralTask.cancel();
+            centralTask = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return centralTask != null && !centralTask.isCancelled();
+    }
+
+    @Override
+    protected Object laneKeyOf(Player caster) {
+        return GLOBAL_LANE;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(Player caster) {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    @Override
+    protected Object defaultLaneKey() {
+        return GLOBAL_LANE;
+    }
+
+    // 메인 스레드 타이머가 항상 돌고 있으므로 레인별 타이머는 없음
+    @Override
+    protected void startLaneTimer(Lane lane) { }
+
+    @Override
+    protected void stopLaneTimer(Lane lane) { }
+
+    /** @return 메인 스레드 레인의 스케줄러 (예산, 통계) */
+    public TickScheduler getScheduler() {
+        return lane.getScheduler();
+    }
+
+    @Override
+    public String getName() {
+        return "global";
+    }
+}
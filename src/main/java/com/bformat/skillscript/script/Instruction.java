@@ -0,0 +1,181 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.actions.ActionRegistry;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.lang.BoundAction;
+import com.bformat.skillscript.lang.param.BoundParameters;
+import com.bformat.skillscript.lang.param.ParameterBindingException;
+import org.bukkit.entity.Entity;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A single compiled action inside a {@link CompiledBlock}.
+ * Holds the lower-cased action name, the opcode (dispatch table id in the {@link ActionRegistry})
+ * it was linked against and the validated, immutable parameter map that is handed to {@link Action#execute}.
+ * If the linked action is a {@link BoundAction}, the parameters are also bound against its schema at link time.
+ * <p>
+ * The link result is published as one immutable {@link Link} through a volatile field, so a relink on any thread
+ * (e.g. the runtime fallback on an offload worker or region thread) is seen by other threads either fully or not at all.
+ */
+public final class Instruction {
+
+    private static final String[] NO_NAMES = new String[0];
+    // 파라미터 문자열 안에서 변수 이름일 수 있는 토큰 (단독 변수명, 수식 식별자, {var:x} 플레이스홀더)
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private static final Link UNLINKED = new Link(ActionRegistry.UNKNOWN_ID, -1, null, false, NO_NAMES);
+
+    private final String name;
+    private final Map<String, Object> params;
+    private volatile Link link = UNLINKED;
+
+    /**
+     * 링크 결과 한 벌. 필드를 따로 쓰지 않고 통째로 교체합니다.
+     * @param boundParameters BoundAction 에 링크된 경우에만 non-null
+     * @param pure            링크된 액션이 순수하고 파라미터가 월드를 참조하지 않음
+     * @param variableNames   순수 인스트럭션이 읽을 수 있는 변수 이름 후보 (isPureFor 검사용)
+     */
+    private record Link(int opcode, int generation, BoundParameters boundParameters, boolean pure, String[] variableNames) { }
+
+    Instruction(String name, Map<String, Object> params) {
+        this.name = name;
+        this.params = params;
+    }
+
+    /**
+     * Resolves the opcode against the registry. Only does work if the registry has changed since the last link.
+     * @return true if the instruction is resolved after linking.
+     * @throws ParameterBindingException if the action declares a parameter schema and the parameters do not match it.
+     *                                   The instruction is left unresolved.
+     */
+    boolean link(ActionRegistry registry) {
+        if (registry == null) {
+            return isResolved();
+        }
+        int generation = registry.getGeneration(); // 세대를 먼저 읽어야 그 세대까지의 등록이 보임
+        if (link.generation() == generation) {
+            return isResolved();
+        }
+        int opcode = registry.getActionId(name);
+        Action action = registry.getAction(opcode);
+        boolean pure = action != null && action.isPure() && !referencesWorld(params);
+        BoundParameters boundParameters = null;
+        if (action instanceof BoundAction) {
+            try {
+                boundParameters = ((BoundAction) action).parameterSchema().bind(params);
+            } catch (ParameterBindingException e) {
+                link = new Link(ActionRegistry.UNKNOWN_ID, generation, null, false, NO_NAMES);
+                throw e;
+            }
+        }
+        link = new Link(opcode, generation, boundParameters, pure, pure ? collectNames(params) : NO_NAMES);
+        return opcode != ActionRegistry.UNKNOWN_ID;
+    }
+
+    /** @return The lower-cased action name as written in the script (e.g. "controlflow.delay"). */
+    public String getName() { return name; }
+
+    /** @return The action id to dispatch on, or {@link ActionRegistry#UNKNOWN_ID} if the action was not registered when linked. */
+    public int getOpcode() { return link.opcode(); }
+
+    /** @return The validated, unmodifiable parameter map for this action. */
+    public Map<String, Object> getParams() { return params; }
+
+    /**
+     * @return The parameters bound against the linked action's schema, or null if the action does not declare one.
+     */
+    public BoundParameters getBoundParameters() { return link.boundParameters(); }
+
+    public boolean isResolved() { return link.opcode() != ActionRegistry.UNKNOWN_ID; }
+
+    /**
+     * @return true if the linked action is pure ({@link Action#isPure()}) and none of its parameters reference
+     *         the world ({@code @} selectors or entity constants). Such instructions may run off the main thread.
+     */
+    public boolean isPure() { return link.pure(); }
+
+    /**
+     * {@link #isPure()} 에 더해, 파라미터가 가리킬 수 있는 변수 중 지금 엔티티(또는 엔티티 리스트)를 담은 것이 없는지 확인합니다.
+     * 변수로 전달된 엔티티는 링크 시점에 알 수 없으므로 워커 스레드로 넘기기 직전에 이 검사를 사용합니다.
+     * 리스트는 첫 원소만 확인합니다 (타겟팅 액션이 만드는 리스트는 한 가지 타입만 담음).
+     * 슬롯을 할당하지 않습니다.
+     */
+    public boolean isPureFor(ExecutionContext context) {
+        Link current = link;
+        if (!current.pure()) {
+            return false;
+        }
+        for (String name : current.variableNames()) {
+            if (holdsWorldValue(context.getVariable(name))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean holdsWorldValue(Object value) {
+        if (value instanceof Entity) {
+            return true;
+        }
+        if (value instanceof List<?> list && !list.isEmpty()) {
+            return list.get(0) instanceof Entity;
+        }
+        return false;
+    }
+
+    private static String[] collectNames(Map<String, Object> params) {
+        Set<String> names = new LinkedHashSet<>();
+        collectNames(params, names);
+        return names.isEmpty() ? NO_NAMES : names.toArray(NO_NAMES);
+    }
+
+    private static void collectNames(Object value, Set<String> names) {
+        if (value instanceof String) {
+            Matcher matcher = IDENTIFIER.matcher((String) value);
+            while (matcher.find()) {
+                names.add(matcher.group());
+            }
+        } else if (value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                collectNames(element, names);
+            }
+        } else if (value instanceof Iterable && !(value instanceof CompiledBlock)) {
+            for (Object element : (Iterable<?>) value) {
+                collectNames(element, names);
+            }
+        }
+    }
+
+    // 중첩 블록(CompiledBlock)은 자체 인스트럭션이 따로 분류되므로 검사하지 않음
+    private static boolean referencesWorld(Object value) {
+        if (value instanceof String) {
+            return ((String) value).indexOf('@') >= 0;
+        }
+        if (value instanceof Entity) {
+            return true;
+        }
+        if (value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                if (referencesWorld(element)) return true;
+            }
+        } else if (value instanceof Iterable && !(value instanceof CompiledBlock)) {
+            for (Object element : (Iterable<?>) value) {
+                if (referencesWorld(element)) return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        int opcode = getOpcode();
+        return "Instruction{" + name + (opcode != ActionRegistry.UNKNOWN_ID ? " #" + opcode : " (unresolved)") + ", params=" + params.keySet() + "}";
+    }
+}
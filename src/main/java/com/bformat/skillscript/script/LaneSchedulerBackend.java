@@ -0,0 +1,276 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.execution.ScriptTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 태스크를 "레인" 단위로 나누어 실행하는 백엔드의 공통 구현.
+ * <p>
+ * 레인은 하나의 스레드(메인 스레드 또는 리전 스레드)가 tick 하는 {@link TickScheduler} 입니다.
+ * 태스크는 시전자에 대해 {@link #laneKeyOf(Player)} 가 반환한 키의 레인에서 실행되며, 슬라이스를 실행하기 전에
+ * 키가 바뀌었으면(시전자가 다른 리전으로 이동) 새 레인으로 옮겨집니다.
+ * 레인 스레드가 시전자를 다루지 않으면({@link #isCasterAccessible}) 시전자 상태를 읽지 않고
+ * {@link #runOnCasterThread} 로 시전자 스레드에 넘겨 그곳에서 레인을 다시 정합니다.
+ * <p>
+ * 다른 스레드에서 레인에 대한 요청(submit, wake, 이동)은 레인의 메일박스에 넣고
+ * 레인 스레드가 다음 틱 시작 시 처리하므로 TickScheduler 는 항상 자기 스레드에서만 사용됩니다.
+ */
+public abstract class LaneSchedulerBackend implements SchedulerBackend {
+
+    protected final Logger logger;
+    protected final String pluginPrefix = "[SkillScript Scheduler] ";
+
+    private final long budgetNanos;
+    private final Consumer<ScriptTask> onRemoved;
+    private final Map<Object, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<ScriptTask, Lane> owners = new ConcurrentHashMap<>();
+
+    /**
+     * @param budgetNanos 레인별 틱당 CPU 예산
+     * @param onRemoved   태스크가 완료/취소/오류로 빠질 때 호출 (레인 스레드에서 호출됨)
+     */
+    protected LaneSchedulerBackend(long budgetNanos, Consumer<ScriptTask> onRemoved, Logger logger) {
+        this.budgetNanos = budgetNanos;
+        this.onRemoved = onRemoved;
+        this.logger = logger;
+    }
+
+    /**
+     * @return 시전자의 태스크가 실행되어야 할 레인의 키. null 이면 현재 레인에 그대로 둠 (새 태스크는 기본 레인)
+     */
+    protected abstract Object laneKeyOf(Player caster);
+
+    private Object laneKeyOf(ScriptTask task) {
+        return laneKeyOf(task.getCaster());
+    }
+
+    /** 레인에 처리할 태스크가 생겼을 때 레인 타이머를 시작합니다 ({@link Lane#tick()} 을 매 틱 호출). */
+    protected abstract void startLaneTimer(Lane lane);
+
+    /** 레인이 비었을 때 레인 타이머를 멈춥니다. */
+    protected abstract void stopLaneTimer(Lane lane);
+
+    /** @return laneKeyOf 가 null 을 반환한 새 태스크가 들어갈 레인 키 */
+    protected abstract Object defaultLaneKey();
+
+    /**
+     * @return 현재 스레드에서 시전자 상태(위치 등)를 읽고 월드 액션을 실행해도 되면 true.
+     *         기본 구현은 항상 true (어느 스레드에서 읽어도 되는 구현용)
+     */
+    protected boolean isCasterAccessible(Player caster) {
+        return true;
+    }
+
+    /**
+     * 시전자를 다루는 스레드에서 action 을 실행합니다. 레인 키 계산은 이 안에서 합니다.
+     * 시전자가 이미 제거되어 그 스레드가 없으면 대신 retired 를 실행합니다 (시전자 상태를 읽으면 안 됨).
+     * 기본 구현은 호출 스레드에서 바로 action 을 실행합니다.
+     */
+    protected void runOnCasterThread(Player caster, Runnable action, Runnable retired) {
+        action.run();
+    }
+
+    @Override
+    public void submit(ScriptTask task) {
+        runOnCasterThread(task.getCaster(), () -> enqueue(task, laneKeyOf(task)), () -> enqueue(task, null));
+    }
+
+    private void enqueue(ScriptTask task, Object key) {
+        Lane lane = laneFor(key != null ? key : defaultLaneKey());
+        owners.put(task, lane);
+        lane.post(() -> lane.scheduler.add(task));
+    }
+
+    /**
+     * 호출 스레드가 레인 스레드이고 레인 스케줄러에 서버 틱 시계가 있으면 첫 슬라이스를 바로 실행합니다.
+     * 그렇지 않으면 {@link #submit} 과 같습니다.
+     */
+    @Override
+    public boolean submitNow(ScriptTask task) {
+        Player caster = task.getCaster();
+        if (caster == null || !isOwnedByCurrentThread(caster)) {
+            submit(task);
+            return false;
+        }
+        Object key = laneKeyOf(caster);
+        Lane lane = laneFor(key != null ? key : defaultLaneKey());
+        owners.put(task, lane);
+        lane.activate();
+        if (lane.scheduler.runNow(task)) {
+            return true;
+        }
+        lane.scheduler.add(task);
+        return false;
+    }
+
+    /** 시전자 레인의 메일박스에 넣어 그 레인 스레드의 다음 틱 시작 시 실행합니다. */
+    @Override
+    public void execute(Player caster, Runnable action) {
+        runOnCasterThread(caster, () -> {
+            Object key = laneKeyOf(caster);
+            laneFor(key != null ? key : defaultLaneKey()).post(action);
+        }, () -> laneFor(defaultLaneKey()).post(action));
+    }
+
+    @Override
+    public void wake(ScriptTask task) {
+        Lane lane = owners.get(task);
+        if (lane != null) {
+            lane.post(() -> lane.scheduler.wake(task));
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (Lane lane : lanes.values()) {
+            synchronized (lane) {
+                lane.mailbox.clear();
+                lane.scheduler.clear();
+                if (lane.active) {
+                    lane.active = false;
+                    stopLaneTimer(lane);
+                }
+            }
+        }
+        owners.clear();
+    }
+
+    @Override
+    public int getTaskCount() {
+        return owners.size();
+    }
+
+    /** @return 현재 태스크가 있는 레인 수 */
+    public int getActiveLaneCount() {
+        int count = 0;
+        for (Lane lane : lanes.values()) {
+            if (lane.active) count++;
+        }
+        return count;
+    }
+
+    protected Iterable<Lane> getLanes() {
+        return lanes.values();
+    }
+
+    /** 리전 레인 키: 월드 + 청크 좌표를 2^regionShift 청크 단위로 묶은 격자 칸. */
+    public record RegionKey(UUID worldId, int regionX, int regionZ) {
+        /** @return 격자 칸의 중심 청크 X */
+        public int centerChunkX(int regionShift) { return (regionX << regionShift) + ((1 << regionShift) >> 1); }
+        /** @return 격자 칸의 중심 청크 Z */
+        public int centerChunkZ(int regionShift) { return (regionZ << regionShift) + ((1 << regionShift) >> 1); }
+    }
+
+    /** @return 태스크 시전자 위치의 리전 키, 시전자가 없거나 오프라인이면 null */
+    protected static RegionKey regionKeyOf(ScriptTask task, int regionShift) {
+        return regionKeyOf(task.getCaster(), regionShift);
+    }
+
+    /** @return 시전자 위치의 리전 키, 시전자가 없거나 오프라인이면 null */
+    protected static RegionKey regionKeyOf(Player caster, int regionShift) {
+        if (caster == null || !caster.isOnline()) {
+            return null;
+        }
+        Location location = caster.getLocation();
+        if (location.getWorld() == null) {
+            return null;
+        }
+        int chunkX = location.getBlockX() >> 4;
+        int chunkZ = location.getBlockZ() >> 4;
+        return new RegionKey(location.getWorld().getUID(), chunkX >> regionShift, chunkZ >> regionShift);
+    }
+
+    /** @return 키의 레인 (없으면 생성) */
+    protected Lane laneFor(Object key) {
+        return lanes.computeIfAbsent(key, Lane::new);
+    }
+
+    // 레인 스레드: 시전자가 다른 레인 키로 이동했거나 다른 스레드가 다루면 시전자 스레드에서 새 레인을 정해 넘김
+    private void migrate(Lane from, ScriptTask task) {
+        runOnCasterThread(task.getCaster(), () -> moveTo(from, task, laneKeyOf(task)), () -> moveTo(from, task, null));
+    }
+
+    private void moveTo(Lane from, ScriptTask task, Object key) {
+        Lane to = laneFor(key != null ? key : defaultLaneKey());
+        owners.put(task, to);
+        if (logger.isLoggable(Level.FINE)) {
+            logger.fine(pluginPrefix + "Task " + task.getScriptTaskId() + " migrated from lane " + from.key + " to " + to.key + ".");
+        }
+        to.post(() -> to.scheduler.add(task));
+    }
+
+    /** 한 스레드가 tick 하는 태스크 그룹. */
+    public final class Lane {
+        private final Object key;
+        private final TickScheduler scheduler;
+        private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+        private boolean active = false; // this 로 동기화
+        private Object timer; // 구현별 타이머 핸들
+
+        private Lane(Object key) {
+            this.key = key;
+            this.scheduler = new TickScheduler(budgetNanos, task -> {
+                owners.remove(task);
+                onRemoved.accept(task);
+            }, logger);
+            this.scheduler.setAffinity(task -> {
+                if (!isCasterAccessible(task.getCaster())) {
+                    return false; // 다른 스레드의 시전자: 위치를 읽지 않고 넘김
+                }
+                Object current = laneKeyOf(task);
+                return current == null || current.equals(this.key);
+            }, task -> migrate(this, task));
+        }
+
+        private void post(Runnable request) {
+            synchronized (this) {
+                mailbox.add(request);
+                activate();
+            }
+        }
+
+        // 레인 타이머가 돌고 있지 않으면 시작
+        private synchronized void activate() {
+            if (!active) {
+                active = true;
+                startLaneTimer(this);
+            }
+        }
+
+        /** 레인 스레드에서 매 틱 호출합니다. */
+        public void tick() {
+            Runnable request;
+            while ((request = mailbox.poll()) != null) {
+                request.run();
+            }
+            scheduler.runTick();
+            synchronized (this) {
+                if (active && scheduler.size() == 0 && mailbox.isEmpty()) {
+                    active = false;
+                    stopLaneTimer(this);
+                }
+            }
+        }
+
+        public Object getKey() { return key; }
+
+        /** @return 처리할 태스크나 요청이 있어 타이머가 돌아야 하면 true */
+        public synchronized boolean isActive() { return active; }
+
+        public TickScheduler getScheduler() { return scheduler; }
+
+        public Object getTimer() { return timer; }
+
+        public void setTimer(Object timer) { this.timer = timer; }
+    }
+}
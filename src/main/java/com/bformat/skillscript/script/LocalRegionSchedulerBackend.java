@@ -0,0 +1,143 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.execution.ScriptTask;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 리전 스레드를 로컬 스레드 풀로 흉내 내는 백엔드. 리전 격자 칸(레인)은 키의 해시로 고정된 스레드에 배정되므로
+ * 같은 칸의 태스크는 항상 같은 스레드에서, 다른 칸의 태스크는 (스레드 수가 허락하는 한) 다른 스레드에서 실행됩니다.
+ * <p>
+ * 월드 액션까지 다른 스레드에서 실행하므로 실제 서버가 아니라 테스트와 벤치마크용입니다.
+ * {@link #tickAll()} 로 한 틱을 직접 진행하거나, {@link #start()} 로 50ms 마다 진행시킵니다.
+ */
+public class LocalRegionSchedulerBackend extends LaneSchedulerBackend {
+
+    private static final Object GLOBAL_LANE = "global";
+
+    private final int regionShift;
+    private final ExecutorService[] regionThreads;
+    private ScheduledExecutorService ticker;
+    private ScheduledFuture<?> tickerTask;
+
+    public LocalRegionSchedulerBackend(int threadCount, int regionShift, long budgetNanos, Consumer<ScriptTask> onRemoved, Logger logger) {
+        super(budgetNanos, onRemoved, logger);
+        this.regionShift = regionShift;
+        this.regionThreads = new ExecutorService[Math.max(1, threadCount)];
+        for (int i = 0; i < regionThreads.length; i++) {
+            String name = "SkillScript-Region-" + i;
+            regionThreads[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * 활성 레인을 각자 배정된 스레드에서 한 번씩 tick 하고 모두 끝날 때까지 기다립니다.
+     */
+    public void tickAll() {
+        List<Future<?>> futures = new ArrayList<>();
+        for (Lane lane : getLanes()) {
+            if (lane.isActive()) {
+                futures.add(threadFor(lane.getKey()).submit(lane::tick));
+            }
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                logger.log(Level.SEVERE, pluginPrefix + "Region lane tick failed.", e.getCause());
+            }
+        }
+    }
+
+    /** @return 레인 키가 배정된 스레드의 이름 */
+    public String threadNameOf(Object laneKey) {
+        return "SkillScript-Region-" + Math.floorMod(laneKey.hashCode(), regionThreads.length);
+    }
+
+    private ExecutorService threadFor(Object laneKey) {
+        return regionThreads[Math.floorMod(laneKey.hashCode(), regionThreads.length)];
+    }
+
+    @Override
+    public synchronized void start() {
+        if (tickerTask != null) {
+            return;
+        }
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "SkillScript-Region-Ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        tickerTask = ticker.scheduleAtFixedRate(this::tickAll, 0L, 50L, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (tickerTask != null) {
+            tickerTask.cancel(false);
+            ticker.shutdownNow();
+            tickerTask = null;
+            ticker = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return tickerTask != null;
+    }
+
+    /** 타이머와 리전 스레드를 모두 종료합니다. */
+    public void shutdown() {
+        stop();
+        for (ExecutorService thread : regionThreads) {
+            thread.shutdownNow();
+        }
+    }
+
+    @Override
+    protected Object laneKeyOf(Player caster) {
+        return regionKeyOf(caster, regionShift);
+    }
+
+    // 로컬 리전 스레드는 서버 스레드가 아니므로 요청은 항상 레인 메일박스를 거침
+    @Override
+    public boolean isOwnedByCurrentThread(Player caster) {
+        return false;
+    }
+
+    @Override
+    protected Object defaultLaneKey() {
+        return GLOBAL_LANE;
+    }
+
+    // 활성 레인은 tickAll() 이 매번 확인하므로 레인별 타이머는 없음
+    @Override
+    protected void startLaneTimer(Lane lane) { }
+
+    @Override
+    protected void stopLaneTimer(Lane lane) { }
+
+    @Override
+    public String getName() {
+        return "local-region (" + regionThreads.length + " threads, grid " + (1 << regionShift) + " chunks)";
+    }
+}
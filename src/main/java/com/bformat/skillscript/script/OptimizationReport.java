@@ -0,0 +1,86 @@
+package com.bformat.skillscript.script;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link ScriptOptimizer} 가 스크립트 하나에 대해 수행한 단순화 내역.
+ * 로드 시 요약이 로그로 남고, {@code /skillscript analyze <script>} 로 상세 내역을 볼 수 있습니다.
+ */
+public final class OptimizationReport {
+
+    /** 단순화 종류. */
+    public enum Kind {
+        FOLDED_EXPRESSION("folded constant expressions"),
+        FOLDED_VECTOR_MATH("folded constant vector math"),
+        CONSTANT_BRANCH("resolved constant conditions"),
+        EMPTY_BLOCK("removed empty blocks"),
+        SKIPPED_LOOP("removed loops that never run"),
+        DEAD_WRITE("removed unread variable writes");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() { return description; }
+    }
+
+    private final String scriptName;
+    private final Map<Kind, Integer> counts = new EnumMap<>(Kind.class);
+    private final List<String> details = new ArrayList<>();
+    private final Map<String, int[]> triggerSizes = new java.util.LinkedHashMap<>(); // 트리거 -> {최적화 전, 후} 액션 수
+
+    public OptimizationReport(String scriptName) {
+        this.scriptName = scriptName;
+    }
+
+    void record(Kind kind, String trigger, String detail) {
+        counts.merge(kind, 1, Integer::sum);
+        details.add(trigger + ": " + detail);
+    }
+
+    void recordTriggerSize(String trigger, int before, int after) {
+        triggerSizes.put(trigger, new int[] {before, after});
+    }
+
+    public String getScriptName() { return scriptName; }
+
+    public int getCount(Kind kind) { return counts.getOrDefault(kind, 0); }
+
+    /** @return 전체 단순화 횟수 */
+    public int getTotal() {
+        int total = 0;
+        for (int count : counts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public List<String> getDetails() { return Collections.unmodifiableList(details); }
+
+    /** @return 트리거 이름 -> {최적화 전 액션 수, 최적화 후 액션 수} (중첩 블록 포함) */
+    public Map<String, int[]> getTriggerSizes() { return Collections.unmodifiableMap(triggerSizes); }
+
+    /** @return 한 줄 요약 (예: "3 folded constant expressions, 1 removed unread variable writes") */
+    public String summary() {
+        if (counts.isEmpty()) {
+            return "nothing to simplify";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Kind, Integer> entry : counts.entrySet()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(entry.getValue()).append(' ').append(entry.getKey().getDescription());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "OptimizationReport{" + scriptName + ": " + summary() + "}";
+    }
+}
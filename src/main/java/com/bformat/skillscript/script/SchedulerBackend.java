@@ -0,0 +1,55 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.execution.ScriptTask;
+import org.bukkit.entity.Player;
+
+/**
+ * ScriptTask 를 어느 스레드에서 언제 tick 할지 결정하는 스케줄러 백엔드.
+ * <ul>
+ *     <li>{@link GlobalSchedulerBackend}: 메인 스레드 하나에서 모든 태스크 실행 (일반 Paper/Spigot)</li>
+ *     <li>{@link FoliaRegionSchedulerBackend}: 시전자가 있는 리전의 스레드에서 실행 (Folia 계열)</li>
+ *     <li>{@link LocalRegionSchedulerBackend}: 여러 리전 스레드를 흉내 내는 로컬 구현 (테스트용)</li>
+ * </ul>
+ * submit/wake/execute 는 어느 스레드에서 호출해도 됩니다.
+ */
+public interface SchedulerBackend {
+
+    /** 틱 타이머를 시작합니다. */
+    void start();
+
+    /** 틱 타이머를 멈춥니다. 보관 중인 태스크는 그대로 남습니다. */
+    void stop();
+
+    boolean isRunning();
+
+    /** 새 태스크를 실행 대상으로 추가합니다. 다음 틱부터 실행됩니다. */
+    void submit(ScriptTask task);
+
+    /**
+     * 시전자를 다루는 스레드(전역 백엔드는 메인 스레드, 리전 백엔드는 시전자 리전의 스레드)에서
+     * 다음 틱 시작 시 action 을 실행합니다. 어느 스레드에서 호출해도 되며 같은 레인 안에서는 호출 순서대로 실행됩니다.
+     */
+    void execute(Player caster, Runnable action);
+
+    /** @return 현재 스레드가 시전자를 다루는 스레드이면 true (시전자 상태를 바로 읽을 수 있음) */
+    boolean isOwnedByCurrentThread(Player caster);
+
+    /**
+     * 시전자 스레드에서 호출된 새 태스크의 첫 슬라이스를 바로 실행하고 나머지는 평소대로 틱마다 실행합니다.
+     * 즉시 실행에 쓴 시간은 같은 틱 예산에서 차감됩니다.
+     * @return 첫 슬라이스를 실행했으면 true. 지원하지 않거나 예산이 없으면 false ({@link #submit} 과 같이 다음 틱부터 실행)
+     */
+    boolean submitNow(ScriptTask task);
+
+    /** 딜레이로 보관 중인 태스크를 다음 틱에 처리되도록 깨웁니다 (취소 직후 정리용). */
+    void wake(ScriptTask task);
+
+    /** 모든 태스크를 제거합니다 (취소는 호출자가 처리). */
+    void clear();
+
+    /** @return 백엔드가 관리하는 태스크 수 (대략적인 값일 수 있음) */
+    int getTaskCount();
+
+    /** @return 로그/진단용 이름 */
+    String getName();
+}
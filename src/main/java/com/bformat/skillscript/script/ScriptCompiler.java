@@ -0,0 +1,210 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.actions.ActionRegistry;
+import com.bformat.skillscript.execution.VariableSlots;
+import com.bformat.skillscript.lang.param.ParameterBindingException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+/**
+ * Compiles raw SnakeYAML action lists into immutable {@link CompiledBlock}s.
+ * <p>
+ * Work that used to be repeated for every executed action (picking the action entry out of the map,
+ * validating the parameter map and looking the action up in the {@link ActionRegistry}) is done once here.
+ * Nested action blocks ({@code Then}, {@code Else}, {@code Do}, {@code Branches}) are compiled recursively.
+ * Each instruction is linked against the registry's integer action ids; if the registry gains new actions
+ * later, {@link #link(CompiledBlock)} re-resolves instructions that were unresolved.
+ * <p>
+ * Actions that declare a parameter schema have their parameters bound while linking. A parameter that does not
+ * match its schema makes {@link #compile(List)} throw a {@link ParameterBindingException}, so the script fails at load.
+ */
+public class ScriptCompiler {
+
+    // 중첩 액션 블록(List<Map>)으로 취급되는 파라미터 키
+    private static final Set<String> BLOCK_KEYS = Set.of("Then", "Else", "Do");
+    // 액션 블록의 리스트(List<List<Map>>)로 취급되는 파라미터 키
+    private static final Set<String> BRANCH_LIST_KEYS = Set.of("Branches");
+    // 값이 변수 이름인 파라미터 키. 로드 시점에 스크립트의 VariableSlots 슬롯을 미리 할당
+    private static final Set<String> VARIABLE_NAME_KEYS = Set.of("variable");
+
+    private final ActionRegistry actionRegistry;
+    private final Logger logger;
+    private final String pluginPrefix = "[SkillScript Compiler] ";
+
+    /**
+     * @param actionRegistry The registry used to resolve action names. May be null, in which case every
+     *                       instruction stays unresolved and is skipped at runtime.
+     * @param logger         Logger for compile warnings.
+     */
+    public ScriptCompiler(ActionRegistry actionRegistry, Logger logger) {
+        this.actionRegistry = actionRegistry;
+        this.logger = (logger != null) ? logger : Logger.getLogger(ScriptCompiler.class.getName());
+    }
+
+    public ActionRegistry getActionRegistry() {
+        return actionRegistry;
+    }
+
+    /**
+     * Compiles a list of action maps. Already compiled blocks are returned as is.
+     * The block gets a new {@link VariableSlots} table that its nested blocks share.
+     * @param actions The raw action list (each element a single-entry map of action name to parameters).
+     * @return The compiled block. Never null.
+     * @throws ParameterBindingException if an action's parameters do not match its declared schema.
+     */
+    public CompiledBlock compile(List<Map<String, Object>> actions) {
+        return compile(actions, new VariableSlots());
+    }
+
+    private CompiledBlock compile(List<Map<String, Object>> actions, VariableSlots variableSlots) {
+        if (actions instanceof CompiledBlock) {
+            return (CompiledBlock) actions;
+        }
+        if (actions == null || actions.isEmpty()) {
+            return CompiledBlock.EMPTY;
+        }
+
+        List<Map<String, Object>> source = new ArrayList<>(actions.size());
+        List<Instruction> instructions = new ArrayList<>(actions.size());
+        for (int i = 0; i < actions.size(); i++) {
+            Object element = actions.get(i);
+            if (!(element instanceof Map)) {
+                logger.warning(pluginPrefix + "Action at index " + i + " is not a Map (" + (element != null ? element.getClass().getName() : "null") + "). Skipping.");
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> actionMap = (Map<String, Object>) element;
+            source.add(actionMap);
+            Instruction instruction = compileInstruction(actionMap, i, variableSlots);
+            if (instruction != null) {
+                instructions.add(instruction);
+            }
+        }
+        return new CompiledBlock(Collections.unmodifiableList(source), instructions.toArray(new Instruction[0]), variableSlots);
+    }
+
+    private Instruction compileInstruction(Map<String, Object> actionMap, int index, VariableSlots variableSlots) {
+        if (actionMap.isEmpty()) {
+            logger.warning(pluginPrefix + "Empty action map at index " + index + ". Skipping.");
+            return null;
+        }
+        Map.Entry<String, Object> actionEntry = actionMap.entrySet().iterator().next();
+        if (actionMap.size() > 1) {
+            logger.warning(pluginPrefix + "Action map at index " + index + " has " + actionMap.size() + " entries. Only '" + actionEntry.getKey() + "' is used.");
+        }
+
+        String actionName = String.valueOf(actionEntry.getKey()).toLowerCase();
+        Map<String, Object> params = compileParams(actionName, actionEntry.getValue(), variableSlots);
+        Instruction instruction = new Instruction(actionName, params);
+        boolean resolved;
+        try {
+            resolved = instruction.link(actionRegistry);
+        } catch (ParameterBindingException e) {
+            throw new ParameterBindingException("Action '" + actionName + "' (index " + index + "): " + e.getMessage());
+        }
+        if (!resolved && actionRegistry != null) {
+            logger.warning(pluginPrefix + "Action implementation not found for '" + actionName + "' (index " + index + "). It will be skipped at runtime.");
+        }
+        return instruction;
+    }
+
+    /**
+     * Re-links every instruction in the block (including nested blocks) against the current registry state.
+     * Instructions already linked against the current registry generation are left untouched.
+     * @param block The compiled block.
+     * @return The number of instructions that are still unresolved.
+     */
+    public int link(CompiledBlock block) {
+        int unresolved = 0;
+        for (int i = 0; i < block.getInstructionCount(); i++) {
+            Instruction instruction = block.getInstruction(i);
+            if (!tryLink(instruction)) {
+                unresolved++;
+            }
+            for (Object value : instruction.getParams().values()) {
+                if (value instanceof CompiledBlock) {
+                    unresolved += link((CompiledBlock) value);
+                } else if (value instanceof List) {
+                    for (Object branch : (List<?>) value) {
+                        if (branch instanceof CompiledBlock) {
+                            unresolved += link((CompiledBlock) branch);
+                        }
+                    }
+                }
+            }
+        }
+        return unresolved;
+    }
+
+    /**
+     * Runtime fallback for instructions compiled before their action was registered.
+     * @return The instruction's opcode after re-linking (may still be {@link ActionRegistry#UNKNOWN_ID}).
+     */
+    public int relink(Instruction instruction) {
+        tryLink(instruction);
+        return instruction.getOpcode();
+    }
+
+    // 이미 로드된 스크립트를 다시 링크할 때는 바인딩 실패를 경고로 남기고 인스트럭션을 미해결 상태로 둠
+    private boolean tryLink(Instruction instruction) {
+        try {
+            return instruction.link(actionRegistry);
+        } catch (ParameterBindingException e) {
+            logger.warning(pluginPrefix + "Action '" + instruction.getName() + "' has invalid parameters and will be skipped: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> compileParams(String actionName, Object paramsObject, VariableSlots variableSlots) {
+        if (paramsObject == null) {
+            return Collections.emptyMap();
+        }
+        if (!(paramsObject instanceof Map)) {
+            logger.warning(pluginPrefix + "Invalid parameter format for '" + actionName + "'. Expected Map<String, Object> or null, got: " + paramsObject.getClass().getName() + ". Value: " + paramsObject);
+            return Collections.emptyMap();
+        }
+        for (Object key : ((Map<?, ?>) paramsObject).keySet()) {
+            if (!(key instanceof String)) {
+                logger.warning(pluginPrefix + "Invalid parameter map key type for '" + actionName + "'. Expected String, got " + (key != null ? key.getClass().getName() : "null") + ". Map: " + paramsObject);
+                return Collections.emptyMap();
+            }
+        }
+
+        Map<String, Object> params = new LinkedHashMap<>((Map<String, Object>) paramsObject);
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            Object value = entry.getValue();
+            if (VARIABLE_NAME_KEYS.contains(entry.getKey()) && value instanceof String && !((String) value).isBlank()) {
+                variableSlots.slotOf((String) value);
+            } else if (BLOCK_KEYS.contains(entry.getKey()) && isActionList(value)) {
+                entry.setValue(compile((List<Map<String, Object>>) value, variableSlots));
+            } else if (BRANCH_LIST_KEYS.contains(entry.getKey()) && value instanceof List) {
+                List<Object> branches = new ArrayList<>();
+                for (Object branch : (List<?>) value) {
+                    // 잘못된 브랜치는 그대로 두고 액션이 런타임에 보고하도록 함
+                    branches.add(isActionList(branch) ? compile((List<Map<String, Object>>) branch, variableSlots) : branch);
+                }
+                entry.setValue(Collections.unmodifiableList(branches));
+            }
+        }
+        return Collections.unmodifiableMap(params);
+    }
+
+    private static boolean isActionList(Object value) {
+        if (!(value instanceof List)) {
+            return false;
+        }
+        for (Object element : (List<?>) value) {
+            if (!(element instanceof Map)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,6 +1,7 @@
 package com.bformat.skillscript.script;
 
 import com.bformat.skillscript.SkillScript; // 메인 클래스 참조 변경
+import com.bformat.skillscript.lang.param.ParameterBindingException;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
@@ -17,17 +18,22 @@ public class ScriptManager {
 
     private final SkillScript plugin; // 메인 클래스 타입 변경
     private final Map<String, Map<String, Object>> loadedScripts = new HashMap<>();
+    private final Map<String, OptimizationReport> optimizationReports = new HashMap<>();
     private final File scriptsFolder;
+    private final ScriptOptimizer optimizer;
 
     // 생성자에서 받는 타입 변경
     public ScriptManager(SkillScript plugin) {
         this.plugin = plugin;
         // 폴더 경로 생성 시에도 변경된 plugin 인스턴스 사용
         this.scriptsFolder = new File(plugin.getDataFolder(), "scripts");
+        this.optimizer = new ScriptOptimizer(plugin.getLogger());
     }
 
     public void loadScripts() {
         loadedScripts.clear();
+        optimizationReports.clear();
+        // 변수 슬롯 테이블은 컴파일된 트리거마다 새로 만들어지므로 실행 중인 시전은 이전 테이블을 그대로 씀
         if (!scriptsFolder.exists() || !scriptsFolder.isDirectory()) {
             plugin.getLogger().warning("Scripts folder not found or is not a directory.");
             return;
@@ -48,12 +54,27 @@ public class ScriptManager {
                 Map<String, Object> scriptData = yamlParser.load(reader);
 
                 if (scriptData != null && !scriptData.isEmpty()) {
+                    OptimizationReport report = null;
+                    if (plugin.getConfig().getBoolean("scripts.optimize", true)) {
+                        report = optimizer.optimize(scriptName, scriptData);
+                    }
+                    compileTriggers(scriptName, scriptData);
                     loadedScripts.put(scriptName.toLowerCase(), scriptData);
-                    plugin.getLogger().info("Loaded script: " + scriptFile.getName());
+                    if (report != null) {
+                        optimizationReports.put(scriptName.toLowerCase(), report);
+                    }
+                    if (report != null && report.getTotal() > 0) {
+                        plugin.getLogger().info("Loaded script: " + scriptFile.getName() + " (optimized: " + report.summary() + ")");
+                    } else {
+                        plugin.getLogger().info("Loaded script: " + scriptFile.getName());
+                    }
                 } else {
                     plugin.getLogger().warning("Skipping empty or invalid script file: " + scriptFile.getName());
                 }
 
+            } catch (ParameterBindingException e) {
+                // 파라미터 스키마 오류는 로드 시점에 스크립트 전체를 거부
+                plugin.getLogger().severe("Script " + scriptFile.getName() + " was not loaded. Invalid action parameters in " + e.getMessage());
             } catch (FileNotFoundException e) {
                 plugin.getLogger().log(Level.SEVERE, "Could not find script file: " + scriptFile.getName(), e);
             } catch (Exception e) {
@@ -63,6 +84,53 @@ public class ScriptManager {
         plugin.getLogger().info("Successfully loaded " + loadedScripts.size() + " scripts.");
     }
 
+    /**
+     * 스크립트의 트리거 블록(List of Maps)을 로드 시점에 CompiledBlock 으로 미리 컴파일하여 교체합니다.
+     * 형식이 잘못된 트리거는 그대로 두고 getTriggerActions 에서 경고하도록 합니다.
+     * @throws ParameterBindingException 액션 파라미터가 선언된 스키마와 맞지 않는 경우 (스크립트 로드 실패)
+     */
+    @SuppressWarnings("unchecked")
+    private void compileTriggers(String scriptName, Map<String, Object> scriptData) {
+        for (Map.Entry<String, Object> entry : scriptData.entrySet()) {
+            Object triggerBlock = entry.getValue();
+            if (!(triggerBlock instanceof List) || ((List<?>) triggerBlock).isEmpty()) {
+                continue;
+            }
+            if (!(((List<?>) triggerBlock).get(0) instanceof Map)) {
+                continue;
+            }
+            CompiledBlock compiled;
+            try {
+                compiled = plugin.getScriptCompiler().compile((List<Map<String, Object>>) triggerBlock);
+            } catch (ParameterBindingException e) {
+                throw new ParameterBindingException("trigger '" + entry.getKey() + "': " + e.getMessage());
+            }
+            entry.setValue(compiled);
+            plugin.getLogger().fine("Compiled trigger '" + entry.getKey() + "' of script '" + scriptName + "' (" + compiled.getInstructionCount() + " instructions).");
+        }
+    }
+
+    /**
+     * 로드된 모든 스크립트의 컴파일된 트리거를 현재 ActionRegistry 에 다시 링크합니다.
+     * 스크립트 로드 이후 액션이 새로 등록된 경우 ActionRegistry 가 호출합니다.
+     */
+    public void relinkScripts() {
+        int unresolved = 0;
+        for (Map<String, Object> scriptData : loadedScripts.values()) {
+            for (Object triggerBlock : scriptData.values()) {
+                if (triggerBlock instanceof CompiledBlock) {
+                    unresolved += plugin.getScriptCompiler().link((CompiledBlock) triggerBlock);
+                }
+            }
+        }
+        plugin.getLogger().fine("Relinked " + loadedScripts.size() + " scripts. Unresolved instructions: " + unresolved);
+    }
+
+    /** @return 스크립트 로드 시 최적화 내역, 최적화가 꺼져 있거나 스크립트가 없으면 null */
+    public OptimizationReport getOptimizationReport(String scriptName) {
+        return optimizationReports.get(scriptName.toLowerCase());
+    }
+
     public Map<String, Object> getScriptData(String scriptName) {
         return loadedScripts.get(scriptName.toLowerCase());
     }
@@ -0,0 +1,514 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.lang.expression.CachedExpression;
+import com.bformat.skillscript.lang.expression.ExpressionCache;
+import org.bukkit.util.Vector;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 스크립트 로드 시 컴파일 전에 트리거의 액션 목록을 정적으로 단순화합니다.
+ * <ul>
+ *     <li>리터럴만 사용하는 수식/벡터 연산을 상수로 접음 (variable.calculate, variable.vectormath)</li>
+ *     <li>조건이 상수인 controlflow.ifcondition 을 선택된 블록 하나만 가진 조건 블록으로 치환 (조건 평가 제거)</li>
+ *     <li>빈 Then/Else 블록, 다른 브랜치가 있는 parallel 의 빈 브랜치, 한 번도 돌지 않는 리터럴 범위의 controlflow.forloop 제거</li>
+ *     <li>스크립트 어디에서도 읽히지 않는 변수에 대한 순수 쓰기 액션 제거</li>
+ * </ul>
+ * 프레임 엔진에서는 블록 프레임의 push/pop 마다 틱이 하나씩 걸리므로, 단순화는 실행 타이밍을 바꾸지 않도록
+ * 프레임을 push 하지 않는 액션만 제거하고 블록은 펼치지 않습니다. 상수 조건의 블록과 브랜치가 하나뿐인 parallel 도
+ * 프레임으로 남습니다.
+ * 원본 YAML 맵은 수정하지 않고 새 목록을 반환합니다. 해석할 수 없거나 잘못된 형식의 액션은
+ * 컴파일러/액션이 기존대로 보고하도록 그대로 둡니다.
+ * <p>
+ * 변수 읽기 분석은 보수적입니다: 스크립트의 모든 문자열 값에 나타나는 식별자 토큰을 "읽힘" 으로 간주하므로
+ * 변수 이름이 어딘가에 적혀 있기만 해도 쓰기는 제거되지 않습니다.
+ */
+public class ScriptOptimizer {
+
+    private static final String IF = "controlflow.ifcondition";
+    private static final String FOR_LOOP = "controlflow.forloop";
+    private static final String PARALLEL = "controlflow.parallel";
+    private static final String CALCULATE = "variable.calculate";
+    private static final String VECTOR_MATH = "variable.vectormath";
+    private static final String SET_CONSTANT = "variable.setconstant";
+    private static final String SET_VARIABLE = "setvariable";
+
+    // 결과를 변수에 쓰는 것 외에 부작용이 없는 액션 -> 쓰기 대상 변수 키
+    private static final Map<String, String> PURE_WRITES = Map.of(
+            CALCULATE, "variable",
+            VECTOR_MATH, "variable",
+            SET_CONSTANT, "variable",
+            SET_VARIABLE, "name",
+            "variable.getlocation", "variable",
+            "variable.getdirection", "variable",
+            "variable.getoffsetlocation", "variable");
+
+    private static final Set<String> BLOCK_KEYS = Set.of("Then", "Else", "Do");
+    private static final String BRANCHES = "Branches";
+
+    // 읽기 토큰: 점 포함 식별자 (수식/셀렉터), 단어 단위 토큰 ({var:x} 등)
+    private static final Pattern DOTTED_IDENTIFIER = Pattern.compile("[A-Za-z_][\\w.]*");
+    private static final Pattern WORD = Pattern.compile("\\w+");
+
+    // 죽은 쓰기 제거는 제거할 때마다 다른 쓰기가 죽을 수 있으므로 반복 (상한)
+    private static final int MAX_DEAD_WRITE_PASSES = 8;
+
+    private final Logger logger;
+    private final String pluginPrefix = "[SkillScript Optimizer] ";
+
+    public ScriptOptimizer(Logger logger) {
+        this.logger = (logger != null) ? logger : Logger.getLogger(ScriptOptimizer.class.getName());
+    }
+
+    /**
+     * 스크립트의 모든 트리거(액션 맵 목록)를 단순화하여 scriptData 의 값을 교체합니다.
+     * 트리거가 아닌 값(다른 타입의 최상위 키)은 건드리지 않습니다.
+     * @return 수행한 단순화 내역
+     */
+    @SuppressWarnings("unchecked")
+    public OptimizationReport optimize(String scriptName, Map<String, Object> scriptData) {
+        OptimizationReport report = new OptimizationReport(scriptName);
+        Map<String, List<Map<String, Object>>> triggers = new LinkedHashMap<>();
+        Map<String, Integer> sizesBefore = new LinkedHashMap<>();
+
+        for (Map.Entry<String, Object> entry : scriptData.entrySet()) {
+            Object value = entry.getValue();
+            if (!isActionList(value) || ((List<?>) value).isEmpty()) {
+                continue;
+            }
+            List<Map<String, Object>> actions = (List<Map<String, Object>>) value;
+            sizesBefore.put(entry.getKey(), countActions(actions));
+            triggers.put(entry.getKey(), simplifyBlock(actions, entry.getKey(), report));
+        }
+
+        for (int pass = 0; pass < MAX_DEAD_WRITE_PASSES; pass++) {
+            Set<String> reads = new HashSet<>();
+            for (List<Map<String, Object>> actions : triggers.values()) {
+                collectReads(actions, reads);
+            }
+            boolean removed = false;
+            for (Map.Entry<String, List<Map<String, Object>>> trigger : triggers.entrySet()) {
+                List<Map<String, Object>> pruned = removeDeadWrites(trigger.getValue(), reads, trigger.getKey(), report);
+                if (pruned != trigger.getValue()) {
+                    // 쓰기가 빠져 비게 된 블록 정리
+                    trigger.setValue(simplifyBlock(pruned, trigger.getKey(), report));
+                    removed = true;
+                }
+            }
+            if (!removed) {
+                break;
+            }
+        }
+
+        for (Map.Entry<String, List<Map<String, Object>>> trigger : triggers.entrySet()) {
+            scriptData.put(trigger.getKey(), trigger.getValue());
+            report.recordTriggerSize(trigger.getKey(), sizesBefore.get(trigger.getKey()), countActions(trigger.getValue()));
+        }
+        if (report.getTotal() > 0) {
+            logger.fine(pluginPrefix + "Script '" + scriptName + "': " + report.summary());
+        }
+        return report;
+    }
+
+    // --- 블록 단순화 ---
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> simplifyBlock(List<Map<String, Object>> actions, String trigger, OptimizationReport report) {
+        List<Map<String, Object>> result = new ArrayList<>(actions.size());
+        for (Map<String, Object> actionMap : actions) {
+            if (actionMap.size() != 1) {
+                result.add(actionMap); // 컴파일러가 경고
+                continue;
+            }
+            Map.Entry<String, Object> actionEntry = actionMap.entrySet().iterator().next();
+            if (!(actionEntry.getValue() instanceof Map)) {
+                result.add(actionMap);
+                continue;
+            }
+            String actionName = String.valueOf(actionEntry.getKey()).toLowerCase();
+            Map<String, Object> params = new LinkedHashMap<>((Map<String, Object>) actionEntry.getValue());
+            simplifyNestedBlocks(params, trigger, report);
+
+            switch (actionName) {
+                case IF:
+                    simplifyIf(actionEntry.getKey(), params, result, trigger, report);
+                    break;
+                case FOR_LOOP:
+                    if (neverRuns(params)) {
+                        report.record(OptimizationReport.Kind.SKIPPED_LOOP, trigger, "removed loop over '" + params.get("variable")
+                                + "' from " + params.getOrDefault("from", 0) + " to " + params.get("to"));
+                    } else {
+                        result.add(single(actionEntry.getKey(), params));
+                    }
+                    break;
+                case PARALLEL:
+                    simplifyParallel(actionEntry.getKey(), params, result, trigger, report);
+                    break;
+                case CALCULATE:
+                    foldCalculate(params, trigger, report);
+                    result.add(single(actionEntry.getKey(), params));
+                    break;
+                case VECTOR_MATH:
+                    result.add(foldVectorMath(actionEntry.getKey(), params, trigger, report));
+                    break;
+                default:
+                    result.add(single(actionEntry.getKey(), params));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void simplifyNestedBlocks(Map<String, Object> params, String trigger, OptimizationReport report) {
+        for (Map.Entry<String, Object> entry : params.entrySet()) {
+            Object value = entry.getValue();
+            if (BLOCK_KEYS.contains(entry.getKey()) && isActionList(value)) {
+                entry.setValue(simplifyBlock((List<Map<String, Object>>) value, trigger, report));
+            } else if (BRANCHES.equals(entry.getKey()) && value instanceof List) {
+                List<Object> branches = new ArrayList<>();
+                for (Object branch : (List<?>) value) {
+                    branches.add(isActionList(branch) ? simplifyBlock((List<Map<String, Object>>) branch, trigger, report) : branch);
+                }
+                entry.setValue(branches);
+            }
+        }
+    }
+
+    private void simplifyIf(String key, Map<String, Object> params, List<Map<String, Object>> result, String trigger, OptimizationReport report) {
+        Object condition = params.get("condition");
+        Boolean constant = constantCondition(condition);
+        if (constant != null) {
+            Object chosen = params.get(constant ? "Then" : "Else");
+            report.record(OptimizationReport.Kind.CONSTANT_BRANCH, trigger, "condition '" + condition + "' is always " + constant);
+            if (isActionList(chosen) && !((List<?>) chosen).isEmpty()) {
+                // 블록을 펼치면 프레임 push/pop 틱이 사라지므로 같은 조건 블록으로 남김
+                Map<String, Object> blockParams = new LinkedHashMap<>();
+                blockParams.put("condition", true);
+                blockParams.put("Then", chosen);
+                result.add(single(key, blockParams));
+            }
+            return;
+        }
+        for (String blockKey : new String[] {"Then", "Else"}) {
+            Object block = params.get(blockKey);
+            if (block instanceof List && ((List<?>) block).isEmpty()) {
+                params.remove(blockKey);
+                report.record(OptimizationReport.Kind.EMPTY_BLOCK, trigger, "dropped empty " + blockKey + " of condition '" + condition + "'");
+            }
+        }
+        if (!params.containsKey("Then") && !params.containsKey("Else") && isWellFormed(condition)) {
+            // 조건 수식은 부작용이 없으므로 실행할 블록이 없으면 액션 전체가 무의미
+            report.record(OptimizationReport.Kind.EMPTY_BLOCK, trigger, "removed condition '" + condition + "' with no blocks");
+            return;
+        }
+        result.add(single(key, params));
+    }
+
+    private void simplifyParallel(String key, Map<String, Object> params, List<Map<String, Object>> result, String trigger, OptimizationReport report) {
+        Object branchesObject = params.get(BRANCHES);
+        if (!(branchesObject instanceof List) || ((List<?>) branchesObject).isEmpty()) {
+            result.add(single(key, params)); // 액션이 오류를 보고
+            return;
+        }
+        List<Object> branches = new ArrayList<>();
+        for (Object branch : (List<?>) branchesObject) {
+            if (!(branch instanceof List && ((List<?>) branch).isEmpty())) {
+                branches.add(branch);
+            }
+        }
+        // 빈 브랜치만 있어도 프레임 push/pop 틱이 걸리므로, 다른 브랜치가 남을 때만 빈 브랜치를 제거
+        // (브랜치가 하나만 남아도 브랜치 딜레이/틱 타이밍이 순차 블록과 다르므로 펼치지 않음)
+        int dropped = ((List<?>) branchesObject).size() - branches.size();
+        if (!branches.isEmpty() && dropped > 0) {
+            report.record(OptimizationReport.Kind.EMPTY_BLOCK, trigger, "dropped " + dropped + " empty parallel branch(es)");
+            params.put(BRANCHES, branches);
+        }
+        result.add(single(key, params));
+    }
+
+    private boolean neverRuns(Map<String, Object> params) {
+        if (params.containsKey("over") || params.get("variable") == null || !params.containsKey("to")) {
+            return false; // 리스트 루프 또는 오류 경로 (액션이 보고)
+        }
+        double from = params.containsKey("from") ? literalNumber(params.get("from")) : 0.0;
+        double to = literalNumber(params.get("to"));
+        double step = params.containsKey("step") ? literalNumber(params.get("step")) : 1.0;
+        if (Double.isNaN(from) || Double.isNaN(to) || Double.isNaN(step) || step == 0.0) {
+            return false;
+        }
+        return step > 0 ? from > to : from < to;
+    }
+
+    private void foldCalculate(Map<String, Object> params, String trigger, OptimizationReport report) {
+        Object expression = params.get("expression");
+        if (!(expression instanceof String)) {
+            return;
+        }
+        double value = literalNumber(expression);
+        if (Double.isNaN(value)) {
+            return;
+        }
+        params.put("expression", value);
+        report.record(OptimizationReport.Kind.FOLDED_EXPRESSION, trigger, "'" + expression + "' -> " + value);
+    }
+
+    private Map<String, Object> foldVectorMath(String key, Map<String, Object> params, String trigger, OptimizationReport report) {
+        Object variable = params.get("variable");
+        Vector vector1 = literalVector(params.get("vector1"));
+        Object operationObject = params.get("operation");
+        if (!(variable instanceof String) || ((String) variable).isBlank() || vector1 == null || !(operationObject instanceof String)) {
+            return single(key, params);
+        }
+        String operation = ((String) operationObject).toUpperCase();
+        Vector folded = null;
+        switch (operation) {
+            case "MULTIPLY_SCALAR":
+            case "SCALE": {
+                double scalar = literalNumber(params.get("operand"));
+                if (!Double.isNaN(scalar)) folded = vector1.multiply(scalar);
+                break;
+            }
+            case "ADD":
+            case "SUBTRACT": {
+                Vector operand = literalVector(params.get("operand"));
+                if (operand != null) folded = operation.equals("ADD") ? vector1.add(operand) : vector1.subtract(operand);
+                break;
+            }
+            case "NORMALIZE":
+                // 길이 0 벡터는 액션과 같이 0 벡터
+                folded = vector1.lengthSquared() == 0.0 ? new Vector(0, 0, 0) : vector1.normalize();
+                break;
+            default:
+                break; // 지원하지 않는 연산은 액션이 보고
+        }
+        if (folded == null) {
+            return single(key, params);
+        }
+        report.record(OptimizationReport.Kind.FOLDED_VECTOR_MATH, trigger, operation + " on '" + variable + "' -> " + folded);
+        Map<String, Object> constantParams = new LinkedHashMap<>();
+        constantParams.put("variable", variable);
+        constantParams.put("value", folded);
+        return single(SET_CONSTANT, constantParams);
+    }
+
+    // --- 죽은 쓰기 제거 ---
+
+    @SuppressWarnings("unchecked")
+    private void collectReads(List<Map<String, Object>> actions, Set<String> reads) {
+        for (Map<String, Object> actionMap : actions) {
+            for (Map.Entry<String, Object> actionEntry : actionMap.entrySet()) {
+                if (!(actionEntry.getValue() instanceof Map)) {
+                    collectTokens(actionEntry.getValue(), reads);
+                    continue;
+                }
+                String writeKey = PURE_WRITES.get(String.valueOf(actionEntry.getKey()).toLowerCase());
+                for (Map.Entry<String, Object> param : ((Map<String, Object>) actionEntry.getValue()).entrySet()) {
+                    if (!param.getKey().equals(writeKey)) {
+                        collectTokens(param.getValue(), reads);
+                    }
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collectTokens(Object value, Set<String> reads) {
+        if (value instanceof String) {
+            String text = (String) value;
+            reads.add(text.trim().toLowerCase());
+            Matcher identifier = DOTTED_IDENTIFIER.matcher(text);
+            while (identifier.find()) {
+                reads.add(identifier.group().toLowerCase());
+            }
+            Matcher word = WORD.matcher(text);
+            while (word.find()) {
+                reads.add(word.group().toLowerCase());
+            }
+        } else if (isActionList(value) && !((List<?>) value).isEmpty()) {
+            collectReads((List<Map<String, Object>>) value, reads);
+        } else if (value instanceof Iterable) {
+            for (Object element : (Iterable<?>) value) {
+                collectTokens(element, reads);
+            }
+        } else if (value instanceof Map) {
+            for (Object element : ((Map<?, ?>) value).values()) {
+                collectTokens(element, reads);
+            }
+        }
+    }
+
+    /** @return 제거한 쓰기가 있으면 새 목록, 없으면 같은 인스턴스 */
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> removeDeadWrites(List<Map<String, Object>> actions, Set<String> reads, String trigger, OptimizationReport report) {
+        List<Map<String, Object>> result = new ArrayList<>(actions.size());
+        boolean changed = false;
+        for (Map<String, Object> actionMap : actions) {
+            if (actionMap.size() != 1 || !(actionMap.values().iterator().next() instanceof Map)) {
+                result.add(actionMap);
+                continue;
+            }
+            Map.Entry<String, Object> actionEntry = actionMap.entrySet().iterator().next();
+            Map<String, Object> params = (Map<String, Object>) actionEntry.getValue();
+            String writeKey = PURE_WRITES.get(String.valueOf(actionEntry.getKey()).toLowerCase());
+            if (writeKey != null) {
+                Object target = params.get(writeKey);
+                if (target instanceof String && !((String) target).isBlank() && !reads.contains(((String) target).trim().toLowerCase())) {
+                    report.record(OptimizationReport.Kind.DEAD_WRITE, trigger, actionEntry.getKey() + " writes '" + target + "' which is never read");
+                    changed = true;
+                    continue;
+                }
+                result.add(actionMap);
+                continue;
+            }
+            // 중첩 블록 안의 쓰기
+            Map<String, Object> newParams = null;
+            for (Map.Entry<String, Object> param : params.entrySet()) {
+                Object value = param.getValue();
+                Object replaced = value;
+                if (BLOCK_KEYS.contains(param.getKey()) && isActionList(value)) {
+                    replaced = removeDeadWrites((List<Map<String, Object>>) value, reads, trigger, report);
+                } else if (BRANCHES.equals(param.getKey()) && value instanceof List) {
+                    List<Object> branches = new ArrayList<>();
+                    boolean branchChanged = false;
+                    for (Object branch : (List<?>) value) {
+                        Object newBranch = isActionList(branch) ? removeDeadWrites((List<Map<String, Object>>) branch, reads, trigger, report) : branch;
+                        branchChanged |= newBranch != branch;
+                        branches.add(newBranch);
+                    }
+                    if (branchChanged) replaced = branches;
+                }
+                if (replaced != value) {
+                    if (newParams == null) newParams = new LinkedHashMap<>(params);
+                    newParams.put(param.getKey(), replaced);
+                }
+            }
+            if (newParams != null) {
+                result.add(single(actionEntry.getKey(), newParams));
+                changed = true;
+            } else {
+                result.add(actionMap);
+            }
+        }
+        return changed ? result : actions;
+    }
+
+    // --- 리터럴 판별 ---
+
+    /** @return 리터럴 숫자 또는 식별자 없는 결정적 수식의 값, 상수가 아니면 NaN */
+    private static double literalNumber(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (!(value instanceof String) || ((String) value).isBlank()) {
+            return Double.NaN;
+        }
+        String text = ((String) value).trim();
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            // 수식일 수 있음
+        }
+        CachedExpression expression = ExpressionCache.shared().get(text);
+        if (!expression.isValid() || !expression.isConstant()) {
+            return Double.NaN; // 식별자가 있거나 mXparser 함수(난수 등)를 쓰는 수식은 매 실행마다 계산
+        }
+        return expression.evaluate(null, Double.NaN); // 슬롯이 없으므로 컨텍스트 불필요
+    }
+
+    /** @return 조건이 로드 시점에 확정되면 그 값, 아니면 null */
+    private static Boolean constantCondition(Object condition) {
+        if (condition instanceof Boolean) {
+            return (Boolean) condition;
+        }
+        if (condition instanceof String) {
+            String text = ((String) condition).trim();
+            if ("true".equalsIgnoreCase(text)) return Boolean.TRUE;
+            if ("false".equalsIgnoreCase(text)) return Boolean.FALSE;
+        }
+        double value = literalNumber(condition);
+        return Double.isNaN(value) ? null : value != 0.0;
+    }
+
+    /** 조건 값이 바인딩 가능한 형태인지 (구문 오류가 있는 스크립트는 제거하지 않고 로드 시 실패하도록 둠) */
+    private static boolean isWellFormed(Object condition) {
+        if (condition instanceof Boolean || condition instanceof Number) {
+            return true;
+        }
+        return condition instanceof String && !((String) condition).isBlank()
+                && ExpressionCache.shared().get(((String) condition).trim()).isValid();
+    }
+
+    private static Vector literalVector(Object value) {
+        Object x, y, z;
+        if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            x = map.containsKey("x") ? map.get("x") : 0;
+            y = map.containsKey("y") ? map.get("y") : 0;
+            z = map.containsKey("z") ? map.get("z") : 0;
+        } else if (value instanceof List && ((List<?>) value).size() == 3) {
+            List<?> list = (List<?>) value;
+            x = list.get(0);
+            y = list.get(1);
+            z = list.get(2);
+        } else {
+            return null;
+        }
+        double vx = literalNumber(x), vy = literalNumber(y), vz = literalNumber(z);
+        if (Double.isNaN(vx) || Double.isNaN(vy) || Double.isNaN(vz)) {
+            return null;
+        }
+        return new Vector(vx, vy, vz);
+    }
+
+    // --- 유틸 ---
+
+    private static Map<String, Object> single(String actionName, Map<String, Object> params) {
+        Map<String, Object> actionMap = new LinkedHashMap<>();
+        actionMap.put(actionName, params);
+        return actionMap;
+    }
+
+    private static boolean isActionList(Object value) {
+        if (!(value instanceof List)) {
+            return false;
+        }
+        for (Object element : (List<?>) value) {
+            if (!(element instanceof Map)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return 중첩 블록을 포함한 액션 수 */
+    @SuppressWarnings("unchecked")
+    static int countActions(List<?> actions) {
+        int count = 0;
+        for (Object element : actions) {
+            count++;
+            if (!(element instanceof Map)) continue;
+            for (Object params : ((Map<?, ?>) element).values()) {
+                if (!(params instanceof Map)) continue;
+                for (Map.Entry<String, Object> param : ((Map<String, Object>) params).entrySet()) {
+                    Object value = param.getValue();
+                    if (BLOCK_KEYS.contains(param.getKey()) && value instanceof List) {
+                        count += countActions((List<?>) value);
+                    } else if (BRANCHES.equals(param.getKey()) && value instanceof List) {
+                        for (Object branch : (List<?>) value) {
+                            if (branch instanceof List) count += countActions((List<?>) branch);
+                        }
+                    }
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -2,17 +2,21 @@ package com.bformat.skillscript.script;
 
 import com.bformat.skillscript.SkillScript;
 import com.bformat.skillscript.actions.ActionRegistry;
+import com.bformat.skillscript.execution.EffectSink;
 import com.bformat.skillscript.execution.ExecutionContext;
 import com.bformat.skillscript.execution.ScriptTask;
+import com.bformat.skillscript.lang.param.ParameterBindingException;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
-import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,52 +27,306 @@ public class ScriptRunner {
     private final Logger logger;
     private final String pluginPrefix = "[SkillScript Runner] ";
 
+    // 틱당 스크립트 실행 CPU 예산 기본값 (5ms, 50ms 틱의 10%)
+    public static final long DEFAULT_TICK_BUDGET_NANOS = 5_000_000L;
+
     private final Map<UUID, ScriptTask> runningTasks = new ConcurrentHashMap<>();
-    private BukkitTask centralTask = null;
+    // 다른 스레드에서 요청되어 시전자 스레드의 다음 틱 시작을 기다리는 시전 (taskId -> 요청)
+    private final Map<UUID, PendingCast> pendingCasts = new ConcurrentHashMap<>();
+    // 시전자 -> 실행 중이거나 시작 대기 중인 태스크 ID (stopPlayerScripts, 로그아웃/사망 처리용)
+    private final Map<UUID, Set<UUID>> tasksByCaster = new ConcurrentHashMap<>();
+    // 태스크를 tick 할 스레드/순서를 결정 (runner.scheduler: auto | global | region)
+    private final SchedulerBackend backend;
+
+    // 순수 액션 오프로드용 워커 풀 (runner.offload-pure-actions.enabled 일 때만 생성)
+    private final ExecutorService offloadExecutor;
+    private final int offloadMinRun;
+
+    // runner.engine: continuations 이면 태스크를 가상 스레드 파이버로 실행
+    private final boolean useContinuations;
+    private final int maxActionsPerTick;
+
+    // runner.immediate-first-slice: 서버 스레드에서 호출된 runScript 가 첫 슬라이스를 바로 실행 (다음 틱까지의 지연 제거)
+    private volatile boolean immediateFirstSlice;
+
+    // runner.admission: 시전자별/스크립트별/전체 동시 태스크 한도
+    private volatile AdmissionController admission;
 
     public ScriptRunner(SkillScript plugin, ActionRegistry actionRegistry) {
         this.plugin = plugin;
         this.actionRegistry = actionRegistry;
         this.logger = plugin.getLogger(); // Use plugin's logger
+        long budgetNanos = plugin.getConfig().getLong("runner.tick-budget-nanos", DEFAULT_TICK_BUDGET_NANOS);
+        this.backend = createBackend(budgetNanos);
+        logger.info(pluginPrefix + "Using scheduler backend: " + backend.getName());
+
+        if (plugin.getConfig().getBoolean("runner.offload-pure-actions.enabled", false)) {
+            int threads = Math.max(1, plugin.getConfig().getInt("runner.offload-pure-actions.threads", 2));
+            AtomicInteger threadIndex = new AtomicInteger();
+            this.offloadExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "SkillScript-Worker-" + threadIndex.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.offloadMinRun = plugin.getConfig().getInt("runner.offload-pure-actions.min-run", 16);
+            logger.info(pluginPrefix + "Pure action offloading enabled (" + threads + " worker threads, min run " + offloadMinRun + ").");
+        } else {
+            this.offloadExecutor = null;
+            this.offloadMinRun = Integer.MAX_VALUE;
+        }
+
+        this.maxActionsPerTick = Math.max(1, plugin.getConfig().getInt("runner.max-actions-per-tick", ScriptTask.DEFAULT_MAX_ACTIONS_PER_TICK));
+        this.immediateFirstSlice = plugin.getConfig().getBoolean("runner.immediate-first-slice", false);
+        if (plugin.getConfig().getBoolean("runner.batch-effects", false) && setBatchEffects(true)) {
+            logger.info(pluginPrefix + "Batching particle and sound effects per runner tick.");
+        }
+        this.admission = createAdmissionController();
+
+        String engine = plugin.getConfig().getString("runner.engine", "frames");
+        this.useContinuations = "continuations".equalsIgnoreCase(engine);
+        if (useContinuations) {
+            logger.info(pluginPrefix + "Using continuation engine (scripts run on virtual threads, world actions on the server thread).");
+        } else if (!"frames".equalsIgnoreCase(engine)) {
+            logger.warning(pluginPrefix + "Unknown runner.engine '" + engine + "'. Using 'frames'.");
+        }
+    }
+
+    private SchedulerBackend createBackend(long budgetNanos) {
+        String mode = plugin.getConfig().getString("runner.scheduler", "auto");
+        boolean region;
+        if ("region".equalsIgnoreCase(mode)) {
+            region = true;
+            if (!FoliaRegionSchedulerBackend.isSupported()) {
+                logger.warning(pluginPrefix + "runner.scheduler is 'region' but this server has no region threads. Falling back to 'global'.");
+                region = false;
+            }
+        } else if ("global".equalsIgnoreCase(mode)) {
+            region = false;
+        } else {
+            if (!"auto".equalsIgnoreCase(mode)) {
+                logger.warning(pluginPrefix + "Unknown runner.scheduler '" + mode + "'. Using 'auto'.");
+            }
+            region = FoliaRegionSchedulerBackend.isSupported();
+        }
+        if (region) {
+            int regionShift = Math.max(0, Math.min(8, plugin.getConfig().getInt("runner.region-shift", 4)));
+            return new FoliaRegionSchedulerBackend(plugin, regionShift, budgetNanos, this::onTaskRemoved, logger);
+        }
+        return new GlobalSchedulerBackend(plugin, budgetNanos, this::onTaskRemoved, logger);
+    }
+
+    private AdmissionController createAdmissionController() {
+        String policyName = plugin.getConfig().getString("runner.admission.overflow", "reject");
+        AdmissionController.OverflowPolicy policy;
+        try {
+            policy = AdmissionController.OverflowPolicy.valueOf(policyName.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            logger.warning(pluginPrefix + "Unknown runner.admission.overflow '" + policyName + "'. Using 'reject'.");
+            policy = AdmissionController.OverflowPolicy.REJECT;
+        }
+        AdmissionController controller = new AdmissionController(
+                plugin.getConfig().getInt("runner.admission.max-tasks-per-caster", 0),
+                plugin.getConfig().getInt("runner.admission.max-tasks-per-script", 0),
+                plugin.getConfig().getInt("runner.admission.max-tasks-global", 0),
+                policy,
+                plugin.getConfig().getInt("runner.admission.queue-size", 32));
+        if (!controller.isUnlimited()) {
+            logger.info(pluginPrefix + "Admission control enabled (overflow: " + policy + ").");
+        }
+        return controller;
     }
 
     public void startRunner() {
-        if (centralTask != null && !centralTask.isCancelled()) {
+        if (backend.isRunning()) {
             logger.warning(pluginPrefix + "Runner is already running.");
             return;
         }
         logger.info(pluginPrefix + "Starting central task runner...");
-        centralTask = new ScriptProcessorTask().runTaskTimer(plugin, 0L, 1L);
+        backend.start();
     }
 
     public void stopRunner() {
-        if (centralTask != null && !centralTask.isCancelled()) {
+        if (backend.isRunning()) {
             logger.info(pluginPrefix + "Stopping central task runner...");
-            centralTask.cancel();
-            centralTask = null;
+            backend.stop();
         } else {
             logger.info(pluginPrefix + "Runner not running or already stopped."); // Changed from warning
         }
     }
 
+    /**
+     * 이름 없는 스크립트를 시전합니다 (스크립트별 한도는 적용되지 않음).
+     * @return 태스크 ID, 시작되지 못했으면 null (거부 이유는 {@link #cast} 로 확인)
+     */
     public UUID runScript(Player caster, List<Map<String, Object>> actions) {
+        return cast(caster, null, actions).taskId();
+    }
+
+    /**
+     * 스크립트를 시전합니다. 동시 태스크 한도(runner.admission)를 넘으면 overflow 정책에 따라
+     * 거부하거나, 대기열에 넣거나, 가장 오래된 태스크를 중지하고 시작합니다.
+     * @param scriptName 스크립트별 한도에 쓰는 이름 (null 이면 스크립트별 한도 없음)
+     */
+    public CastResult cast(Player caster, String scriptName, List<Map<String, Object>> actions) {
         if (caster == null) {
             logger.severe(pluginPrefix + "Attempted to run script with a null caster!");
-            return null;
+            return CastResult.rejected("no caster");
         }
         if (actions == null || actions.isEmpty()) {
             logger.warning(pluginPrefix + "Attempted to run an empty or null script action list for player: " + caster.getName());
-            return null;
+            return CastResult.rejected("script has no actions");
+        }
+        if (!caster.isOnline()) {
+            // 로그아웃 후의 시전은 종료 리스너가 다시 정리하지 않으므로 시작하지 않음
+            logger.warning(pluginPrefix + "Attempted to run a script for offline player: " + caster.getName());
+            return CastResult.rejected("caster is offline");
+        }
+
+        UUID taskId = UUID.randomUUID();
+        AdmissionController controller = admission;
+        CastResult.Status status = CastResult.Status.STARTED;
+        if (!controller.isUnlimited()) {
+            AdmissionController.Decision decision = controller.tryAdmit(taskId, caster, scriptName, actions);
+            switch (decision.kind()) {
+                case REJECT -> {
+                    logger.warning(pluginPrefix + "Cast rejected for player " + caster.getName()
+                            + (scriptName != null ? " (script '" + scriptName + "')" : "") + ": " + decision.reason());
+                    return CastResult.rejected(decision.reason());
+                }
+                case QUEUE -> {
+                    PendingCast pending = new PendingCast(caster.getUniqueId());
+                    pending.queued = true;
+                    pendingCasts.put(taskId, pending);
+                    indexTask(pending.casterUUID, taskId);
+                    logger.info(pluginPrefix + "Cast " + taskId + " for player " + caster.getName() + " queued until a task slot is free.");
+                    return new CastResult(CastResult.Status.QUEUED, taskId, null);
+                }
+                case REPLACE -> {
+                    logger.info(pluginPrefix + "Task limit reached. Replacing oldest task " + decision.victimTaskId() + " with " + taskId);
+                    stopScript(decision.victimTaskId());
+                    status = CastResult.Status.REPLACED;
+                }
+                default -> { }
+            }
         }
 
+        indexTask(caster.getUniqueId(), taskId);
+        if (!backend.isOwnedByCurrentThread(caster)) {
+            submitCast(caster, actions, taskId);
+            return new CastResult(status, taskId, null);
+        }
         logger.info(pluginPrefix + "runScript called for player " + caster.getName());
+        if (startCast(caster, actions, taskId) == null) {
+            unindexTask(caster.getUniqueId(), taskId);
+            releaseAdmission(taskId);
+            return CastResult.rejected("script has invalid action parameters");
+        }
+        return new CastResult(status, taskId, null);
+    }
+
+    /**
+     * 다른 스레드(비동기 이벤트, 패킷 리스너 등)에서 요청된 시전: 시전자 상태를 읽지 않고 큐에 넣은 뒤 바로 ID 를 반환합니다.
+     * 시전자 스레드의 다음 틱 시작 시 큐에서 꺼내 시작하며, 그 전까지도 isTaskRunning/stopScript 로 다룰 수 있습니다.
+     */
+    private void submitCast(Player caster, List<Map<String, Object>> actions, UUID taskId) {
+        PendingCast pending = new PendingCast(caster.getUniqueId());
+        pendingCasts.put(taskId, pending);
+        dispatchCast(caster, actions, taskId, pending);
+    }
+
+    // 시전자 스레드에서 시작. 시작되지 못하면 한도 자리를 돌려줌
+    private void dispatchCast(Player caster, List<Map<String, Object>> actions, UUID taskId, PendingCast pending) {
+        backend.execute(caster, () -> {
+            if (pending.cancelled) {
+                pendingCasts.remove(taskId);
+                unindexTask(pending.casterUUID, taskId);
+                releaseAdmission(taskId);
+                return;
+            }
+            if (!caster.isOnline()) {
+                pendingCasts.remove(taskId);
+                unindexTask(pending.casterUUID, taskId);
+                releaseAdmission(taskId);
+                logger.warning(pluginPrefix + "Queued cast " + taskId + " dropped. Caster " + caster.getName() + " is no longer online.");
+                return;
+            }
+            UUID started = startCast(caster, actions, taskId);
+            pendingCasts.remove(taskId);
+            if (started == null) {
+                unindexTask(pending.casterUUID, taskId);
+                releaseAdmission(taskId);
+            } else if (pending.cancelled) {
+                stopScript(taskId); // 시작 직전에 취소 요청됨
+            }
+        });
+    }
+
+    // 태스크가 끝났거나 시작되지 못함: 한도 자리를 반납하고 자리가 난 대기 시전을 시작
+    private void releaseAdmission(UUID taskId) {
+        for (AdmissionController.QueuedCast queued : admission.release(taskId)) {
+            PendingCast pending = pendingCasts.get(queued.taskId());
+            if (pending == null) {
+                admission.release(queued.taskId()); // 이미 정리된 요청 (shutdown 등)
+                continue;
+            }
+            pending.queued = false;
+            logger.info(pluginPrefix + "Task slot freed. Starting queued cast " + queued.taskId());
+            dispatchCast(queued.caster(), queued.actions(), queued.taskId(), pending);
+        }
+    }
+
+    // 시작 전인 시전 취소. 대기열에 있던 시전은 바로 대기열에서 빠짐
+    private void cancelPending(UUID taskId, PendingCast pending) {
+        pending.cancelled = true;
+        if (pending.queued && pendingCasts.remove(taskId, pending)) {
+            unindexTask(pending.casterUUID, taskId);
+            admission.release(taskId);
+        }
+    }
+
+    private void indexTask(UUID casterUUID, UUID taskId) {
+        tasksByCaster.compute(casterUUID, (key, ids) -> {
+            Set<UUID> set = (ids != null) ? ids : ConcurrentHashMap.newKeySet();
+            set.add(taskId);
+            return set;
+        });
+    }
+
+    private void unindexTask(UUID casterUUID, UUID taskId) {
+        tasksByCaster.computeIfPresent(casterUUID, (key, ids) -> {
+            ids.remove(taskId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    // 시전자 스레드: 컨텍스트를 만들고 태스크를 스케줄러에 추가
+    private UUID startCast(Player caster, List<Map<String, Object>> actions, UUID taskId) {
         ExecutionContext context = new ExecutionContext(caster);
-        UUID taskId = UUID.randomUUID();
         logger.info(pluginPrefix + "Creating ScriptTask with ID: " + taskId);
         // ScriptTask constructor now logs internally
-        ScriptTask task = new ScriptTask(plugin, actionRegistry, context, actions, taskId);
+        // ScriptManager 에서 로드된 트리거는 이미 컴파일되어 있으므로 compile() 은 그대로 반환함
+        ScriptCompiler compiler = plugin.getScriptCompiler();
+        CompiledBlock compiled;
+        try {
+            compiled = compiler.compile(actions);
+        } catch (ParameterBindingException e) {
+            logger.warning(pluginPrefix + "Script for player " + caster.getName() + " has invalid action parameters: " + e.getMessage());
+            return null;
+        }
+        ScriptTask task = new ScriptTask(plugin, compiler, context, compiled, taskId);
+        task.setMaxActionsPerTick(maxActionsPerTick);
+        if (useContinuations) {
+            task.useContinuations();
+        } else if (offloadExecutor != null) {
+            task.setOffloadExecutor(offloadExecutor, offloadMinRun);
+        }
 
         runningTasks.put(taskId, task);
+        if (immediateFirstSlice) {
+            backend.submitNow(task); // 예산이 남아 있으면 첫 슬라이스를 지금 실행
+        } else {
+            backend.submit(task);
+        }
         logger.info(pluginPrefix + "Added script task " + taskId + " for player " + caster.getName() + " to runner. Current task count: " + runningTasks.size());
         return taskId;
     }
@@ -80,10 +338,20 @@ public class ScriptRunner {
         }
         logger.info(pluginPrefix + "stopScript called for task ID: " + taskId);
         ScriptTask task = runningTasks.get(taskId);
+        PendingCast pending = (task == null) ? pendingCasts.get(taskId) : null;
+        if (pending != null) {
+            if (pending.cancelled) {
+                return false;
+            }
+            logger.info(pluginPrefix + "Task " + taskId + " is queued. Cancelling before start.");
+            cancelPending(taskId, pending);
+            return true;
+        }
         if (task != null) {
             if (!task.isCancelled()) {
                 logger.info(pluginPrefix + "Task " + taskId + " found. Requesting cancellation.");
                 task.cancel(); // cancel() logs internally
+                backend.wake(task); // 딜레이로 보관 중이면 다음 틱에 바로 정리되도록
                 return true;
             } else {
                 logger.info(pluginPrefix + "Task " + taskId + " was already cancelled.");
@@ -104,18 +372,25 @@ public class ScriptRunner {
         logger.info(pluginPrefix + "stopPlayerScripts called for player: " + player.getName() + " (UUID: " + playerUUID + ")");
         int stoppedCount = 0;
 
-        // Iterate safely
-        for (Map.Entry<UUID, ScriptTask> entry : runningTasks.entrySet()) {
-            UUID taskId = entry.getKey();
-            ScriptTask task = entry.getValue();
-            if (task.getCasterUUID().equals(playerUUID)) {
-                logger.info(pluginPrefix + "Found task " + taskId + " for player " + player.getName() + ". Checking cancellation status.");
-                if (!task.isCancelled()) {
-                    logger.info(pluginPrefix + "Requesting cancellation for task " + taskId);
-                    task.cancel(); // cancel() logs internally
+        Set<UUID> taskIds = tasksByCaster.get(playerUUID);
+        if (taskIds != null) {
+            for (UUID taskId : taskIds) { // 동시 수정 허용 (ConcurrentHashMap key set)
+                ScriptTask task = runningTasks.get(taskId);
+                if (task != null) {
+                    if (!task.isCancelled()) {
+                        logger.info(pluginPrefix + "Requesting cancellation for task " + taskId);
+                        task.cancel(); // cancel() logs internally
+                        backend.wake(task);
+                        stoppedCount++;
+                    } else {
+                        logger.info(pluginPrefix + "Task " + taskId + " for player " + player.getName() + " was already cancelled.");
+                    }
+                    continue;
+                }
+                PendingCast pending = pendingCasts.get(taskId);
+                if (pending != null && !pending.cancelled) {
+                    cancelPending(taskId, pending);
                     stoppedCount++;
-                } else {
-                    logger.info(pluginPrefix + "Task " + taskId + " for player " + player.getName() + " was already cancelled.");
                 }
             }
         }
@@ -135,9 +410,41 @@ public class ScriptRunner {
         });
         int remaining = runningTasks.size();
         runningTasks.clear();
+        pendingCasts.values().forEach(pending -> pending.cancelled = true);
+        pendingCasts.clear();
+        tasksByCaster.clear();
+        admission.clear();
+        backend.clear();
+        if (offloadExecutor != null) {
+            offloadExecutor.shutdownNow(); // 실행 중인 워커는 취소된 태스크를 확인하고 멈춤
+        }
         logger.info(pluginPrefix + "Runner shutdown complete. Cleared " + remaining + " tasks from map.");
     }
 
+    /**
+     * 실행 중이거나 대기 중인 모든 태스크를 취소합니다 (스크립트 재로드 전).
+     * @return 취소를 요청한 태스크 수
+     */
+    public int stopAllScripts() {
+        int stoppedCount = 0;
+        for (ScriptTask task : runningTasks.values()) {
+            if (!task.isCancelled()) {
+                task.cancel();
+                backend.wake(task);
+                stoppedCount++;
+            }
+        }
+        for (Map.Entry<UUID, PendingCast> entry : pendingCasts.entrySet()) {
+            if (!entry.getValue().cancelled) {
+                cancelPending(entry.getKey(), entry.getValue());
+                stoppedCount++;
+            }
+        }
+        logger.info(pluginPrefix + "stopAllScripts: Requested cancellation for " + stoppedCount + " tasks.");
+        return stoppedCount;
+    }
+
+
     // This might not be needed if removal happens only in the runner task
     /*
     public void taskFinished(UUID taskId) {
@@ -156,70 +463,93 @@ public class ScriptRunner {
     */
 
     public boolean isTaskRunning(UUID taskId) {
-        boolean isRunning = taskId != null && runningTasks.containsKey(taskId);
+        boolean isRunning = taskId != null && (runningTasks.containsKey(taskId) || pendingCasts.containsKey(taskId));
         // logger.finest(pluginPrefix + "isTaskRunning check for " + taskId + ": " + isRunning); // Maybe too verbose
         return isRunning;
     }
 
 
-    // --- 중앙 태스크 실행 로직 ---
-    private class ScriptProcessorTask extends BukkitRunnable {
-        @Override
-        public void run() {
-            // logger.finest(pluginPrefix + "[Runner Tick] Processor task running..."); // Can be very spammy
-            if (runningTasks.isEmpty()) {
-                // logger.finest(pluginPrefix + "[Runner Tick] No tasks to process.");
-                return; // 실행할 태스크 없음
+    /** @return 스케줄러 백엔드 (전역 백엔드의 예산 조정, 통계 조회는 GlobalSchedulerBackend#getScheduler) */
+    public SchedulerBackend getBackend() {
+        return backend;
+    }
+
+    // 스케줄러에서 빠진 태스크 (완료, 취소, 오류). 리전 백엔드에서는 리전 스레드에서 호출됨
+    private void onTaskRemoved(ScriptTask task) {
+        runningTasks.remove(task.getScriptTaskId());
+        unindexTask(task.getCasterUUID(), task.getScriptTaskId());
+        logger.info(pluginPrefix + "[Runner Tick] Task " + task.getScriptTaskId() + " removed. Remaining: " + runningTasks.size());
+        releaseAdmission(task.getScriptTaskId());
+    }
+
+    public boolean isImmediateFirstSlice() {
+        return immediateFirstSlice;
+    }
+
+    public void setImmediateFirstSlice(boolean immediateFirstSlice) {
+        this.immediateFirstSlice = immediateFirstSlice;
+    }
+
+    /**
+     * 러너 틱 동안의 파티클/사운드를 모았다가 틱 끝에 합쳐서 보낼지 설정합니다 (runner.batch-effects).
+     * 메인 스레드가 모든 플레이어에게 보내야 하므로 전역 백엔드에서만 지원합니다.
+     * @return 설정이 적용되었으면 true
+     */
+    public boolean setBatchEffects(boolean enabled) {
+        if (!(backend instanceof GlobalSchedulerBackend global)) {
+            if (enabled) {
+                logger.warning(pluginPrefix + "runner.batch-effects is only supported by the 'global' scheduler. Effects are played immediately.");
             }
+            return false;
+        }
+        global.getScheduler().setEffectSink(enabled ? createEffectSink() : null);
+        return true;
+    }
+
+    // runner.effects: 거리별 파티클 밀도와 플레이어별 예산
+    private EffectSink createEffectSink() {
+        EffectSink sink = new EffectSink();
+        sink.setLodDistances(
+                plugin.getConfig().getDouble("runner.effects.full-detail-distance", 32.0),
+                plugin.getConfig().getDouble("runner.effects.max-distance", 32.0));
+        sink.setPlayerParticleBudget(plugin.getConfig().getInt("runner.effects.player-particle-budget", 0));
+        return sink;
+    }
 
-            // logger.info(pluginPrefix + "[Runner Tick] Processing " + runningTasks.size() + " tasks..."); // Log task count before processing
-            Iterator<Map.Entry<UUID, ScriptTask>> iterator = runningTasks.entrySet().iterator();
+    /** @return 이펙트 싱크 (배치가 꺼져 있거나 전역 백엔드가 아니면 null) */
+    public EffectSink getEffectSink() {
+        return (backend instanceof GlobalSchedulerBackend global) ? global.getScheduler().getEffectSink() : null;
+    }
 
-            while (iterator.hasNext()) {
-                Map.Entry<UUID, ScriptTask> entry = iterator.next();
-                UUID taskId = entry.getKey();
-                ScriptTask task = entry.getValue();
+    public AdmissionController getAdmission() {
+        return admission;
+    }
 
-                // logger.finest(pluginPrefix + "[Runner Tick] --- Processing task: " + taskId + " ---");
+    /** 동시 태스크 한도를 교체합니다. 이미 실행 중인 태스크는 새 한도에 포함되지 않음 */
+    public void setAdmission(AdmissionController admission) {
+        this.admission = admission;
+    }
 
-                try {
-                    // 1. Check cancellation flag FIRST
-                    if (task.isCancelled()) {
-                        logger.info(pluginPrefix + "[Runner Tick] Task " + taskId + " is marked cancelled. Removing.");
-                        iterator.remove();
-                        logger.info(pluginPrefix + "[Runner Tick] Task " + taskId + " removed (was cancelled). Remaining: " + runningTasks.size());
-                        continue; // Process next task
-                    }
+    /** @return 시전자의 실행 중이거나 시작 대기 중인 태스크 수 */
+    public int getTaskCount(UUID casterUUID) {
+        Set<UUID> taskIds = tasksByCaster.get(casterUUID);
+        return taskIds != null ? taskIds.size() : 0;
+    }
 
-                    // 2. Execute the task's logic for this tick
-                    // logger.finest(pluginPrefix + "[Runner Tick] Calling tick() for task " + taskId);
-                    boolean shouldContinue = task.tick(); // tick() now logs extensively
-                    // logger.finest(pluginPrefix + "[Runner Tick] Task " + taskId + " tick() returned: " + shouldContinue);
+    /** @return 다른 스레드에서 요청되었거나 한도 대기열에 있어 아직 시작되지 않은 시전 수 */
+    public int getPendingCastCount() {
+        return pendingCasts.size();
+    }
 
-                    // 3. Remove if tick() indicated completion/error
-                    if (!shouldContinue) {
-                        logger.info(pluginPrefix + "[Runner Tick] Task " + taskId + " tick() returned false (finished or error). Removing.");
-                        iterator.remove();
-                        logger.info(pluginPrefix + "[Runner Tick] Task " + taskId + " removed (tick returned false). Remaining: " + runningTasks.size());
-                    } else {
-                        // logger.finest(pluginPrefix + "[Runner Tick] Task " + taskId + " tick() returned true. Task continues.");
-                    }
-                    // logger.finest(pluginPrefix + "[Runner Tick] --- Finished processing task: " + taskId + " ---");
+    // 큐에 있는 시전 요청. 취소는 어느 스레드에서든 표시만 하고 시작 시점에 확인
+    private static final class PendingCast {
+        final UUID casterUUID;
+        volatile boolean cancelled = false;
+        // 한도 대기열에 있음 (자리가 나면 false 로 바뀌고 시전자 스레드로 보내짐)
+        volatile boolean queued = false;
 
-                } catch (Exception e) {
-                    logger.log(Level.SEVERE, pluginPrefix + "[Runner Tick] !! Unhandled exception while processing task " + taskId + " in runner !! Removing task.", e);
-                    if (task != null) {
-                        task.cancel(); // Ensure it's marked cancelled if an error occurs during tick() call itself
-                    }
-                    try {
-                        iterator.remove(); // Safely remove the task that caused the error
-                        logger.info(pluginPrefix + "[Runner Tick] Task " + taskId + " removed due to exception. Remaining: " + runningTasks.size());
-                    } catch (IllegalStateException ise) {
-                        logger.log(Level.SEVERE, pluginPrefix + "[Runner Tick] Error removing task " + taskId + " after exception (already removed?).", ise);
-                    }
-                }
-            }
-            // logger.finest(pluginPrefix + "[Runner Tick] Finished processing all tasks for this tick.");
+        PendingCast(UUID casterUUID) {
+            this.casterUUID = casterUUID;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,294 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.execution.EffectSink;
+import com.bformat.skillscript.execution.ScriptTask;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 서버 틱마다 실행 중인 ScriptTask 들을 나노초 예산 안에서 라운드 로빈으로 실행합니다.
+ * <p>
+ * 태스크는 큐에서 하나씩 꺼내 한 슬라이스({@link ScriptTask#tick()}, 최대 {@link ScriptTask#getMaxActionsPerTick()} 액션)를 실행한 뒤
+ * 계속 실행해야 하면 큐 끝에 다시 넣습니다. 예산을 다 쓰면 남은 태스크는 큐 앞에 그대로 남아
+ * 다음 틱에 가장 먼저 실행되므로(커서) 태스크 수가 많아도 굶는 태스크가 없습니다.
+ * 진행을 보장하기 위해 예산과 관계없이 틱마다 최소 한 슬라이스는 실행합니다.
+ * 슬라이스 안의 액션 루프도 예산 마감 시각({@link ScriptTask#setSliceDeadline})을 확인하므로 한 태스크가
+ * 예산을 넘기는 양은 액션 하나로 제한되고, 멈춘 위치부터 다음 틱에 이어서 실행합니다.
+ * <p>
+ * 딜레이 중인 태스크({@link ScriptTask#getIdleTicks()} > 0)는 큐 대신 {@link TimerWheel} 에 보관되어
+ * 딜레이가 끝나는 틱까지 방문하지 않으며, 깨어날 때 건너뛴 틱만큼 딜레이 카운터를 진행시킵니다.
+ * <p>
+ * 메인 스레드 전용입니다.
+ */
+public class TickScheduler {
+
+    // 휠 한 바퀴 = 512 틱 (25.6초). 더 긴 딜레이도 만료 틱까지 슬롯에 남아 있음
+    private static final int WHEEL_SLOTS = 512;
+
+    private final ArrayDeque<ScriptTask> queue = new ArrayDeque<>();
+    private final TimerWheel<ScriptTask> wheel = new TimerWheel<>(WHEEL_SLOTS);
+    private final Map<ScriptTask, TimerWheel.Timeout<ScriptTask>> parked = new IdentityHashMap<>();
+    private final Map<ScriptTask, Long> parkedAtTick = new IdentityHashMap<>();
+    private long currentTick = 0L;
+    private final Consumer<ScriptTask> onRemoved;
+    private final Logger logger;
+    private final String pluginPrefix = "[SkillScript Scheduler] ";
+
+    private long budgetNanos;
+    private LongSupplier nanoClock = System::nanoTime; // 예산 측정용 시계 (테스트에서 교체)
+
+    // 레인 소속 확인: 슬라이스 실행 전 false 이면 큐에서 빼고 onMigrate 로 넘김 (LaneSchedulerBackend)
+    private Predicate<ScriptTask> affinity = null;
+    private Consumer<ScriptTask> onMigrate = null;
+
+    // 즉시 실행 (runNow): 서버 틱 번호, 이번 서버 틱에 이미 슬라이스를 실행해 다음 runTick 에서 한 번 건너뛸 태스크
+    private IntSupplier serverClock = null;
+    private int lastRunServerTick = Integer.MIN_VALUE;
+    private final Set<ScriptTask> ranEarly = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long borrowedNanos = 0L; // 지난 runTick 이후 runNow 가 쓴 시간 (다음 runTick 예산에서 차감)
+
+    // 틱 동안의 파티클/사운드를 모았다가 틱 끝에 전송 (null 이면 액션이 바로 출력)
+    private volatile EffectSink effectSink = null;
+
+    // 마지막 틱 통계
+    private int lastSlices;
+    private int lastDeferred;
+    private long lastElapsedNanos;
+
+    /**
+     * @param budgetNanos 틱당 CPU 예산 (나노초). 0 이하이면 제한 없음
+     * @param onRemoved   태스크가 완료/취소/오류로 큐에서 빠질 때 호출 (러너의 태스크 맵 정리용)
+     */
+    public TickScheduler(long budgetNanos, Consumer<ScriptTask> onRemoved, Logger logger) {
+        this.budgetNanos = budgetNanos;
+        this.onRemoved = onRemoved;
+        this.logger = logger;
+    }
+
+    public void add(ScriptTask task) {
+        queue.addLast(task);
+    }
+
+    /**
+     * 딜레이로 보관 중인 태스크를 다음 틱에 바로 처리되도록 큐로 옮깁니다 (취소 직후 정리용).
+     * 건너뛴 틱만큼 딜레이는 진행됩니다.
+     */
+    public void wake(ScriptTask task) {
+        TimerWheel.Timeout<ScriptTask> timeout = parked.remove(task);
+        Long parkedAt = parkedAtTick.remove(task);
+        if (timeout != null && wheel.cancel(timeout)) {
+            // 보관 이후 이미 지나간 틱만큼만 진행 (다음 틱부터는 정상 방문)
+            task.skipIdleTicks((int) (currentTick - parkedAt));
+            queue.addLast(task);
+        }
+    }
+
+    /**
+     * 한 틱을 실행합니다. 이번 틱 시작 시 큐에 있던 태스크는 예산이 허락하는 한 각각 한 번씩만 실행됩니다.
+     */
+    public void runTick() {
+        currentTick++;
+        if (serverClock != null) {
+            lastRunServerTick = serverClock.getAsInt();
+        }
+        long budget = budgetNanos > 0 ? Math.max(1L, budgetNanos - borrowedNanos) : budgetNanos;
+        borrowedNanos = 0L;
+        wheel.expire(currentTick, this::resume);
+        int pending = queue.size();
+        if (pending == 0) {
+            lastSlices = 0;
+            lastDeferred = 0;
+            lastElapsedNanos = 0L;
+            return;
+        }
+        long start = nanoClock.getAsLong();
+        long now = start;
+        int slices = 0;
+        int visited = 0;
+
+        EffectSink sink = effectSink;
+        boolean flushSink = sink != null && sink.bind();
+        try {
+            while (visited < pending && !queue.isEmpty()) {
+                if (slices > 0 && budget > 0 && now - start >= budget) {
+                    break; // 예산 소진: 남은 태스크는 다음 틱에 큐 앞에서 이어서 실행
+                }
+                ScriptTask task = queue.pollFirst();
+                visited++;
+                if (affinity != null && !task.isCancelled() && !affinity.test(task)) {
+                    onMigrate.accept(task); // 다른 레인(리전)으로 이동
+                    continue;
+                }
+                if (!ranEarly.isEmpty() && ranEarly.remove(task)) {
+                    queue.addLast(task); // 이번 서버 틱의 슬라이스는 runNow 에서 이미 실행됨
+                    continue;
+                }
+                slices++;
+                if (runSlice(task, budget > 0 ? start + budget : ScriptTask.NO_DEADLINE)) {
+                    reschedule(task, currentTick);
+                } else {
+                    onRemoved.accept(task);
+                }
+                now = nanoClock.getAsLong();
+            }
+        } finally {
+            if (flushSink) {
+                sink.flushAndUnbind(); // 이번 틱의 출력을 한 번에 전송
+            }
+        }
+        now = nanoClock.getAsLong();
+
+        lastSlices = slices;
+        lastDeferred = pending - visited;
+        lastElapsedNanos = now - start;
+        if (lastDeferred > 0 && logger.isLoggable(Level.FINE)) {
+            logger.fine(pluginPrefix + "Tick budget of " + budgetNanos + "ns used (" + lastElapsedNanos + "ns). Deferred " + lastDeferred + " of " + pending + " tasks to the next tick.");
+        }
+    }
+
+    /**
+     * 새 태스크의 첫 슬라이스를 runTick 을 기다리지 않고 바로 실행합니다 (스케줄러 스레드에서만 호출).
+     * 사용한 시간은 다음 runTick 의 예산에서 차감되므로 틱당 총 실행 시간은 같은 예산을 따릅니다.
+     * 이번 서버 틱의 runTick 이 아직 실행되지 않았으면 그 runTick 에서는 이 태스크를 건너뛰므로
+     * 태스크는 서버 틱당 최대 한 슬라이스만 실행됩니다.
+     *
+     * @return 슬라이스를 실행했으면 true. 서버 틱 시계가 없거나 예산을 이미 다 썼으면 false (호출자가 {@link #add} 로 추가)
+     */
+    public boolean runNow(ScriptTask task) {
+        if (serverClock == null || (budgetNanos > 0 && borrowedNanos >= budgetNanos)) {
+            return false;
+        }
+        // 이번 서버 틱의 runTick 전이면 이 슬라이스는 다음 runTick 번호에 속함
+        boolean beforeRunTick = serverClock.getAsInt() != lastRunServerTick;
+        long sliceTick = beforeRunTick ? currentTick + 1 : currentTick;
+        long start = nanoClock.getAsLong();
+        EffectSink sink = effectSink;
+        boolean flushSink = sink != null && sink.bind();
+        boolean shouldContinue;
+        try {
+            shouldContinue = runSlice(task, budgetNanos > 0 ? start + (budgetNanos - borrowedNanos) : ScriptTask.NO_DEADLINE);
+        } finally {
+            if (flushSink) {
+                sink.flushAndUnbind();
+            }
+        }
+        borrowedNanos += nanoClock.getAsLong() - start;
+        if (!shouldContinue) {
+            onRemoved.accept(task);
+        } else if (reschedule(task, sliceTick) && beforeRunTick) {
+            ranEarly.add(task);
+        }
+        return true;
+    }
+
+    /** 틱 동안의 월드 이펙트를 모았다가 틱 끝에 보낼 싱크를 설정합니다 (null 이면 바로 출력). */
+    public void setEffectSink(EffectSink effectSink) {
+        this.effectSink = effectSink;
+    }
+
+    public EffectSink getEffectSink() {
+        return effectSink;
+    }
+
+    /** 예산 측정에 쓸 나노초 시계를 바꿉니다 (기본값 System::nanoTime). 테스트에서 시간을 결정적으로 만들 때 사용합니다. */
+    void setNanoClock(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /** 즉시 실행({@link #runNow})이 같은 서버 틱의 runTick 과 겹치지 않도록 서버 틱 번호를 제공합니다. */
+    public void setServerClock(IntSupplier serverClock) {
+        this.serverClock = serverClock;
+    }
+
+    // 슬라이스를 실행한 태스크를 다시 넣음. 큐에 넣었으면 true, 딜레이로 휠에 보관했으면 false
+    private boolean reschedule(ScriptTask task, long sliceTick) {
+        int idleTicks = task.getIdleTicks();
+        if (idleTicks > 0) {
+            // idleTicks 동안은 딜레이 카운터만 줄어들므로 방문하지 않고 그 다음 틱에 깨움
+            parked.put(task, wheel.schedule(task, sliceTick + idleTicks + 1));
+            parkedAtTick.put(task, sliceTick);
+            return false;
+        }
+        queue.addLast(task);
+        return true;
+    }
+
+    // 딜레이가 끝난 태스크: 건너뛴 틱만큼 딜레이를 진행시키고 이번 틱 큐에 추가
+    private void resume(TimerWheel.Timeout<ScriptTask> timeout) {
+        ScriptTask task = timeout.getItem();
+        parked.remove(task);
+        long parkedAt = parkedAtTick.remove(task);
+        task.skipIdleTicks((int) (currentTick - parkedAt - 1));
+        queue.addLast(task);
+    }
+
+    /** @return 태스크를 계속 실행해야 하면 true */
+    // deadline: 이 틱의 예산이 끝나는 시각. 슬라이스 안의 액션 루프도 이 시각에 멈춤
+    private boolean runSlice(ScriptTask task, long deadline) {
+        if (task.isCancelled()) {
+            logger.info(pluginPrefix + "Task " + task.getScriptTaskId() + " is marked cancelled. Removing.");
+            task.release(); // 파이버 스레드 종료는 실행 스레드에서
+            return false;
+        }
+        task.setSliceDeadline(deadline, nanoClock);
+        try {
+            boolean shouldContinue = task.tick();
+            if (!shouldContinue) {
+                logger.info(pluginPrefix + "Task " + task.getScriptTaskId() + " finished. Removing.");
+            }
+            return shouldContinue;
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, pluginPrefix + "!! Unhandled exception while processing task " + task.getScriptTaskId() + " !! Removing task.", e);
+            task.cancel();
+            return false;
+        }
+    }
+
+    /**
+     * 슬라이스 실행 전에 태스크가 이 스케줄러에 남아야 하는지 확인하도록 설정합니다.
+     * @param affinity  false 를 반환하면 태스크를 큐에서 빼고 onMigrate 로 넘김
+     * @param onMigrate 다른 스케줄러로 옮길 태스크를 받음
+     */
+    public void setAffinity(Predicate<ScriptTask> affinity, Consumer<ScriptTask> onMigrate) {
+        this.affinity = affinity;
+        this.onMigrate = onMigrate;
+    }
+
+    /** 모든 태스크를 큐와 타이머 휠에서 제거합니다 (취소는 호출자가 처리). */
+    public void clear() {
+        queue.clear();
+        wheel.clear();
+        parked.clear();
+        parkedAtTick.clear();
+        ranEarly.clear();
+    }
+
+    /** @return 실행 대기 중인 태스크 수 + 딜레이로 보관 중인 태스크 수 */
+    public int size() { return queue.size() + parked.size(); }
+
+    /** @return 딜레이로 보관 중이어서 매 틱 방문하지 않는 태스크 수 */
+    public int getParkedCount() { return parked.size(); }
+
+    public long getBudgetNanos() { return budgetNanos; }
+
+    public void setBudgetNanos(long budgetNanos) { this.budgetNanos = budgetNanos; }
+
+    /** @return 마지막 틱에 실행한 슬라이스 수 */
+    public int getLastSlices() { return lastSlices; }
+
+    /** @return 마지막 틱에 예산 때문에 다음 틱으로 미룬 태스크 수 */
+    public int getLastDeferred() { return lastDeferred; }
+
+    /** @return 마지막 틱에 사용한 시간 (나노초) */
+    public long getLastElapsedNanos() { return lastElapsedNanos; }
+}
@@ -0,0 +1,114 @@
+package com.bformat.skillscript.script;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 틱 단위 해시 타이머 휠. 딜레이 중인 항목을 만료 틱의 슬롯({@code tick & mask})에 보관하고,
+ * 매 틱 현재 슬롯 하나만 확인하므로 대기 중인 항목 수와 관계없이 틱당 비용이 일정합니다.
+ * 휠 크기보다 긴 딜레이는 같은 슬롯에 남아 있다가 만료 틱이 되었을 때 꺼내집니다.
+ * <p>
+ * 메인 스레드 전용입니다.
+ *
+ * @param <T> 보관할 항목 타입
+ */
+public final class TimerWheel<T> {
+
+    /** {@link #schedule} 가 반환하는 핸들. {@link #cancel(Timeout)} 으로 만료 전에 꺼낼 수 있습니다. */
+    public static final class Timeout<T> {
+        private final T item;
+        private final long deadlineTick;
+        private boolean cancelled;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getItem() { return item; }
+        public long getDeadlineTick() { return deadlineTick; }
+    }
+
+    private final List<Timeout<T>>[] slots;
+    private final int mask;
+    private int size = 0;
+
+    /** @param slotCount 슬롯 수 (2의 거듭제곱으로 올림) */
+    @SuppressWarnings("unchecked")
+    public TimerWheel(int slotCount) {
+        int capacity = Integer.highestOneBit(Math.max(2, slotCount - 1)) << 1;
+        this.slots = new List[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new ArrayList<>();
+        }
+        this.mask = capacity - 1;
+    }
+
+    /** 항목을 deadlineTick 에 만료되도록 보관합니다. */
+    public Timeout<T> schedule(T item, long deadlineTick) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick);
+        slots[(int) (deadlineTick & mask)].add(timeout);
+        size++;
+        return timeout;
+    }
+
+    /** 만료 전에 항목을 꺼냅니다. 이미 만료되었거나 취소된 핸들이면 false. */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.cancelled) {
+            return false;
+        }
+        List<Timeout<T>> slot = slots[(int) (timeout.deadlineTick & mask)];
+        if (!slot.remove(timeout)) {
+            return false;
+        }
+        timeout.cancelled = true;
+        size--;
+        return true;
+    }
+
+    /**
+     * currentTick 에 만료되는 항목을 꺼내 전달합니다. 틱마다 한 번, 틱 번호를 건너뛰지 않고 호출해야 합니다.
+     */
+    public void expire(long currentTick, Consumer<Timeout<T>> consumer) {
+        List<Timeout<T>> slot = slots[(int) (currentTick & mask)];
+        if (slot.isEmpty()) {
+            return;
+        }
+        // 순서 유지 + 한 번의 순회로 제거 (다음 바퀴 항목은 앞쪽으로 압축)
+        int kept = 0;
+        int count = slot.size();
+        List<Timeout<T>> expired = null;
+        for (int i = 0; i < count; i++) {
+            Timeout<T> timeout = slot.get(i);
+            if (timeout.deadlineTick <= currentTick) {
+                if (expired == null) expired = new ArrayList<>();
+                expired.add(timeout);
+            } else {
+                slot.set(kept++, timeout);
+            }
+        }
+        if (expired == null) {
+            return;
+        }
+        slot.subList(kept, count).clear();
+        size -= expired.size();
+        for (Timeout<T> timeout : expired) {
+            timeout.cancelled = true; // 이후 cancel() 은 false
+            consumer.accept(timeout);
+        }
+    }
+
+    /** @return 보관 중인 항목 수 */
+    public int size() { return size; }
+
+    public void clear() {
+        for (List<Timeout<T>> slot : slots) {
+            for (Timeout<T> timeout : slot) {
+                timeout.cancelled = true;
+            }
+            slot.clear();
+        }
+        size = 0;
+    }
+}
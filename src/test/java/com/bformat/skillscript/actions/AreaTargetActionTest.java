@@ -0,0 +1,111 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.execution.EntityIndex;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionState;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AreaTargetActionTest {
+
+    private ServerMock server;
+    private World world;
+    private PlayerMock caster;
+    private PlayerMock near;
+    private PlayerMock far;
+    private PlayerMock side;
+    private ExecutionContext context;
+    private ExecutionState state;
+
+    @BeforeEach
+    public void setUp() {
+        server = MockBukkit.mock();
+        MockBukkit.load(SkillScript.class);
+        caster = server.addPlayer("Caster");
+        world = caster.getWorld();
+        caster.setLocation(new Location(world, 0.0, 64.0, 0.0));
+        near = server.addPlayer("Near");
+        near.setLocation(new Location(world, 3.0, 64.0, 0.0));
+        far = server.addPlayer("Far");
+        far.setLocation(new Location(world, 20.0, 64.0, 0.0));
+        side = server.addPlayer("Side");
+        side.setLocation(new Location(world, 0.0, 64.0, 5.0));
+
+        context = new ExecutionContext(caster);
+        state = new ExecutionState(Collections.emptyList());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("target.radius: 반지름 안의 엔티티를 변수에 저장하고 가장 가까운 엔티티를 타겟으로 설정")
+    void testRadius() {
+        ExecutionStatus status = new RadiusTargetAction().execute(context, state, Map.of(
+                "radius", 5.5,
+                "variable", "hits"
+        ));
+
+        assertSame(ExecutionStatus.COMPLETED, status);
+        List<?> hits = (List<?>) context.getVariable("hits");
+        assertEquals(2, hits.size());
+        assertTrue(hits.contains(near) && hits.contains(side));
+        assertFalse(hits.contains(caster), "Caster is excluded unless includeCaster is true");
+        assertSame(near, context.getCurrentTarget());
+    }
+
+    @Test
+    @DisplayName("target.cone / target.line / target.box: 방향과 크기에 따른 영역")
+    void testConeLineBox() {
+        new ConeTargetAction().execute(context, state, Map.of(
+                "origin", "@CasterLocation", "direction", List.of(1, 0, 0), "range", 10, "angle", 60, "variable", "cone"));
+        assertEquals(List.of(near), context.getVariable("cone"));
+
+        new LineTargetAction().execute(context, state, Map.of(
+                "origin", "@CasterLocation", "direction", List.of(1, 0, 0), "length", 30, "width", 1, "variable", "line"));
+        List<?> line = (List<?>) context.getVariable("line");
+        assertEquals(2, line.size());
+        assertTrue(line.contains(near) && line.contains(far));
+
+        new BoxTargetAction().execute(context, state, Map.of(
+                "extent", Map.of("x", 1, "y", 2, "z", 6), "includeCaster", true, "variable", "box"));
+        List<?> box = (List<?>) context.getVariable("box");
+        assertEquals(2, box.size());
+        assertTrue(box.contains(caster) && box.contains(side));
+    }
+
+    @Test
+    @DisplayName("인덱스는 틱마다 한 번 만들어지고 같은 틱의 같은 질의는 캐시됨")
+    void testIndexRebuiltOncePerTickAndQueriesCached() {
+        EntityIndex index = EntityIndex.of(world);
+        int rebuilds = index.getRebuildCount();
+        int hits = index.getCacheHits();
+        RadiusTargetAction action = new RadiusTargetAction();
+
+        action.execute(context, state, Map.of("radius", 5.5));
+        action.execute(new ExecutionContext(caster), state, Map.of("radius", 5.5));
+        action.execute(context, state, Map.of("radius", 30));
+
+        assertEquals(rebuilds + 1, index.getRebuildCount());
+        assertEquals(hits + 1, index.getCacheHits());
+
+        server.getScheduler().performOneTick();
+        action.execute(context, state, Map.of("radius", 5.5));
+        assertEquals(rebuilds + 2, index.getRebuildCount(), "A new server tick should rebuild the index");
+        assertEquals(hits + 1, index.getCacheHits(), "Results must not be reused across ticks");
+    }
+}
@@ -184,4 +184,22 @@ public class CalculateVariableActionTest {
         // 가능성 3: 0으로 간주하고 계산될 경우 (매우 드묾)
         // assertEquals(0.0, context.getVariable("calcerror3"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("테스트 7: 같은 수식 반복 평가 시 최신 변수 값 사용 (수식 캐시)")
+    void testRepeatedEvaluationUsesCurrentValues() {
+        Map<String, Object> params = Map.of(
+                "variable", "calcResult7",
+                "expression", "counter * 2 + 1e1"
+        );
+
+        for (int i = 1; i <= 3; i++) {
+            context.setVariable("counter", (double) i);
+            action.execute(context, state, params);
+
+            Object result = context.getVariable("calcresult7");
+            assertNotNull(result);
+            assertEquals(i * 2 + 10.0, (Double) result, 0.0001, "반복 " + i + " 의 계산 결과가 예상과 다릅니다.");
+        }
+    }
+}
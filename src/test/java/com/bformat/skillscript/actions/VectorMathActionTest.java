@@ -0,0 +1,62 @@
+package com.bformat.skillscript.actions;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionState;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VectorMathActionTest {
+
+    private ServerMock server;
+    private ExecutionContext context;
+    private ExecutionState state;
+    private VectorMathAction action;
+
+    @BeforeEach
+    public void setUp() {
+        server = MockBukkit.mock();
+        PlayerMock caster = server.addPlayer("TestCaster");
+        context = new ExecutionContext(caster);
+        state = new ExecutionState(Collections.emptyList());
+        action = new VectorMathAction();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("숫자 [x, y, z] 하나를 담은 변수는 벡터 하나로 계산")
+    void testNumericTripleVariableIsSingleVector() {
+        context.setVariable("offset", List.of(1.0, 2.0, 3.0));
+
+        ExecutionStatus status = action.execute(context, state,
+                Map.of("variable", "result", "vector1", "offset", "operation", "SCALE", "operand", 2));
+
+        assertSame(ExecutionStatus.COMPLETED, status);
+        assertEquals(new Vector(2.0, 4.0, 6.0), context.getVariable("result"));
+    }
+
+    @Test
+    @DisplayName("벡터 리스트를 담은 변수는 요소마다 계산 (배치)")
+    void testVectorListVariableIsBatch() {
+        context.setVariable("points", List.of(new Vector(1, 0, 0), new Vector(0, 1, 0), new Vector(0, 0, 1)));
+
+        ExecutionStatus status = action.execute(context, state,
+                Map.of("variable", "result", "vector1", "points", "operation", "SCALE", "operand", 3));
+
+        assertSame(ExecutionStatus.COMPLETED, status);
+        assertEquals(List.of(new Vector(3, 0, 0), new Vector(0, 3, 0), new Vector(0, 0, 3)), context.getVariable("result"));
+    }
+}
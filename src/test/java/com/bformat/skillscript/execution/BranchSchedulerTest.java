@@ -0,0 +1,127 @@
+package com.bformat.skillscript.execution;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BranchSchedulerTest {
+
+    private BranchScheduler newScheduler(int branchCount) {
+        List<ParallelBranchState> branches = new ArrayList<>();
+        for (int i = 0; i < branchCount; i++) {
+            branches.add(new ParallelBranchState(null, null));
+        }
+        return new BranchScheduler(branches);
+    }
+
+    // 한 프레임 틱을 시작하고 이번 틱 몫의 ready 브랜치를 모두 꺼냄
+    private List<Integer> runTick(BranchScheduler scheduler) {
+        int count = scheduler.beginTick();
+        List<Integer> polled = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            polled.add(scheduler.pollReady());
+        }
+        return polled;
+    }
+
+    @Test
+    @DisplayName("같은 틱에 깨어나는 브랜치는 잠든 순서와 관계없이 인덱스 순으로 실행")
+    void testEqualWakeTicksWakeInIndexOrder() {
+        BranchScheduler scheduler = newScheduler(5);
+        assertEquals(List.of(0, 1, 2, 3, 4), runTick(scheduler));
+        for (int index : new int[]{4, 2, 0, 3, 1}) {
+            scheduler.sleep(index, 2);
+        }
+
+        assertEquals(1, scheduler.idleTicks());
+        assertEquals(List.of(), runTick(scheduler));
+        assertEquals(List.of(0, 1, 2, 3, 4), runTick(scheduler));
+        assertEquals(0, scheduler.getSleepingCount());
+    }
+
+    @Test
+    @DisplayName("다른 틱에 깨어나는 브랜치는 깨어날 틱 순, 이미 ready 인 브랜치 뒤에 실행")
+    void testDifferentWakeTicks() {
+        BranchScheduler scheduler = newScheduler(6);
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), runTick(scheduler));
+        scheduler.sleep(0, 5);
+        scheduler.sleep(1, 1);
+        scheduler.sleep(2, 3);
+        scheduler.sleep(3, 3);
+        scheduler.sleep(4, 2);
+        scheduler.enqueue(5); // 틱당 액션 제한에 걸려 다음 틱에도 실행
+
+        assertEquals(List.of(5, 1), runTick(scheduler)); // 틱 2
+        assertEquals(List.of(4), runTick(scheduler));    // 틱 3
+        assertEquals(List.of(2, 3), runTick(scheduler)); // 틱 4
+        assertEquals(List.of(), runTick(scheduler));     // 틱 5
+        assertEquals(List.of(0), runTick(scheduler));    // 틱 6
+        assertEquals(0, scheduler.getSleepingCount());
+    }
+
+    @Test
+    @DisplayName("방문하지 않은 틱을 skip 하면 그만큼 딜레이가 진행됨")
+    void testSkipAdvancesDelays() {
+        BranchScheduler scheduler = newScheduler(2);
+        runTick(scheduler);
+        scheduler.sleep(0, 10);
+        scheduler.sleep(1, 4);
+
+        assertEquals(3, scheduler.idleTicks());
+        scheduler.skip(3);
+        assertEquals(List.of(1), runTick(scheduler));
+        assertEquals(5, scheduler.idleTicks());
+    }
+
+    @Test
+    @DisplayName("ready 링 버퍼가 여러 바퀴 돌아도 넣은 순서대로 꺼냄")
+    void testReadyRingWrapsAround() {
+        BranchScheduler scheduler = newScheduler(3);
+        List<Integer> order = new ArrayList<>(List.of(0, 1, 2));
+        assertEquals(order, runTick(scheduler));
+
+        for (int tick = 0; tick < 10; tick++) {
+            Collections.rotate(order, 1);
+            // 매 틱 넣는 수를 바꿔 head 와 tail 이 링 끝을 넘는 위치가 달라지도록
+            List<Integer> batch = new ArrayList<>(order.subList(0, tick % 3 + 1));
+            for (int index : batch) {
+                scheduler.enqueue(index);
+            }
+            scheduler.enqueue(batch.get(0)); // 이미 들어간 브랜치는 중복으로 들어가지 않음
+            assertEquals(batch, runTick(scheduler), "tick " + tick);
+        }
+        assertEquals(-1, scheduler.pollReady());
+    }
+
+    @Test
+    @DisplayName("딜레이 힙이 초기 용량을 넘어 커져도 깨어날 틱 순서를 유지")
+    void testSleepingHeapGrowsPastInitialCapacity() {
+        BranchScheduler scheduler = newScheduler(1); // 힙 초기 용량 4
+        assertEquals(List.of(0), runTick(scheduler));
+        int[] delays = {9, 3, 7, 1, 5, 8, 2, 6, 4};
+        for (int delay : delays) {
+            scheduler.sleep(0, delay);
+        }
+        assertEquals(delays.length, scheduler.getSleepingCount());
+
+        int[] sorted = delays.clone();
+        Arrays.sort(sorted);
+        int woken = 0;
+        for (int tick = 1; tick <= 9; tick++) {
+            List<Integer> polled = runTick(scheduler);
+            if (Arrays.binarySearch(sorted, tick) >= 0) {
+                assertEquals(List.of(0), polled, "tick " + tick);
+                woken++;
+            } else {
+                assertEquals(List.of(), polled, "tick " + tick);
+            }
+            assertEquals(delays.length - woken, scheduler.getSleepingCount());
+        }
+        assertEquals(delays.length, woken);
+    }
+}
@@ -0,0 +1,81 @@
+package com.bformat.skillscript.execution;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.LivingEntity;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 엔티티가 많은 월드의 작은 질의는 인덱스를 만들지 않고 주변 청크만 검사.
+ */
+public class EntityIndexTest {
+
+    private ServerMock server;
+    private World world;
+    private PlayerMock near;
+
+    @BeforeEach
+    public void setUp() {
+        server = MockBukkit.mock();
+        near = server.addPlayer("Near");
+        world = near.getWorld();
+        near.setLocation(new Location(world, 2.0, 64.0, 0.0));
+        for (int i = 0; i < 3; i++) {
+            server.addPlayer("Far" + i).setLocation(new Location(world, 500.0 + i * 40.0, 64.0, 0.0));
+        }
+        EntityIndex.clear(world);
+        EntityIndex.setLargeWorldEntities(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        EntityIndex.setLargeWorldEntities(1024);
+        EntityIndex.clear(world);
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("큰 월드의 작은 질의는 인덱스 없이 처리하고, 넓은 질의나 작은 질의가 쌓이면 인덱스를 만듦")
+    void testSmallQueriesSkipRebuildInLargeWorlds() {
+        EntityIndex index = EntityIndex.of(world);
+        index.query(world, AreaQuery.radius(0, 64, 0, 5)); // 첫 질의: 월드 크기를 모르므로 인덱스를 만듦
+        assertEquals(1, index.getRebuildCount());
+        assertEquals(4, index.size());
+
+        server.getScheduler().performOneTick();
+        List<LivingEntity> small = index.query(world, AreaQuery.radius(0, 64, 0, 5));
+        assertEquals(List.of(near), small);
+        assertEquals(1, index.getRebuildCount(), "A small query in a large world should not scan the whole world");
+        assertEquals(1, index.getNearbyHits());
+
+        assertSame(small, index.query(world, AreaQuery.radius(0, 64, 0, 5)), "Nearby results are cached for the tick");
+        assertEquals(4, index.query(world, AreaQuery.radius(0, 64, 0, 1000)).size());
+        assertEquals(2, index.getRebuildCount(), "A wide query builds the index");
+
+        server.getScheduler().performOneTick();
+        for (int i = 0; i < 8; i++) {
+            index.query(world, AreaQuery.radius(i, 64, 0, 5));
+        }
+        assertEquals(2, index.getRebuildCount());
+        index.query(world, AreaQuery.radius(100, 64, 0, 5));
+        assertEquals(3, index.getRebuildCount(), "Many small queries in one tick build the index");
+    }
+
+    @Test
+    @DisplayName("월드를 지우면 인덱스와 잡고 있던 엔티티를 놓아줌")
+    void testClearDropsIndex() {
+        EntityIndex index = EntityIndex.of(world);
+        index.query(world, AreaQuery.radius(0, 64, 0, 5));
+        assertSame(index, EntityIndex.of(world));
+
+        EntityIndex.clear(world);
+        assertNotSame(index, EntityIndex.of(world));
+    }
+}
@@ -0,0 +1,93 @@
+package com.bformat.skillscript.execution;
+
+import com.bformat.skillscript.script.CompiledBlock;
+import com.bformat.skillscript.script.ScriptCompiler;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VariableSlotsTest {
+
+    private ServerMock server;
+    private PlayerMock caster;
+
+    @BeforeEach
+    public void setUp() {
+        server = MockBukkit.mock();
+        caster = server.addPlayer("TestCaster");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("실행 중 이름 조회는 슬롯을 할당하지 않음")
+    void testRuntimeLookupsDoNotAllocate() {
+        ExecutionContext context = new ExecutionContext(caster);
+        int before = context.getVariableSlots().size();
+
+        for (int i = 0; i < 100; i++) {
+            String literal = "not a variable " + System.nanoTime() + "_" + i;
+            assertTrue(context.resolveNumericValue(literal).isEmpty());
+            assertNull(context.getVariable(literal));
+            assertTrue(context.resolveLocation(literal).isEmpty());
+        }
+
+        assertEquals(before, context.getVariableSlots().size());
+    }
+
+    @Test
+    @DisplayName("스크립트마다 슬롯 테이블이 따로 있고, 중첩 블록은 스크립트의 테이블을 공유")
+    void testTablePerCompiledScript() {
+        ScriptCompiler compiler = new ScriptCompiler(null, Logger.getLogger("VariableSlotsTest"));
+        List<Map<String, Object>> script = List.of(
+                Map.of("variable.calculate", Map.of("variable", "outer")),
+                Map.of("controlflow.ifcondition", Map.of("Then", List.of(Map.of("variable.calculate", Map.of("variable", "inner")))))
+        );
+
+        CompiledBlock first = compiler.compile(script);
+        CompiledBlock reloaded = compiler.compile(script);
+
+        assertNotSame(first.getVariableSlots(), reloaded.getVariableSlots(), "Reloading creates a new table");
+        assertEquals(2, first.getVariableSlots().size(), "Nested block variables are registered in the script's table");
+        assertEquals(0, first.getVariableSlots().peekSlot("outer"));
+        assertEquals(1, first.getVariableSlots().peekSlot("inner"));
+    }
+
+    @Test
+    @DisplayName("테이블을 바꿔도 설정된 변수는 이름으로 옮겨지고, 공유 셀렉터는 컨텍스트의 테이블 번호로 읽음")
+    void testSelectorFollowsContextTable() {
+        VariableSlots shifted = new VariableSlots();
+        shifted.slotOf("otherName"); // probe 가 두 테이블에서 다른 번호를 받도록
+        VariableSlots plain = new VariableSlots();
+
+        ExecutionContext first = new ExecutionContext(caster);
+        first.setVariable("probe", 3.0);
+        first.setVariable("label", "text");
+        first.useVariableSlots(shifted);
+        assertEquals(1, shifted.peekSlot("probe"));
+        assertEquals(3.0, first.getDouble("probe", Double.NaN), 0.0);
+        assertEquals("text", first.getVariable("label"));
+
+        ExecutionContext second = new ExecutionContext(caster);
+        second.useVariableSlots(plain);
+        second.setVariable("probe", 7.0);
+        assertEquals(0, plain.peekSlot("probe"));
+
+        NumericSelector selector = NumericSelector.of("probe");
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Optional.of(3.0), selector.resolve(first));
+            assertEquals(Optional.of(7.0), selector.resolve(second));
+        }
+    }
+}
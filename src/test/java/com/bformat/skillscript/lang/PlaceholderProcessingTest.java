@@ -11,6 +11,7 @@ import org.bukkit.util.Vector;
 import org.junit.jupiter.api.*;
 
 import java.util.Collections;
+import java.util.Locale;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -178,4 +179,22 @@ public class PlaceholderProcessingTest {
         String result = testActionInstance.processPlaceholders(input, context);
         assertEquals(expected, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("소수점 포맷팅은 .5 경계, 음수 0, 큰 값에서도 String.format 과 같음")
+    void testFixedFormattingMatchesStringFormat() {
+        double[] values = {
+                1.005, 2.675, 0.125, 0.05, 9.995, 1.45, 0.15, -0.04, -0.004, -0.0, 0.0,
+                Math.nextDown(1.005), Math.nextUp(2.675), 99999999.995, 1e9 - 0.005, 123456789012.345,
+                1e15, -4503599627370495.5, 1e300, Double.MIN_VALUE, -1e-300
+        };
+        StringBuilder sb = new StringBuilder();
+        for (double value : values) {
+            for (int decimals = 1; decimals <= 2; decimals++) {
+                sb.setLength(0);
+                PlaceholderTemplate.appendFixed(sb, value, decimals);
+                assertEquals(String.format(Locale.ROOT, "%." + decimals + "f", value), sb.toString(), value + " (" + decimals + ")");
+            }
+        }
+    }
+}
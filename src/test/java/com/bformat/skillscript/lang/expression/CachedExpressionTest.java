@@ -0,0 +1,181 @@
+package com.bformat.skillscript.lang.expression;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import org.bukkit.Location;
+import org.junit.jupiter.api.*;
+import org.mariuszgromada.math.mxparser.Argument;
+import org.mariuszgromada.math.mxparser.Expression;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachedExpressionTest {
+
+    private ServerMock server;
+    private ExecutionContext context;
+    private ExpressionCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        server = MockBukkit.mock();
+        PlayerMock caster = server.addPlayer("TestCaster");
+        caster.setLocation(new Location(caster.getWorld(), 10.0, 64.0, 20.0));
+        caster.setHealth(18.0);
+        context = new ExecutionContext(caster);
+        cache = new ExpressionCache(16);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("네이티브 컴파일: 연산자 우선순위와 함수")
+    void testNativeArithmetic() {
+        context.setVariable("base", 4.0);
+        CachedExpression expression = cache.get("-2^2 + sqrt(base) * 3 + round(2.345, 2)");
+
+        assertTrue(expression.isNative(), "지원되는 문법은 네이티브로 컴파일되어야 합니다.");
+        OptionalDouble result = expression.evaluate(context);
+        assertTrue(result.isPresent());
+        assertEquals(-4.0 + 6.0 + 2.35, result.getAsDouble(), 0.0001);
+    }
+
+    @Test
+    @DisplayName("네이티브 컴파일: 셀렉터, 비교/논리 연산")
+    void testNativeConditions() {
+        context.setVariable("count", 3);
+        CachedExpression expression = cache.get("@Caster.Health > 10 && count <= 3");
+
+        assertTrue(expression.isNative());
+        assertEquals(1.0, expression.evaluate(context).orElse(Double.NaN), 0.0);
+
+        context.setVariable("count", 4);
+        assertEquals(0.0, expression.evaluate(context).orElse(Double.NaN), 0.0);
+    }
+
+    @Test
+    @DisplayName("네이티브 컴파일: 0 으로 나누기와 음수 mod 는 mXparser 와 같은 결과")
+    void testNativeMatchesMxParserEdgeCases() {
+        String[] sources = {"x / 0", "0 / 0", "x / zero", "mod(-7, 3)", "mod(7, -3)", "mod(x, 0)", "mod(-5.5, 2)"};
+        context.setVariable("x", 5.0);
+        context.setVariable("zero", 0.0);
+
+        for (String source : sources) {
+            CachedExpression expression = cache.get(source);
+            assertTrue(expression.isNative(), source);
+
+            Expression reference = new Expression(source, new Argument("x", 5.0), new Argument("zero", 0.0));
+            double expected = reference.calculate();
+            assertEquals(expected, expression.evaluate(context, 123.0), 0.0, source);
+        }
+        assertTrue(Double.isNaN(cache.get("x / 0").evaluate(context, 0.0)), "Division by zero is NaN, not Infinity");
+    }
+
+    @Test
+    @DisplayName("네이티브 컴파일: 비교 연산은 mXparser 와 같은 오차 허용(epsilon)과 NaN 결과")
+    void testNativeComparisonsMatchMxParser() {
+        String[] operators = {"==", "=", "!=", "<>", "<", "<=", ">", ">="};
+        double[][] pairs = {
+                {0.1 + 0.2, 0.3}, {0.3, 0.1 + 0.2}, {1.0 + 5e-15, 1.0}, {1.0 + 2e-14, 1.0}, {1.0, 1.0 + 2e-14},
+                {1e17, 1e17 + 16}, {1e17 + 32, 1e17}, {-2.0, 3.0}, {0.0, -0.0}
+        };
+        for (double[] pair : pairs) {
+            context.setVariable("a", pair[0]);
+            context.setVariable("b", pair[1]);
+            for (String operator : operators) {
+                String source = "a " + operator + " b";
+                CachedExpression expression = cache.get(source);
+                assertTrue(expression.isNative(), source);
+
+                double expected = new Expression(source, new Argument("a", pair[0]), new Argument("b", pair[1])).calculate();
+                assertEquals(expected, expression.evaluate(context, 123.0), 0.0, pair[0] + " " + operator + " " + pair[1]);
+            }
+        }
+        for (String source : new String[] {"0 / 0 < 1", "0 / 0 == 0 / 0", "1 != 0 / 0"}) {
+            assertEquals(new Expression(source).calculate(), cache.get(source).evaluate(context, 123.0), 0.0, source);
+        }
+        assertEquals(1.0, cache.get("a == b").evaluate(context, Double.NaN), 0.0, "0.0 == -0.0");
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 식별자는 empty 반환")
+    void testUnresolvedIdentifier() {
+        CachedExpression expression = cache.get("missingValue * 5");
+
+        assertTrue(expression.evaluate(context).isEmpty());
+        assertEquals("missingValue", expression.findUnresolvedIdentifier(context));
+    }
+
+    @Test
+    @DisplayName("지원하지 않는 문법은 mXparser 로 대체")
+    void testFallbackToMxParser() {
+        CachedExpression invalid = cache.get("10 + / 5");
+
+        assertFalse(invalid.isNative());
+        assertFalse(invalid.isValid(), "구문 오류는 mXparser 검사 결과로 보고되어야 합니다.");
+    }
+
+    @Test
+    @DisplayName("같은 수식 문자열은 캐시된 인스턴스 재사용")
+    void testCacheReuse() {
+        CachedExpression first = cache.get("a + b");
+        CachedExpression second = cache.get("a + b");
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("공유 인스턴스를 여러 스레드가 동시에 평가해도 각자 자기 컨텍스트 값으로 계산")
+    void testConcurrentEvaluationUsesCallerContext() throws Exception {
+        CachedExpression nativeExpression = cache.get("x * 2 + 1");
+        CachedExpression fallbackExpression = cache.get("gcd(x, 6) + x");
+        assertTrue(nativeExpression.isNative());
+        assertFalse(fallbackExpression.isNative());
+        assertTrue(fallbackExpression.isValid());
+
+        int threadCount = 4;
+        List<ExecutionContext> contexts = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            ExecutionContext threadContext = new ExecutionContext(server.addPlayer());
+            threadContext.setVariable("x", (double) (i + 1));
+            contexts.add(threadContext);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threadCount);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (ExecutionContext threadContext : contexts) {
+                double x = threadContext.getDouble("x", 0.0);
+                double expectedFallback = new Expression("gcd(" + (int) x + ", 6) + " + x).calculate();
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < 2_000; n++) {
+                        assertEquals(x * 2 + 1, nativeExpression.evaluate(threadContext, Double.NaN), 0.0);
+                        assertEquals(expectedFallback, fallbackExpression.evaluate(threadContext, Double.NaN), 0.0);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
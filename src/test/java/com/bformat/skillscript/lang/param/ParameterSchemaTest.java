@@ -0,0 +1,119 @@
+package com.bformat.skillscript.lang.param;
+
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.lang.PlaceholderTemplate;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParameterSchemaTest {
+
+    private static final Parameter AMOUNT = Parameter.number("amount").required();
+    private static final Parameter COUNT = Parameter.integer("count");
+    private static final Parameter ENABLED = Parameter.bool("enabled");
+    private static final Parameter MESSAGE = Parameter.text("message");
+    private static final Parameter OFFSET = Parameter.vector("offset");
+    private static final Parameter TARGET = Parameter.variable("variable");
+    private static final ParameterSchema SCHEMA = ParameterSchema.of(AMOUNT, COUNT, ENABLED, MESSAGE, OFFSET, TARGET);
+
+    private ServerMock server;
+    private ExecutionContext context;
+
+    @BeforeEach
+    public void setUp() {
+        server = MockBukkit.mock();
+        PlayerMock caster = server.addPlayer("TestCaster");
+        caster.setLocation(new Location(caster.getWorld(), 10.0, 64.0, 20.0));
+        caster.setHealth(18.0);
+        context = new ExecutionContext(caster);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    @DisplayName("리터럴은 로드 시점에 상수로 바인딩")
+    void testLiteralsBecomeConstants() {
+        BoundParameters params = SCHEMA.bind(Map.of(
+                "amount", "2.5",
+                "count", 3,
+                "enabled", "true",
+                "message", "no placeholders",
+                "offset", List.of(1, 2, 3)
+        ));
+
+        assertTrue(params.isConstant(AMOUNT));
+        assertEquals(2.5, params.getDouble(AMOUNT, -1.0, context), 0.0);
+        assertEquals(3, params.getInt(COUNT, -1, context));
+        assertTrue(params.getBoolean(ENABLED, false, context));
+        assertEquals("no placeholders", params.getString(MESSAGE, context, null, ""));
+        assertEquals(new Vector(1, 2, 3), params.getVector(OFFSET, context).orElseThrow());
+        assertTrue(params.isConstant(OFFSET));
+        assertFalse(params.has(TARGET));
+    }
+
+    @Test
+    @DisplayName("변수, 셀렉터, 수식, 플레이스홀더는 실행 시점 값으로 해석")
+    void testDynamicValuesResolvePerExecution() {
+        BoundParameters params = SCHEMA.bind(Map.of(
+                "amount", "base * 2",
+                "count", "@Caster.Health",
+                "message", "HP {sel:@Caster.Health}",
+                "offset", Map.of("x", "base", "y", 0),
+                "variable", "result"
+        ));
+
+        context.setVariable("base", 4.0);
+        assertFalse(params.isConstant(AMOUNT));
+        assertEquals(8.0, params.getDouble(AMOUNT, -1.0, context), 0.0);
+        assertEquals(18, params.getInt(COUNT, -1, context));
+        assertEquals("HP 18", params.getString(MESSAGE, context, null, ""));
+        assertEquals(new Vector(4, 0, 0), params.getVector(OFFSET, context).orElseThrow());
+
+        context.setVariable("base", 5.0);
+        assertEquals(10.0, params.getDouble(AMOUNT, -1.0, context), 0.0);
+        assertNotEquals(-1, params.getVariableSlot(TARGET, context));
+    }
+
+    @Test
+    @DisplayName("TEXT 플레이스홀더는 바인딩 시 분할되어 실행 시점 템플릿 캐시를 쓰지 않음")
+    void testTextSplitAtBind() {
+        String message = "Bound {var:base} at {sel:@Caster.Health} (" + System.nanoTime() + ")";
+        int cached = PlaceholderTemplate.cacheSize();
+
+        BoundParameters params = SCHEMA.bind(Map.of("amount", 1, "message", message));
+        context.setVariable("base", 3);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(params.getString(MESSAGE, context, null, "").startsWith("Bound 3 at 18 ("));
+        }
+        assertEquals(cached, PlaceholderTemplate.cacheSize());
+    }
+
+    @Test
+    @DisplayName("해석할 수 없는 동적 값은 기본값 반환")
+    void testUnresolvedDynamicValueUsesDefault() {
+        BoundParameters params = SCHEMA.bind(Map.of("amount", "missingVariable"));
+
+        assertEquals(-1.0, params.getDouble(AMOUNT, -1.0, context), 0.0);
+        assertEquals(7, params.getInt(COUNT, 7, context), "지정되지 않은 파라미터는 기본값");
+    }
+
+    @Test
+    @DisplayName("잘못된 스크립트는 바인딩 시점에 실패")
+    void testMalformedParametersFailAtBind() {
+        assertThrows(ParameterBindingException.class, () -> SCHEMA.bind(Map.of("count", 1)), "필수 파라미터 누락");
+        assertThrows(ParameterBindingException.class, () -> SCHEMA.bind(Map.of("amount", List.of(1))), "숫자 자리에 리스트");
+        assertThrows(ParameterBindingException.class, () -> SCHEMA.bind(Map.of("amount", "10 + / 5")), "수식 구문 오류");
+        assertThrows(ParameterBindingException.class, () -> SCHEMA.bind(Map.of("amount", 1, "offset", true)), "벡터 자리에 불리언");
+    }
+}
@@ -0,0 +1,86 @@
+package com.bformat.skillscript.lang.shape;
+
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShapeTableTest {
+
+    private static final double EPS = 1.0e-9;
+
+    @Test
+    @DisplayName("같은 모양/점 개수/회전 수의 표는 캐시에서 재사용됨")
+    void testTablesCached() {
+        ShapeTable first = ShapeTable.of(ShapeTable.Type.HELIX, 48, 3.0);
+        assertSame(first, ShapeTable.of(ShapeTable.Type.HELIX, 48, 3.0));
+        assertNotSame(first, ShapeTable.of(ShapeTable.Type.HELIX, 48, 2.0));
+        // 원은 회전 수를 쓰지 않으므로 키에서 무시
+        assertSame(ShapeTable.of(ShapeTable.Type.CIRCLE, 16, 1.0), ShapeTable.of(ShapeTable.Type.CIRCLE, 16, 5.0));
+        assertEquals(ShapeTable.MAX_POINTS, ShapeTable.of(ShapeTable.Type.SPHERE, 1_000_000, 0).size());
+    }
+
+    @Test
+    @DisplayName("원: 중심에서 반지름만큼 떨어진 수평 점들")
+    void testCircleScaledAndTranslated() {
+        ShapeTable circle = ShapeTable.of(ShapeTable.Type.CIRCLE, 36, 1.0);
+        double[] xs = new double[36], ys = new double[36], zs = new double[36];
+
+        assertEquals(36, circle.transform(10, 64, -5, 2.5, 1.0, null, xs, ys, zs));
+        for (int i = 0; i < 36; i++) {
+            assertEquals(64.0, ys[i], EPS);
+            assertEquals(2.5, Math.hypot(xs[i] - 10, zs[i] + 5), EPS);
+        }
+    }
+
+    @Test
+    @DisplayName("axis 를 주면 모양의 축이 그 방향으로 회전함")
+    void testAxisRotation() {
+        Vector axis = new Vector(1, 1, 0);
+        Vector unit = axis.clone().normalize();
+
+        ShapeTable circle = ShapeTable.of(ShapeTable.Type.CIRCLE, 20, 1.0);
+        double[] xs = new double[20], ys = new double[20], zs = new double[20];
+        circle.transform(0, 0, 0, 3.0, 1.0, axis, xs, ys, zs);
+        for (int i = 0; i < 20; i++) {
+            Vector point = new Vector(xs[i], ys[i], zs[i]);
+            assertEquals(0.0, point.dot(unit), EPS, "Circle points should lie in the plane perpendicular to the axis");
+            assertEquals(3.0, point.length(), EPS);
+        }
+
+        // 원뿔: 첫 점은 꼭짓점(중심), 마지막 점은 축 방향 height 위의 바닥 둘레
+        ShapeTable cone = ShapeTable.of(ShapeTable.Type.CONE, 11, 2.0);
+        cone.transform(0, 0, 0, 1.0, 4.0, axis, xs, ys, zs);
+        assertEquals(0.0, new Vector(xs[0], ys[0], zs[0]).length(), EPS);
+        Vector last = new Vector(xs[10], ys[10], zs[10]);
+        assertEquals(4.0, last.dot(unit), EPS);
+        assertEquals(1.0, last.clone().subtract(unit.clone().multiply(4.0)).length(), EPS);
+    }
+
+    @Test
+    @DisplayName("아핀 변환은 점마다 M * p + t, 입력 배열에 그대로 써도 같은 결과")
+    void testAffineTransform() {
+        int n = 1003;
+        double[] xs = new double[n], ys = new double[n], zs = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = Math.cos(i);
+            ys[i] = i * 0.01;
+            zs[i] = Math.sin(i * 0.5);
+        }
+        double[] matrix = {0.8, -0.6, 0.1, 12.5, 0.6, 0.8, -0.2, 64.0, 0.0, 0.3, 1.5, -3.25};
+        double[] ox = new double[n], oy = new double[n], oz = new double[n];
+
+        PointTransform.affine(matrix, xs, ys, zs, ox, oy, oz, n);
+        for (int i = 0; i < n; i++) {
+            assertEquals(12.5 + 0.8 * xs[i] - 0.6 * ys[i] + 0.1 * zs[i], ox[i], EPS, "x[" + i + "]");
+            assertEquals(64.0 + 0.6 * xs[i] + 0.8 * ys[i] - 0.2 * zs[i], oy[i], EPS, "y[" + i + "]");
+            assertEquals(-3.25 + 0.3 * ys[i] + 1.5 * zs[i], oz[i], EPS, "z[" + i + "]");
+        }
+
+        PointTransform.affine(matrix, xs, ys, zs, xs, ys, zs, n);
+        assertArrayEquals(ox, xs);
+        assertArrayEquals(oy, ys);
+        assertArrayEquals(oz, zs);
+    }
+}
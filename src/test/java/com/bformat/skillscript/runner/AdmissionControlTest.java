@@ -0,0 +1,129 @@
+package com.bformat.skillscript.runner;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.script.AdmissionController;
+import com.bformat.skillscript.script.AdmissionController.OverflowPolicy;
+import com.bformat.skillscript.script.CastResult;
+import com.bformat.skillscript.script.ScriptRunner;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * runner.admission: 시전자별/스크립트별/전체 한도와 overflow 정책 (reject, queue, replace-oldest).
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AdmissionControlTest {
+
+    private static final List<Map<String, Object>> LONG_SCRIPT = List.of(
+            Map.of("controlflow.delay", Map.of("duration", 5)),
+            Map.of("targetbehaviour.sendmessage", Map.of("message", "Done"))
+    );
+
+    private ServerMock server;
+    private ScriptRunner scriptRunner;
+    private PlayerMock caster;
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        SkillScript plugin = MockBukkit.load(SkillScript.class);
+        scriptRunner = plugin.getScriptRunner();
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        caster = server.addPlayer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scriptRunner.stopPlayerScripts(caster);
+        server.getScheduler().performTicks(1);
+        scriptRunner.setAdmission(new AdmissionController(0, 0, 0, OverflowPolicy.REJECT, 0));
+    }
+
+    @Test
+    @DisplayName("reject: 시전자 한도를 넘는 시전은 이유와 함께 거부됨")
+    void testRejectOverCasterLimit() {
+        scriptRunner.setAdmission(new AdmissionController(2, 0, 0, OverflowPolicy.REJECT, 0));
+
+        assertEquals(CastResult.Status.STARTED, scriptRunner.cast(caster, "spam", LONG_SCRIPT).status());
+        assertEquals(CastResult.Status.STARTED, scriptRunner.cast(caster, "spam", LONG_SCRIPT).status());
+        CastResult rejected = scriptRunner.cast(caster, "spam", LONG_SCRIPT);
+
+        assertEquals(CastResult.Status.REJECTED, rejected.status());
+        assertNull(rejected.taskId());
+        assertNotNull(rejected.reason());
+        assertNull(scriptRunner.runScript(caster, LONG_SCRIPT), "runScript returns null when rejected");
+
+        PlayerMock other = server.addPlayer();
+        assertTrue(scriptRunner.cast(other, "spam", LONG_SCRIPT).isAccepted(), "Other casters are not affected");
+        scriptRunner.stopPlayerScripts(other);
+    }
+
+    @Test
+    @DisplayName("queue: 대기 시전은 자리가 나면 시작됨")
+    void testQueuedCastStartsWhenSlotFrees() {
+        scriptRunner.setAdmission(new AdmissionController(0, 1, 0, OverflowPolicy.QUEUE, 1));
+
+        CastResult first = scriptRunner.cast(caster, "nova", LONG_SCRIPT);
+        CastResult second = scriptRunner.cast(caster, "nova", List.of(
+                Map.of("targetbehaviour.sendmessage", Map.of("message", "Queued"))
+        ));
+        CastResult third = scriptRunner.cast(caster, "nova", LONG_SCRIPT);
+
+        assertEquals(CastResult.Status.STARTED, first.status());
+        assertEquals(CastResult.Status.QUEUED, second.status());
+        assertEquals(CastResult.Status.REJECTED, third.status(), "Queue holds one cast");
+        assertTrue(scriptRunner.isTaskRunning(second.taskId()));
+
+        server.getScheduler().performTicks(10); // 첫 태스크 종료 -> 대기 시전 시작
+        caster.assertSaid("Done");
+        caster.assertSaid("Queued");
+        assertFalse(scriptRunner.isTaskRunning(second.taskId()));
+        assertEquals(0, scriptRunner.getAdmission().getAdmittedCount());
+    }
+
+    @Test
+    @DisplayName("queue: 대기 중인 시전을 중지하면 대기열에서 빠짐")
+    void testStoppingQueuedCast() {
+        scriptRunner.setAdmission(new AdmissionController(1, 0, 0, OverflowPolicy.QUEUE, 4));
+
+        scriptRunner.cast(caster, null, LONG_SCRIPT);
+        CastResult queued = scriptRunner.cast(caster, null, LONG_SCRIPT);
+        assertEquals(1, scriptRunner.getAdmission().getQueuedCount());
+
+        assertTrue(scriptRunner.stopScript(queued.taskId()));
+        assertEquals(0, scriptRunner.getAdmission().getQueuedCount());
+        assertFalse(scriptRunner.isTaskRunning(queued.taskId()));
+    }
+
+    @Test
+    @DisplayName("replace-oldest: 가장 오래된 태스크를 중지하고 시작")
+    void testReplaceOldest() {
+        scriptRunner.setAdmission(new AdmissionController(0, 0, 2, OverflowPolicy.REPLACE_OLDEST, 0));
+
+        CastResult oldest = scriptRunner.cast(caster, null, LONG_SCRIPT);
+        CastResult middle = scriptRunner.cast(caster, null, LONG_SCRIPT);
+        CastResult newest = scriptRunner.cast(caster, null, LONG_SCRIPT);
+
+        assertEquals(CastResult.Status.REPLACED, newest.status());
+        server.getScheduler().performTicks(1);
+        assertFalse(scriptRunner.isTaskRunning(oldest.taskId()));
+        assertTrue(scriptRunner.isTaskRunning(middle.taskId()));
+        assertTrue(scriptRunner.isTaskRunning(newest.taskId()));
+        assertEquals(2, scriptRunner.getAdmission().getAdmittedCount());
+    }
+}
@@ -0,0 +1,82 @@
+package com.bformat.skillscript.runner;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.script.ScriptRunner;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 다른 스레드에서의 runScript: 큐에 넣고 바로 ID 를 반환, 다음 러너 틱 시작 시 서버 스레드에서 시작.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class AsyncCastSubmissionTest {
+
+    private ServerMock server;
+    private ScriptRunner scriptRunner;
+    private PlayerMock caster;
+
+    private static final List<Map<String, Object>> SCRIPT = List.of(
+            Map.of("targetbehaviour.sendmessage", Map.of("message", "Async Cast"))
+    );
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        SkillScript plugin = MockBukkit.load(SkillScript.class);
+        scriptRunner = plugin.getScriptRunner();
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        caster = server.addPlayer();
+    }
+
+    private UUID runScriptOffThread() {
+        return CompletableFuture.supplyAsync(() -> scriptRunner.runScript(caster, SCRIPT)).join();
+    }
+
+    @Test
+    @DisplayName("비동기 요청은 바로 ID 를 반환하고 다음 틱에 시작됨")
+    void testQueuedCastStartsNextTick() {
+        UUID taskId = runScriptOffThread();
+
+        assertNotNull(taskId);
+        assertTrue(scriptRunner.isTaskRunning(taskId), "Queued cast should count as running");
+        assertEquals(1, scriptRunner.getPendingCastCount());
+        caster.assertNoMoreSaid();
+
+        server.getScheduler().performTicks(2);
+
+        caster.assertSaid("Async Cast");
+        caster.assertNoMoreSaid();
+        assertFalse(scriptRunner.isTaskRunning(taskId));
+        assertEquals(0, scriptRunner.getPendingCastCount());
+    }
+
+    @Test
+    @DisplayName("시작 전에 취소한 비동기 요청은 실행되지 않음")
+    void testQueuedCastCancelledBeforeStart() {
+        UUID taskId = runScriptOffThread();
+
+        assertTrue(scriptRunner.stopScript(taskId));
+        server.getScheduler().performTicks(2);
+
+        caster.assertNoMoreSaid();
+        assertFalse(scriptRunner.isTaskRunning(taskId));
+        assertEquals(0, scriptRunner.getPendingCastCount());
+    }
+}
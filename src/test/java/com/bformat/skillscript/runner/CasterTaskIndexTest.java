@@ -0,0 +1,100 @@
+package com.bformat.skillscript.runner;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.script.ScriptRunner;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 시전자 -> 태스크 인덱스: stopPlayerScripts 와 로그아웃/사망 시 해당 시전자의 태스크만 중지.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CasterTaskIndexTest {
+
+    private static final List<Map<String, Object>> LONG_SCRIPT = List.of(
+            Map.of("controlflow.delay", Map.of("duration", 20)),
+            Map.of("targetbehaviour.sendmessage", Map.of("message", "Done"))
+    );
+
+    private ServerMock server;
+    private ScriptRunner scriptRunner;
+    private PlayerMock caster;
+    private PlayerMock bystander;
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        SkillScript plugin = MockBukkit.load(SkillScript.class);
+        scriptRunner = plugin.getScriptRunner();
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        caster = server.addPlayer();
+        bystander = server.addPlayer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scriptRunner.stopPlayerScripts(bystander);
+        if (caster.isOnline()) {
+            scriptRunner.stopPlayerScripts(caster);
+        }
+        server.getScheduler().performTicks(1);
+    }
+
+    @Test
+    @DisplayName("로그아웃하면 그 시전자의 태스크만 중지됨")
+    void testQuitStopsCasterTasks() {
+        UUID first = scriptRunner.runScript(caster, LONG_SCRIPT);
+        UUID second = scriptRunner.runScript(caster, LONG_SCRIPT);
+        UUID other = scriptRunner.runScript(bystander, LONG_SCRIPT);
+        assertEquals(2, scriptRunner.getTaskCount(caster.getUniqueId()));
+
+        caster.disconnect();
+        server.getScheduler().performTicks(1);
+
+        assertFalse(scriptRunner.isTaskRunning(first));
+        assertFalse(scriptRunner.isTaskRunning(second));
+        assertTrue(scriptRunner.isTaskRunning(other));
+        assertEquals(0, scriptRunner.getTaskCount(caster.getUniqueId()));
+        assertEquals(1, scriptRunner.getTaskCount(bystander.getUniqueId()));
+    }
+
+    @Test
+    @DisplayName("사망하면 태스크가 중지됨 (runner.stop-on-death 기본값)")
+    void testDeathStopsCasterTasks() {
+        UUID taskId = scriptRunner.runScript(caster, LONG_SCRIPT);
+
+        caster.setHealth(0);
+        server.getScheduler().performTicks(1);
+
+        assertFalse(scriptRunner.isTaskRunning(taskId));
+    }
+
+    @Test
+    @DisplayName("끝난 태스크는 인덱스에서 빠짐")
+    void testFinishedTaskLeavesIndex() {
+        scriptRunner.runScript(caster, List.of(
+                Map.of("targetbehaviour.sendmessage", Map.of("message", "Quick"))
+        ));
+        server.getScheduler().performTicks(2);
+
+        caster.assertSaid("Quick");
+        assertEquals(0, scriptRunner.getTaskCount(caster.getUniqueId()));
+        assertEquals(0, scriptRunner.stopPlayerScripts(caster));
+    }
+}
@@ -0,0 +1,251 @@
+package com.bformat.skillscript.runner;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionState;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.execution.ScriptTask;
+import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.script.ScriptCompiler;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 가상 스레드 파이버 엔진 (ScriptTask#useContinuations): 제어 흐름, 딜레이 타이밍, 병렬 브랜치, 취소.
+ * 태스크를 직접 tick 하므로 테스트 스레드가 서버 스레드 역할을 합니다.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ContinuationEngineTest {
+
+    private ServerMock server;
+    private SkillScript plugin;
+    private PlayerMock caster;
+    private ScriptTask cancelTarget; // test.cancelself 가 취소할 태스크
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(SkillScript.class);
+        // 파이버 스레드에서 실행되는 순수 액션이 Error 를 던짐
+        plugin.getActionRegistry().register("test.fibererror", new Action() {
+            @Override
+            public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+                throw new AssertionError("fiber boom");
+            }
+
+            @Override
+            public boolean isPure() {
+                return true;
+            }
+        });
+        // 메인 스레드에서 실행되는 액션이 Error 를 던짐
+        plugin.getActionRegistry().register("test.mainerror", (context, state, params) -> {
+            throw new AssertionError("main boom");
+        });
+        // 메인 스레드 액션 안에서 자기 태스크를 취소 (시전자 사망 -> stopPlayerScripts 와 같은 경로)
+        plugin.getActionRegistry().register("test.cancelself", (context, state, params) -> {
+            cancelTarget.cancel();
+            return ExecutionStatus.COMPLETED;
+        });
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        caster = server.addPlayer();
+    }
+
+    private ScriptTask continuationTask(List<Map<String, Object>> actions) {
+        return continuationTask(caster, actions);
+    }
+
+    private ScriptTask continuationTask(PlayerMock player, List<Map<String, Object>> actions) {
+        ScriptTask task = frameTask(player, actions);
+        task.useContinuations();
+        assertTrue(task.isUsingContinuations());
+        return task;
+    }
+
+    private ScriptTask frameTask(PlayerMock player, List<Map<String, Object>> actions) {
+        ScriptCompiler compiler = plugin.getScriptCompiler();
+        return new ScriptTask(plugin, compiler, new ExecutionContext(player), compiler.compile(actions), UUID.randomUUID());
+    }
+
+    // 태스크가 끝날 때까지 tick 하며 "틱:메시지" 목록을 만듦 (태스크가 끝나는 틱은 엔진마다 다를 수 있어 제외)
+    private static List<String> transcript(ScriptTask task, PlayerMock player) {
+        List<String> lines = new ArrayList<>();
+        boolean running = true;
+        for (int tick = 1; running; tick++) {
+            assertTrue(tick < 100, "Script should finish");
+            running = task.tick();
+            String said;
+            while ((said = player.nextMessage()) != null) {
+                lines.add(tick + ":" + said);
+            }
+        }
+        return lines;
+    }
+
+    private void assertSameTiming(List<Map<String, Object>> actions) {
+        PlayerMock framePlayer = server.addPlayer();
+        PlayerMock fiberPlayer = server.addPlayer();
+        List<String> frames = transcript(frameTask(framePlayer, actions), framePlayer);
+        List<String> fibers = transcript(continuationTask(fiberPlayer, actions), fiberPlayer);
+        assertFalse(frames.isEmpty());
+        assertEquals(frames, fibers, "Actions should run on the same ticks as the frame engine");
+    }
+
+    private static Map<String, Object> message(String text) {
+        return Map.of("targetbehaviour.sendmessage", Map.of("message", text));
+    }
+
+    private static Map<String, Object> delay(int ticks) {
+        return Map.of("controlflow.delay", Map.of("duration", ticks));
+    }
+
+    @Test
+    @DisplayName("중첩 루프와 조건은 프레임 엔진과 같은 틱에 실행됨 (블록 시작과 끝마다 한 틱)")
+    void testNestedControlFlowMatchesFrameTiming() {
+        List<Map<String, Object>> actions = List.of(
+                Map.of("controlflow.forloop", Map.of("variable", "i", "from", 1, "to", 3, "Do", List.of(
+                        Map.of("controlflow.ifcondition", Map.of("condition", "i != 2",
+                                "Then", List.of(message("Odd {var:i}")),
+                                "Else", List.of(message("Two"))))
+                ))),
+                message("Done")
+        );
+        assertSameTiming(actions);
+
+        ScriptTask task = continuationTask(actions);
+        List<String> lines = transcript(task, caster);
+        assertEquals(List.of("3:Odd 1", "5:Two", "7:Odd 3", "8:Done"), lines);
+    }
+
+    @Test
+    @DisplayName("딜레이로 끝나는 블록과 중첩 루프도 프레임 엔진과 같은 틱에 실행됨")
+    void testLoopTimingWithDelaysMatchesFrameEngine() {
+        assertSameTiming(List.of(
+                message("Start"),
+                Map.of("controlflow.forloop", Map.of("variable", "i", "from", 1, "to", 2, "Do", List.of(
+                        message("A{var:i}"),
+                        delay(2)
+                ))),
+                message("End")
+        ));
+        assertSameTiming(List.of(
+                Map.of("controlflow.forloop", Map.of("variable", "i", "from", 1, "to", 2, "Do", List.of(
+                        Map.of("controlflow.forloop", Map.of("variable", "j", "from", 1, "to", 2, "Do", List.of(
+                                message("{var:i}-{var:j}")
+                        ))),
+                        message("Row {var:i}")
+                ))),
+                message("After")
+        ));
+        assertSameTiming(List.of(
+                Map.of("controlflow.ifcondition", Map.of("condition", "1 < 2",
+                        "Then", List.of(delay(1), message("Inside")))),
+                message("Outside"),
+                delay(1),
+                message("Last")
+        ));
+    }
+
+    @Test
+    @DisplayName("파이버에서 Error 가 나도 메인 스레드가 멈추지 않고 태스크가 끝남")
+    void testThrowingActionEndsTask() {
+        assertTimeout(Duration.ofSeconds(10), () -> {
+            ScriptTask fiberSide = continuationTask(List.of(message("Before"), Map.of("test.fibererror", Map.of()), message("Never")));
+            assertFalse(fiberSide.tick(), "Task should end when the fiber throws an Error");
+            assertTrue(fiberSide.isCancelled());
+            caster.assertSaid("Before");
+            caster.assertNoMoreSaid();
+
+            ScriptTask mainSide = continuationTask(List.of(message("Before"), Map.of("test.mainerror", Map.of()), message("Never")));
+            assertFalse(mainSide.tick(), "Task should end when a main thread action throws an Error");
+            assertTrue(mainSide.isCancelled());
+            caster.assertSaid("Before");
+            caster.assertNoMoreSaid();
+        });
+    }
+
+    @Test
+    @DisplayName("딜레이는 프레임 엔진과 같은 틱에 끝나고, 딜레이 중에는 idle 틱으로 보고됨")
+    void testDelayTiming() {
+        ScriptTask task = continuationTask(List.of(message("Before"), delay(3), message("After")));
+
+        assertTrue(task.tick()); // 틱 1: Before + 딜레이 시작
+        caster.assertSaid("Before");
+        assertEquals(2, task.getIdleTicks());
+
+        assertTrue(task.tick()); // 틱 2
+        assertTrue(task.tick()); // 틱 3
+        caster.assertNoMoreSaid();
+
+        assertFalse(task.tick()); // 틱 4: 딜레이 끝
+        caster.assertSaid("After");
+        caster.assertNoMoreSaid();
+    }
+
+    @Test
+    @DisplayName("병렬 브랜치는 각자 파이버에서 진행되고 모두 끝나면 본문이 이어짐")
+    void testParallelBranches() {
+        ScriptTask task = continuationTask(List.of(
+                Map.of("controlflow.parallel", Map.of("Branches", List.of(
+                        List.of(delay(1), message("Fast")),
+                        List.of(delay(3), message("Slow"))
+                ))),
+                message("Joined")
+        ));
+
+        int ticks = 0;
+        while (task.tick()) {
+            assertTrue(++ticks < 20, "Parallel script should finish");
+        }
+        caster.assertSaid("Fast");
+        caster.assertSaid("Slow");
+        caster.assertSaid("Joined");
+        caster.assertNoMoreSaid();
+    }
+
+    @Test
+    @DisplayName("딜레이 중 취소하면 태스크가 끝남")
+    void testCancelWhileParked() {
+        ScriptTask task = continuationTask(List.of(delay(100), message("Never")));
+
+        assertTrue(task.tick());
+        task.cancel();
+        assertFalse(task.tick());
+        caster.assertNoMoreSaid();
+    }
+
+    @Test
+    @DisplayName("메인 스레드 액션 도중 취소되면 파이버를 기다리지 않고 바로 끝남")
+    void testCancelDuringCallDoesNotStall() {
+        ScriptTask task = continuationTask(List.of(
+                message("Before"),
+                Map.of("test.cancelself", Map.of()),
+                message("Never")
+        ));
+        cancelTarget = task;
+
+        assertTimeout(Duration.ofSeconds(1), () -> assertFalse(task.tick()));
+        assertTrue(task.isCancelled());
+        caster.assertSaid("Before");
+        caster.assertNoMoreSaid();
+        assertFalse(task.tick());
+    }
+}
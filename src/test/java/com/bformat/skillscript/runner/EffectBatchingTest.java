@@ -0,0 +1,121 @@
+package com.bformat.skillscript.runner;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.execution.EffectSink;
+import com.bformat.skillscript.script.ScriptRunner;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * runner.batch-effects: 한 러너 틱 동안의 파티클/사운드를 모아서 틱 끝에 합쳐 보냄.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EffectBatchingTest {
+
+    private ServerMock server;
+    private ScriptRunner scriptRunner;
+    private EffectSink sink;
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        SkillScript plugin = MockBukkit.load(SkillScript.class);
+        scriptRunner = plugin.getScriptRunner();
+        assertTrue(scriptRunner.setBatchEffects(true), "Global backend should support effect batching");
+        sink = scriptRunner.getEffectSink();
+        assertNotNull(sink);
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    private static Map<String, Object> flame(int count) {
+        return Map.of("targetbehaviour.playeffect", Map.of(
+                "location", "@CasterLocation",
+                "particle", "FLAME",
+                "particleData", Map.of("count", count)
+        ));
+    }
+
+    @Test
+    @DisplayName("같은 틱, 같은 위치의 동일한 파티클은 한 번만 전송됨")
+    void testIdenticalParticlesCoalesced() {
+        PlayerMock caster = server.addPlayer();
+        List<Map<String, Object>> script = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            script.add(flame(1));
+        }
+
+        scriptRunner.runScript(caster, script);
+        server.getScheduler().performOneTick();
+
+        assertEquals(20, sink.getLastEmissions());
+        // 모든 플레이어가 같은 스폰 위치에 있으므로 플레이어마다 1번
+        assertEquals(server.getOnlinePlayers().size(), sink.getLastSent(), "20 identical particles should reach each player as one call");
+    }
+
+    @Test
+    @DisplayName("여러 태스크의 출력이 같은 틱에 합쳐짐")
+    void testEmissionsFromSeveralTasksShareOneFlush() {
+        PlayerMock caster = server.addPlayer();
+        Map<String, Object> sound = Map.of("targetbehaviour.playeffect", Map.of(
+                "location", "@CasterLocation",
+                "sound", "ENTITY_BLAZE_SHOOT"
+        ));
+
+        scriptRunner.runScript(caster, List.of(flame(2), sound));
+        scriptRunner.runScript(caster, List.of(flame(2), sound));
+        server.getScheduler().performOneTick();
+
+        assertEquals(4, sink.getLastEmissions());
+        // 플레이어마다 합쳐진 파티클 1번 + 사운드 1번
+        assertEquals(2 * server.getOnlinePlayers().size(), sink.getLastSent());
+    }
+
+    @Test
+    @DisplayName("최대 거리 밖의 플레이어에게는 파티클을 보내지 않음")
+    void testDistantViewerCulled() {
+        PlayerMock caster = server.addPlayer();
+        PlayerMock viewer = server.addPlayer();
+        viewer.teleport(caster.getLocation().add(24, 0, 0));
+        sink.setLodDistances(8, 16);
+        try {
+            scriptRunner.runScript(caster, List.of(flame(10)));
+            server.getScheduler().performOneTick();
+
+            // viewer 를 뺀 플레이어(모두 스폰 위치)만 받음
+            assertEquals(server.getOnlinePlayers().size() - 1, sink.getLastSent());
+            assertEquals(10, sink.getLastThinned());
+        } finally {
+            sink.setLodDistances(32, 32);
+            viewer.teleport(caster.getLocation());
+        }
+    }
+
+    @Test
+    @DisplayName("플레이어별 파티클 예산을 넘는 만큼은 보내지 않음")
+    void testPlayerParticleBudget() {
+        PlayerMock caster = server.addPlayer();
+        sink.setPlayerParticleBudget(5);
+        try {
+            scriptRunner.runScript(caster, List.of(flame(20)));
+            server.getScheduler().performOneTick();
+
+            int players = server.getOnlinePlayers().size();
+            assertEquals(players, sink.getLastSent());
+            assertEquals(15 * players, sink.getLastThinned());
+        } finally {
+            sink.setPlayerParticleBudget(0);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.bformat.skillscript.runner;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.script.ScriptRunner;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * runner.immediate-first-slice: 서버 스레드의 runScript 가 첫 슬라이스를 바로 실행하고, 이후 타이밍은 그대로.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ImmediateFirstSliceTest {
+
+    private ServerMock server;
+    private ScriptRunner scriptRunner;
+    private PlayerMock caster;
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        SkillScript plugin = MockBukkit.load(SkillScript.class);
+        scriptRunner = plugin.getScriptRunner();
+        scriptRunner.setImmediateFirstSlice(true);
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        caster = server.addPlayer();
+    }
+
+    @Test
+    @DisplayName("첫 액션은 runScript 안에서 실행됨")
+    void testFirstSliceRunsInsideRunScript() {
+        UUID taskId = scriptRunner.runScript(caster, List.of(
+                Map.of("targetbehaviour.sendmessage", Map.of("message", "Instant"))
+        ));
+
+        assertNotNull(taskId);
+        caster.assertSaid("Instant");
+        caster.assertNoMoreSaid();
+        assertFalse(scriptRunner.isTaskRunning(taskId), "Script without delays should finish inside runScript");
+    }
+
+    @Test
+    @DisplayName("러너 틱 전에 시전하면 딜레이 이후 액션은 즉시 실행 없이 시작한 경우와 같은 틱에 실행됨")
+    void testDelayTimingUnchanged() {
+        UUID taskId = scriptRunner.runScript(caster, List.of(
+                Map.of("targetbehaviour.sendmessage", Map.of("message", "Before")),
+                Map.of("controlflow.delay", Map.of("duration", 2)),
+                Map.of("targetbehaviour.sendmessage", Map.of("message", "After"))
+        ));
+        caster.assertSaid("Before");
+
+        server.getScheduler().performTicks(2);
+        caster.assertNoMoreSaid();
+
+        server.getScheduler().performTicks(1);
+        caster.assertSaid("After");
+        caster.assertNoMoreSaid();
+
+        server.getScheduler().performTicks(1);
+        assertFalse(scriptRunner.isTaskRunning(taskId));
+    }
+}
@@ -0,0 +1,146 @@
+package com.bformat.skillscript.runner;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionState;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.execution.ScriptTask;
+import com.bformat.skillscript.lang.Action;
+import com.bformat.skillscript.script.ScriptCompiler;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 순수 액션 오프로드: 순수 액션은 워커에서, 월드를 참조하는 파라미터(셀렉터, 엔티티를 담은 변수)는 메인 스레드에서 실행.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class PureActionOffloadTest {
+
+    private static final String WORKER = "SkillScript-Test-Worker";
+
+    private ServerMock server;
+    private SkillScript plugin;
+    private final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+    // 워커 스레드에서 실행하고 끝날 때까지 기다림 (결정적인 테스트용)
+    private final Executor joiningExecutor = runnable -> {
+        Thread worker = new Thread(runnable, WORKER);
+        worker.start();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    };
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(SkillScript.class);
+        plugin.getActionRegistry().register("test.purethread", new Action() {
+            @Override
+            public ExecutionStatus execute(ExecutionContext context, ExecutionState state, Map<String, Object> params) {
+                threads.add(Thread.currentThread().getName());
+                return ExecutionStatus.COMPLETED;
+            }
+
+            @Override
+            public boolean isPure() {
+                return true;
+            }
+        });
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        threads.clear();
+    }
+
+    private List<String> runOnce(Object value, Consumer<ExecutionContext> setup) {
+        PlayerMock caster = server.addPlayer();
+        ExecutionContext context = new ExecutionContext(caster);
+        setup.accept(context);
+        ScriptCompiler compiler = plugin.getScriptCompiler();
+        ScriptTask task = new ScriptTask(plugin, compiler, context,
+                compiler.compile(List.of(Map.of("test.purethread", Map.of("value", value)))), UUID.randomUUID());
+        task.setOffloadExecutor(joiningExecutor, 1);
+
+        for (int i = 0; i < 5 && threads.isEmpty(); i++) {
+            task.tick();
+        }
+        return new ArrayList<>(threads);
+    }
+
+    @Test
+    @DisplayName("순수 액션은 워커 스레드에서 실행")
+    void testPureActionRunsOnWorker() {
+        assertEquals(List.of(WORKER), runOnce("plain", context -> { }));
+        assertEquals(List.of(WORKER), runOnce("count * 2", context -> context.setVariable("count", 3.0)));
+    }
+
+    @Test
+    @DisplayName("@ 셀렉터 파라미터는 메인 스레드에서 실행")
+    void testSelectorParameterStaysOnMainThread() {
+        String main = Thread.currentThread().getName();
+        assertEquals(List.of(main), runOnce("@Caster", context -> { }));
+    }
+
+    @Test
+    @DisplayName("엔티티를 담은 변수를 가리키는 파라미터는 메인 스레드에서 실행")
+    void testEntityVariableStaysOnMainThread() {
+        String main = Thread.currentThread().getName();
+        assertEquals(List.of(main), runOnce("victim", context -> context.setVariable("victim", context.getCaster())));
+        assertEquals(List.of(main), runOnce("{var:victim}", context -> context.setVariable("victim", context.getCaster())));
+        assertEquals(List.of(main), runOnce("targets", context -> context.setVariable("targets", List.of(context.getCaster()))));
+    }
+
+    // 끝날 때까지 tick 하고 걸린 틱 수를 반환
+    private int runToEnd(List<Map<String, Object>> script, boolean offload) {
+        PlayerMock caster = server.addPlayer();
+        ScriptCompiler compiler = plugin.getScriptCompiler();
+        ScriptTask task = new ScriptTask(plugin, compiler, new ExecutionContext(caster), compiler.compile(script), UUID.randomUUID());
+        if (offload) {
+            task.setOffloadExecutor(joiningExecutor, 16);
+        }
+        int ticks = 0;
+        while (task.tick()) {
+            ticks++;
+            assertTrue(ticks < 200, "Task should finish");
+        }
+        return ticks;
+    }
+
+    @Test
+    @DisplayName("본문이 순수한 루프는 본문을 워커에서 실행하고 반복당 틱 수는 그대로")
+    void testPureLoopBodyRunsOnWorker() {
+        List<Map<String, Object>> script = List.of(Map.of("controlflow.forloop", Map.of(
+                "variable", "i", "from", 1, "to", 20,
+                "Do", List.of(Map.of("test.purethread", Map.of("value", "i * 2"))))));
+        String main = Thread.currentThread().getName();
+
+        int mainTicks = runToEnd(script, false);
+        assertEquals(Collections.nCopies(20, main), threads);
+
+        threads.clear();
+        int offloadTicks = runToEnd(script, true);
+        assertEquals(Collections.nCopies(20, WORKER), threads, "A 1-action body repeated 20 times counts as a run of 20");
+        assertEquals(mainTicks, offloadTicks, "Offloading a pure loop body must not change the loop's tick cost");
+    }
+}
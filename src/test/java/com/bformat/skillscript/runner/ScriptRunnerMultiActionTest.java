@@ -251,4 +251,31 @@ public class ScriptRunnerMultiActionTest {
         assertNoMoreMessages();
         System.out.println("[Test With Delay] Assertions passed.");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Loop Variable - Each Iteration Sees Its Own Value")
+    void testLoopVariableValues() {
+        // --- Arrange ---
+        List<Map<String, Object>> testScript = List.of(
+                Map.of("controlflow.forloop", Map.of(
+                        "variable", "i",
+                        "from", 1,
+                        "to", 5,
+                        "Do", List.of(Map.of("targetbehaviour.sendmessage", Map.of("message", "i={var:i}")))
+                ))
+        );
+
+        // --- Act ---
+        UUID taskId = scriptRunner.runScript(caster, testScript);
+        assertNotNull(taskId, "Script task ID should not be null.");
+        server.getScheduler().performTicks(10);
+
+        // --- Assert ---
+        assertFalse(scriptRunner.isTaskRunning(taskId), "Task should have finished.");
+        // 이전 값이 한 번 더 반복되지 않아야 함 (1, 1, 2, ... 가 아니라 1, 2, 3, 4, 5)
+        for (int i = 1; i <= 5; i++) {
+            assertNextMessage("i=" + i);
+        }
+        assertNoMoreMessages();
+    }
+}
@@ -0,0 +1,166 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.actions.DelayAction;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.execution.ScriptTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 리전 레인 백엔드: 리전별 스레드 배정과 시전자 이동 시 레인 이동.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LocalRegionSchedulerBackendTest {
+
+    private static final int REGION_SHIFT = 2; // 4x4 청크 = 64 블록 격자
+
+    private ServerMock server;
+    private SkillScript plugin;
+    private final Map<String, List<String>> threadsByCaster = new ConcurrentHashMap<>();
+    private final Set<ScriptTask> removed = ConcurrentHashMap.newKeySet();
+    private LocalRegionSchedulerBackend backend;
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(SkillScript.class);
+        plugin.getActionRegistry().register("controlflow.delay", new DelayAction());
+        // 실행 스레드 기록용 테스트 액션
+        plugin.getActionRegistry().register("test.recordthread", (context, state, params) -> {
+            threadsByCaster.computeIfAbsent(context.getCaster().getName(), k -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Thread.currentThread().getName());
+            return ExecutionStatus.COMPLETED;
+        });
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        threadsByCaster.clear();
+        removed.clear();
+        backend = new LocalRegionSchedulerBackend(4, REGION_SHIFT, 0L, removed::add, plugin.getLogger());
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.shutdown();
+    }
+
+    private ScriptTask submit(PlayerMock caster, List<Map<String, Object>> actions) {
+        ScriptCompiler compiler = plugin.getScriptCompiler();
+        ScriptTask task = new ScriptTask(plugin, compiler, new ExecutionContext(caster), compiler.compile(actions), UUID.randomUUID());
+        backend.submit(task);
+        return task;
+    }
+
+    @Test
+    @DisplayName("다른 리전의 시전자는 각자 리전 키가 배정된 스레드에서 실행됨")
+    void testTasksRunOnRegionThreads() {
+        PlayerMock near = server.addPlayer("near");
+        PlayerMock far = server.addPlayer("far");
+        near.teleport(new Location(near.getWorld(), 8, 64, 8));
+        far.teleport(new Location(far.getWorld(), 5000, 64, -5000));
+
+        ScriptTask nearTask = submit(near, List.of(Map.of("test.recordthread", Map.of())));
+        ScriptTask farTask = submit(far, List.of(Map.of("test.recordthread", Map.of())));
+        Object nearKey = LaneSchedulerBackend.regionKeyOf(nearTask, REGION_SHIFT);
+        Object farKey = LaneSchedulerBackend.regionKeyOf(farTask, REGION_SHIFT);
+        assertNotEquals(nearKey, farKey);
+        assertEquals(2, backend.getActiveLaneCount());
+
+        backend.tickAll();
+
+        assertEquals(List.of(backend.threadNameOf(nearKey)), threadsByCaster.get("near"));
+        assertEquals(List.of(backend.threadNameOf(farKey)), threadsByCaster.get("far"));
+        assertEquals(Set.of(nearTask, farTask), removed);
+        assertEquals(0, backend.getTaskCount());
+        assertEquals(0, backend.getActiveLaneCount(), "Empty lanes should stop ticking");
+    }
+
+    @Test
+    @DisplayName("시전자가 다른 리전으로 이동하면 다음 슬라이스부터 새 리전 레인에서 실행됨")
+    void testTaskMigratesWithCaster() {
+        PlayerMock caster = server.addPlayer("mover");
+        caster.teleport(new Location(caster.getWorld(), 8, 64, 8));
+        ScriptTask task = submit(caster, List.of(
+                Map.of("test.recordthread", Map.of()),
+                Map.of("controlflow.delay", Map.of("duration", 1)),
+                Map.of("test.recordthread", Map.of())
+        ));
+        Object startKey = LaneSchedulerBackend.regionKeyOf(task, REGION_SHIFT);
+
+        backend.tickAll(); // 첫 기록 + 딜레이 시작
+        caster.teleport(new Location(caster.getWorld(), 4000, 64, 4000));
+        Object movedKey = LaneSchedulerBackend.regionKeyOf(task, REGION_SHIFT);
+        assertNotEquals(startKey, movedKey);
+
+        for (int i = 0; i < 5 && !removed.contains(task); i++) {
+            backend.tickAll();
+        }
+
+        assertTrue(removed.contains(task), "Task should finish after migrating");
+        assertEquals(List.of(backend.threadNameOf(startKey), backend.threadNameOf(movedKey)), threadsByCaster.get("mover"));
+    }
+
+    @Test
+    @DisplayName("레인 스레드가 시전자를 소유하지 않으면 슬라이스를 실행하지 않고 시전자 스레드로 넘김")
+    void testForeignCasterIsHandedOff() {
+        AtomicBoolean accessible = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<Runnable> casterThread = new ConcurrentLinkedQueue<>(); // 엔티티 스케줄러 흉내
+        backend.shutdown();
+        backend = new LocalRegionSchedulerBackend(4, REGION_SHIFT, 0L, removed::add, plugin.getLogger()) {
+            @Override
+            protected boolean isCasterAccessible(Player caster) {
+                return accessible.get();
+            }
+
+            @Override
+            protected void runOnCasterThread(Player caster, Runnable action, Runnable retired) {
+                if (accessible.get()) {
+                    action.run();
+                } else {
+                    casterThread.add(action);
+                }
+            }
+        };
+        PlayerMock caster = server.addPlayer("foreign");
+        caster.teleport(new Location(caster.getWorld(), 8, 64, 8));
+        ScriptTask task = submit(caster, List.of(Map.of("test.recordthread", Map.of())));
+        Object key = LaneSchedulerBackend.regionKeyOf(task, REGION_SHIFT);
+
+        accessible.set(false); // 리전이 바뀌어 레인 스레드가 더 이상 시전자를 소유하지 않음
+        backend.tickAll();
+        assertNull(threadsByCaster.get("foreign"), "No slice may run on a thread that does not own the caster");
+        assertEquals(1, casterThread.size());
+
+        accessible.set(true);
+        casterThread.poll().run(); // 소유 스레드에서 레인을 다시 정함
+        for (int i = 0; i < 3 && !removed.contains(task); i++) {
+            backend.tickAll();
+        }
+        assertTrue(removed.contains(task));
+        assertEquals(List.of(backend.threadNameOf(key)), threadsByCaster.get("foreign"));
+    }
+}
@@ -0,0 +1,220 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.execution.ScriptTask;
+import org.bukkit.util.Vector;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScriptOptimizerTest {
+
+    private ScriptOptimizer optimizer;
+
+    @BeforeEach
+    public void setUp() {
+        optimizer = new ScriptOptimizer(null);
+    }
+
+    private static Map<String, Object> action(String name, Object... keyValues) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            params.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        Map<String, Object> action = new LinkedHashMap<>();
+        action.put(name, params);
+        return action;
+    }
+
+    private static Map<String, Object> message(String text) {
+        return action("sendmessage", "message", text);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> optimizeTrigger(List<Map<String, Object>> actions, OptimizationReport[] reportOut) {
+        Map<String, Object> script = new LinkedHashMap<>();
+        script.put("OnCast", new ArrayList<>(actions));
+        OptimizationReport report = optimizer.optimize("test", script);
+        if (reportOut != null) reportOut[0] = report;
+        return (List<Map<String, Object>>) script.get("OnCast");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> params(Map<String, Object> action) {
+        return (Map<String, Object>) action.values().iterator().next();
+    }
+
+    @Test
+    @DisplayName("리터럴만 사용하는 수식은 상수로 접힘")
+    void testFoldsLiteralExpression() {
+        List<Map<String, Object>> result = optimizeTrigger(List.of(
+                action("variable.calculate", "variable", "dmg", "expression", "2 * (3 + 4)"),
+                action("variable.calculate", "variable", "scaled", "expression", "dmg * 2"),
+                message("{var:scaled}")
+        ), null);
+
+        assertEquals(14.0, params(result.get(0)).get("expression"));
+        assertEquals("dmg * 2", params(result.get(1)).get("expression"));
+    }
+
+    @Test
+    @DisplayName("상수 조건은 선택된 블록 하나만 가진 조건 블록으로 치환")
+    void testConstantConditionKeepsChosenBlock() {
+        OptimizationReport[] report = new OptimizationReport[1];
+        List<Map<String, Object>> result = optimizeTrigger(List.of(
+                action("controlflow.ifcondition", "condition", "1 > 2",
+                        "Then", List.of(message("then")),
+                        "Else", List.of(message("else"))),
+                message("after")
+        ), report);
+
+        assertEquals(2, result.size());
+        assertEquals(true, params(result.get(0)).get("condition"));
+        assertEquals(List.of(message("else")), params(result.get(0)).get("Then"));
+        assertFalse(params(result.get(0)).containsKey("Else"));
+        assertEquals(1, report[0].getCount(OptimizationReport.Kind.CONSTANT_BRANCH));
+        assertEquals(4, report[0].getTriggerSizes().get("OnCast")[0]);
+        assertEquals(3, report[0].getTriggerSizes().get("OnCast")[1]);
+    }
+
+    @Test
+    @DisplayName("난수 함수(mXparser 경로)는 식별자가 없어도 접지 않음")
+    void testRandomFunctionsAreNotFolded() {
+        OptimizationReport[] report = new OptimizationReport[1];
+        List<Map<String, Object>> result = optimizeTrigger(List.of(
+                action("variable.calculate", "variable", "roll", "expression", "rUni(0, 10)"),
+                action("controlflow.ifcondition", "condition", "rUni(0, 1) > 0.5",
+                        "Then", List.of(message("heads")),
+                        "Else", List.of(message("tails"))),
+                action("controlflow.forloop", "variable", "i", "from", 1, "to", "rUnid(0, 3)",
+                        "Do", List.of(message("{var:roll}")))
+        ), report);
+
+        assertEquals(3, result.size());
+        assertEquals("rUni(0, 10)", params(result.get(0)).get("expression"));
+        assertEquals("rUni(0, 1) > 0.5", params(result.get(1)).get("condition"));
+        assertTrue(params(result.get(1)).containsKey("Then") && params(result.get(1)).containsKey("Else"));
+        assertEquals("rUnid(0, 3)", params(result.get(2)).get("to"));
+        assertEquals(0, report[0].getTotal());
+    }
+
+    @Test
+    @DisplayName("동적 조건은 유지하고 빈 블록만 제거")
+    void testDynamicConditionKeepsAction() {
+        List<Map<String, Object>> result = optimizeTrigger(List.of(
+                action("controlflow.ifcondition", "condition", "@Caster.Health > 5",
+                        "Then", List.of(message("healthy")),
+                        "Else", List.of())
+        ), null);
+
+        assertEquals(1, result.size());
+        assertTrue(params(result.get(0)).containsKey("Then"));
+        assertFalse(params(result.get(0)).containsKey("Else"));
+    }
+
+    @Test
+    @DisplayName("한 번도 돌지 않는 루프는 제거, parallel 은 빈 브랜치만 제거하고 프레임으로 남김")
+    void testLoopAndParallel() {
+        OptimizationReport[] report = new OptimizationReport[1];
+        List<Map<String, Object>> result = optimizeTrigger(List.of(
+                action("controlflow.forloop", "variable", "i", "from", 5, "to", 1, "Do", List.of(message("{var:i}"))),
+                action("controlflow.parallel", "Branches", List.of(List.of(message("only")), List.of())),
+                action("controlflow.parallel", "Branches", List.of(List.of(), List.of()))
+        ), report);
+
+        assertEquals(2, result.size());
+        assertEquals(List.of(List.of(message("only"))), params(result.get(0)).get("Branches"));
+        assertEquals(List.of(List.of(), List.of()), params(result.get(1)).get("Branches"), "All-empty parallel still costs its frame ticks");
+        assertEquals(1, report[0].getCount(OptimizationReport.Kind.SKIPPED_LOOP));
+        assertEquals(1, report[0].getCount(OptimizationReport.Kind.EMPTY_BLOCK));
+    }
+
+    @Test
+    @DisplayName("최적화 전후 프레임 엔진에서 각 액션이 실행되는 틱이 같음")
+    void testOptimizationPreservesTickTiming() {
+        List<Map<String, Object>> script = List.of(
+                mark("start"),
+                action("controlflow.ifcondition", "condition", "1 > 2",
+                        "Then", List.of(mark("then")),
+                        "Else", List.of(mark("else"), mark("else2"))),
+                mark("afterIf"),
+                action("controlflow.parallel", "Branches", List.of(List.of(mark("branch")), List.of())),
+                mark("afterParallel"),
+                action("controlflow.forloop", "variable", "i", "from", 5, "to", 1, "Do", List.of(mark("never"))),
+                action("controlflow.ifcondition", "condition", "@Caster.Health > 0", "Then", List.of(), "Else", List.of()),
+                action("variable.calculate", "variable", "unused", "expression", "2 * 3"),
+                mark("end")
+        );
+        List<Map<String, Object>> optimized = optimizeTrigger(script, null);
+        assertTrue(ScriptOptimizer.countActions(optimized) < ScriptOptimizer.countActions(script));
+
+        MockBukkit.mock();
+        try {
+            SkillScript plugin = MockBukkit.load(SkillScript.class);
+            List<String> marks = new ArrayList<>();
+            int[] tick = new int[1];
+            plugin.getActionRegistry().register("test.mark", (context, state, params) -> {
+                marks.add(params.get("name") + "@" + tick[0]);
+                return ExecutionStatus.COMPLETED;
+            });
+
+            List<String> original = runMarks(plugin, script, marks, tick);
+            assertEquals(List.of("start@0", "else@1", "else2@1", "afterIf@2", "branch@3", "afterParallel@4", "end@4"), original);
+            assertEquals(original, runMarks(plugin, optimized, marks, tick));
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    private static Map<String, Object> mark(String name) {
+        return action("test.mark", "name", name);
+    }
+
+    private static List<String> runMarks(SkillScript plugin, List<Map<String, Object>> script, List<String> marks, int[] tick) {
+        marks.clear();
+        ScriptCompiler compiler = plugin.getScriptCompiler();
+        ExecutionContext context = new ExecutionContext(MockBukkit.getMock().addPlayer());
+        ScriptTask task = new ScriptTask(plugin, compiler, context, compiler.compile(script), UUID.randomUUID());
+        for (tick[0] = 0; task.tick(); tick[0]++) {
+            assertTrue(tick[0] < 100, "Task should finish");
+        }
+        return new ArrayList<>(marks);
+    }
+
+    @Test
+    @DisplayName("상수 벡터 연산은 setconstant 로 접힘")
+    void testFoldsVectorMath() {
+        List<Map<String, Object>> result = optimizeTrigger(List.of(
+                action("variable.vectormath", "variable", "dir", "vector1", List.of(1, 2, 3), "operation", "scale", "operand", 2),
+                message("{var:dir}")
+        ), null);
+
+        assertTrue(result.get(0).containsKey("variable.setconstant"));
+        assertEquals(new Vector(2, 4, 6), params(result.get(0)).get("value"));
+    }
+
+    @Test
+    @DisplayName("읽히지 않는 변수 쓰기는 연쇄적으로 제거")
+    void testRemovesDeadWrites() {
+        OptimizationReport[] report = new OptimizationReport[1];
+        List<Map<String, Object>> result = optimizeTrigger(List.of(
+                action("variable.calculate", "variable", "base", "expression", "@Caster.Health"),
+                action("variable.calculate", "variable", "unused", "expression", "base * 2"),
+                action("setvariable", "name", "shown", "value", "hello"),
+                message("{var:shown}")
+        ), report);
+
+        assertEquals(2, result.size());
+        assertEquals("shown", params(result.get(0)).get("name"));
+        assertEquals(2, report[0].getCount(OptimizationReport.Kind.DEAD_WRITE));
+    }
+}
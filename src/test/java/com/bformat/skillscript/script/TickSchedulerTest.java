@@ -0,0 +1,175 @@
+package com.bformat.skillscript.script;
+
+import com.bformat.skillscript.SkillScript;
+import com.bformat.skillscript.execution.ExecutionContext;
+import com.bformat.skillscript.execution.ExecutionStatus;
+import com.bformat.skillscript.execution.ScriptTask;
+import org.junit.jupiter.api.*;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 틱 예산: 가짜 시계로 예산 소진 시 슬라이스 중단과 다음 틱 이어서 실행을 고정.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TickSchedulerTest {
+
+    private static final long ACTION_NANOS = 1_000_000L; // 테스트 액션 하나가 쓰는 시간
+
+    private ServerMock server;
+    private SkillScript plugin;
+    private final long[] clock = new long[1];
+    private final List<String> ran = new ArrayList<>();
+    private final Set<ScriptTask> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    @BeforeAll
+    void setUpAll() {
+        server = MockBukkit.mock();
+        plugin = MockBukkit.load(SkillScript.class);
+        // 실행 순서를 기록하고 가짜 시계를 앞으로 돌리는 테스트 액션
+        plugin.getActionRegistry().register("test.spendtime", (context, state, params) -> {
+            ran.add(context.getCaster().getName());
+            clock[0] += ACTION_NANOS;
+            return ExecutionStatus.COMPLETED;
+        });
+    }
+
+    @AfterAll
+    void tearDownAll() {
+        MockBukkit.unmock();
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock[0] = 0L;
+        ran.clear();
+        removed.clear();
+    }
+
+    private TickScheduler newScheduler(long budgetNanos) {
+        TickScheduler scheduler = new TickScheduler(budgetNanos, removed::add, plugin.getLogger());
+        scheduler.setNanoClock(() -> clock[0]);
+        return scheduler;
+    }
+
+    private ScriptTask add(TickScheduler scheduler, String casterName, int actions) {
+        return add(scheduler, casterName, actions, 1); // 슬라이스 하나 = 액션 하나 = ACTION_NANOS
+    }
+
+    private ScriptTask add(TickScheduler scheduler, String casterName, int actions, int maxActionsPerTick) {
+        PlayerMock caster = server.addPlayer(casterName);
+        List<Map<String, Object>> script = new ArrayList<>();
+        for (int i = 0; i < actions; i++) {
+            script.add(Map.of("test.spendtime", Map.of()));
+        }
+        ScriptCompiler compiler = plugin.getScriptCompiler();
+        ScriptTask task = new ScriptTask(plugin, compiler, new ExecutionContext(caster), compiler.compile(script), UUID.randomUUID());
+        task.setMaxActionsPerTick(maxActionsPerTick);
+        scheduler.add(task);
+        return task;
+    }
+
+    @Test
+    @DisplayName("예산을 다 쓰면 남은 태스크는 미루고, 다음 틱에 미룬 태스크부터 실행")
+    void testBudgetDefersAndResumes() {
+        TickScheduler scheduler = newScheduler(2 * ACTION_NANOS + ACTION_NANOS / 2);
+        for (String name : List.of("b0", "b1", "b2", "b3", "b4")) {
+            add(scheduler, name, 10);
+        }
+
+        scheduler.runTick();
+        assertEquals(List.of("b0", "b1", "b2"), ran, "Slices stop once 2.5ms of the budget is used");
+        assertEquals(3, scheduler.getLastSlices());
+        assertEquals(2, scheduler.getLastDeferred());
+        assertEquals(3 * ACTION_NANOS, scheduler.getLastElapsedNanos());
+
+        ran.clear();
+        scheduler.runTick();
+        assertEquals(List.of("b3", "b4", "b0"), ran, "Deferred tasks run first on the next tick");
+        assertEquals(3, scheduler.getLastSlices());
+        assertEquals(2, scheduler.getLastDeferred());
+        assertTrue(removed.isEmpty());
+    }
+
+    @Test
+    @DisplayName("예산이 첫 슬라이스보다 작아도 틱마다 최소 한 슬라이스는 실행")
+    void testAtLeastOneSlicePerTick() {
+        TickScheduler scheduler = newScheduler(ACTION_NANOS / 10);
+        add(scheduler, "m0", 10);
+        add(scheduler, "m1", 10);
+
+        scheduler.runTick();
+        assertEquals(List.of("m0"), ran);
+        assertEquals(1, scheduler.getLastDeferred());
+
+        scheduler.runTick();
+        assertEquals(List.of("m0", "m1"), ran);
+    }
+
+    @Test
+    @DisplayName("예산이 0 이하이면 제한 없이 모든 태스크 실행")
+    void testUnlimitedBudget() {
+        TickScheduler scheduler = newScheduler(0L);
+        for (String name : List.of("u0", "u1", "u2", "u3")) {
+            add(scheduler, name, 10);
+        }
+
+        scheduler.runTick();
+        assertEquals(List.of("u0", "u1", "u2", "u3"), ran);
+        assertEquals(0, scheduler.getLastDeferred());
+    }
+
+    @Test
+    @DisplayName("max-actions-per-tick 에 도달하면 태스크의 남은 액션은 다음 슬라이스에서 실행")
+    void testMaxActionsPerTickSplitsSlices() {
+        TickScheduler scheduler = newScheduler(0L);
+        ScriptTask task = add(scheduler, "s0", 3);
+
+        scheduler.runTick();
+        assertEquals(1, ran.size());
+        scheduler.runTick();
+        scheduler.runTick();
+        assertEquals(3, ran.size());
+
+        for (int i = 0; i < 3 && !removed.contains(task); i++) {
+            scheduler.runTick();
+        }
+        assertTrue(removed.contains(task));
+        assertEquals(3, ran.size());
+    }
+
+    @Test
+    @DisplayName("한 슬라이스 안에서도 예산 마감이 지나면 멈추고 다음 틱에 같은 위치부터 이어서 실행")
+    void testDeadlineStopsInsideSlice() {
+        TickScheduler scheduler = newScheduler(2 * ACTION_NANOS + ACTION_NANOS / 2);
+        ScriptTask task = add(scheduler, "d0", 10, 100);
+        add(scheduler, "d1", 10, 100);
+
+        scheduler.runTick();
+        assertEquals(List.of("d0", "d0", "d0"), ran, "Slice stops after the action that crosses the deadline");
+        assertEquals(1, scheduler.getLastSlices());
+        assertEquals(1, scheduler.getLastDeferred());
+
+        ran.clear();
+        scheduler.runTick();
+        assertEquals(List.of("d1", "d1", "d1"), ran, "Deferred task runs first on the next tick");
+
+        ran.clear();
+        for (int i = 0; i < 20 && !removed.contains(task); i++) {
+            scheduler.runTick();
+        }
+        assertTrue(removed.contains(task));
+        assertEquals(7, ran.stream().filter("d0"::equals).count(), "No action of d0 is skipped or repeated");
+    }
+}
@@ -0,0 +1,45 @@
+package com.bformat.skillscript.script;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimerWheelTest {
+
+    private List<String> runUntil(TimerWheel<String> wheel, long lastTick) {
+        List<String> expired = new ArrayList<>();
+        for (long tick = 1; tick <= lastTick; tick++) {
+            final long current = tick;
+            wheel.expire(tick, timeout -> expired.add(timeout.getItem() + "@" + current));
+        }
+        return expired;
+    }
+
+    @Test
+    @DisplayName("만료 틱에 정확히 한 번 꺼냄 (휠 크기보다 긴 딜레이 포함)")
+    void testExpiresAtDeadline() {
+        TimerWheel<String> wheel = new TimerWheel<>(8);
+        wheel.schedule("short", 3);
+        wheel.schedule("long", 3 + 8 * 4); // 같은 슬롯, 네 바퀴 뒤
+        wheel.schedule("other", 5);
+
+        assertEquals(3, wheel.size());
+        assertEquals(List.of("short@3", "other@5", "long@35"), runUntil(wheel, 40));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("취소한 항목은 만료되지 않음")
+    void testCancel() {
+        TimerWheel<String> wheel = new TimerWheel<>(16);
+        TimerWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 4);
+        wheel.schedule("kept", 4);
+
+        assertTrue(wheel.cancel(cancelled));
+        assertFalse(wheel.cancel(cancelled));
+        assertEquals(List.of("kept@4"), runUntil(wheel, 10));
+    }
+}